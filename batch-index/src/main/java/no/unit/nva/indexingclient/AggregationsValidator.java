@@ -1,25 +1,28 @@
 package no.unit.nva.indexingclient;
 
+import static no.unit.nva.search.common.ResourceHit.IDENTIFIER_POINTER;
+
 import com.fasterxml.jackson.databind.JsonNode;
 import java.util.ArrayList;
 import java.util.List;
+import no.unit.nva.search.common.ResourceHit;
+import no.unit.nva.search.common.ResourceHit.Subtree;
 
 public class AggregationsValidator {
 
-  private static final String ENTITY_DESCRIPTION_POINTER = "/entityDescription";
-  private static final String REFERENCE_POINTER = "/entityDescription/reference";
-  private static final String PUBLICATION_CONTEXT_POINTER =
-      "/entityDescription/reference/publicationContext";
-  private static final String PUBLICATION_INSTANCE_POINTER =
-      "/entityDescription/reference/publicationInstance";
-  private static final String IDENTIFIER_POINTER = "/identifier";
+  private static final List<Subtree> REQUIRED_SUBTREES =
+      List.of(
+          Subtree.ENTITY_DESCRIPTION,
+          Subtree.REFERENCE,
+          Subtree.PUBLICATION_CONTEXT,
+          Subtree.PUBLICATION_INSTANCE);
   private static final String DELIMITER = ", ";
   private static final String REPORT_TEMPLATE = "Document %s has missing fields %s";
   private final List<String> report;
-  private final JsonNode document;
+  private final ResourceHit document;
 
   public AggregationsValidator(JsonNode document) {
-    this.document = document;
+    this.document = ResourceHit.of(document);
     this.report = new ArrayList<>();
   }
 
@@ -35,18 +38,13 @@ public class AggregationsValidator {
   }
 
   public boolean isValid() {
-    List.of(
-            ENTITY_DESCRIPTION_POINTER,
-            REFERENCE_POINTER,
-            PUBLICATION_CONTEXT_POINTER,
-            PUBLICATION_INSTANCE_POINTER)
-        .forEach(this::validateNode);
+    REQUIRED_SUBTREES.forEach(this::validateNode);
     return report.isEmpty();
   }
 
-  private void validateNode(String value) {
-    if (isNotValidNode(document.at(value))) {
-      report.add(value);
+  private void validateNode(Subtree subtree) {
+    if (isNotValidNode(document.subtree(subtree))) {
+      report.add(subtree.pointer());
     }
   }
 }
@@ -0,0 +1,94 @@
+package no.unit.nva.indexingclient.keybatch;
+
+import static java.util.Objects.nonNull;
+import static nva.commons.core.attempt.Try.attempt;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import no.unit.nva.indexingclient.models.IndexDocument;
+import no.unit.nva.s3.S3Driver;
+import nva.commons.core.paths.UnixPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * Fetches persisted resources from S3 and parses them to {@link IndexDocument}s, {@code
+ * concurrency} at a time, each on a virtual thread.
+ *
+ * <p>Documents are handed on as they arrive, which is not necessarily the order of the keys. A key
+ * that cannot be fetched or parsed is logged and returned with its failure, and does not stop the
+ * others.
+ */
+public class DocumentFetcher {
+
+  private static final Logger logger = LoggerFactory.getLogger(DocumentFetcher.class);
+  private static final String FETCH_FAILED_MESSAGE = "Could not fetch document {}";
+  private final S3Driver s3Driver;
+  private final int concurrency;
+
+  public DocumentFetcher(S3Client s3Client, String bucket, int concurrency) {
+    this.s3Driver = new S3Driver(s3Client, bucket);
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Fetches the document of every key, handing each on to {@code consumer} on the calling thread.
+   *
+   * @return the keys that could not be fetched or parsed, with the failure of each
+   */
+  @SuppressWarnings("PMD.DoNotUseThreads")
+  public Map<String, Exception> fetch(Stream<String> keys, Consumer<IndexDocument> consumer) {
+    var failedKeys = new LinkedHashMap<String, Exception>();
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var completion = new ExecutorCompletionService<Fetched>(executor);
+      var inFlight = 0;
+      for (var iterator = keys.iterator(); iterator.hasNext(); ) {
+        if (inFlight == concurrency) {
+          handOn(next(completion), consumer, failedKeys);
+          inFlight--;
+        }
+        var key = iterator.next();
+        completion.submit(() -> fetch(key));
+        inFlight++;
+      }
+      for (; inFlight > 0; inFlight--) {
+        handOn(next(completion), consumer, failedKeys);
+      }
+    }
+    return failedKeys;
+  }
+
+  private Fetched fetch(String key) {
+    return attempt(() -> s3Driver.getFile(UnixPath.of(key)))
+        .map(IndexDocument::fromJsonString)
+        .map(document -> new Fetched(key, document, null))
+        .orElse(failure -> new Fetched(key, null, failure.getException()));
+  }
+
+  private static Fetched next(CompletionService<Fetched> completion) {
+    return attempt(() -> completion.take().get()).orElseThrow();
+  }
+
+  private static void handOn(
+      Fetched fetched, Consumer<IndexDocument> consumer, Map<String, Exception> failedKeys) {
+    if (fetched.failed()) {
+      logger.error(FETCH_FAILED_MESSAGE, fetched.key(), fetched.failure());
+      failedKeys.put(fetched.key(), fetched.failure());
+    } else {
+      consumer.accept(fetched.document());
+    }
+  }
+
+  private record Fetched(String key, IndexDocument document, Exception failure) {
+
+    private boolean failed() {
+      return nonNull(failure);
+    }
+  }
+}
@@ -8,24 +8,30 @@ import static no.unit.nva.indexingclient.Constants.defaultS3Client;
 import static nva.commons.core.attempt.Try.attempt;
 
 import com.amazonaws.services.lambda.runtime.Context;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
 import no.unit.nva.events.handlers.EventHandler;
 import no.unit.nva.events.models.AwsEventBridgeEvent;
 import no.unit.nva.indexingclient.AggregationsValidator;
 import no.unit.nva.indexingclient.Constants;
+import no.unit.nva.indexingclient.IndexQueueClient;
 import no.unit.nva.indexingclient.IndexingClient;
 import no.unit.nva.indexingclient.models.IndexDocument;
+import no.unit.nva.indexingclient.models.QueueClient;
+import no.unit.nva.indexingclient.models.RecoveryEntry;
 import no.unit.nva.s3.S3Driver;
+import no.unit.nva.search.common.EmbeddedMetrics;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.attempt.Failure;
 import nva.commons.core.paths.UnixPath;
 import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
@@ -45,7 +51,16 @@ public class KeyBasedBatchIndexHandler extends EventHandler<KeyBatchRequestEvent
   private static final String DEFAULT_PAYLOAD = "3291456";
   private static final int MAX_PAYLOAD =
       Integer.parseInt(ENVIRONMENT.readEnvOpt("MAX_PAYLOAD").orElse(DEFAULT_PAYLOAD));
+  private static final String DEFAULT_FETCH_CONCURRENCY = "32";
+  private static final int FETCH_CONCURRENCY =
+      Integer.parseInt(
+          ENVIRONMENT.readEnvOpt("FETCH_CONCURRENCY").orElse(DEFAULT_FETCH_CONCURRENCY));
   private static final String PROCESSING_BATCH_MESSAGE = "Processing batch: {}";
+  private static final String FETCH_FAILED_MESSAGE =
+      "{} documents in batch {} were not indexed, sending them to the recovery queue";
+  private static final String RECOVERY_FAILED_MESSAGE = "Could not send key {} to recovery queue";
+  private static final String PATH_SEPARATOR = "/";
+  private static final String EXTENSION_SEPARATOR = ".";
   private static final String BULK_HAS_FAILED_MESSAGE = "Bulk has failed: ";
   private static final String RESOURCES_BUCKET = Constants.RESOURCES_BUCKET.orElseThrow();
   private static final String KEY_BATCHES_BUCKET = Constants.KEY_BATCHES_BUCKET.orElseThrow();
@@ -53,9 +68,10 @@ public class KeyBasedBatchIndexHandler extends EventHandler<KeyBatchRequestEvent
   private static final String TOPIC = Constants.TOPIC.orElseThrow();
 
   private final IndexingClient indexingClient;
-  private final S3Client s3ResourcesClient;
+  private final DocumentFetcher documentFetcher;
   private final S3Client s3BatchesClient;
   private final EventBridgeClient eventBridgeClient;
+  private final QueueClient queueClient;
 
   @JacocoGenerated
   public KeyBasedBatchIndexHandler() {
@@ -63,19 +79,26 @@ public class KeyBasedBatchIndexHandler extends EventHandler<KeyBatchRequestEvent
         IndexingClient.defaultIndexingClient(),
         defaultS3Client(),
         defaultS3Client(),
-        defaultEventBridgeClient());
+        defaultEventBridgeClient(),
+        IndexQueueClient.defaultQueueClient());
   }
 
+  /**
+   * @param queueClient sends the keys that could not be fetched or parsed to the recovery queue
+   */
   public KeyBasedBatchIndexHandler(
       IndexingClient indexingClient,
       S3Client s3ResourcesClient,
       S3Client s3BatchesClient,
-      EventBridgeClient eventBridgeClient) {
+      EventBridgeClient eventBridgeClient,
+      QueueClient queueClient) {
     super(KeyBatchRequestEvent.class);
     this.indexingClient = indexingClient;
-    this.s3ResourcesClient = s3ResourcesClient;
+    this.documentFetcher =
+        new DocumentFetcher(s3ResourcesClient, RESOURCES_BUCKET, FETCH_CONCURRENCY);
     this.s3BatchesClient = s3BatchesClient;
     this.eventBridgeClient = eventBridgeClient;
+    this.queueClient = queueClient;
   }
 
   @JacocoGenerated
@@ -120,9 +143,17 @@ public class KeyBasedBatchIndexHandler extends EventHandler<KeyBatchRequestEvent
 
     var batchKey = batchResponse.contents().getFirst().key();
     var content = extractContent(batchKey);
-    var indexDocuments = mapToIndexDocuments(content);
-
-    sendDocumentsToIndexInBatches(indexDocuments);
+    var pendingDocuments = new PendingDocuments();
+    var failedKeys =
+        documentFetcher.fetch(
+            extractIdentifiers(content).filter(Objects::nonNull),
+            document -> {
+              if (isValid(document)) {
+                pendingDocuments.add(document);
+              }
+            });
+    pendingDocuments.flush();
+    reportFailedKeys(batchKey, location, failedKeys);
 
     logger.info(LAST_CONSUMED_BATCH, batchResponse.contents().getFirst());
     return null;
@@ -151,37 +182,36 @@ public class KeyBasedBatchIndexHandler extends EventHandler<KeyBatchRequestEvent
             .build());
   }
 
-  private List<IndexDocument> mapToIndexDocuments(String content) {
-    return extractIdentifiers(content)
-        .filter(Objects::nonNull)
-        .map(this::fetchS3Content)
-        .map(IndexDocument::fromJsonString)
-        .filter(this::isValid)
-        .toList();
-  }
-
-  private void sendDocumentsToIndexInBatches(List<IndexDocument> indexDocuments) {
-    var documents = new ArrayList<IndexDocument>();
-    var totalSize = 0;
-    for (IndexDocument indexDocument : indexDocuments) {
-      var currentFileSize = indexDocument.toJsonString().getBytes(StandardCharsets.UTF_8).length;
-      if (totalSize + currentFileSize < MAX_PAYLOAD) {
-        documents.add(indexDocument);
-        totalSize += currentFileSize;
-      } else {
-        indexDocuments(documents);
-        totalSize = 0;
-        documents.clear();
-        documents.add(indexDocument);
-      }
+  private void reportFailedKeys(
+      String batchKey, String location, Map<String, Exception> failedKeys) {
+    if (!failedKeys.isEmpty()) {
+      logger.error(FETCH_FAILED_MESSAGE, failedKeys.size(), batchKey);
     }
-    if (!documents.isEmpty()) {
-      indexDocuments(documents);
+    var indexName = nonNull(location) ? location : RESOURCES;
+    failedKeys.forEach((key, failure) -> sendToRecoveryQueue(indexName, key, failure));
+    EmbeddedMetrics.publish("KeyBatchFetchFailures", failedKeys.size(), EmbeddedMetrics.COUNT);
+  }
+
+  private void sendToRecoveryQueue(String indexName, String key, Exception failure) {
+    try {
+      RecoveryEntry.fromIndexName(indexName)
+          .withIdentifier(identifier(key))
+          .withException(failure)
+          .persist(queueClient);
+    } catch (RuntimeException recoveryFailure) {
+      logger.error(RECOVERY_FAILED_MESSAGE, key, recoveryFailure);
     }
   }
 
-  private void indexDocuments(List<IndexDocument> indexDocuments) {
-    attempt(() -> indexBatch(indexDocuments)).orElse(this::logFailure);
+  /** The identifier of the document stored under {@code key}, e.g. {@code resources/<id>.gz}. */
+  private static String identifier(String key) {
+    var fileName = key.substring(key.lastIndexOf(PATH_SEPARATOR) + 1);
+    var extension = fileName.indexOf(EXTENSION_SEPARATOR);
+    return extension < 0 ? fileName : fileName.substring(0, extension);
+  }
+
+  private void indexDocuments(List<IndexRequest> indexRequests) {
+    attempt(() -> indexBatch(indexRequests)).orElse(this::logFailure);
   }
 
   private List<BulkResponse> logFailure(Failure<List<BulkResponse>> failure) {
@@ -189,8 +219,8 @@ public class KeyBasedBatchIndexHandler extends EventHandler<KeyBatchRequestEvent
     return List.of();
   }
 
-  private List<BulkResponse> indexBatch(List<IndexDocument> indexDocuments) {
-    return indexingClient.batchInsert(indexDocuments.stream()).toList();
+  private List<BulkResponse> indexBatch(List<IndexRequest> indexRequests) {
+    return indexingClient.batchInsertRequests(indexRequests.stream()).toList();
   }
 
   /**
@@ -215,8 +245,46 @@ public class KeyBasedBatchIndexHandler extends EventHandler<KeyBatchRequestEvent
         : Stream.empty();
   }
 
-  private String fetchS3Content(String key) {
-    var s3Driver = new S3Driver(s3ResourcesClient, RESOURCES_BUCKET);
-    return attempt(() -> s3Driver.getFile(UnixPath.of(key))).orElseThrow();
+  /** The index being built to replace {@code indexName}, if any, otherwise {@code indexName}. */
+  private String resolveWriteTarget(String indexName) {
+    return attempt(() -> indexingClient.reindexTarget(indexName)).orElseThrow().orElse(indexName);
+  }
+
+  /**
+   * Documents waiting to be indexed, sent in one batch when the next document would take them past
+   * {@code MAX_PAYLOAD}. Each document is serialised once, and measured by its serialised source.
+   *
+   * <p>While an index is rebuilt, documents are written to the new index, see {@link
+   * IndexingClient#startReindex}.
+   */
+  private final class PendingDocuments {
+
+    private final List<IndexRequest> requests = new ArrayList<>();
+    private final Map<String, String> writeTargets = new HashMap<>();
+    private int totalSize;
+
+    private void add(IndexDocument document) {
+      var request = document.toIndexRequest();
+      request.index(writeTarget(request.index()));
+      var size = request.source().length();
+      if (totalSize + size >= MAX_PAYLOAD) {
+        flush();
+      }
+      requests.add(request);
+      totalSize += size;
+    }
+
+    private String writeTarget(String indexName) {
+      return writeTargets.computeIfAbsent(
+          indexName, KeyBasedBatchIndexHandler.this::resolveWriteTarget);
+    }
+
+    private void flush() {
+      if (!requests.isEmpty()) {
+        indexDocuments(List.copyOf(requests));
+        requests.clear();
+        totalSize = 0;
+      }
+    }
   }
 }
@@ -11,6 +11,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
@@ -27,11 +28,13 @@ import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import no.unit.nva.events.models.AwsEventBridgeEvent;
 import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.indexing.testutils.FakeSqsClient;
 import no.unit.nva.indexingclient.IndexingClient;
 import no.unit.nva.indexingclient.models.EventConsumptionAttributes;
 import no.unit.nva.indexingclient.models.IndexDocument;
@@ -47,6 +50,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
 import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
@@ -66,6 +70,7 @@ class KeyBasedBatchIndexHandlerTest {
   private S3Driver s3BatchesDriver;
   private FakeOpenSearchClient openSearchClient;
   private EventBridgeClient eventBridgeClient;
+  private FakeSqsClient sqsClient;
   private KeyBasedBatchIndexHandler handler;
   private LogRecorder logRecorder;
 
@@ -89,9 +94,10 @@ class KeyBasedBatchIndexHandlerTest {
     s3BatchesDriver = new S3Driver(s3BatchesClient, "batchesBucket");
     openSearchClient = new FakeOpenSearchClient();
     eventBridgeClient = new StubEventBridgeClient();
+    sqsClient = new FakeSqsClient();
     handler =
         new KeyBasedBatchIndexHandler(
-            openSearchClient, s3ResourcesClient, s3BatchesClient, eventBridgeClient);
+            openSearchClient, s3ResourcesClient, s3BatchesClient, eventBridgeClient, sqsClient);
     logRecorder = LogRecorder.forClass(KeyBasedBatchIndexHandler.class);
   }
 
@@ -235,10 +241,65 @@ class KeyBasedBatchIndexHandlerTest {
     assertThat(documentsFromIndex, not(hasItem(notExpectedDocument)));
   }
 
+  @Test
+  void shouldIndexOtherDocumentsWhenDocumentCannotBeFetched() throws IOException {
+    var expectedDocuments = createExpectedDocuments(10);
+    var missingKey = SortableIdentifier.next().toString();
+    var batch =
+        Stream.concat(
+                expectedDocuments.stream().map(IndexDocument::getDocumentIdentifier),
+                Stream.of(missingKey))
+            .collect(Collectors.joining(LINE_BREAK));
+    var batchKey = randomString();
+    s3BatchesDriver.insertFile(UnixPath.of(batchKey), batch);
+    var fetcherLogs = LogRecorder.forClass(DocumentFetcher.class);
+
+    handler.handleRequest(eventStream(null), outputStream, mock(Context.class));
+
+    var documentsFromIndex = openSearchClient.getIndexedDocuments();
+    assertThat(documentsFromIndex, containsInAnyOrder(expectedDocuments.toArray()));
+    assertThat(fetcherLogs.messages(), hasItem(containsString(missingKey)));
+  }
+
+  @Test
+  void shouldSendKeysThatCannotBeFetchedToRecoveryQueue() throws IOException {
+    var missingKey = SortableIdentifier.next().toString();
+    var batch =
+        Stream.concat(
+                createExpectedDocuments(2).stream().map(IndexDocument::getDocumentIdentifier),
+                Stream.of("resources/" + missingKey + ".gz"))
+            .collect(Collectors.joining(LINE_BREAK));
+    s3BatchesDriver.insertFile(UnixPath.of(randomString()), batch);
+
+    handler.handleRequest(eventStream(null), outputStream, mock(Context.class));
+
+    var messages = sqsClient.getDeliveredMessages();
+    assertThat(messages, hasSize(1));
+    var attributes = messages.getFirst().messageAttributes();
+    assertThat(attributes.get("id").stringValue(), is(equalTo(missingKey)));
+    assertThat(attributes.get("type").stringValue(), is(equalTo("Resource")));
+  }
+
+  @Test
+  void shouldIndexAllDocumentsWhenBatchHasMoreKeysThanFetchedConcurrently() throws IOException {
+    var expectedDocuments = createExpectedDocuments(100);
+    var batch =
+        expectedDocuments.stream()
+            .map(IndexDocument::getDocumentIdentifier)
+            .collect(Collectors.joining(LINE_BREAK));
+    var batchKey = randomString();
+    s3BatchesDriver.insertFile(UnixPath.of(batchKey), batch);
+
+    handler.handleRequest(eventStream(null), outputStream, mock(Context.class));
+
+    var documentsFromIndex = openSearchClient.getIndexedDocuments();
+    assertThat(documentsFromIndex, containsInAnyOrder(expectedDocuments.toArray()));
+  }
+
   @Test
   void shouldReportErrorOnFailingIndexingClient() throws IOException {
     var failingIndexingClient = mock(IndexingClient.class);
-    doThrow(new RuntimeException()).when(failingIndexingClient).batchInsert(any());
+    doThrow(new RuntimeException()).when(failingIndexingClient).batchInsertRequests(any());
 
     var s3ResourcesClient = new FakeS3Client();
     s3ResourcesDriver = new S3Driver(s3ResourcesClient, "resources");
@@ -247,7 +308,11 @@ class KeyBasedBatchIndexHandlerTest {
 
     var failingHandler =
         new KeyBasedBatchIndexHandler(
-            failingIndexingClient, s3ResourcesClient, s3BatchesClient, eventBridgeClient);
+            failingIndexingClient,
+            s3ResourcesClient,
+            s3BatchesClient,
+            eventBridgeClient,
+            sqsClient);
 
     var expectedDocuments = createExpectedDocuments(10);
     var batch =
@@ -320,6 +385,25 @@ class KeyBasedBatchIndexHandlerTest {
       return Stream.empty();
     }
 
+    @Override
+    public Optional<String> reindexTarget(String alias) {
+      return Optional.empty();
+    }
+
+    @Override
+    public Stream<BulkResponse> batchInsertRequests(Stream<IndexRequest> requests) {
+      return batchInsert(requests.map(FakeOpenSearchClient::toIndexDocument));
+    }
+
+    private static IndexDocument toIndexDocument(IndexRequest request) {
+      var attributes =
+          new EventConsumptionAttributes(request.index(), new SortableIdentifier(request.id()));
+      var resource =
+          attempt(() -> objectMapperWithEmpty.readTree(request.source().utf8ToString()))
+              .orElseThrow();
+      return new IndexDocument(attributes, resource);
+    }
+
     public List<IndexDocument> getIndexedDocuments() {
       return documents;
     }
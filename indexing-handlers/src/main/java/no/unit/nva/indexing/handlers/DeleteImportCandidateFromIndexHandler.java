@@ -42,6 +42,7 @@ public class DeleteImportCandidateFromIndexHandler
     try {
       indexingClient.removeDocumentFromIndex(
           input.identifier().toString(), IMPORT_CANDIDATES_INDEX);
+      indexingClient.bumpGeneration(IMPORT_CANDIDATES_INDEX);
       logger.info(REMOVED_FROM_INDEX_MESSAGE);
     } catch (IOException exception) {
       logger.warn(REMOVING_DOCUMENT_FAILED_MESSAGE, exception);
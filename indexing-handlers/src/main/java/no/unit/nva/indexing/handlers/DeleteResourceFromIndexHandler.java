@@ -38,6 +38,8 @@ public class DeleteResourceFromIndexHandler
       Context context) {
     try {
       indexingClient.removeDocumentFromIndex(input.getIdentifier().toString(), RESOURCES);
+      indexingClient.removeDocumentFromReindexTarget(input.getIdentifier().toString(), RESOURCES);
+      indexingClient.bumpGeneration(RESOURCES);
     } catch (IOException exception) {
       logger.warn("Removing document failed", exception);
       throw new UncheckedIOException(exception);
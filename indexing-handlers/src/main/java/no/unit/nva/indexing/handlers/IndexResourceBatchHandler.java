@@ -0,0 +1,211 @@
+package no.unit.nva.indexing.handlers;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.constants.Defaults.ENVIRONMENT;
+import static nva.commons.core.attempt.Try.attempt;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse.BatchItemFailure;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import no.unit.nva.commons.json.JsonUtils;
+import no.unit.nva.events.models.AwsEventBridgeDetail;
+import no.unit.nva.events.models.AwsEventBridgeEvent;
+import no.unit.nva.events.models.EventReference;
+import no.unit.nva.indexingclient.IndexQueueClient;
+import no.unit.nva.indexingclient.IndexingClient;
+import no.unit.nva.indexingclient.models.IndexDocument;
+import no.unit.nva.indexingclient.models.QueueClient;
+import no.unit.nva.indexingclient.models.RecoveryEntry;
+import no.unit.nva.s3.S3Driver;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.paths.UriWrapper;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Indexes the documents referred to by a batch of SQS messages, each holding the EventBridge event
+ * of an expanded entry that was persisted.
+ *
+ * <p>The documents are fetched from S3 concurrently, each on a virtual thread, and indexed in bulk,
+ * see {@link IndexingClient#batchInsert}. A document the cluster does not accept is sent to the
+ * recovery queue, see {@link RecoveryEntry}. A message whose document cannot be fetched,
+ * or whose failure cannot be sent to the recovery queue, is reported back as failed, so that SQS
+ * delivers it again, and only it.
+ */
+public class IndexResourceBatchHandler implements RequestHandler<SQSEvent, SQSBatchResponse> {
+
+  private static final Logger logger = LoggerFactory.getLogger(IndexResourceBatchHandler.class);
+  private static final TypeReference<AwsEventBridgeEvent<AwsEventBridgeDetail<EventReference>>>
+      EVENT_TYPE_REF = new TypeReference<>() {};
+  private static final String EXPANDED_RESOURCES_BUCKET =
+      ENVIRONMENT.readEnv("EXPANDED_RESOURCES_BUCKET");
+  private static final String FETCH_FAILED_MESSAGE = "Could not fetch document of message {}";
+  private static final String SENT_TO_RECOVERY_QUEUE_MESSAGE =
+      "IndexDocument for index {} has been sent to recovery queue: {}";
+  private static final String RECOVERY_FAILED_MESSAGE =
+      "Could not send failure of message {} to recovery queue";
+  private static final String INDEXED_MESSAGE = "Indexed {} of {} documents, {} messages failed";
+  private final S3Driver resourcesS3Driver;
+  private final IndexingClient indexingClient;
+  private final QueueClient queueClient;
+
+  @JacocoGenerated
+  public IndexResourceBatchHandler() {
+    this(
+        new S3Driver(EXPANDED_RESOURCES_BUCKET),
+        IndexingClient.defaultIndexingClient(),
+        IndexQueueClient.defaultQueueClient());
+  }
+
+  public IndexResourceBatchHandler(
+      S3Driver resourcesS3Driver, IndexingClient indexingClient, QueueClient queueClient) {
+    this.resourcesS3Driver = resourcesS3Driver;
+    this.indexingClient = indexingClient;
+    this.queueClient = queueClient;
+  }
+
+  @Override
+  public SQSBatchResponse handleRequest(SQSEvent event, Context context) {
+    var messages = Optional.ofNullable(event.getRecords()).orElse(List.of());
+    var failures = new ArrayList<BatchItemFailure>();
+    var documents = new ArrayList<Fetched>();
+    for (var fetched : fetchAll(messages)) {
+      if (fetched.failed()) {
+        logger.error(FETCH_FAILED_MESSAGE, fetched.messageId(), fetched.failure());
+        failures.add(new BatchItemFailure(fetched.messageId()));
+      } else {
+        documents.add(fetched);
+      }
+    }
+    var indexed = documents.isEmpty() ? 0 : index(documents, failures);
+    logger.info(INDEXED_MESSAGE, indexed, messages.size(), failures.size());
+    return new SQSBatchResponse(failures);
+  }
+
+  @SuppressWarnings("PMD.DoNotUseThreads")
+  private List<Fetched> fetchAll(List<SQSMessage> messages) {
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var futures =
+          messages.stream().map(message -> executor.submit(() -> fetch(message))).toList();
+      return futures.stream().map(IndexResourceBatchHandler::join).toList();
+    }
+  }
+
+  private static Fetched join(Future<Fetched> future) {
+    return attempt(future::get).orElseThrow();
+  }
+
+  private Fetched fetch(SQSMessage message) {
+    return attempt(() -> JsonUtils.dtoObjectMapper.readValue(message.getBody(), EVENT_TYPE_REF))
+        .map(event -> event.getDetail().getResponsePayload())
+        .map(reference -> UriWrapper.fromUri(reference.getUri()).toS3bucketPath())
+        .map(resourcesS3Driver::getFile)
+        .map(IndexDocument::fromJsonString)
+        .map(IndexDocument::validate)
+        .map(document -> new Fetched(message.getMessageId(), document, null))
+        .orElse(failure -> new Fetched(message.getMessageId(), null, failure.getException()));
+  }
+
+  /**
+   * Indexes {@code documents} in bulk, and hands those the cluster does not accept on to the
+   * recovery queue.
+   *
+   * @return the number of documents indexed
+   */
+  private int index(List<Fetched> documents, List<BatchItemFailure> failures) {
+    List<BulkItemResponse> items;
+    try {
+      items = itemsOf(indexingClient.batchInsert(documents.stream().map(Fetched::document)));
+    } catch (RuntimeException exception) {
+      documents.forEach(fetched -> persistRecoveryMessage(fetched, exception, failures));
+      return 0;
+    }
+    var indexed = new ArrayList<Fetched>();
+    for (var i = 0; i < documents.size(); i++) {
+      var fetched = documents.get(i);
+      var item = items.get(i);
+      if (item.isFailed()) {
+        persistRecoveryMessage(fetched, item.getFailure().getCause(), failures);
+      } else {
+        indexed.add(fetched);
+      }
+    }
+    indexed.stream()
+        .collect(Collectors.groupingBy(fetched -> fetched.document().getIndexName()))
+        .forEach(
+            (indexName, indexedToIndex) -> {
+              addToReindexTarget(indexName, indexedToIndex, failures);
+              indexingClient.bumpGeneration(indexName);
+            });
+    return indexed.size();
+  }
+
+  /**
+   * While an index is rebuilt, see {@code ReindexHandler}, updates go to both indices: the
+   * documents indexed to {@code indexName} are sent to the new index in one more bulk insert.
+   */
+  private void addToReindexTarget(
+      String indexName, List<Fetched> documents, List<BatchItemFailure> failures) {
+    try {
+      var target = attempt(() -> indexingClient.reindexTarget(indexName)).orElseThrow();
+      if (target.isEmpty()) {
+        return;
+      }
+      var requests =
+          documents.stream()
+              .map(fetched -> fetched.document().toIndexRequest().index(target.get()));
+      var items = itemsOf(indexingClient.batchInsertRequests(requests));
+      for (var i = 0; i < documents.size(); i++) {
+        if (items.get(i).isFailed()) {
+          persistRecoveryMessage(documents.get(i), items.get(i).getFailure().getCause(), failures);
+        }
+      }
+    } catch (RuntimeException exception) {
+      documents.forEach(fetched -> persistRecoveryMessage(fetched, exception, failures));
+    }
+  }
+
+  private static List<BulkItemResponse> itemsOf(Stream<BulkResponse> responses) {
+    return responses.map(BulkResponse::getItems).flatMap(Arrays::stream).toList();
+  }
+
+  private void persistRecoveryMessage(
+      Fetched fetched, Exception exception, List<BatchItemFailure> failures) {
+    var document = fetched.document();
+    var recoveryEntry =
+        RecoveryEntry.fromIndexDocument(document)
+            .withIdentifier(document.getDocumentIdentifier())
+            .withException(exception);
+    try {
+      recoveryEntry.persist(queueClient);
+      logger.error(
+          SENT_TO_RECOVERY_QUEUE_MESSAGE,
+          document.getIndexName(),
+          document.getDocumentIdentifier());
+    } catch (RuntimeException recoveryFailure) {
+      logger.error(RECOVERY_FAILED_MESSAGE, fetched.messageId(), recoveryFailure);
+      failures.add(new BatchItemFailure(fetched.messageId()));
+    }
+  }
+
+  private record Fetched(String messageId, IndexDocument document, Exception failure) {
+
+    private boolean failed() {
+      return nonNull(failure);
+    }
+  }
+}
@@ -21,9 +21,21 @@ import nva.commons.core.JacocoGenerated;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Creates the indices, each as a versioned index behind an alias with its public name, so that they
+ * can be rebuilt without downtime by {@link ReindexHandler}.
+ *
+ * <p>An index that is still a plain index under its public name, as on deployments from before
+ * the aliases, cannot get the alias while it is there. Its rebuild is started instead, and the
+ * cutover is finished as any other rebuild: run the key based batch indexing, then {@code
+ * COMPLETE}, which deletes the plain index and adds the alias in one request.
+ */
 public class InitHandler implements RequestStreamHandler {
 
   private static final Logger logger = LoggerFactory.getLogger(InitHandler.class);
+  private static final String PLAIN_INDEX_MESSAGE =
+      "'{}' is a plain index, started rebuilding it behind an alias. Run the key based batch"
+          + " indexing, then the COMPLETE operation of the ReindexHandler";
   private final IndexingClient indexingClient;
 
   @JacocoGenerated
@@ -44,8 +56,14 @@ public class InitHandler implements RequestStreamHandler {
       var indexName = indexRequest.name();
       logger.info("Attempting to create index '{}'", indexName);
       try {
-        indexingClient.createIndex(indexName, indexRequest.mappings(), indexRequest.settings());
-        logger.info("Created index '{}'", indexName);
+        if (indexingClient.isPlainIndex(indexName)) {
+          indexingClient.startReindex(indexName, indexRequest.mappings(), indexRequest.settings());
+          logger.warn(PLAIN_INDEX_MESSAGE, indexName);
+        } else {
+          indexingClient.createAliasedIndex(
+              indexName, indexRequest.mappings(), indexRequest.settings());
+          logger.info("Created index '{}'", indexName);
+        }
       } catch (IOException exception) {
         logger.error("Failed to create index '{}'", indexName, exception);
       }
@@ -0,0 +1,69 @@
+package no.unit.nva.indexing.handlers;
+
+import static no.unit.nva.indexingclient.IndexingClient.defaultIndexingClient;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import no.unit.nva.indexing.handlers.ReindexRequest.Operation;
+import no.unit.nva.indexingclient.IndexingClient;
+import nva.commons.core.JacocoGenerated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rebuilds indices without downtime, after a change of mappings or settings.
+ *
+ * <ol>
+ *   <li>{@code START} creates a new versioned index for each index, tuned for indexing, behind the
+ *       alias {@code <index>-next}. Searches are still served from the old index.
+ *   <li>Run the key based batch indexing, which writes to the new index while it is there. Live
+ *       updates and deletes also go to both indices meanwhile, as their handlers look for the
+ *       alias themselves.
+ *   <li>{@code COMPLETE} restores replicas and refreshes, and moves the alias over to the new
+ *       index once it holds as many documents as the old one. The generation of the index is
+ *       bumped, so responses cached from the old index are no longer served.
+ * </ol>
+ */
+public class ReindexHandler implements RequestStreamHandler {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReindexHandler.class);
+  private final IndexingClient indexingClient;
+
+  @JacocoGenerated
+  public ReindexHandler() {
+    this(defaultIndexingClient());
+  }
+
+  public ReindexHandler(IndexingClient indexingClient) {
+    this.indexingClient = indexingClient;
+  }
+
+  @Override
+  public void handleRequest(InputStream inputStream, OutputStream outputStream, Context context)
+      throws IOException {
+    var request = ReindexRequest.fromInputStream(inputStream);
+    var indices = getIndicesToRebuild(request);
+    logger.info("Starting {} of rebuild for indices: {}", request.operation(), indices);
+    for (var indexRequest : indices) {
+      if (Operation.START == request.operation()) {
+        indexingClient.startReindex(
+            indexRequest.name(), indexRequest.mappings(), indexRequest.settings());
+      } else if (!indexingClient.completeReindex(
+          indexRequest.name(), indexRequest.settings(), request.force())) {
+        logger.warn("Rebuild of '{}' not completed", indexRequest.name());
+      }
+    }
+    logger.info("{} of rebuild completed", request.operation());
+  }
+
+  private static List<IndexRequest> getIndicesToRebuild(ReindexRequest request) {
+    return request.indices().isEmpty()
+        ? Arrays.stream(IndexName.values()).map(InitHandler::toIndexRequest).toList()
+        : request.indices().stream().map(InitHandler::toIndexRequest).toList();
+  }
+}
@@ -0,0 +1,38 @@
+package no.unit.nva.indexing.handlers;
+
+import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
+import static nva.commons.core.attempt.Try.attempt;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import no.unit.nva.commons.json.JsonSerializable;
+import nva.commons.core.ioutils.IoUtils;
+
+/**
+ * @param operation {@code START} to create the new indices, {@code COMPLETE} to swap them in
+ * @param indices the indices to rebuild, all of them if empty
+ * @param force swap even if a new index holds fewer documents than the one it replaces
+ */
+public record ReindexRequest(Operation operation, Collection<IndexName> indices, boolean force)
+    implements JsonSerializable {
+
+  public ReindexRequest {
+    Objects.requireNonNull(operation, "Provide an operation, START or COMPLETE!");
+    indices = Objects.requireNonNullElse(indices, Collections.emptyList());
+  }
+
+  public static ReindexRequest fromInputStream(InputStream inputStream) {
+    return attempt(() -> IoUtils.streamToString(inputStream))
+        .map(value -> dtoObjectMapper.readValue(value, ReindexRequest.class))
+        .orElseThrow(
+            failure ->
+                new IllegalArgumentException("Could not parse request!", failure.getException()));
+  }
+
+  public enum Operation {
+    START,
+    COMPLETE
+  }
+}
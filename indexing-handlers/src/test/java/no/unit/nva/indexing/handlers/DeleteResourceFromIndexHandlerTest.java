@@ -6,6 +6,7 @@ import static nva.commons.core.attempt.Try.attempt;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -15,6 +16,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 import no.unit.nva.events.models.AwsEventBridgeDetail;
 import no.unit.nva.events.models.AwsEventBridgeEvent;
 import no.unit.nva.identifiers.SortableIdentifier;
@@ -75,6 +77,22 @@ public class DeleteResourceFromIndexHandlerTest {
     var allIndexedDocuments = indexingClient.listAllDocuments(RESOURCES_INDEX);
 
     assertTrue(allIndexedDocuments.isEmpty());
+    assertEquals(1, indexingClient.getGeneration(RESOURCES_INDEX));
+  }
+
+  @Test
+  void shouldAlsoRemoveDocumentFromIndexBeingRebuilt() throws IOException {
+    var resourceIdentifier = SortableIdentifier.next();
+    var sampleDocument = createSampleResorce(resourceIdentifier);
+    indexingClient.startReindex(RESOURCES_INDEX, Map.of(), Map.of());
+    indexingClient.addDocumentToIndex(sampleDocument);
+    indexingClient.addDocumentToReindexTarget(sampleDocument);
+    var reindexTarget = indexingClient.reindexTarget(RESOURCES_INDEX).orElseThrow();
+
+    handler.handleRequest(createEventBridgeEvent(resourceIdentifier), output, CONTEXT);
+
+    assertTrue(indexingClient.listAllDocuments(RESOURCES_INDEX).isEmpty());
+    assertTrue(indexingClient.listAllDocuments(reindexTarget).isEmpty());
   }
 
   private IndexDocument createSampleResorce(SortableIdentifier resourceIdentifier) {
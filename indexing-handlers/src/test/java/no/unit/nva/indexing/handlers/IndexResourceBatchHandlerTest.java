@@ -0,0 +1,243 @@
+package no.unit.nva.indexing.handlers;
+
+import static no.unit.nva.constants.Defaults.objectMapperWithEmpty;
+import static no.unit.nva.constants.Words.RESOURCES;
+import static no.unit.nva.constants.Words.TICKETS;
+import static no.unit.nva.testutils.RandomDataGenerator.randomJson;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static no.unit.nva.testutils.RandomDataGenerator.randomUri;
+import static nva.commons.core.attempt.Try.attempt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse.BatchItemFailure;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import no.unit.nva.events.models.AwsEventBridgeDetail;
+import no.unit.nva.events.models.AwsEventBridgeEvent;
+import no.unit.nva.events.models.EventReference;
+import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.indexing.testutils.FakeIndexingClient;
+import no.unit.nva.indexing.testutils.FakeSqsClient;
+import no.unit.nva.indexingclient.models.EventConsumptionAttributes;
+import no.unit.nva.indexingclient.models.IndexDocument;
+import no.unit.nva.s3.S3Driver;
+import no.unit.nva.stubs.FakeS3Client;
+import nva.commons.core.paths.UriWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.opensearch.action.DocWriteRequest.OpType;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkItemResponse.Failure;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.core.rest.RestStatus;
+
+class IndexResourceBatchHandlerTest {
+
+  private static final String IGNORED_TOPIC = "ignoredValue";
+  private static final long IGNORED_PROCESSING_TIME = 0;
+  private S3Driver resourcesS3Driver;
+  private FakeSqsClient sqsClient;
+  private Context context;
+
+  @BeforeEach
+  void init() {
+    resourcesS3Driver = new S3Driver(new FakeS3Client(), "resources");
+    sqsClient = new FakeSqsClient();
+    context = Mockito.mock(Context.class);
+  }
+
+  @Test
+  void shouldIndexDocumentsOfAllMessagesInOneBatch() throws IOException {
+    var batches = new AtomicInteger();
+    var indexingClient =
+        new FakeIndexingClient() {
+          @Override
+          public Stream<BulkResponse> batchInsert(Stream<IndexDocument> indexDocuments) {
+            batches.incrementAndGet();
+            return super.batchInsert(indexDocuments);
+          }
+        };
+    var documents = List.of(document(RESOURCES), document(RESOURCES), document(TICKETS));
+    var event = sqsEvent(documents.stream().map(this::messageFor).toList());
+
+    var response = handler(indexingClient).handleRequest(event, context);
+
+    assertThat(response.getBatchItemFailures(), is(empty()));
+    assertThat(batches.get(), is(equalTo(1)));
+    assertThat(
+        indexingClient.listAllDocuments(RESOURCES),
+        containsInAnyOrder(documents.get(0).resource(), documents.get(1).resource()));
+    assertThat(indexingClient.listAllDocuments(TICKETS), contains(documents.get(2).resource()));
+  }
+
+  @Test
+  void shouldWriteDocumentsToIndexBeingRebuiltInOneMoreBulkInsert() throws IOException {
+    var rebuildBatches = new AtomicInteger();
+    var indexingClient =
+        new FakeIndexingClient() {
+          @Override
+          public Stream<BulkResponse> batchInsertRequests(Stream<IndexRequest> requests) {
+            rebuildBatches.incrementAndGet();
+            return super.batchInsertRequests(requests);
+          }
+        };
+    indexingClient.startReindex(RESOURCES, Map.of(), Map.of());
+    var documents = List.of(document(RESOURCES), document(RESOURCES), document(TICKETS));
+    var event = sqsEvent(documents.stream().map(this::messageFor).toList());
+
+    var response = handler(indexingClient).handleRequest(event, context);
+
+    assertThat(response.getBatchItemFailures(), is(empty()));
+    assertThat(rebuildBatches.get(), is(equalTo(1)));
+    var reindexTarget = indexingClient.reindexTarget(RESOURCES).orElseThrow();
+    assertThat(indexingClient.listAllDocuments(reindexTarget), hasSize(2));
+    assertThat(indexingClient.listAllDocuments(RESOURCES), hasSize(2));
+  }
+
+  @Test
+  void shouldBumpGenerationOncePerIndex() throws IOException {
+    var indexingClient = new FakeIndexingClient();
+    var event = sqsEvent(List.of(messageFor(document(RESOURCES)), messageFor(document(RESOURCES))));
+
+    handler(indexingClient).handleRequest(event, context);
+
+    assertThat(indexingClient.getGeneration(RESOURCES), is(equalTo(1)));
+  }
+
+  @Test
+  void shouldReportOnlyMessagesWhoseDocumentCannotBeFetchedAsFailed() throws IOException {
+    var indexingClient = new FakeIndexingClient();
+    var document = document(RESOURCES);
+    var missing = message(randomUri());
+    var event = sqsEvent(List.of(messageFor(document), missing));
+
+    var response = handler(indexingClient).handleRequest(event, context);
+
+    assertThat(
+        response.getBatchItemFailures().stream().map(BatchItemFailure::getItemIdentifier).toList(),
+        contains(missing.getMessageId()));
+    assertThat(indexingClient.listAllDocuments(RESOURCES), contains(document.resource()));
+    assertThat(sqsClient.getDeliveredMessages(), is(empty()));
+  }
+
+  @Test
+  void shouldSendOnlyDocumentsRejectedByClusterToRecoveryQueue() throws IOException {
+    var rejected = document(TICKETS);
+    var indexingClient = indexingClientFailing(rejected);
+    var event = sqsEvent(List.of(messageFor(document(RESOURCES)), messageFor(rejected)));
+
+    var response = handler(indexingClient).handleRequest(event, context);
+
+    assertThat(response.getBatchItemFailures(), is(empty()));
+    assertThat(sqsClient.getDeliveredMessages(), hasSize(1));
+    var deliveredMessage = sqsClient.getDeliveredMessages().getFirst();
+    assertThat(
+        deliveredMessage.messageAttributes().get("id").stringValue(),
+        is(equalTo(rejected.getDocumentIdentifier())));
+    assertThat(
+        deliveredMessage.messageAttributes().get("type").stringValue(), is(equalTo("Ticket")));
+    assertThat(indexingClient.getGeneration(TICKETS), is(equalTo(0)));
+    assertThat(indexingClient.getGeneration(RESOURCES), is(equalTo(1)));
+  }
+
+  @Test
+  void shouldSendAllDocumentsToRecoveryQueueWhenBulkRequestFails() throws IOException {
+    var indexingClient =
+        new FakeIndexingClient() {
+          @Override
+          public Stream<BulkResponse> batchInsert(Stream<IndexDocument> indexDocuments) {
+            throw new RuntimeException(randomString());
+          }
+        };
+    var event = sqsEvent(List.of(messageFor(document(RESOURCES)), messageFor(document(TICKETS))));
+
+    var response = handler(indexingClient).handleRequest(event, context);
+
+    assertThat(response.getBatchItemFailures(), is(empty()));
+    assertThat(sqsClient.getDeliveredMessages(), hasSize(2));
+    assertThat(indexingClient.getGeneration(RESOURCES), is(equalTo(0)));
+  }
+
+  @Test
+  void shouldReturnWithoutFailuresWhenEventHasNoMessages() {
+    var response = handler(new FakeIndexingClient()).handleRequest(new SQSEvent(), context);
+
+    assertThat(response.getBatchItemFailures(), is(empty()));
+  }
+
+  private IndexResourceBatchHandler handler(FakeIndexingClient indexingClient) {
+    return new IndexResourceBatchHandler(resourcesS3Driver, indexingClient, sqsClient);
+  }
+
+  private static FakeIndexingClient indexingClientFailing(IndexDocument rejected) {
+    return new FakeIndexingClient() {
+      @Override
+      public Stream<BulkResponse> batchInsert(Stream<IndexDocument> indexDocuments) {
+        var items = new ArrayList<BulkItemResponse>();
+        for (var document : indexDocuments.toList()) {
+          var id = document.getDocumentIdentifier();
+          if (id.equals(rejected.getDocumentIdentifier())) {
+            var failure =
+                new Failure(document.getIndexName(), id, new IOException(), RestStatus.BAD_REQUEST);
+            items.add(new BulkItemResponse(items.size(), OpType.INDEX, failure));
+          } else {
+            attempt(() -> addDocumentToIndex(document)).orElseThrow();
+            items.add(new BulkItemResponse(items.size(), OpType.INDEX, (DocWriteResponse) null));
+          }
+        }
+        var response =
+            new BulkResponse(items.toArray(BulkItemResponse[]::new), IGNORED_PROCESSING_TIME);
+        return Stream.of(response);
+      }
+    };
+  }
+
+  private static IndexDocument document(String indexName) {
+    var resource =
+        attempt(() -> (ObjectNode) objectMapperWithEmpty.readTree(randomJson())).orElseThrow();
+    var attributes = new EventConsumptionAttributes(indexName, SortableIdentifier.next());
+    return new IndexDocument(attributes, resource);
+  }
+
+  private SQSMessage messageFor(IndexDocument document) {
+    var location = randomUri();
+    var path = UriWrapper.fromUri(location).toS3bucketPath();
+    attempt(() -> resourcesS3Driver.insertFile(path, document.toJsonString())).orElseThrow();
+    return message(location);
+  }
+
+  private static SQSMessage message(URI location) {
+    var detail = new AwsEventBridgeDetail<EventReference>();
+    detail.setResponsePayload(new EventReference(IGNORED_TOPIC, location));
+    var event = new AwsEventBridgeEvent<AwsEventBridgeDetail<EventReference>>();
+    event.setDetail(detail);
+    var message = new SQSMessage();
+    message.setMessageId(randomString());
+    message.setBody(attempt(() -> objectMapperWithEmpty.writeValueAsString(event)).orElseThrow());
+    return message;
+  }
+
+  private static SQSEvent sqsEvent(List<SQSMessage> messages) {
+    var event = new SQSEvent();
+    event.setRecords(messages);
+    return event;
+  }
+}
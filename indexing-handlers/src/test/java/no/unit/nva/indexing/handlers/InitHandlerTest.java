@@ -16,6 +16,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -81,7 +82,8 @@ class InitHandlerTest {
   void shouldLogWarningWhenIndexingClientFailedToCreateIndex() throws IOException {
     var logRecorder = LogRecorder.forClass(InitHandler.class);
     var expectedMessage = randomString();
-    when(indexingClient.createIndex(Mockito.anyString(), Mockito.anyMap(), Mockito.anyMap()))
+    when(indexingClient.createAliasedIndex(
+            Mockito.anyString(), Mockito.anyMap(), Mockito.anyMap()))
         .thenThrow(new IOException(expectedMessage));
     initHandler.handleRequest(createRequest(List.of(RESOURCES)), output, context);
 
@@ -101,6 +103,18 @@ class InitHandlerTest {
     verifyIndexCreation(IMPORT_CANDIDATES);
   }
 
+  @Test
+  void shouldStartRebuildInsteadOfCreatingIndexWhenPlainIndexHasItsName() throws IOException {
+    when(indexingClient.isPlainIndex(Words.RESOURCES)).thenReturn(true);
+
+    initHandler.handleRequest(createRequest(List.of(RESOURCES)), output, context);
+
+    var expected = indices.get(Words.RESOURCES);
+    verify(indexingClient).startReindex(expected.name(), expected.mappings(), expected.settings());
+    verify(indexingClient, never())
+        .createAliasedIndex(Mockito.anyString(), Mockito.anyMap(), Mockito.anyMap());
+  }
+
   @Test
   void shouldLogWarningAndReturnFailedWhenRequestIsNotParsable() {
     var throwable =
@@ -117,7 +131,7 @@ class InitHandlerTest {
   private void verifyIndexCreation(IndexName indexName) throws IOException {
     var indexNameValue = indexName.getValue();
     verify(indexingClient)
-        .createIndex(
+        .createAliasedIndex(
             indices.get(indexNameValue).name(),
             indices.get(indexNameValue).mappings(),
             indices.get(indexNameValue).settings());
@@ -134,7 +148,7 @@ class InitHandlerTest {
         () ->
             doNothing()
                 .when(indexingClient)
-                .createIndex(
+                .createAliasedIndex(
                     indexRequest.name(), indexRequest.mappings(), indexRequest.settings()));
   }
 }
@@ -0,0 +1,91 @@
+package no.unit.nva.indexing.handlers;
+
+import static no.unit.nva.indexing.handlers.IndexName.IMPORT_CANDIDATES;
+import static no.unit.nva.indexing.handlers.IndexName.RESOURCES;
+import static no.unit.nva.indexing.handlers.IndexName.TICKETS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import no.unit.nva.indexing.handlers.ReindexRequest.Operation;
+import no.unit.nva.indexingclient.IndexingClient;
+import nva.commons.core.ioutils.IoUtils;
+import nva.commons.logutils.LogRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReindexHandlerTest {
+
+  private ByteArrayOutputStream output;
+  private ReindexHandler handler;
+  private IndexingClient indexingClient;
+  private Context context;
+
+  @BeforeEach
+  void init() {
+    indexingClient = mock(IndexingClient.class);
+    handler = new ReindexHandler(indexingClient);
+    context = mock(Context.class);
+    output = new ByteArrayOutputStream();
+  }
+
+  @Test
+  void shouldStartRebuildOfIndicesProvidedInRequestOnly() throws IOException {
+    handler.handleRequest(
+        createRequest(Operation.START, List.of(RESOURCES), false), output, context);
+
+    var expected = InitHandler.toIndexRequest(RESOURCES);
+    verify(indexingClient).startReindex(expected.name(), expected.mappings(), expected.settings());
+    verify(indexingClient, never()).startReindex(eq(TICKETS.getValue()), anyMap(), anyMap());
+  }
+
+  @Test
+  void shouldCompleteRebuildOfAllIndicesWhenEmptyListProvidedInRequest() throws IOException {
+    handler.handleRequest(createRequest(Operation.COMPLETE, List.of(), true), output, context);
+
+    for (var indexName : List.of(RESOURCES, TICKETS, IMPORT_CANDIDATES)) {
+      var expected = InitHandler.toIndexRequest(indexName);
+      verify(indexingClient).completeReindex(expected.name(), expected.settings(), true);
+    }
+  }
+
+  @Test
+  void shouldLogWarningWhenRebuildIsNotCompleted() throws IOException {
+    var logRecorder = LogRecorder.forClass(ReindexHandler.class);
+    when(indexingClient.completeReindex(anyString(), anyMap(), anyBoolean())).thenReturn(false);
+
+    handler.handleRequest(
+        createRequest(Operation.COMPLETE, List.of(RESOURCES), false), output, context);
+
+    assertTrue(
+        logRecorder.messages().stream()
+            .anyMatch(message -> message.contains("Rebuild of 'resources' not completed")));
+  }
+
+  @Test
+  void shouldThrowWhenOperationIsMissing() {
+    var request = IoUtils.stringToStream("{\"indices\":[\"resources\"]}");
+    var throwable =
+        assertThrows(
+            IllegalArgumentException.class, () -> handler.handleRequest(request, output, context));
+    assertEquals("Could not parse request!", throwable.getMessage());
+  }
+
+  private static InputStream createRequest(
+      Operation operation, List<IndexName> indices, boolean force) {
+    return IoUtils.stringToStream(new ReindexRequest(operation, indices, force).toJsonString());
+  }
+}
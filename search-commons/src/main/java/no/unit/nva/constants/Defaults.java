@@ -29,6 +29,8 @@ public final class Defaults {
       URI.create("https://bibsysdev.github.io/src/search/paginated-search-result.json");
 
   public static final MediaType BIBTEX_UTF_8 = MediaType.parse("text/x-bibtex; charset=utf-8");
+  public static final MediaType NDJSON_UTF_8 =
+      MediaType.parse("application/x-ndjson; charset=utf-8");
 
   public static final List<MediaType> RESOURCE_RESPONSE_MEDIA_TYPES =
       List.of(
@@ -25,6 +25,7 @@ public final class Words {
   public static final String AFFILIATIONS = "affiliations";
   public static final String ALL = "all";
   public static final String AMPERSAND = "&";
+  public static final String APPLICATION_X_NDJSON = "application/x-ndjson";
   public static final String ASSOCIATED_ARTIFACTS = "associatedArtifacts";
   public static final String ASTERISK = "*";
   public static final String AUTHORIZATION = "Authorization";
@@ -0,0 +1,322 @@
+package no.unit.nva.indexingclient;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static nva.commons.core.attempt.Try.attempt;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import no.unit.nva.indexingclient.models.IndexDocument;
+import no.unit.nva.indexingclient.models.RestHighLevelClientWrapper;
+import no.unit.nva.search.common.EmbeddedMetrics;
+import no.unit.nva.search.common.EmbeddedMetrics.Metric;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.DocWriteRequest.OpType;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkItemResponse.Failure;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.ActiveShardCount;
+import org.opensearch.action.support.WriteRequest.RefreshPolicy;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.core.rest.RestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends documents to OpenSearch in bulk requests, see {@link BulkSettings}.
+ *
+ * <p>A bulk request is closed when it holds {@code maxActions} documents, or when the next document
+ * would take its sources past {@code maxBytes}. Up to {@code concurrency} bulk requests are in
+ * flight at a time, and the responses are returned in the order the requests were made.
+ *
+ * <p>Documents the cluster rejects because it is overloaded (HTTP 429, or a rejected execution) are
+ * sent again, and only those. Every rejection doubles the pause before the next bulk request, and
+ * every bulk request without rejections halves it, so that all requests in flight slow down
+ * together while the cluster catches up. Documents still rejected after {@code maxRetries} are
+ * returned as failed with HTTP 429, next to the outcomes of the documents that were not.
+ *
+ * <p>Every call to {@link #index(Stream)} publishes {@code BulkIndexedDocuments}, {@code
+ * BulkRequests}, {@code BulkRejectedDocuments}, {@code BulkFailedDocuments}, {@code
+ * BulkDocumentsPerSecond} and {@code BulkIndexingTime}.
+ */
+public class BulkIndexer {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkIndexer.class);
+  private static final String REJECTED_EXECUTION = "rejected_execution_exception";
+  private static final double MILLIS_PER_SECOND = 1_000d;
+  private static final long NANOS_PER_MILLI = 1_000_000L;
+  private final RestHighLevelClientWrapper client;
+  private final Supplier<RequestOptions> requestOptions;
+  private final BulkSettings settings;
+  private final AtomicLong backoffMillis = new AtomicLong();
+
+  /**
+   * @param requestOptions read for every bulk request, as the credentials in them expire
+   */
+  public BulkIndexer(
+      RestHighLevelClientWrapper client,
+      Supplier<RequestOptions> requestOptions,
+      BulkSettings settings) {
+    this.client = client;
+    this.requestOptions = requestOptions;
+    this.settings = settings;
+  }
+
+  /**
+   * Sends {@code documents} in bulk requests, and waits for the responses.
+   *
+   * @return one response per bulk request, holding the outcome of the last attempt for every
+   *     document
+   */
+  public List<BulkResponse> index(Stream<IndexDocument> documents) {
+    return indexRequests(documents.map(IndexDocument::toIndexRequest));
+  }
+
+  /**
+   * Sends {@code requests} in bulk requests, and waits for the responses.
+   *
+   * @param requests already serialised, see {@link IndexDocument#toIndexRequest()}
+   * @return one response per bulk request, holding the outcome of the last attempt for every
+   *     document
+   */
+  public List<BulkResponse> indexRequests(Stream<IndexRequest> requests) {
+    var start = System.nanoTime();
+    var tally = new Tally();
+    var indices = ConcurrentHashMap.<String>newKeySet();
+    var inFlight = new Semaphore(settings.concurrency());
+    var responses = new ArrayList<CompletableFuture<BulkResponse>>();
+    try (var executor = Executors.newFixedThreadPool(settings.concurrency())) {
+      batches(requests, indices)
+          .forEachOrdered(
+              batch -> {
+                inFlight.acquireUninterruptibly();
+                responses.add(
+                    CompletableFuture.supplyAsync(
+                        () -> sendReleasing(batch, tally, inFlight), executor));
+              });
+    }
+    var result = responses.stream().map(CompletableFuture::join).toList();
+    if (!settings.refreshPerBatch() && !indices.isEmpty()) {
+      refresh(indices);
+    }
+    tally.publish(System.nanoTime() - start);
+    return result;
+  }
+
+  private BulkResponse sendReleasing(List<IndexRequest> batch, Tally tally, Semaphore inFlight) {
+    try {
+      return attempt(() -> send(batch, tally)).orElseThrow();
+    } finally {
+      inFlight.release();
+    }
+  }
+
+  private Stream<List<IndexRequest>> batches(Stream<IndexRequest> requests, Set<String> indices) {
+    var batches = new Batches(requests.iterator(), indices);
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  private BulkResponse send(List<IndexRequest> batch, Tally tally)
+      throws IOException, InterruptedException {
+    var items = new BulkItemResponse[batch.size()];
+    var pending = IntStream.range(0, batch.size()).boxed().toList();
+    var tookMillis = 0L;
+    for (var attempt = 0; ; attempt++) {
+      pause();
+      tally.requests.increment();
+      BulkResponse response;
+      try {
+        response = client.bulk(bulkRequest(pending.stream().map(batch::get)), requestOptions.get());
+      } catch (OpenSearchStatusException exception) {
+        if (RestStatus.TOO_MANY_REQUESTS != exception.status()) {
+          throw exception;
+        }
+        rejected(pending.size(), tally);
+        if (attempt < settings.maxRetries()) {
+          continue;
+        }
+        for (var position : pending) {
+          items[position] = rejectedItem(position, batch.get(position), exception);
+        }
+        var merged = new BulkResponse(items, tookMillis);
+        succeeded(batch.size(), merged, tally);
+        return merged;
+      }
+      var rejected = rejectedPositions(response);
+      if (attempt == 0 && rejected.isEmpty()) {
+        succeeded(batch.size(), response, tally);
+        return response;
+      }
+      var responseItems = response.getItems();
+      for (var i = 0; i < responseItems.length; i++) {
+        items[pending.get(i)] = atPosition(pending.get(i), responseItems[i]);
+      }
+      tookMillis += response.getTook().millis();
+      if (rejected.isEmpty() || attempt == settings.maxRetries()) {
+        var merged = new BulkResponse(items, tookMillis);
+        succeeded(batch.size(), merged, tally);
+        return merged;
+      }
+      rejected(rejected.size(), tally);
+      var retried = pending;
+      pending = rejected.stream().map(retried::get).toList();
+    }
+  }
+
+  private static BulkItemResponse atPosition(int position, BulkItemResponse item) {
+    return item.isFailed()
+        ? new BulkItemResponse(position, item.getOpType(), item.getFailure())
+        : new BulkItemResponse(position, item.getOpType(), item.<DocWriteResponse>getResponse());
+  }
+
+  private static BulkItemResponse rejectedItem(
+      int position, IndexRequest request, OpenSearchStatusException exception) {
+    var failure =
+        new Failure(request.index(), request.id(), exception, RestStatus.TOO_MANY_REQUESTS);
+    return new BulkItemResponse(position, OpType.INDEX, failure);
+  }
+
+  private BulkRequest bulkRequest(Stream<IndexRequest> requests) {
+    var request = new BulkRequest();
+    requests.forEach(request::add);
+    request.setRefreshPolicy(
+        settings.refreshPerBatch() ? RefreshPolicy.WAIT_UNTIL : RefreshPolicy.NONE);
+    request.waitForActiveShards(ActiveShardCount.ONE);
+    return request;
+  }
+
+  private static List<Integer> rejectedPositions(BulkResponse response) {
+    if (isNull(response) || !response.hasFailures()) {
+      return List.of();
+    }
+    var items = response.getItems();
+    return IntStream.range(0, items.length).filter(i -> isRejected(items[i])).boxed().toList();
+  }
+
+  private static boolean isRejected(BulkItemResponse item) {
+    return item.isFailed()
+        && (RestStatus.TOO_MANY_REQUESTS == item.status()
+            || item.getFailureMessage().contains(REJECTED_EXECUTION));
+  }
+
+  private void pause() throws InterruptedException {
+    var millis = backoffMillis.get();
+    if (millis > 0) {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(millis / 2, millis + 1));
+    }
+  }
+
+  private void rejected(int documents, Tally tally) {
+    tally.rejected.add(documents);
+    var initial = settings.initialBackoff().toMillis();
+    var max = settings.maxBackoff().toMillis();
+    var millis =
+        backoffMillis.updateAndGet(current -> Math.min(max, Math.max(initial, current * 2)));
+    logger.warn("{} documents rejected, retrying after {} ms", documents, millis);
+  }
+
+  private void succeeded(int documents, BulkResponse response, Tally tally) {
+    var initial = settings.initialBackoff().toMillis();
+    backoffMillis.updateAndGet(current -> current / 2 < initial ? 0 : current / 2);
+    var failed =
+        nonNull(response) && response.hasFailures()
+            ? Arrays.stream(response.getItems()).filter(BulkItemResponse::isFailed).count()
+            : 0;
+    tally.indexed.add(documents - failed);
+    tally.failed.add(failed);
+  }
+
+  private void refresh(Set<String> indices) {
+    var request = new RefreshRequest(indices.toArray(String[]::new));
+    attempt(() -> client.indices().refresh(request, requestOptions.get())).orElseThrow();
+  }
+
+  /**
+   * Reads requests into batches as they are consumed, so the first bulk request is sent as soon
+   * as its batch is full.
+   */
+  private final class Batches implements Iterator<List<IndexRequest>> {
+
+    private final Iterator<IndexRequest> requests;
+    private final Set<String> indices;
+    private IndexRequest next;
+
+    private Batches(Iterator<IndexRequest> requests, Set<String> indices) {
+      this.requests = requests;
+      this.indices = indices;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nonNull(next) || requests.hasNext();
+    }
+
+    @Override
+    public List<IndexRequest> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      var batch = new ArrayList<IndexRequest>();
+      var bytes = 0L;
+      while (nonNull(next) || requests.hasNext()) {
+        var request = nonNull(next) ? next : requests.next();
+        next = null;
+        var size = request.source().length();
+        if (!batch.isEmpty()
+            && (batch.size() == settings.maxActions() || bytes + size > settings.maxBytes())) {
+          next = request;
+          break;
+        }
+        batch.add(request);
+        bytes += size;
+        indices.add(request.index());
+      }
+      return List.copyOf(batch);
+    }
+  }
+
+  /** Counts of one call to {@link #index(Stream)}, added to from every bulk request in flight. */
+  private static final class Tally {
+
+    private final LongAdder indexed = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private void publish(long elapsedNanos) {
+      var elapsedMillis = elapsedNanos / NANOS_PER_MILLI;
+      var perSecond = elapsedMillis > 0 ? indexed.sum() * MILLIS_PER_SECOND / elapsedMillis : 0;
+      EmbeddedMetrics.publish(
+          new Metric("BulkIndexedDocuments", indexed.sum(), EmbeddedMetrics.COUNT),
+          new Metric("BulkRequests", requests.sum(), EmbeddedMetrics.COUNT),
+          new Metric("BulkRejectedDocuments", rejected.sum(), EmbeddedMetrics.COUNT),
+          new Metric("BulkFailedDocuments", failed.sum(), EmbeddedMetrics.COUNT),
+          new Metric("BulkDocumentsPerSecond", perSecond, EmbeddedMetrics.COUNT_PER_SECOND),
+          new Metric("BulkIndexingTime", elapsedMillis, EmbeddedMetrics.MILLISECONDS));
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package no.unit.nva.indexingclient;
+
+import static no.unit.nva.indexingclient.IndexingClient.BULK_SIZE;
+
+import java.time.Duration;
+import java.util.function.Function;
+import nva.commons.core.Environment;
+
+/**
+ * How {@link IndexingClient#batchInsert} splits documents into bulk requests and sends them.
+ *
+ * <p>Read from the environment by {@link #fromEnvironment(Environment)}, each setting falling back
+ * to {@link #DEFAULT}:
+ *
+ * <ul>
+ *   <li>{@code BULK_MAX_ACTIONS}: max documents per bulk request, default {@value
+ *       IndexingClient#BULK_SIZE}.
+ *   <li>{@code BULK_MAX_BYTES}: max bytes of document sources per bulk request, default 5 MiB.
+ *   <li>{@code BULK_CONCURRENCY}: max bulk requests in flight, default 2.
+ *   <li>{@code BULK_MAX_RETRIES}: times rejected documents are sent again, default 5.
+ *   <li>{@code BULK_REFRESH_PER_BATCH}: wait for a refresh after every bulk request, default true.
+ *       When false, the indices are refreshed once, after the last bulk request.
+ * </ul>
+ *
+ * @param initialBackoff pause before the first retry, doubled on every rejection after that
+ * @param maxBackoff longest pause between retries
+ */
+public record BulkSettings(
+    int maxActions,
+    long maxBytes,
+    int concurrency,
+    int maxRetries,
+    Duration initialBackoff,
+    Duration maxBackoff,
+    boolean refreshPerBatch) {
+
+  public static final BulkSettings DEFAULT =
+      new BulkSettings(
+          BULK_SIZE, 5L * 1024 * 1024, 2, 5, Duration.ofMillis(100), Duration.ofSeconds(10), true);
+  private static final String MAX_ACTIONS = "BULK_MAX_ACTIONS";
+  private static final String MAX_BYTES = "BULK_MAX_BYTES";
+  private static final String CONCURRENCY = "BULK_CONCURRENCY";
+  private static final String MAX_RETRIES = "BULK_MAX_RETRIES";
+  private static final String REFRESH_PER_BATCH = "BULK_REFRESH_PER_BATCH";
+
+  public static BulkSettings fromEnvironment(Environment environment) {
+    return new BulkSettings(
+        read(environment, MAX_ACTIONS, Integer::parseInt, DEFAULT.maxActions()),
+        read(environment, MAX_BYTES, Long::parseLong, DEFAULT.maxBytes()),
+        read(environment, CONCURRENCY, Integer::parseInt, DEFAULT.concurrency()),
+        read(environment, MAX_RETRIES, Integer::parseInt, DEFAULT.maxRetries()),
+        DEFAULT.initialBackoff(),
+        DEFAULT.maxBackoff(),
+        read(environment, REFRESH_PER_BATCH, Boolean::parseBoolean, DEFAULT.refreshPerBatch()));
+  }
+
+  private static <T> T read(
+      Environment environment, String name, Function<String, T> parser, T defaultValue) {
+    return environment.readEnvOpt(name).map(parser).orElse(defaultValue);
+  }
+
+  /** The same settings, refreshing after every bulk request or only once after the last. */
+  public BulkSettings withRefreshPerBatch(boolean refreshPerBatch) {
+    return new BulkSettings(
+        maxActions, maxBytes, concurrency, maxRetries, initialBackoff, maxBackoff, refreshPerBatch);
+  }
+}
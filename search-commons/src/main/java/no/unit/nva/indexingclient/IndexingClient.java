@@ -1,40 +1,49 @@
 package no.unit.nva.indexingclient;
 
+import static java.util.Objects.nonNull;
+import static no.unit.nva.constants.Defaults.ENVIRONMENT;
 import static no.unit.nva.indexingclient.models.RestHighLevelClientWrapper.defaultRestHighLevelClientWrapper;
 import static nva.commons.core.attempt.Try.attempt;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.google.common.collect.Iterators;
-import com.google.common.collect.UnmodifiableIterator;
 import java.io.IOException;
 import java.time.Instant;
-import java.util.List;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Spliterator;
-import java.util.Spliterators;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 import no.unit.nva.commons.json.JsonUtils;
 import no.unit.nva.indexingclient.models.AuthenticatedOpenSearchClientWrapper;
 import no.unit.nva.indexingclient.models.IndexDocument;
 import no.unit.nva.indexingclient.models.RestHighLevelClientWrapper;
+import no.unit.nva.search.common.cache.IndexGeneration;
 import no.unit.nva.search.common.jwt.CachedJwtProvider;
 import no.unit.nva.search.common.jwt.CognitoAuthenticator;
 import nva.commons.core.JacocoGenerated;
-import nva.commons.core.attempt.Try;
 import nva.commons.secrets.SecretsReader;
 import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.admin.indices.alias.Alias;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.opensearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.opensearch.action.admin.indices.refresh.RefreshRequest;
-import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
 import org.opensearch.action.bulk.BulkResponse;
-import org.opensearch.action.support.ActiveShardCount;
-import org.opensearch.action.support.WriteRequest.RefreshPolicy;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.client.core.CountRequest;
 import org.opensearch.client.indices.CreateIndexRequest;
+import org.opensearch.client.indices.GetIndexRequest;
 import org.opensearch.client.indices.GetMappingsRequest;
 import org.opensearch.cluster.metadata.MappingMetadata;
 import org.opensearch.common.compress.CompressedXContent;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.index.query.QueryBuilders;
@@ -53,7 +62,23 @@ public class IndexingClient extends AuthenticatedOpenSearchClientWrapper {
       "Document with id={} was not found in search infrastructure";
   private static final String INDEX_NOT_FOUND_NOTHING_TO_DELETE_MESSAGE =
       "Index '{}' does not exist, nothing to delete";
-  private static final boolean SEQUENTIAL = false;
+  private static final String GENERATION_NOT_BUMPED_MESSAGE =
+      "Generation of index '{}' was not bumped";
+  private static final String CREATED_BEHIND_ALIAS_MESSAGE = "Created index '{}' behind alias '{}'";
+  private static final String NO_REINDEX_STARTED_MESSAGE = "No rebuild started for ";
+  private static final String COUNT_MISMATCH_MESSAGE =
+      "Not swapping: '{}' holds {} documents, '{}' holds {}";
+  private static final String SWAPPED_MESSAGE = "Moved alias '{}' from {} to '{}', {} documents";
+  private static final String NEXT_SUFFIX = "-next";
+  private static final String VERSION_SEPARATOR = "-";
+  private static final DateTimeFormatter VERSION_FORMAT =
+      DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneOffset.UTC);
+  private static final String INDEX_PREFIX = "index.";
+  private static final String NUMBER_OF_REPLICAS = "number_of_replicas";
+  private static final String REFRESH_INTERVAL = "refresh_interval";
+  private static final String REFRESH_DISABLED = "-1";
+  private final BulkIndexer bulkIndexer;
+  private final Map<String, Instant> lastBumped = new ConcurrentHashMap<>();
 
   /**
    * Creates a new OpenSearchRestClient.
@@ -62,7 +87,20 @@ public class IndexingClient extends AuthenticatedOpenSearchClientWrapper {
    */
   public IndexingClient(
       RestHighLevelClientWrapper openSearchClient, CachedJwtProvider cachedJwtProvider) {
+    this(openSearchClient, cachedJwtProvider, BulkSettings.fromEnvironment(ENVIRONMENT));
+  }
+
+  public IndexingClient(
+      RestHighLevelClientWrapper openSearchClient,
+      CachedJwtProvider cachedJwtProvider,
+      BulkSettings bulkSettings) {
     super(openSearchClient, cachedJwtProvider);
+    this.bulkIndexer = new BulkIndexer(openSearchClient, this::getRequestOptions, bulkSettings);
+  }
+
+  /** A client sending bulk requests as {@code bulkSettings} says, see {@link BulkIndexer}. */
+  public IndexingClient withBulkSettings(BulkSettings bulkSettings) {
+    return new IndexingClient(openSearchClient, cachedJwtProvider, bulkSettings);
   }
 
   @JacocoGenerated
@@ -91,6 +129,42 @@ public class IndexingClient extends AuthenticatedOpenSearchClientWrapper {
     return null;
   }
 
+  /**
+   * Moves the index on to a new generation, so that responses cached from it are no longer served.
+   * A failure is logged and not thrown, as the cached responses then expire with their time to
+   * live.
+   *
+   * <p>Bumps are coalesced: within {@link IndexGeneration#BUMP_INTERVAL} of the last bump of the
+   * index by this client, nothing is written. Readers do not serve cached responses until that
+   * interval has passed since the last bump, so the changes it covers are not missed.
+   *
+   * @param indexName the index that was changed
+   */
+  public void bumpGeneration(String indexName) {
+    var now = Instant.now();
+    var previous = lastBumped.get(indexName);
+    if (nonNull(previous) && now.isBefore(previous.plus(IndexGeneration.BUMP_INTERVAL))) {
+      return;
+    }
+    var generation =
+        Map.of(
+            IndexGeneration.GENERATION_FIELD, UUID.randomUUID().toString(),
+            IndexGeneration.UPDATED_AT_FIELD, now.toString());
+    var request =
+        new IndexRequest(IndexGeneration.GENERATIONS_INDEX).id(indexName).source(generation);
+    attempt(() -> openSearchClient.index(request, getRequestOptions()))
+        .map(
+            response -> {
+              lastBumped.put(indexName, now);
+              return response;
+            })
+        .orElse(
+            failure -> {
+              logger.warn(GENERATION_NOT_BUMPED_MESSAGE, indexName, failure.getException());
+              return null;
+            });
+  }
+
   /**
    * Removes a document from Opensearch index.
    *
@@ -130,31 +204,199 @@ public class IndexingClient extends AuthenticatedOpenSearchClientWrapper {
     return null;
   }
 
-  public Stream<BulkResponse> batchInsert(Stream<IndexDocument> contents) {
-    var batches = splitStreamToBatches(contents);
-    return batches.map(attempt(this::insertBatch)).map(Try::orElseThrow);
+  /**
+   * Creates a versioned index behind the alias {@code alias}, which reads and writes go through,
+   * so that it can later be rebuilt without downtime, see {@link #startReindex}.
+   */
+  public Void createAliasedIndex(String alias, Map<String, ?> mappings, Map<String, ?> settings)
+      throws IOException {
+    var indexName = versionedName(alias);
+    var createRequest = new CreateIndexRequest(indexName);
+    createRequest.mapping(mappings);
+    createRequest.settings(settings);
+    createRequest.alias(new Alias(alias).writeIndex(true));
+    openSearchClient.indices().create(createRequest, getRequestOptions());
+    logger.info(CREATED_BEHIND_ALIAS_MESSAGE, indexName, alias);
+    return null;
+  }
+
+  /**
+   * Whether {@code name} is a plain index, as the indices were before they were versioned behind
+   * aliases, rather than an alias or nothing at all. A plain index is moved behind an alias by
+   * rebuilding it, see {@link #startReindex}.
+   */
+  public boolean isPlainIndex(String name) throws IOException {
+    return indicesBehind(name).isEmpty() && exists(name);
+  }
+
+  /**
+   * Starts rebuilding the index behind {@code alias}: creates a new versioned index, without
+   * replicas and without refreshes while it is built, behind the alias {@code alias-next}.
+   *
+   * <p>Batch indexing writes to the new index while it is there, see {@link #reindexTarget}, and
+   * searches are served from the old one until {@link #completeReindex} swaps them.
+   */
+  public Void startReindex(String alias, Map<String, ?> mappings, Map<String, ?> settings)
+      throws IOException {
+    var indexName = versionedName(alias);
+    var buildSettings = new HashMap<String, Object>(settings);
+    buildSettings.put(NUMBER_OF_REPLICAS, 0);
+    buildSettings.put(REFRESH_INTERVAL, REFRESH_DISABLED);
+    var createRequest = new CreateIndexRequest(indexName);
+    createRequest.mapping(mappings);
+    createRequest.settings(buildSettings);
+    createRequest.alias(new Alias(nextAlias(alias)));
+    openSearchClient.indices().create(createRequest, getRequestOptions());
+    logger.info(CREATED_BEHIND_ALIAS_MESSAGE, indexName, nextAlias(alias));
+    return null;
   }
 
-  private Stream<List<IndexDocument>> splitStreamToBatches(Stream<IndexDocument> indexDocuments) {
-    UnmodifiableIterator<List<IndexDocument>> bulks =
-        Iterators.partition(indexDocuments.iterator(), BULK_SIZE);
-    return StreamSupport.stream(
-        Spliterators.spliteratorUnknownSize(bulks, Spliterator.ORDERED), SEQUENTIAL);
+  /** The index being built to replace the one behind {@code alias}, if a rebuild was started. */
+  public Optional<String> reindexTarget(String alias) throws IOException {
+    return indicesBehind(nextAlias(alias)).stream().findFirst();
   }
 
-  private BulkResponse insertBatch(List<IndexDocument> bulk) throws IOException {
-    var indexRequests = bulk.stream().parallel().map(IndexDocument::toIndexRequest).toList();
+  /**
+   * Completes the rebuild started by {@link #startReindex}: restores replicas and refreshes as
+   * given by {@code settings}, and once the new index holds at least as many documents as the old
+   * one, moves {@code alias} over to it in one atomic request, and bumps its generation. The old
+   * index is kept, and can be deleted once the new one has proven itself.
+   *
+   * <p>If {@code alias} is still a plain index, as before versioned indices, it is deleted in the
+   * same request, since the alias cannot be added while it is there.
+   *
+   * @param force swap even if the new index holds fewer documents
+   * @return whether the alias was moved
+   */
+  public boolean completeReindex(String alias, Map<String, ?> settings, boolean force)
+      throws IOException {
+    var target =
+        reindexTarget(alias)
+            .orElseThrow(() -> new IllegalStateException(NO_REINDEX_STARTED_MESSAGE + alias));
+    openSearchClient
+        .indices()
+        .putSettings(
+            new UpdateSettingsRequest(target).settings(servingSettings(settings)),
+            getRequestOptions());
+    openSearchClient.indices().refresh(new RefreshRequest(target), getRequestOptions());
 
-    var request = new BulkRequest();
-    indexRequests.forEach(request::add);
-    request.setRefreshPolicy(RefreshPolicy.WAIT_UNTIL);
-    request.waitForActiveShards(ActiveShardCount.ONE);
-    return openSearchClient.bulk(request, getRequestOptions());
+    var current = indicesBehind(alias);
+    var isPlainIndex = current.isEmpty() && exists(alias);
+    var currentCount = current.isEmpty() && !isPlainIndex ? 0 : count(alias);
+    var targetCount = count(target);
+    if (targetCount < currentCount && !force) {
+      logger.warn(COUNT_MISMATCH_MESSAGE, target, targetCount, alias, currentCount);
+      return false;
+    }
+
+    var request = new IndicesAliasesRequest();
+    current.forEach(
+        index -> request.addAliasAction(AliasActions.remove().index(index).alias(alias)));
+    if (isPlainIndex) {
+      request.addAliasAction(AliasActions.removeIndex().index(alias));
+    }
+    request.addAliasAction(AliasActions.add().index(target).alias(alias).writeIndex(true));
+    request.addAliasAction(AliasActions.remove().index(target).alias(nextAlias(alias)));
+    openSearchClient.indices().updateAliases(request, getRequestOptions());
+    logger.info(SWAPPED_MESSAGE, alias, current, target, targetCount);
+    bumpGeneration(alias);
+    return true;
   }
 
+  /**
+   * Also writes {@code indexDocument} to the index being built to replace its index, so that the
+   * rebuilt index does not miss updates made while it is built. Does nothing if none is.
+   */
+  public Void addDocumentToReindexTarget(IndexDocument indexDocument) throws IOException {
+    var request = indexDocument.toIndexRequest().index(nextAlias(indexDocument.getIndexName()));
+    request.setRequireAlias(true);
+    try {
+      openSearchClient.index(request, getRequestOptions());
+    } catch (OpenSearchStatusException exception) {
+      if (RestStatus.NOT_FOUND != exception.status()) {
+        throw exception;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Also removes a document from the index being built to replace {@code index}, see {@link
+   * #addDocumentToReindexTarget}. Does nothing if none is.
+   */
+  public void removeDocumentFromReindexTarget(String identifier, String index) throws IOException {
+    var request = new DeleteByQueryRequest(nextAlias(index));
+    request.setIndicesOptions(IndicesOptions.lenientExpandOpen());
+    request.setQuery(QueryBuilders.idsQuery().addIds(identifier));
+    openSearchClient.deleteByQuery(request, getRequestOptions());
+  }
+
+  private static String versionedName(String alias) {
+    return alias + VERSION_SEPARATOR + VERSION_FORMAT.format(Instant.now());
+  }
+
+  private static String nextAlias(String alias) {
+    return alias + NEXT_SUFFIX;
+  }
+
+  private static Settings servingSettings(Map<String, ?> settings) {
+    var replicas = settings.containsKey(NUMBER_OF_REPLICAS) ? settings.get(NUMBER_OF_REPLICAS) : 1;
+    var refreshInterval = settings.get(REFRESH_INTERVAL);
+    var servingSettings =
+        Settings.builder().put(INDEX_PREFIX + NUMBER_OF_REPLICAS, replicas.toString());
+    if (nonNull(refreshInterval)) {
+      servingSettings.put(INDEX_PREFIX + REFRESH_INTERVAL, refreshInterval.toString());
+    } else {
+      servingSettings.putNull(INDEX_PREFIX + REFRESH_INTERVAL);
+    }
+    return servingSettings.build();
+  }
+
+  private Set<String> indicesBehind(String alias) throws IOException {
+    return openSearchClient
+        .indices()
+        .getAlias(new GetAliasesRequest(alias), getRequestOptions())
+        .getAliases()
+        .keySet();
+  }
+
+  private boolean exists(String indexName) throws IOException {
+    return openSearchClient.indices().exists(new GetIndexRequest(indexName), getRequestOptions());
+  }
+
+  private long count(String indexName) throws IOException {
+    return openSearchClient.count(new CountRequest(indexName), getRequestOptions()).getCount();
+  }
+
+  /**
+   * Indexes {@code contents} in bulk requests, see {@link BulkIndexer}.
+   *
+   * @return one response per bulk request, once all of them are done
+   */
+  public Stream<BulkResponse> batchInsert(Stream<IndexDocument> contents) {
+    return bulkIndexer.index(contents).stream();
+  }
+
+  /**
+   * Indexes {@code requests} in bulk requests, for callers that have already serialised their
+   * documents, see {@link IndexDocument#toIndexRequest()}.
+   *
+   * @return one response per bulk request, once all of them are done
+   */
+  public Stream<BulkResponse> batchInsertRequests(Stream<IndexRequest> requests) {
+    return bulkIndexer.indexRequests(requests).stream();
+  }
+
+  /**
+   * Deletes {@code indexName}, or if it is an alias, the indices behind it, which also removes the
+   * alias. OpenSearch does not delete indices through an alias.
+   */
   public Void deleteIndex(String indexName) throws IOException {
+    var behindAlias = indicesBehind(indexName);
+    var indices =
+        behindAlias.isEmpty() ? new String[] {indexName} : behindAlias.toArray(String[]::new);
     try {
-      openSearchClient.indices().delete(new DeleteIndexRequest(indexName), getRequestOptions());
+      openSearchClient.indices().delete(new DeleteIndexRequest(indices), getRequestOptions());
     } catch (OpenSearchStatusException exception) {
       if (RestStatus.NOT_FOUND == exception.status()) {
         logger.info(INDEX_NOT_FOUND_NOTHING_TO_DELETE_MESSAGE, indexName);
@@ -51,7 +51,10 @@ public record IndexDocument(
 
   @JsonIgnore
   public String getType() {
-    var indexName = consumptionAttributes.index();
+    return typeOf(consumptionAttributes.index());
+  }
+
+  static String typeOf(String indexName) {
     if (RESOURCES.equals(indexName)) {
       return RESOURCE;
     }
@@ -79,13 +82,18 @@ public record IndexDocument(
         .orElseThrow(() -> new RuntimeException(MISSING_IDENTIFIER_IN_RESOURCE));
   }
 
+  /**
+   * The resource serialised once, straight to UTF-8 bytes, which are both the source of the
+   * request and what its size is measured by, see {@code IndexRequest.source().length()}.
+   */
   public IndexRequest toIndexRequest() {
     return new IndexRequest(getIndexName())
         .source(serializeResource(), XContentType.JSON)
         .id(getDocumentIdentifier());
   }
 
-  private String serializeResource() {
-    return attempt(() -> objectMapperWithEmpty.writeValueAsString(resource)).orElseThrow();
+  /** Jackson writes to buffers recycled between calls, and copies out only the finished bytes. */
+  private byte[] serializeResource() {
+    return attempt(() -> objectMapperWithEmpty.writeValueAsBytes(resource)).orElseThrow();
   }
 }
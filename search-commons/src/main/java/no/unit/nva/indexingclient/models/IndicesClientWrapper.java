@@ -2,11 +2,14 @@ package no.unit.nva.indexingclient.models;
 
 import java.io.IOException;
 import nva.commons.core.JacocoGenerated;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.opensearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.opensearch.action.admin.indices.refresh.RefreshRequest;
 import org.opensearch.action.admin.indices.refresh.RefreshResponse;
 import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
 import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
+import org.opensearch.client.GetAliasesResponse;
 import org.opensearch.client.IndicesClient;
 import org.opensearch.client.RequestOptions;
 import org.opensearch.client.indices.CreateIndexRequest;
@@ -56,6 +59,22 @@ public class IndicesClientWrapper {
     return indicesClient.delete(deleteIndexRequest, requestOptions);
   }
 
+  public boolean exists(GetIndexRequest getIndexRequest, RequestOptions requestOptions)
+      throws IOException {
+    return indicesClient.exists(getIndexRequest, requestOptions);
+  }
+
+  public GetAliasesResponse getAlias(
+      GetAliasesRequest getAliasesRequest, RequestOptions requestOptions) throws IOException {
+    return indicesClient.getAlias(getAliasesRequest, requestOptions);
+  }
+
+  public AcknowledgedResponse updateAliases(
+      IndicesAliasesRequest indicesAliasesRequest, RequestOptions requestOptions)
+      throws IOException {
+    return indicesClient.updateAliases(indicesAliasesRequest, requestOptions);
+  }
+
   public RefreshResponse refresh(RefreshRequest refreshRequest, RequestOptions requestOptions)
       throws IOException {
     return indicesClient.refresh(refreshRequest, requestOptions);
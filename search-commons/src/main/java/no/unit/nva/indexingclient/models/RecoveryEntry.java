@@ -1,10 +1,8 @@
-package no.unit.nva.indexing.utils;
+package no.unit.nva.indexingclient.models;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Map;
-import no.unit.nva.indexingclient.models.IndexDocument;
-import no.unit.nva.indexingclient.models.QueueClient;
 import nva.commons.core.Environment;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
@@ -29,6 +27,11 @@ public final class RecoveryEntry {
     return builder().withType(indexDocument.getType()).build();
   }
 
+  /** An entry for a document of {@code indexName} that could not be read. */
+  public static RecoveryEntry fromIndexName(String indexName) {
+    return builder().withType(IndexDocument.typeOf(indexName)).build();
+  }
+
   private static Builder builder() {
     return new Builder();
   }
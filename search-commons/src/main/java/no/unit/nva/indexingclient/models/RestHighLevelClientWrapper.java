@@ -22,6 +22,8 @@ import org.opensearch.client.RequestOptions;
 import org.opensearch.client.RestClient;
 import org.opensearch.client.RestClientBuilder;
 import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.client.core.CountRequest;
+import org.opensearch.client.core.CountResponse;
 import org.opensearch.index.reindex.BulkByScrollResponse;
 import org.opensearch.index.reindex.DeleteByQueryRequest;
 import org.slf4j.Logger;
@@ -105,6 +107,12 @@ public record RestHighLevelClientWrapper(RestHighLevelClient client) {
     return client.bulk(request, requestOption);
   }
 
+  @JacocoGenerated
+  public CountResponse count(CountRequest countRequest, RequestOptions requestOptions)
+      throws IOException {
+    return client.count(countRequest, requestOptions);
+  }
+
   public RefreshResponse refreshIndex(RefreshRequest refreshRequest, RequestOptions requestOptions)
       throws IOException {
     return client.indices().refresh(refreshRequest, requestOptions);
@@ -0,0 +1,69 @@
+package no.unit.nva.search.common;
+
+import static no.unit.nva.commons.json.JsonUtils.singleLineObjectMapper;
+import static nva.commons.core.attempt.Try.attempt;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes metrics as CloudWatch embedded metric format (EMF) log lines.
+ *
+ * <p>Lambda ships the line to CloudWatch Logs, which extracts the metric from it, so publishing a
+ * metric needs neither a metrics client nor a network call.
+ */
+public final class EmbeddedMetrics {
+
+  public static final String NAMESPACE = "NvaSearchApi";
+  public static final String COUNT = "Count";
+  public static final String MILLISECONDS = "Milliseconds";
+  public static final String PERCENT = "Percent";
+  public static final String COUNT_PER_SECOND = "Count/Second";
+  private static final Logger logger = LoggerFactory.getLogger(EmbeddedMetrics.class);
+  private static final String AWS = "_aws";
+
+  private EmbeddedMetrics() {}
+
+  public static void publish(String metricName, Number value, String unit) {
+    publish(new Metric(metricName, value, unit));
+  }
+
+  /** Publishes several metrics in one log line. */
+  public static void publish(Metric... metrics) {
+    logger.info(toLogLine(List.of(metrics)));
+  }
+
+  static String toLogLine(String metricName, Number value, String unit) {
+    return toLogLine(List.of(new Metric(metricName, value, unit)));
+  }
+
+  static String toLogLine(List<Metric> metrics) {
+    var definitions = metrics.stream().map(Metric::definition).toList();
+    var directive =
+        Map.of("Namespace", NAMESPACE, "Dimensions", List.of(List.of()), "Metrics", definitions);
+    var metadata =
+        Map.of("Timestamp", Instant.now().toEpochMilli(), "CloudWatchMetrics", List.of(directive));
+    var logLine = new LinkedHashMap<String, Object>();
+    logLine.put(AWS, metadata);
+    metrics.forEach(metric -> logLine.put(metric.name(), metric.value()));
+    return attempt(() -> singleLineObjectMapper.writeValueAsString(logLine)).orElseThrow();
+  }
+
+  /**
+   * One metric value.
+   *
+   * @param name metric name, unique within the namespace
+   * @param value the value
+   * @param unit a CloudWatch unit, e.g. {@link #COUNT}
+   */
+  public record Metric(String name, Number value, String unit) {
+
+    private Map<String, String> definition() {
+      return Map.of("Name", name, "Unit", unit);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package no.unit.nva.search.common;
+
+import static no.unit.nva.constants.Defaults.ENVIRONMENT;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import nva.commons.core.Environment;
+
+/**
+ * Where {@link OpenSearchClient} runs the async stages after a response has arrived: status check,
+ * JSON deserialisation and merging of the hits and aggregation responses.
+ *
+ * <p>Chosen with {@code SEARCH_RESPONSE_EXECUTOR}, one of {@code bounded} (default), {@code
+ * virtual} or {@code common}. The bounded pool has {@code SEARCH_RESPONSE_THREADS} threads, by
+ * default one per processor but at least two.
+ */
+public enum ExecutorStrategy {
+  /** The common ForkJoinPool, which is also used by parallel streams elsewhere in the Lambda. */
+  COMMON_POOL("common"),
+  /** A pool of platform threads reserved for response handling. */
+  BOUNDED_POOL("bounded"),
+  /** A new virtual thread per stage. */
+  VIRTUAL_THREADS("virtual");
+
+  public static final String SEARCH_RESPONSE_EXECUTOR = "SEARCH_RESPONSE_EXECUTOR";
+  public static final String SEARCH_RESPONSE_THREADS = "SEARCH_RESPONSE_THREADS";
+  private static final int MIN_THREADS = 2;
+  private static final String UNKNOWN_STRATEGY = "Unknown " + SEARCH_RESPONSE_EXECUTOR + ": %s";
+
+  private final String configName;
+
+  ExecutorStrategy(String configName) {
+    this.configName = configName;
+  }
+
+  /** The strategy given by the environment of this Lambda. */
+  public static ExecutorStrategy configured() {
+    return fromEnvironment(ENVIRONMENT);
+  }
+
+  public static ExecutorStrategy fromEnvironment(Environment environment) {
+    return environment
+        .readEnvOpt(SEARCH_RESPONSE_EXECUTOR)
+        .map(ExecutorStrategy::fromConfigName)
+        .orElse(BOUNDED_POOL);
+  }
+
+  public static ExecutorStrategy fromConfigName(String configName) {
+    return Arrays.stream(values())
+        .filter(strategy -> strategy.configName.equalsIgnoreCase(configName))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException(UNKNOWN_STRATEGY.formatted(configName)));
+  }
+
+  /** The executor of this strategy, shared by all clients in the JVM. */
+  public Executor executor() {
+    return switch (this) {
+      case COMMON_POOL -> ForkJoinPool.commonPool();
+      case BOUNDED_POOL -> BoundedPoolHolder.EXECUTOR;
+      case VIRTUAL_THREADS -> VirtualThreadsHolder.EXECUTOR;
+    };
+  }
+
+  @SuppressWarnings("PMD.DoNotUseThreads")
+  private static final class BoundedPoolHolder {
+    private static final ExecutorService EXECUTOR =
+        Executors.newFixedThreadPool(
+            ENVIRONMENT
+                .readEnvOpt(SEARCH_RESPONSE_THREADS)
+                .map(Integer::parseInt)
+                .orElse(Math.max(MIN_THREADS, Runtime.getRuntime().availableProcessors())),
+            Thread.ofPlatform().name("search-response-", 0).daemon().factory());
+  }
+
+  @SuppressWarnings("PMD.DoNotUseThreads")
+  private static final class VirtualThreadsHolder {
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+  }
+}
@@ -0,0 +1,246 @@
+package no.unit.nva.search.common;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static no.unit.nva.constants.Defaults.ENVIRONMENT;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import no.unit.nva.search.common.EmbeddedMetrics.Metric;
+import nva.commons.core.Environment;
+import nva.commons.core.JacocoGenerated;
+
+/**
+ * Builds the {@link HttpClient} shared by all clients in a Lambda instance, so that they share one
+ * connection pool and one set of threads.
+ *
+ * <p>Settings are read from the environment, each with a default that matches the former {@code
+ * ResourceClient.defaultClient}:
+ *
+ * <ul>
+ *   <li>{@code SEARCH_HTTP_VERSION}: {@code HTTP_2} (default) multiplexes concurrent requests over
+ *       one connection per host, {@code HTTP_1_1} uses one pooled connection per request.
+ *   <li>{@code SEARCH_HTTP_MAX_STREAMS}: concurrent HTTP/2 streams per connection.
+ *   <li>{@code SEARCH_HTTP_EXECUTOR}: {@code fixed} (default) or {@code virtual}, for a virtual
+ *       thread per task.
+ *   <li>{@code SEARCH_HTTP_THREADS}: size of the fixed executor, default 3.
+ *   <li>{@code SEARCH_HTTP_CONNECT_TIMEOUT_SECONDS}: default 10.
+ *   <li>{@code SEARCH_HTTP_KEEP_ALIVE_SECONDS}: how long idle connections are kept.
+ *   <li>{@code SEARCH_HTTP_CONNECTION_POOL_SIZE}: max idle HTTP/1.1 connections kept per client.
+ * </ul>
+ *
+ * <p>Keep-alive, pool size and max streams are JDK system properties that are read once per JVM,
+ * so they only take effect if set before the first client is built, and never override a value
+ * given on the command line.
+ *
+ * <p>Requests sent through {@link #track(Supplier)} are counted. The most requests in flight at
+ * once and the average time tasks waited for an executor thread are collected, and published with
+ * the timings of a search response by {@link RequestTiming#publish()}, not once per request.
+ */
+public final class HttpTransport {
+
+  public static final String IN_FLIGHT_REQUESTS_METRIC = "InFlightRequests";
+  public static final String EXECUTOR_QUEUE_WAIT_METRIC = "HttpExecutorQueueWait";
+  public static final String VIRTUAL = "virtual";
+  private static final String HTTP_VERSION = "SEARCH_HTTP_VERSION";
+  private static final String MAX_STREAMS = "SEARCH_HTTP_MAX_STREAMS";
+  private static final String EXECUTOR = "SEARCH_HTTP_EXECUTOR";
+  private static final String THREADS = "SEARCH_HTTP_THREADS";
+  private static final String CONNECT_TIMEOUT_SECONDS = "SEARCH_HTTP_CONNECT_TIMEOUT_SECONDS";
+  private static final String KEEP_ALIVE_SECONDS = "SEARCH_HTTP_KEEP_ALIVE_SECONDS";
+  private static final String CONNECTION_POOL_SIZE = "SEARCH_HTTP_CONNECTION_POOL_SIZE";
+  private static final String JDK_MAX_STREAMS = "jdk.httpclient.maxstreams";
+  private static final String JDK_KEEP_ALIVE = "jdk.httpclient.keepalive.timeout";
+  private static final String JDK_KEEP_ALIVE_H2 = "jdk.httpclient.keepalive.timeout.h2";
+  private static final String JDK_CONNECTION_POOL_SIZE = "jdk.httpclient.connectionPoolSize";
+  private static final int DEFAULT_THREADS = 3;
+  private static final int DEFAULT_CONNECT_TIMEOUT_SECONDS = 10;
+  private static final double NANOS_PER_MILLI = 1_000_000d;
+  private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+  private static final AtomicInteger PEAK_IN_FLIGHT = new AtomicInteger();
+  private static final LongAdder QUEUE_WAIT_NANOS = new LongAdder();
+  private static final LongAdder QUEUED_TASKS = new LongAdder();
+
+  private HttpTransport() {}
+
+  /** The client shared by all search clients in this JVM, built from the environment. */
+  @JacocoGenerated
+  public static HttpClient sharedHttpClient() {
+    return SharedClientHolder.HTTP_CLIENT;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** A builder with every setting read from the environment, or its default. */
+  public static Builder builderFromEnvironment(Environment environment) {
+    var builder = builder();
+    environment
+        .readEnvOpt(HTTP_VERSION)
+        .map(HttpClient.Version::valueOf)
+        .ifPresent(builder::withVersion);
+    environment.readEnvOpt(MAX_STREAMS).map(Integer::parseInt).ifPresent(builder::withMaxStreams);
+    environment
+        .readEnvOpt(EXECUTOR)
+        .map(VIRTUAL::equalsIgnoreCase)
+        .ifPresent(builder::withVirtualThreads);
+    environment.readEnvOpt(THREADS).map(Integer::parseInt).ifPresent(builder::withThreads);
+    environment
+        .readEnvOpt(CONNECT_TIMEOUT_SECONDS)
+        .map(seconds -> Duration.ofSeconds(Long.parseLong(seconds)))
+        .ifPresent(builder::withConnectTimeout);
+    environment
+        .readEnvOpt(KEEP_ALIVE_SECONDS)
+        .map(seconds -> Duration.ofSeconds(Long.parseLong(seconds)))
+        .ifPresent(builder::withKeepAlive);
+    environment
+        .readEnvOpt(CONNECTION_POOL_SIZE)
+        .map(Integer::parseInt)
+        .ifPresent(builder::withConnectionPoolSize);
+    return builder;
+  }
+
+  /**
+   * Counts a request as in flight until its response future completes.
+   *
+   * @param send sends the request
+   * @return the response future returned by {@code send}
+   */
+  public static <T> CompletableFuture<T> track(Supplier<CompletableFuture<T>> send) {
+    PEAK_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+    CompletableFuture<T> response;
+    try {
+      response = send.get();
+    } catch (RuntimeException exception) {
+      IN_FLIGHT.decrementAndGet();
+      throw exception;
+    }
+    return response.whenComplete((ignored, failure) -> IN_FLIGHT.decrementAndGet());
+  }
+
+  public static int inFlightRequests() {
+    return IN_FLIGHT.get();
+  }
+
+  /**
+   * Average time, in milliseconds, that executor tasks waited for a thread since the previous call.
+   */
+  public static double drainAverageQueueWaitMillis() {
+    var tasks = QUEUED_TASKS.sumThenReset();
+    var nanos = QUEUE_WAIT_NANOS.sumThenReset();
+    return tasks == 0 ? 0 : (double) nanos / NANOS_PER_MILLI / tasks;
+  }
+
+  /**
+   * The transport metrics since the previous call: the most requests in flight at once, and the
+   * average time executor tasks waited for a thread.
+   */
+  public static List<Metric> drainMetrics() {
+    var peakInFlight = PEAK_IN_FLIGHT.getAndSet(IN_FLIGHT.get());
+    return List.of(
+        new Metric(IN_FLIGHT_REQUESTS_METRIC, peakInFlight, EmbeddedMetrics.COUNT),
+        new Metric(
+            EXECUTOR_QUEUE_WAIT_METRIC,
+            drainAverageQueueWaitMillis(),
+            EmbeddedMetrics.MILLISECONDS));
+  }
+
+  private static Executor measuringQueueWait(Executor executor) {
+    return task -> {
+      var queuedAt = System.nanoTime();
+      executor.execute(
+          () -> {
+            QUEUE_WAIT_NANOS.add(System.nanoTime() - queuedAt);
+            QUEUED_TASKS.increment();
+            task.run();
+          });
+    };
+  }
+
+  private static void setIfAbsent(String property, Object value) {
+    if (isNull(System.getProperty(property))) {
+      System.setProperty(property, String.valueOf(value));
+    }
+  }
+
+  @JacocoGenerated
+  private static final class SharedClientHolder {
+    private static final HttpClient HTTP_CLIENT = builderFromEnvironment(ENVIRONMENT).build();
+  }
+
+  public static class Builder {
+    private HttpClient.Version version = HttpClient.Version.HTTP_2;
+    private boolean virtualThreads;
+    private int threads = DEFAULT_THREADS;
+    private Duration connectTimeout = Duration.ofSeconds(DEFAULT_CONNECT_TIMEOUT_SECONDS);
+    private Integer maxStreams;
+    private Duration keepAlive;
+    private Integer connectionPoolSize;
+
+    @SuppressWarnings("PMD.DoNotUseThreads")
+    public HttpClient build() {
+      if (nonNull(maxStreams)) {
+        setIfAbsent(JDK_MAX_STREAMS, maxStreams);
+      }
+      if (nonNull(keepAlive)) {
+        setIfAbsent(JDK_KEEP_ALIVE, keepAlive.toSeconds());
+        setIfAbsent(JDK_KEEP_ALIVE_H2, keepAlive.toSeconds());
+      }
+      if (nonNull(connectionPoolSize)) {
+        setIfAbsent(JDK_CONNECTION_POOL_SIZE, connectionPoolSize);
+      }
+      var executor =
+          virtualThreads
+              ? Executors.newVirtualThreadPerTaskExecutor()
+              : Executors.newFixedThreadPool(threads);
+      return HttpClient.newBuilder()
+          .executor(measuringQueueWait(executor))
+          .version(version)
+          .connectTimeout(connectTimeout)
+          .build();
+    }
+
+    public Builder withVersion(HttpClient.Version version) {
+      this.version = version;
+      return this;
+    }
+
+    public Builder withMaxStreams(int maxStreams) {
+      this.maxStreams = maxStreams;
+      return this;
+    }
+
+    public Builder withVirtualThreads(boolean virtualThreads) {
+      this.virtualThreads = virtualThreads;
+      return this;
+    }
+
+    public Builder withThreads(int threads) {
+      this.threads = threads;
+      return this;
+    }
+
+    public Builder withConnectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    public Builder withKeepAlive(Duration keepAlive) {
+      this.keepAlive = keepAlive;
+      return this;
+    }
+
+    public Builder withConnectionPoolSize(int connectionPoolSize) {
+      this.connectionPoolSize = connectionPoolSize;
+      return this;
+    }
+  }
+}
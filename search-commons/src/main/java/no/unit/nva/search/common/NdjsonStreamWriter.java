@@ -0,0 +1,50 @@
+package no.unit.nva.search.common;
+
+import static nva.commons.core.attempt.Try.attempt;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import no.unit.nva.commons.json.JsonUtils;
+
+/**
+ * Writes search hits as newline-delimited JSON, one page at a time, to an underlying {@link
+ * Writer}.
+ *
+ * <p>Every hit is written as it is, on a line of its own, for consumers that read the source
+ * documents rather than a bibliographic format.
+ */
+public final class NdjsonStreamWriter implements PageWriter {
+
+  private static final ObjectMapper MAPPER = JsonUtils.singleLineObjectMapper;
+  private static final char LINE_END = '\n';
+
+  private final JsonGenerator generator;
+
+  public NdjsonStreamWriter(Writer writer) {
+    this.generator = attempt(() -> MAPPER.createGenerator(writer)).orElseThrow();
+    generator.setRootValueSeparator(null);
+  }
+
+  /**
+   * Writes a page of hits, one per line, and flushes them to the underlying writer.
+   *
+   * @param hits the source documents of one search/scroll page
+   */
+  @Override
+  public void write(List<JsonNode> hits) {
+    try {
+      for (var hit : hits) {
+        generator.writeTree(hit);
+        generator.writeRaw(LINE_END);
+      }
+      generator.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
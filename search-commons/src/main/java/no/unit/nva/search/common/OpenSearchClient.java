@@ -1,24 +1,24 @@
 package no.unit.nva.search.common;
 
 import static java.net.HttpURLConnection.HTTP_OK;
-import static java.util.stream.Collectors.joining;
+import static java.util.Objects.nonNull;
 import static no.unit.nva.auth.AuthorizedBackendClient.AUTHORIZATION_HEADER;
 import static no.unit.nva.auth.uriretriever.UriRetriever.ACCEPT;
-import static no.unit.nva.constants.Words.AMPERSAND;
 import static no.unit.nva.constants.Words.CONTENT_TYPE;
 import static nva.commons.core.attempt.Try.attempt;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandler;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.BinaryOperator;
+import no.unit.nva.search.common.cache.ResponseCache;
 import no.unit.nva.search.common.jwt.CachedJwtProvider;
 import no.unit.nva.search.common.records.QueryContentWrapper;
 import no.unit.nva.search.common.records.ResponseLogInfo;
@@ -43,84 +43,118 @@ public abstract class OpenSearchClient<R, Q extends Query<?>> {
   protected static final Logger logger = LoggerFactory.getLogger(OpenSearchClient.class);
 
   protected final HttpClient httpClient;
-  protected final BodyHandler<String> bodyHandler;
+  protected final BodyHandler<byte[]> bodyHandler;
   protected final CachedJwtProvider jwtProvider;
-  protected Instant queryBuilderStart;
-  protected long fetchDuration;
-  protected String queryParameters;
+  protected final Executor responseExecutor;
+  private ResponseCache<QueryContentWrapper, R> aggregationCache = ResponseCache.disabled();
 
   public OpenSearchClient(HttpClient httpClient, CachedJwtProvider jwtProvider) {
-    this.bodyHandler = HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8);
+    this(httpClient, jwtProvider, ExecutorStrategy.configured().executor());
+  }
+
+  /**
+   * @param responseExecutor runs the stages after a response has arrived, see {@link
+   *     ExecutorStrategy}
+   */
+  public OpenSearchClient(
+      HttpClient httpClient, CachedJwtProvider jwtProvider, Executor responseExecutor) {
+    this.bodyHandler = HttpResponse.BodyHandlers.ofByteArray();
     this.httpClient = httpClient;
     this.jwtProvider = jwtProvider;
+    this.responseExecutor = responseExecutor;
   }
 
   public R doSearch(Q query, String indexName) {
-    queryBuilderStart = query.getStartTime();
-    queryParameters =
-        query.parameters().asMap().entrySet().stream()
-            .map(Object::toString)
-            .collect(joining(AMPERSAND));
-
     var completableFutures =
         query
             .assemble(indexName)
-            .map(this::createRequest)
-            .map(this::fetch)
-            .map(this::handleResponse)
+            .map(content -> sendOrReuse(content, query))
             .toList();
 
     return combineAndReturn(completableFutures);
   }
 
+  /**
+   * Keeps the responses of aggregation-only requests, so that paging through a search sends only
+   * the request for hits once the aggregations of its first page are cached. The key is the whole
+   * request, which holds the query and filters but no pagination or sort.
+   */
+  public OpenSearchClient<R, Q> withAggregationCache(
+      ResponseCache<QueryContentWrapper, R> aggregationCache) {
+    this.aggregationCache = aggregationCache;
+    return this;
+  }
+
+  private CompletableFuture<R> sendOrReuse(QueryContentWrapper content, Q query) {
+    return content.aggregationsOnly()
+        ? aggregationCache.computeIfAbsentAsync(
+            content, () -> sendRequest(content, RequestTiming.forQuery(query)))
+        : sendRequest(content, RequestTiming.forQuery(query));
+  }
+
+  /**
+   * Sends one request of a query and parses its response.
+   *
+   * @param timing the timing of this request only, never shared between requests
+   */
+  protected CompletableFuture<R> sendRequest(QueryContentWrapper content, RequestTiming timing) {
+    return handleResponse(fetch(createRequest(content), timing), timing);
+  }
+
   protected CompletableFuture<R> handleResponse(
-      CompletableFuture<HttpResponse<String>> completableFuture) {
+      CompletableFuture<HttpResponse<byte[]>> completableFuture, RequestTiming timing) {
     return completableFuture.thenApplyAsync(
         response -> {
+          timing.stageStarted();
           if (response.statusCode() != HTTP_OK) {
             logger.error(
                 "OpenSearch query {} failed with status code: {} and body: {}",
                 response.request().uri(),
                 response.statusCode(),
-                response.body());
-            throw new OpenSearchClientException(response.statusCode(), response.body());
+                bodyAsString(response));
+            throw new OpenSearchClientException(response.statusCode(), bodyAsString(response));
           }
-          return attempt(() -> jsonToResponse(response)).map(logAndReturnResult()).orElseThrow();
-        });
+          return attempt(() -> jsonToResponse(response))
+              .map(timing::deserialised)
+              .map(logAndReturnResult(timing))
+              .orElseThrow();
+        },
+        responseExecutor);
   }
 
-  protected abstract R jsonToResponse(HttpResponse<String> response) throws JsonProcessingException;
+  /**
+   * Parses the response body. The body is kept as the UTF-8 bytes received, and is parsed straight
+   * from them without first being decoded into a String.
+   */
+  protected abstract R jsonToResponse(HttpResponse<byte[]> response) throws IOException;
 
   protected abstract BinaryOperator<R> responseAccumulator();
 
-  protected abstract FunctionWithException<R, R, RuntimeException> logAndReturnResult();
+  protected abstract FunctionWithException<R, R, RuntimeException> logAndReturnResult(
+      RequestTiming timing);
 
   protected R combineAndReturn(List<CompletableFuture<R>> completableFutures) {
     return completableFutures.size() == 2
         ? completableFutures
             .get(0)
-            .thenCombineAsync(completableFutures.get(1), responseAccumulator())
+            .thenCombineAsync(completableFutures.get(1), responseAccumulator(), responseExecutor)
             .join()
         : completableFutures.get(0).join();
   }
 
-  protected CompletableFuture<HttpResponse<String>> fetch(HttpRequest request) {
-    var fetchStart = Instant.now();
-    return httpClient
-        .sendAsync(request, bodyHandler)
-        .thenApplyAsync(
-            response -> {
-              fetchDuration = Duration.between(fetchStart, Instant.now()).toMillis();
-              return response;
-            })
+  protected CompletableFuture<HttpResponse<byte[]>> fetch(
+      HttpRequest request, RequestTiming timing) {
+    timing.requestSent();
+    return HttpTransport.track(
+            () -> httpClient.sendAsync(request, timing.stampingHeaders(bodyHandler)))
+        .whenComplete((response, failure) -> timing.bodyReceived())
         .exceptionallyAsync(
-            responseFailure -> getStringHttpResponse(request, responseFailure, fetchStart));
+            responseFailure -> getFailedHttpResponse(request, responseFailure), responseExecutor);
   }
 
   @JacocoGenerated
-  private HttpResponse<String> getStringHttpResponse(
-      HttpRequest request, Throwable responseFailure, Instant fetchStart) {
-    fetchDuration = Duration.between(fetchStart, Instant.now()).toMillis();
+  private HttpResponse<byte[]> getFailedHttpResponse(
+      HttpRequest request, Throwable responseFailure) {
     logger.error(
         "Failed to fetch from OpenSearch at {}, error {}",
         request.uri(),
@@ -128,27 +162,37 @@ public abstract class OpenSearchClient<R, Q extends Query<?>> {
     return null;
   }
 
+  protected static String bodyAsString(HttpResponse<byte[]> response) {
+    return nonNull(response.body()) ? new String(response.body(), StandardCharsets.UTF_8) : null;
+  }
+
   protected HttpRequest createRequest(QueryContentWrapper qbs) {
     logger.debug(qbs.body());
-    return HttpRequest.newBuilder(qbs.uri())
+    return requestBuilder(qbs.uri())
+        .POST(HttpRequest.BodyPublishers.ofString(qbs.body()))
+        .build();
+  }
+
+  protected HttpRequest.Builder requestBuilder(URI uri) {
+    return HttpRequest.newBuilder(uri)
         .headers(
             ACCEPT, MediaType.JSON_UTF_8.toString(),
             CONTENT_TYPE, MediaType.JSON_UTF_8.toString(),
-            AUTHORIZATION_HEADER, jwtProvider.getValue().getToken())
-        .POST(HttpRequest.BodyPublishers.ofString(qbs.body()))
-        .build();
+            AUTHORIZATION_HEADER, jwtProvider.getValue().getToken());
   }
 
-  protected String buildLogInfo(SwsResponse result) {
+  /**
+   * Builds the log line of a parsed response, and publishes the phases of its request as metrics.
+   */
+  protected String buildLogInfo(SwsResponse result, RequestTiming timing) {
+    timing.serverTook(result.took());
+    timing.publish();
     return ResponseLogInfo.builder()
-        .withTotalTime(totalDuration())
-        .withFetchTime(fetchDuration)
+        .withTotalTime(timing.totalMillis())
+        .withFetchTime(timing.fetchMillis())
         .withSwsResponse(result)
-        .withSearchQuery(queryParameters)
+        .withSearchQuery(timing.queryParameters())
+        .withPhases(timing.phases())
         .toJsonString();
   }
-
-  protected long totalDuration() {
-    return Duration.between(queryBuilderStart, Instant.now()).toMillis();
-  }
 }
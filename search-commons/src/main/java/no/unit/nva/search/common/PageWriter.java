@@ -0,0 +1,27 @@
+package no.unit.nva.search.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+
+/**
+ * Writes search hits in an export format, one page at a time, to an underlying {@link
+ * java.io.Writer}.
+ *
+ * <p>Consecutive pages end up as one document, and only the page currently being written is held
+ * in memory, so an export read page by page through a {@link
+ * no.unit.nva.search.scroll.PageIterator} runs in constant memory whatever its size.
+ */
+public interface PageWriter {
+
+  /**
+   * Converts a page of hits and flushes them to the underlying writer.
+   *
+   * @param hits the source documents of one search/scroll page
+   */
+  void write(List<JsonNode> hits);
+
+  /** Ends the document after the last page and flushes it. The underlying writer is left open. */
+  default void finish() {
+    // Most formats need no trailer
+  }
+}
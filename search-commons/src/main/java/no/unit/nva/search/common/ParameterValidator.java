@@ -31,8 +31,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import no.unit.nva.search.common.constant.Patterns;
+import no.unit.nva.search.common.enums.KeyResolver;
 import no.unit.nva.search.common.enums.ParameterKey;
 import no.unit.nva.search.common.enums.ValueEncoding;
 import nva.commons.apigateway.RequestInfo;
@@ -54,6 +56,8 @@ public abstract class ParameterValidator<
 
   protected static final Logger logger = LoggerFactory.getLogger(ParameterValidator.class);
 
+  private static final Pattern NON_PRINTABLE_CHARACTERS =
+      Pattern.compile(Patterns.PATTERN_IS_NON_PRINTABLE_CHARACTERS);
   private static final int MAX_RESULT_WINDOW_SIZE = 10_000;
   private static final String FROM_KEY_NAME = "FROM";
   private static final String SIZE_KEY_NAME = "SIZE";
@@ -264,7 +268,7 @@ public abstract class ParameterValidator<
   protected String getDecodedValue(ParameterKey<K> qpKey, String value) {
     try {
       var decoded = qpKey.valueEncoding() == ValueEncoding.NONE ? value : decodeUTF(value);
-      return decoded.replaceAll(Patterns.PATTERN_IS_NON_PRINTABLE_CHARACTERS, EMPTY_STRING);
+      return NON_PRINTABLE_CHARACTERS.matcher(decoded).replaceAll(EMPTY_STRING);
     } catch (IllegalArgumentException malformedEncoding) {
       malformedKeys.add(qpKey.asCamelCase());
       return value;
@@ -393,7 +397,7 @@ public abstract class ParameterValidator<
   protected boolean invalidQueryParameter(K key, String value) {
     return isNull(value)
         || Arrays.stream(value.split(COMMA))
-            .noneMatch(singleValue -> singleValue.matches(key.valuePattern()));
+            .noneMatch(KeyResolver.compiled(key.valuePattern()).asMatchPredicate());
   }
 
   private void validatePaginationParameters() throws BadRequestException {
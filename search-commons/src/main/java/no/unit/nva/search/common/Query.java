@@ -48,6 +48,10 @@ public abstract class Query<K extends Enum<K> & ParameterKey<K>> {
     return queryFilter;
   }
 
+  public URI getInfrastructureApiUri() {
+    return infrastructureApiUri;
+  }
+
   public Instant getStartTime() {
     return startTime;
   }
@@ -0,0 +1,117 @@
+package no.unit.nva.search.common;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.constants.Words.POST_FILTER;
+import static nva.commons.core.attempt.Try.attempt;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.AggregatorFactories;
+
+/**
+ * Serialises the parts of a search request that are the same for many requests once, and splices
+ * them into the JSON of the parts that are built per request.
+ *
+ * <p>Serialising a {@code SearchSourceBuilder} runs the XContent machinery over every builder in
+ * it, and the aggregation trees are by far the largest of them. Aggregations that never change are
+ * kept as constants, made by {@link #toJson(List)}. Sorts come from the small set of sort keys,
+ * and are kept here by {@link #fragment(ToXContent)}, keyed on the builder that made them. At most
+ * {@value #MAXIMUM_FRAGMENTS} are kept, the least recently used is evicted beyond that.
+ */
+public final class QueryTemplate {
+
+  private static final int MAXIMUM_FRAGMENTS = 256;
+  private static final float LOAD_FACTOR = 0.75f;
+  private static final Map<ToXContent, String> FRAGMENTS =
+      new LinkedHashMap<>(MAXIMUM_FRAGMENTS, LOAD_FACTOR, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ToXContent, String> eldest) {
+          return size() > MAXIMUM_FRAGMENTS;
+        }
+      };
+  private static final String EMPTY_OBJECT = "{}";
+  private static final char END_OBJECT = '}';
+  private static final int QUOTES_COLON_AND_COMMA = 4;
+
+  private QueryTemplate() {}
+
+  /** Serialises {@code content} to compact JSON. */
+  public static String toJson(ToXContent content) {
+    return attempt(
+            () -> {
+              var builder = XContentFactory.jsonBuilder();
+              content.toXContent(builder, ToXContent.EMPTY_PARAMS);
+              return BytesReference.bytes(builder).utf8ToString();
+            })
+        .orElseThrow();
+  }
+
+  /** Serialises {@code aggregations} to the JSON object of an {@code aggregations} field. */
+  public static String toJson(List<AggregationBuilder> aggregations) {
+    var factories = new AggregatorFactories.Builder();
+    aggregations.forEach(factories::addAggregator);
+    return toJson(factories);
+  }
+
+  /**
+   * The JSON of {@code content}, serialised the first time an equal builder is seen. Only for
+   * builders made from a fixed set of values, as the cache is shared by all requests.
+   */
+  public static String fragment(ToXContent content) {
+    synchronized (FRAGMENTS) {
+      var json = FRAGMENTS.get(content);
+      if (nonNull(json)) {
+        return json;
+      }
+    }
+    var json = toJson(content);
+    synchronized (FRAGMENTS) {
+      FRAGMENTS.put(content, json);
+    }
+    return json;
+  }
+
+  /**
+   * The JSON of the {@value no.unit.nva.constants.Words#POST_FILTER} aggregation, which applies
+   * {@code filter} to the already serialised {@code aggregations}.
+   */
+  public static String filtered(QueryBuilder filter, String aggregations) {
+    return new StringBuilder()
+        .append("{\"")
+        .append(POST_FILTER)
+        .append("\":{\"filter\":")
+        .append(toJson(filter))
+        .append(",\"aggregations\":")
+        .append(aggregations)
+        .append("}}")
+        .toString();
+  }
+
+  /**
+   * Adds a field to a serialised JSON object.
+   *
+   * @param json a JSON object
+   * @param name name of the field
+   * @param value JSON value of the field
+   */
+  public static String withField(String json, String name, String value) {
+    var end = json.lastIndexOf(END_OBJECT);
+    var separator = EMPTY_OBJECT.equals(json) ? "" : ",";
+    var capacity = json.length() + name.length() + value.length() + QUOTES_COLON_AND_COMMA;
+    return new StringBuilder(capacity)
+        .append(json, 0, end)
+        .append(separator)
+        .append('"')
+        .append(name)
+        .append("\":")
+        .append(value)
+        .append(END_OBJECT)
+        .toString();
+  }
+}
@@ -0,0 +1,168 @@
+package no.unit.nva.search.common;
+
+import static java.util.stream.Collectors.joining;
+import static no.unit.nva.constants.Words.AMPERSAND;
+
+import java.net.http.HttpResponse.BodyHandler;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import no.unit.nva.search.common.EmbeddedMetrics.Metric;
+
+/**
+ * Timings of one request to OpenSearch, carried through the stages of its future chain.
+ *
+ * <p>A new instance is made for every request, so concurrent searches on the same client no longer
+ * overwrite each other's timings. Each stamp is written by one stage and read by a later stage of
+ * the same chain, which the completion of the earlier stage makes visible.
+ *
+ * <p>Phases that were not reached, or that cannot be told apart (e.g. when the response headers
+ * were never seen), are reported as zero.
+ */
+public final class RequestTiming {
+
+  private static final double NANOS_PER_MILLI = 1_000_000d;
+
+  private final Instant queryStart;
+  private final String queryParameters;
+  private long sentNanos;
+  private long headersNanos;
+  private long bodyNanos;
+  private long stageNanos;
+  private long deserialisedNanos;
+  private long serverMillis;
+
+  public RequestTiming(Instant queryStart, String queryParameters) {
+    this.queryStart = queryStart;
+    this.queryParameters = queryParameters;
+  }
+
+  /** A timing for one of the requests of {@code query}. */
+  public static RequestTiming forQuery(Query<?> query) {
+    return new RequestTiming(
+        query.getStartTime(),
+        query.parameters().asMap().entrySet().stream()
+            .map(Object::toString)
+            .collect(joining(AMPERSAND)));
+  }
+
+  public String queryParameters() {
+    return queryParameters;
+  }
+
+  public void requestSent() {
+    sentNanos = System.nanoTime();
+  }
+
+  /** Wraps {@code bodyHandler} so that the arrival of the response headers is stamped. */
+  public <T> BodyHandler<T> stampingHeaders(BodyHandler<T> bodyHandler) {
+    return responseInfo -> {
+      headersNanos = System.nanoTime();
+      return bodyHandler.apply(responseInfo);
+    };
+  }
+
+  public void bodyReceived() {
+    bodyNanos = System.nanoTime();
+  }
+
+  /** Marks the start of the response stage, once it got a thread of the response executor. */
+  public void stageStarted() {
+    stageNanos = System.nanoTime();
+  }
+
+  /** Marks the end of deserialisation and returns {@code response} unchanged. */
+  public <T> T deserialised(T response) {
+    deserialisedNanos = System.nanoTime();
+    return response;
+  }
+
+  /**
+   * @param took the {@code took} of the OpenSearch response, in milliseconds
+   */
+  public void serverTook(long took) {
+    serverMillis = took;
+  }
+
+  /** Milliseconds from sending the request until the whole body had arrived. */
+  public long fetchMillis() {
+    return toMillis(bodyNanos - sentNanos);
+  }
+
+  /** Milliseconds since the query was built. */
+  public long totalMillis() {
+    return Duration.between(queryStart, Instant.now()).toMillis();
+  }
+
+  /** The duration of each phase this timing covers, in milliseconds, by metric name. */
+  public Map<String, Long> phases() {
+    var headers = headersNanos == 0 ? bodyNanos : headersNanos;
+    var phases = new LinkedHashMap<String, Long>();
+    phases.put(Phase.QUEUE.metricName(), toMillis(stageNanos - bodyNanos));
+    phases.put(
+        Phase.CONNECT.metricName(), Math.max(0, toMillis(headers - sentNanos) - serverMillis));
+    phases.put(Phase.SERVER.metricName(), serverMillis);
+    phases.put(Phase.TRANSFER.metricName(), toMillis(bodyNanos - headers));
+    phases.put(Phase.DESERIALISATION.metricName(), toMillis(deserialisedNanos - stageNanos));
+    return phases;
+  }
+
+  /**
+   * Publishes the phases and the total time of this request as metrics, in one line with the
+   * transport metrics collected since the previous line, see {@link HttpTransport#drainMetrics()}.
+   */
+  public void publish() {
+    var phases =
+        phases().entrySet().stream()
+            .map(phase -> millis(phase.getKey(), phase.getValue()));
+    var total = millis(Phase.TOTAL.metricName(), totalMillis());
+    var transport = HttpTransport.drainMetrics().stream();
+    var metrics = Stream.of(phases, Stream.of(total), transport).flatMap(stream -> stream);
+    EmbeddedMetrics.publish(metrics.toArray(Metric[]::new));
+  }
+
+  private static Metric millis(String metricName, long milliseconds) {
+    return new Metric(metricName, milliseconds, EmbeddedMetrics.MILLISECONDS);
+  }
+
+  private static long toMillis(long nanos) {
+    return nanos <= 0 ? 0 : Math.round(nanos / NANOS_PER_MILLI);
+  }
+
+  /** The phases of a search, each published as a metric of its own. */
+  public enum Phase {
+    /** Waiting for a thread of the response executor after the body had arrived. */
+    QUEUE("SearchQueueTime"),
+    /** Connection set-up, upload of the request and network latency, less {@link #SERVER}. */
+    CONNECT("SearchConnectTime"),
+    /** Time spent by OpenSearch, as reported in {@code took}. */
+    SERVER("SearchServerTime"),
+    /** From the response headers until the whole body had arrived. */
+    TRANSFER("SearchTransferTime"),
+    /** Parsing the response body. */
+    DESERIALISATION("SearchDeserialisationTime"),
+    /** Formatting the aggregations of the response, see {@link AggregationFormat}. */
+    AGGREGATION_FORMATTING("SearchAggregationFormattingTime"),
+    /** Running the hit mutators of the response. */
+    MUTATION("SearchMutationTime"),
+    /** From building the query until the response had been parsed. */
+    TOTAL("SearchTotalTime");
+
+    private final String metricName;
+
+    Phase(String metricName) {
+      this.metricName = metricName;
+    }
+
+    public String metricName() {
+      return metricName;
+    }
+
+    /** A metric for this phase, having lasted {@code nanos}. */
+    public Metric metric(long nanos) {
+      return millis(metricName, toMillis(nanos));
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package no.unit.nva.search.common;
+
+import static java.util.Objects.isNull;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Optional;
+
+/**
+ * A resource search hit, as read by the export formats: CSV, BibTeX and schema.org.
+ *
+ * <p>Each format reads a dozen or more fields from every hit, most of them below {@code
+ * /entityDescription/reference}. {@link JsonNode#at(String)} parses its pointer and walks down
+ * from the root for every one of them. Here the pointers are compiled once, the subtrees the fields
+ * are in are resolved once per hit, and every field is read relative to its subtree.
+ *
+ * <p>A subtree or field that is missing reads as a {@link
+ * com.fasterxml.jackson.databind.node.MissingNode}, as with {@link JsonNode#at(String)}.
+ */
+public final class ResourceHit {
+
+  public static final Field ID_POINTER = Field.of(Subtree.ROOT, "/id");
+  public static final Field IDENTIFIER_POINTER = Field.of(Subtree.ROOT, "/identifier");
+  public static final Field HANDLE_POINTER = Field.of(Subtree.ROOT, "/handle");
+  public static final Field NVA_DOI_POINTER = Field.of(Subtree.ROOT, "/doi");
+  public static final Field MAIN_TITLE_POINTER = Field.of(Subtree.ENTITY_DESCRIPTION, "/mainTitle");
+  public static final Field ABSTRACT_POINTER = Field.of(Subtree.ENTITY_DESCRIPTION, "/abstract");
+  public static final Field YEAR_POINTER =
+      Field.of(Subtree.ENTITY_DESCRIPTION, "/publicationDate/year");
+  public static final Field MONTH_POINTER =
+      Field.of(Subtree.ENTITY_DESCRIPTION, "/publicationDate/month");
+  public static final Field DAY_POINTER =
+      Field.of(Subtree.ENTITY_DESCRIPTION, "/publicationDate/day");
+  public static final Field TAGS_POINTER = Field.of(Subtree.ENTITY_DESCRIPTION, "/tags");
+  public static final Field DOI_POINTER = Field.of(Subtree.REFERENCE, "/doi");
+  public static final Field CONTEXT_TYPE_POINTER = Field.of(Subtree.PUBLICATION_CONTEXT, "/type");
+  public static final Field CONTEXT_NAME_POINTER = Field.of(Subtree.PUBLICATION_CONTEXT, "/name");
+  public static final Field CONTEXT_TITLE_POINTER =
+      Field.of(Subtree.PUBLICATION_CONTEXT, "/title");
+  public static final Field CONTEXT_ONLINE_ISSN_POINTER =
+      Field.of(Subtree.PUBLICATION_CONTEXT, "/onlineIssn");
+  public static final Field CONTEXT_PRINT_ISSN_POINTER =
+      Field.of(Subtree.PUBLICATION_CONTEXT, "/printIssn");
+  public static final Field CONTEXT_PUBLISHER_NAME_POINTER =
+      Field.of(Subtree.PUBLICATION_CONTEXT, "/publisher/name");
+  public static final Field CONTEXT_SERIES_NAME_POINTER =
+      Field.of(Subtree.PUBLICATION_CONTEXT, "/series/name");
+  public static final Field CONTEXT_ISBN_POINTER =
+      Field.of(Subtree.PUBLICATION_CONTEXT, "/isbnList/0");
+  public static final Field ANTHOLOGY_MAIN_TITLE_POINTER =
+      Field.of(Subtree.PUBLICATION_CONTEXT, "/entityDescription/mainTitle");
+  public static final Field ANTHOLOGY_PUBLISHER_NAME_POINTER =
+      Field.of(
+          Subtree.PUBLICATION_CONTEXT,
+          "/entityDescription/reference/publicationContext/publisher/name");
+  public static final Field ANTHOLOGY_ISBN_POINTER =
+      Field.of(
+          Subtree.PUBLICATION_CONTEXT,
+          "/entityDescription/reference/publicationContext/isbnList/0");
+  public static final Field INSTANCE_TYPE_POINTER =
+      Field.of(Subtree.PUBLICATION_INSTANCE, "/type");
+  public static final Field VOLUME_POINTER = Field.of(Subtree.PUBLICATION_INSTANCE, "/volume");
+  public static final Field ISSUE_POINTER = Field.of(Subtree.PUBLICATION_INSTANCE, "/issue");
+  public static final Field PAGES_BEGIN_POINTER =
+      Field.of(Subtree.PUBLICATION_INSTANCE, "/pages/begin");
+  public static final Field PAGES_END_POINTER =
+      Field.of(Subtree.PUBLICATION_INSTANCE, "/pages/end");
+  public static final Field PAGES_MONOGRAPH_POINTER =
+      Field.of(Subtree.PUBLICATION_INSTANCE, "/pages/pages");
+  public static final Field MANIFESTATIONS_POINTER =
+      Field.of(Subtree.PUBLICATION_INSTANCE, "/manifestations");
+
+  /** Relative to a contributor. */
+  public static final JsonPointer IDENTITY_NAME_POINTER = JsonPointer.compile("/identity/name");
+
+  /** Relative to a contributor. */
+  public static final JsonPointer ROLE_TYPE_POINTER = JsonPointer.compile("/role/type");
+
+  private static final Subtree[] SUBTREES = Subtree.values();
+  private final JsonNode[] subtrees;
+
+  private ResourceHit(JsonNode root) {
+    this.subtrees = new JsonNode[SUBTREES.length];
+    for (var subtree : SUBTREES) {
+      subtrees[subtree.ordinal()] =
+          subtree == Subtree.ROOT ? root : subtree(subtree.parent).at(subtree.relativePointer);
+    }
+  }
+
+  public static ResourceHit of(JsonNode hit) {
+    return new ResourceHit(hit);
+  }
+
+  /**
+   * The text of a value, or empty if it is missing, {@code null} or blank.
+   *
+   * @param value read by {@link #at(Field)} or {@link JsonNode#at(JsonPointer)}
+   */
+  public static Optional<String> text(JsonNode value) {
+    if (value.isMissingNode() || value.isNull()) {
+      return Optional.empty();
+    }
+    var text = value.asText();
+    return text.isBlank() ? Optional.empty() : Optional.of(text);
+  }
+
+  /** The text at {@code pointer} below {@code node}, see {@link #text(JsonNode)}. */
+  public static Optional<String> text(JsonNode node, JsonPointer pointer) {
+    return text(node.at(pointer));
+  }
+
+  public JsonNode root() {
+    return subtree(Subtree.ROOT);
+  }
+
+  public JsonNode subtree(Subtree subtree) {
+    return subtrees[subtree.ordinal()];
+  }
+
+  public JsonNode at(Field field) {
+    return subtree(field.subtree()).at(field.pointer());
+  }
+
+  /** The text of {@code field}, see {@link #text(JsonNode)}. */
+  public Optional<String> text(Field field) {
+    return text(at(field));
+  }
+
+  /** The subtrees of a hit that fields are read relative to, each below the one before it. */
+  public enum Subtree {
+    ROOT(null, ""),
+    ENTITY_DESCRIPTION(ROOT, "/entityDescription"),
+    CONTRIBUTORS(ENTITY_DESCRIPTION, "/contributors"),
+    REFERENCE(ENTITY_DESCRIPTION, "/reference"),
+    PUBLICATION_CONTEXT(REFERENCE, "/publicationContext"),
+    PUBLICATION_INSTANCE(REFERENCE, "/publicationInstance");
+
+    private final Subtree parent;
+    private final JsonPointer relativePointer;
+    private final String pointer;
+
+    Subtree(Subtree parent, String relativePointer) {
+      this.parent = parent;
+      this.relativePointer = JsonPointer.compile(relativePointer);
+      this.pointer = isNull(parent) ? relativePointer : parent.pointer + relativePointer;
+    }
+
+    /** The pointer to this subtree from the root of the hit. */
+    public String pointer() {
+      return pointer;
+    }
+  }
+
+  /** A field, read relative to the subtree it is in. */
+  public record Field(Subtree subtree, JsonPointer pointer) {
+
+    public static Field of(Subtree subtree, String pointer) {
+      return new Field(subtree, JsonPointer.compile(pointer));
+    }
+
+    /** The pointer to this field from the root of the hit. */
+    @Override
+    public String toString() {
+      return subtree.pointer() + pointer;
+    }
+  }
+}
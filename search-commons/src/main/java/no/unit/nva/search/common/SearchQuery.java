@@ -9,7 +9,6 @@ import static no.unit.nva.constants.Words.ALL;
 import static no.unit.nva.constants.Words.ASTERISK;
 import static no.unit.nva.constants.Words.COMMA;
 import static no.unit.nva.constants.Words.EXCLUDE_KEYWORD;
-import static no.unit.nva.constants.Words.POST_FILTER;
 import static no.unit.nva.constants.Words.RELEVANCE_KEY_NAME;
 import static no.unit.nva.constants.Words.SORT_LAST;
 import static no.unit.nva.constants.Words.TEXT_X_BIBTEX;
@@ -21,6 +20,7 @@ import static nva.commons.apigateway.MediaType.JSON_UTF_8;
 import static nva.commons.apigateway.MediaTypes.APPLICATION_JSON_LD;
 import static nva.commons.apigateway.MediaTypes.SCHEMA_ORG;
 import static nva.commons.core.attempt.Try.attempt;
+import static nva.commons.core.paths.UriWrapper.fromUri;
 
 import java.net.URI;
 import java.util.ArrayList;
@@ -52,14 +52,17 @@ import nva.commons.apigateway.AccessRight;
 import nva.commons.apigateway.MediaType;
 import nva.commons.apigateway.mediatype.MediaTypeParser;
 import nva.commons.core.JacocoGenerated;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.MultiMatchQueryBuilder.Type;
 import org.opensearch.index.query.Operator;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.aggregations.AggregationBuilder;
-import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.builder.PointInTimeBuilder;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.search.slice.SliceBuilder;
 import org.opensearch.search.sort.SortBuilder;
 import org.opensearch.search.sort.SortBuilders;
 import org.opensearch.search.sort.SortOrder;
@@ -85,10 +88,19 @@ public abstract class SearchQuery<K extends Enum<K> & ParameterKey<K>> extends Q
   private static final String SCHEMA_ORG_ESSENCE = "application/vnd.schemaorg.ld+json";
   private static final String JSON_ESSENCE = "application/json";
   private static final URI SCHEMA_ORG_PROFILE = URI.create("https://schema.org");
+  private static final String KEEP_ALIVE = "keep_alive";
+  private static final String SHARD_DOC = "_shard_doc";
+  private static final int FIRST_HIT = 0;
+  private static final String SOURCE_FIELD = "_source";
+  private static final String SORT_FIELD = "sort";
+  private static final String AGGREGATIONS_FIELD = "aggregations";
   private final transient Set<AccessRight> accessRights;
   private transient MediaType mediaType;
   private transient Set<String> excludedFields = Set.of();
   private transient Set<String> includedFields = Set.of("*");
+  private transient SliceBuilder slice;
+  private transient PointInTimeBuilder pointInTime;
+  private transient List<?> searchAfter;
 
   /**
    * Always set at runtime by ParameterValidator.fromRequestInfo(RequestInfo requestInfo); This
@@ -148,6 +160,44 @@ public abstract class SearchQuery<K extends Enum<K> & ParameterKey<K>> extends Q
     return includedFields;
   }
 
+  /**
+   * Restricts the query to one slice of a sliced scroll or point-in-time search.
+   *
+   * @param sliceId the slice this query fetches, zero based
+   * @param maxSlices total number of slices the result set is split into
+   */
+  protected void setSlice(int sliceId, int maxSlices) {
+    this.slice = new SliceBuilder(sliceId, maxSlices);
+  }
+
+  /**
+   * Runs the query against a point-in-time (PIT) instead of the live index. The request then goes
+   * to {@code _search} without an index, and {@code _shard_doc} is sorted on last, so that {@code
+   * search_after} can page through hits with equal sort values.
+   *
+   * @param pointInTimeId id returned when the point-in-time was created
+   * @param keepAlive how long the cluster keeps the point-in-time after this request, e.g. {@code
+   *     1m}
+   */
+  public void setPointInTime(String pointInTimeId, String keepAlive) {
+    this.pointInTime =
+        new PointInTimeBuilder(pointInTimeId)
+            .setKeepAlive(TimeValue.parseTimeValue(keepAlive, KEEP_ALIVE));
+  }
+
+  public boolean hasPointInTime() {
+    return nonNull(pointInTime);
+  }
+
+  /**
+   * Continues the search after the hit with these sort values, as returned in {@code hits.sort} of
+   * the previous page. The values are sent as they are, not through the comma separated {@code
+   * search_after} parameter, so they keep their JSON type and may contain commas.
+   */
+  public void setSearchAfter(List<?> sortValues) {
+    this.searchAfter = List.copyOf(sortValues);
+  }
+
   protected void setOpenSearchUri(URI openSearchUri) {
     this.infrastructureApiUri = openSearchUri;
   }
@@ -175,14 +225,29 @@ public abstract class SearchQuery<K extends Enum<K> & ParameterKey<K>> extends Q
     var contentWrappers = new ArrayList<QueryContentWrapper>(numberOfRequests());
     var builder = builderDefaultSearchSource();
 
-    handleFetchSource(builder);
     handleAggregation(builder, contentWrappers, indexName);
+    handleSlice(builder);
     handleSearchAfter(builder);
-    handleSorting(builder);
-    contentWrappers.add(new QueryContentWrapper(builder.toString(), this.openSearchUri(indexName)));
+    handleTrackScores(builder);
+    handlePointInTime(builder);
+    var body = QueryTemplate.withField(builder.toString(), SOURCE_FIELD, fetchSourceJson());
+    var sorts = sortsJson();
+    if (!sorts.isEmpty()) {
+      body = QueryTemplate.withField(body, SORT_FIELD, sorts);
+    }
+    contentWrappers.add(new QueryContentWrapper(body, searchUri(indexName)));
     return contentWrappers.stream();
   }
 
+  /**
+   * The aggregations of {@link #builderAggregations()} as JSON. Serialised on every request by
+   * default, queries with aggregations that never change return a constant, see {@link
+   * QueryTemplate#toJson(List)}.
+   */
+  protected String aggregationsJson() {
+    return QueryTemplate.toJson(builderAggregations());
+  }
+
   @Override
   public <R, Q extends Query<K>> HttpResponseFormatter<K> doSearch(
       OpenSearchClient<R, Q> queryClient, String indexName) {
@@ -287,12 +352,6 @@ public abstract class SearchQuery<K extends Enum<K> & ParameterKey<K>> extends Q
             });
   }
 
-  protected AggregationBuilder builderAggregationsWithFilter() {
-    var aggrFilter = AggregationBuilders.filter(POST_FILTER, filters().get());
-    builderAggregations().forEach(aggrFilter::subAggregation);
-    return aggrFilter;
-  }
-
   protected SearchSourceBuilder builderDefaultSearchSource() {
     var queryBuilder =
         parameters().getSearchKeys().findAny().isEmpty()
@@ -336,33 +395,68 @@ public abstract class SearchQuery<K extends Enum<K> & ParameterKey<K>> extends Q
     if (hasAggregation()) {
       var aggregationBuilder = builder.shallowCopy();
       aggregationBuilder.size(ZERO_RESULTS_AGGREGATION_ONLY);
-      aggregationBuilder.aggregation(builderAggregationsWithFilter());
+      aggregationBuilder.from(FIRST_HIT);
+      var aggregations = QueryTemplate.filtered(filters().get(), aggregationsJson());
+      var body =
+          QueryTemplate.withField(aggregationBuilder.toString(), AGGREGATIONS_FIELD, aggregations);
       contentWrappers.add(
-          new QueryContentWrapper(aggregationBuilder.toString(), this.openSearchUri(indexName)));
+          QueryContentWrapper.aggregationsOnly(body, this.openSearchUri(indexName)));
     }
   }
 
-  private void handleFetchSource(SearchSourceBuilder builder) {
-    if (isFetchSource()) {
-      builder.fetchSource(include(), exclude());
-    } else {
-      builder.fetchSource(true);
+  private String fetchSourceJson() {
+    return QueryTemplate.toJson(
+        isFetchSource()
+            ? new FetchSourceContext(true, include(), exclude())
+            : FetchSourceContext.FETCH_SOURCE);
+  }
+
+  private String sortsJson() {
+    var tieBreaker =
+        hasPointInTime()
+            ? Stream.<SortBuilder<?>>of(SortBuilders.fieldSort(SHARD_DOC).order(SortOrder.ASC))
+            : Stream.<SortBuilder<?>>empty();
+    var sorts =
+        Stream.concat(builderStreamFieldSort(), tieBreaker)
+            .map(QueryTemplate::fragment)
+            .collect(Collectors.joining(COMMA));
+    return sorts.isEmpty() ? sorts : "[" + sorts + "]";
+  }
+
+  private void handlePointInTime(SearchSourceBuilder builder) {
+    if (hasPointInTime()) {
+      builder.pointInTimeBuilder(pointInTime);
+    }
+  }
+
+  private URI searchUri(String indexName) {
+    return hasPointInTime()
+        ? fromUri(infrastructureApiUri).addChild(Words.SEARCH).getUri()
+        : this.openSearchUri(indexName);
+  }
+
+  private void handleSlice(SearchSourceBuilder builder) {
+    if (nonNull(slice)) {
+      builder.slice(slice);
     }
   }
 
   private void handleSearchAfter(SearchSourceBuilder builder) {
+    if (nonNull(searchAfter)) {
+      builder.searchAfter(searchAfter.toArray());
+      return;
+    }
     var sortKeys = parameters().remove(keySearchAfter()).split(COMMA);
     if (nonNull(sortKeys)) {
       builder.searchAfter(sortKeys);
     }
   }
 
-  private void handleSorting(SearchSourceBuilder builder) {
+  private void handleTrackScores(SearchSourceBuilder builder) {
     if (hasSortBy(RELEVANCE_KEY_NAME)) {
       // This allows sorting on relevance together with other fields. (Not very well documented)
       builder.trackScores(true);
     }
-    builderStreamFieldSort().forEach(builder::sort);
   }
 
   private Stream<Entry<String, Float>> entryStreamOfPathAndBoost(K key) {
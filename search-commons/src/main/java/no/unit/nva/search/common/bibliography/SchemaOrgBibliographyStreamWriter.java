@@ -0,0 +1,98 @@
+package no.unit.nva.search.common.bibliography;
+
+import static nva.commons.core.attempt.Try.attempt;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.OptionalInt;
+import no.unit.nva.commons.json.JsonUtils;
+import no.unit.nva.search.common.PageWriter;
+
+/**
+ * Writes search hits as a schema.org {@code ItemList}, one page at a time, to an underlying {@link
+ * Writer}.
+ *
+ * <p>The list is opened once and closed by {@link #finish()}, so consecutive pages end up as one
+ * JSON-LD document. Every item is serialised straight to the generator, so only the page currently
+ * being written is held in memory.
+ */
+public final class SchemaOrgBibliographyStreamWriter implements PageWriter {
+
+  private static final ObjectMapper MAPPER = JsonUtils.dtoObjectMapper;
+  private static final String SCHEMA_ORG_CONTEXT = "https://schema.org";
+  private static final String ITEM_LIST_TYPE = "ItemList";
+  private static final String CONTEXT = "@context";
+  private static final String TYPE = "@type";
+  private static final String NUMBER_OF_ITEMS = "numberOfItems";
+  private static final String ITEM_LIST_ELEMENT = "itemListElement";
+
+  private final JsonGenerator generator;
+  private final OptionalInt totalSize;
+  private int itemsWritten;
+
+  /**
+   * A list whose {@code numberOfItems} is the number of items written, which is only known once
+   * the last page has been written. It therefore follows the items.
+   */
+  public SchemaOrgBibliographyStreamWriter(Writer writer) {
+    this(writer, OptionalInt.empty());
+  }
+
+  /** A list whose {@code numberOfItems} is {@code totalSize}, ahead of the items. */
+  public SchemaOrgBibliographyStreamWriter(Writer writer, int totalSize) {
+    this(writer, OptionalInt.of(totalSize));
+  }
+
+  private SchemaOrgBibliographyStreamWriter(Writer writer, OptionalInt totalSize) {
+    this.totalSize = totalSize;
+    this.generator = attempt(() -> MAPPER.createGenerator(writer)).orElseThrow();
+    try {
+      generator.writeStartObject();
+      generator.writeStringField(CONTEXT, SCHEMA_ORG_CONTEXT);
+      generator.writeStringField(TYPE, ITEM_LIST_TYPE);
+      if (totalSize.isPresent()) {
+        generator.writeNumberField(NUMBER_OF_ITEMS, totalSize.getAsInt());
+      }
+      generator.writeArrayFieldStart(ITEM_LIST_ELEMENT);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Converts a page of hits to schema.org items and flushes them to the underlying writer.
+   *
+   * @param hits the source documents of one search/scroll page
+   */
+  @Override
+  public void write(List<JsonNode> hits) {
+    try {
+      for (var hit : hits) {
+        MAPPER.writeValue(generator, SchemaOrgItemTransformer.transform(hit));
+        itemsWritten++;
+      }
+      generator.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void finish() {
+    try {
+      generator.writeEndArray();
+      if (totalSize.isEmpty()) {
+        generator.writeNumberField(NUMBER_OF_ITEMS, itemsWritten);
+      }
+      generator.writeEndObject();
+      generator.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -14,10 +14,9 @@ import static no.unit.nva.search.common.constant.Functions.jsonPath;
 import static nva.commons.core.attempt.Try.attempt;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.StringWriter;
 import java.util.Collection;
 import java.util.List;
-import no.unit.nva.commons.json.JsonUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,10 +25,6 @@ public final class SchemaOrgBibliographyTransformer {
   private static final Logger LOGGER =
       LoggerFactory.getLogger(SchemaOrgBibliographyTransformer.class);
 
-  private static final ObjectMapper MAPPER = JsonUtils.dtoObjectMapper;
-  private static final String SCHEMA_ORG_CONTEXT = "https://schema.org";
-  private static final String ITEM_LIST_TYPE = "ItemList";
-
   private SchemaOrgBibliographyTransformer() {} // NO-OP
 
   public static List<String> getSchemaOrgFields() {
@@ -46,13 +41,19 @@ public final class SchemaOrgBibliographyTransformer {
   }
 
   public static String transform(Collection<JsonNode> hits, int totalSize) {
-    var items = hits.stream().map(SchemaOrgItemTransformer::transform).toList();
-    var itemList = new SchemaOrgItemList(SCHEMA_ORG_CONTEXT, ITEM_LIST_TYPE, totalSize, items);
-    return attempt(() -> MAPPER.writeValueAsString(itemList))
+    return attempt(() -> write(hits, totalSize))
         .orElseThrow(
             failure -> {
               LOGGER.error("Failed to serialize schema.org ItemList", failure.getException());
               return new RuntimeException(failure.getException());
             });
   }
+
+  private static String write(Collection<JsonNode> hits, int totalSize) {
+    var stringWriter = new StringWriter();
+    var itemListWriter = new SchemaOrgBibliographyStreamWriter(stringWriter, totalSize);
+    itemListWriter.write(List.copyOf(hits));
+    itemListWriter.finish();
+    return stringWriter.toString();
+  }
 }
@@ -1,7 +1,15 @@
 package no.unit.nva.search.common.bibliography;
 
 import static java.util.function.Predicate.not;
-import static no.unit.nva.search.common.bibliography.SchemaOrgNodeReader.text;
+import static no.unit.nva.search.common.ResourceHit.ABSTRACT_POINTER;
+import static no.unit.nva.search.common.ResourceHit.DOI_POINTER;
+import static no.unit.nva.search.common.ResourceHit.HANDLE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ID_POINTER;
+import static no.unit.nva.search.common.ResourceHit.INSTANCE_TYPE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.MAIN_TITLE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.NVA_DOI_POINTER;
+import static no.unit.nva.search.common.ResourceHit.TAGS_POINTER;
+import static no.unit.nva.search.common.ResourceHit.YEAR_POINTER;
 import static no.unit.nva.search.common.bibliography.SchemaOrgPersonBuilder.PROP_ACTOR;
 import static no.unit.nva.search.common.bibliography.SchemaOrgPersonBuilder.PROP_AUTHOR;
 import static no.unit.nva.search.common.bibliography.SchemaOrgPersonBuilder.PROP_COMPOSER;
@@ -16,6 +24,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import no.unit.nva.search.common.ResourceHit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,23 +32,13 @@ final class SchemaOrgItemTransformer {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SchemaOrgItemTransformer.class);
 
-  private static final String ID_POINTER = "/id";
-  private static final String HANDLE_POINTER = "/handle";
-  private static final String INSTANCE_TYPE_POINTER =
-      "/entityDescription/reference/publicationInstance/type";
-  private static final String MAIN_TITLE_POINTER = "/entityDescription/mainTitle";
-  private static final String ABSTRACT_POINTER = "/entityDescription/abstract";
-  private static final String YEAR_POINTER = "/entityDescription/publicationDate/year";
-  private static final String TAGS_POINTER = "/entityDescription/tags";
-  private static final String DOI_POINTER = "/entityDescription/reference/doi";
-  private static final String NVA_DOI_POINTER = "/doi";
-
   private SchemaOrgItemTransformer() {} // NO-OP
 
-  static SchemaOrgItem transform(JsonNode doc) {
-    var nvaType = text(doc, INSTANCE_TYPE_POINTER).orElse("");
-    var id = text(doc, ID_POINTER).orElse("");
-    var url = text(doc, HANDLE_POINTER).orElse(id);
+  static SchemaOrgItem transform(JsonNode hit) {
+    var doc = ResourceHit.of(hit);
+    var nvaType = doc.text(INSTANCE_TYPE_POINTER).orElse("");
+    var id = doc.text(ID_POINTER).orElse("");
+    var url = doc.text(HANDLE_POINTER).orElse(id);
     var resolvedUrl = url.isBlank() ? null : url;
     var category = SchemaOrgType.fieldCategory(nvaType);
     var contributors = SchemaOrgPersonBuilder.buildContributors(doc);
@@ -50,7 +49,7 @@ final class SchemaOrgItemTransformer {
         SchemaOrgType.toSchemaOrgType(nvaType),
         resolvedUrl,
         resolvedUrl,
-        text(doc, MAIN_TITLE_POINTER).orElse(null),
+        doc.text(MAIN_TITLE_POINTER).orElse(null),
         contributors.get(PROP_AUTHOR),
         contributors.get(PROP_EDITOR),
         contributors.get(PROP_TRANSLATOR),
@@ -60,8 +59,8 @@ final class SchemaOrgItemTransformer {
         contributors.get(PROP_ACTOR),
         contributors.get(PROP_COMPOSER),
         contributors.get(PROP_CONTRIBUTOR),
-        text(doc, YEAR_POINTER).orElse(null),
-        text(doc, ABSTRACT_POINTER).orElse(null),
+        doc.text(YEAR_POINTER).orElse(null),
+        doc.text(ABSTRACT_POINTER).orElse(null),
         buildKeywords(doc).orElse(null),
         buildDoi(doc).orElse(null),
         SchemaOrgPublicationContextBuilder.buildIsPartOf(doc, category),
@@ -72,7 +71,7 @@ final class SchemaOrgItemTransformer {
         SchemaOrgPublicationContextBuilder.buildPageEnd(doc, category));
   }
 
-  private static Optional<String> buildKeywords(JsonNode doc) {
+  private static Optional<String> buildKeywords(ResourceHit doc) {
     var tags = doc.at(TAGS_POINTER);
     if (tags.isMissingNode() || !tags.isArray()) {
       return Optional.empty();
@@ -85,7 +84,7 @@ final class SchemaOrgItemTransformer {
     return joined.isEmpty() ? Optional.empty() : Optional.of(joined);
   }
 
-  private static Optional<String> buildDoi(JsonNode doc) {
-    return text(doc, DOI_POINTER).or(() -> text(doc, NVA_DOI_POINTER)).filter(not(String::isBlank));
+  private static Optional<String> buildDoi(ResourceHit doc) {
+    return doc.text(DOI_POINTER).or(() -> doc.text(NVA_DOI_POINTER)).filter(not(String::isBlank));
   }
 }
@@ -1,8 +1,11 @@
 package no.unit.nva.search.common.bibliography;
 
 import static java.util.function.Predicate.not;
-import static no.unit.nva.search.common.bibliography.SchemaOrgNodeReader.text;
+import static no.unit.nva.search.common.ResourceHit.IDENTITY_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ROLE_TYPE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.text;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -10,18 +13,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.StreamSupport;
+import no.unit.nva.search.common.ResourceHit;
+import no.unit.nva.search.common.ResourceHit.Subtree;
 
 final class SchemaOrgPersonBuilder {
 
-  private static final String CONTRIBUTORS_POINTER = "/entityDescription/contributors";
-  private static final String IDENTITY_NAME_POINTER = "/identity/name";
-  private static final String IDENTITY_ID_POINTER = "/identity/id";
-  private static final String IDENTITY_ORC_ID_POINTER = "/identity/orcId";
-  private static final String AFFILIATIONS_POINTER = "/affiliations";
-  private static final String AFFILIATION_ID_POINTER = "/id";
-  private static final String AFFILIATION_LABEL_EN_POINTER = "/labels/en";
-  private static final String AFFILIATION_LABEL_NB_POINTER = "/labels/nb";
-  private static final String ROLE_TYPE_POINTER = "/role/type";
+  private static final JsonPointer IDENTITY_ID_POINTER = JsonPointer.compile("/identity/id");
+  private static final JsonPointer IDENTITY_ORC_ID_POINTER = JsonPointer.compile("/identity/orcId");
+  private static final JsonPointer AFFILIATIONS_POINTER = JsonPointer.compile("/affiliations");
+  private static final JsonPointer AFFILIATION_ID_POINTER = JsonPointer.compile("/id");
+  private static final JsonPointer AFFILIATION_LABEL_EN_POINTER = JsonPointer.compile("/labels/en");
+  private static final JsonPointer AFFILIATION_LABEL_NB_POINTER = JsonPointer.compile("/labels/nb");
 
   private static final String TYPE_PERSON = "Person";
   private static final String TYPE_ORGANIZATION = "Organization";
@@ -55,8 +57,8 @@ final class SchemaOrgPersonBuilder {
 
   private SchemaOrgPersonBuilder() {} // NO-OP
 
-  static Map<String, List<SchemaOrgPerson>> buildContributors(JsonNode doc) {
-    var contributors = doc.at(CONTRIBUTORS_POINTER);
+  static Map<String, List<SchemaOrgPerson>> buildContributors(ResourceHit doc) {
+    var contributors = doc.subtree(Subtree.CONTRIBUTORS);
     if (contributors.isMissingNode() || !contributors.isArray()) {
       return Map.of();
     }
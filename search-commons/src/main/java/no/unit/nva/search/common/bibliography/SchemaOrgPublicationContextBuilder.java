@@ -1,50 +1,37 @@
 package no.unit.nva.search.common.bibliography;
 
-import static no.unit.nva.search.common.bibliography.SchemaOrgNodeReader.text;
-
-import com.fasterxml.jackson.databind.JsonNode;
+import static no.unit.nva.search.common.ResourceHit.ANTHOLOGY_ISBN_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ANTHOLOGY_MAIN_TITLE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ANTHOLOGY_PUBLISHER_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_ISBN_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_ONLINE_ISSN_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_PRINT_ISSN_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_PUBLISHER_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_SERIES_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_TITLE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_TYPE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ISSUE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.MANIFESTATIONS_POINTER;
+import static no.unit.nva.search.common.ResourceHit.PAGES_BEGIN_POINTER;
+import static no.unit.nva.search.common.ResourceHit.PAGES_END_POINTER;
+import static no.unit.nva.search.common.ResourceHit.PAGES_MONOGRAPH_POINTER;
+import static no.unit.nva.search.common.ResourceHit.VOLUME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.text;
+
+import com.fasterxml.jackson.core.JsonPointer;
 import java.util.Optional;
 import java.util.stream.StreamSupport;
+import no.unit.nva.search.common.ResourceHit;
 import no.unit.nva.search.common.bibliography.SchemaOrgType.FieldCategory;
 
 final class SchemaOrgPublicationContextBuilder {
 
-  private static final String CONTEXT_TYPE_POINTER =
-      "/entityDescription/reference/publicationContext/type";
-  private static final String CONTEXT_NAME_POINTER =
-      "/entityDescription/reference/publicationContext/name";
-  private static final String CONTEXT_TITLE_POINTER =
-      "/entityDescription/reference/publicationContext/title";
-  private static final String CONTEXT_ONLINE_ISSN_POINTER =
-      "/entityDescription/reference/publicationContext/onlineIssn";
-  private static final String CONTEXT_PRINT_ISSN_POINTER =
-      "/entityDescription/reference/publicationContext/printIssn";
-  private static final String CONTEXT_PUBLISHER_NAME_POINTER =
-      "/entityDescription/reference/publicationContext/publisher/name";
-  private static final String CONTEXT_SERIES_NAME_POINTER =
-      "/entityDescription/reference/publicationContext/series/name";
-  private static final String CONTEXT_ISBN_POINTER =
-      "/entityDescription/reference/publicationContext/isbnList/0";
-  private static final String ANTHOLOGY_MAIN_TITLE_POINTER =
-      "/entityDescription/reference/publicationContext/entityDescription/mainTitle";
-  private static final String ANTHOLOGY_PUBLISHER_NAME_POINTER =
-      "/entityDescription/reference/publicationContext/entityDescription/reference"
-          + "/publicationContext/publisher/name";
-  private static final String ANTHOLOGY_ISBN_POINTER =
-      "/entityDescription/reference/publicationContext/entityDescription/reference"
-          + "/publicationContext/isbnList/0";
-  private static final String VOLUME_POINTER =
-      "/entityDescription/reference/publicationInstance/volume";
-  private static final String ISSUE_POINTER =
-      "/entityDescription/reference/publicationInstance/issue";
-  private static final String PAGES_BEGIN_POINTER =
-      "/entityDescription/reference/publicationInstance/pages/begin";
-  private static final String PAGES_END_POINTER =
-      "/entityDescription/reference/publicationInstance/pages/end";
-  private static final String PAGES_MONOGRAPH_POINTER =
-      "/entityDescription/reference/publicationInstance/pages/pages";
-  private static final String MANIFESTATIONS_POINTER =
-      "/entityDescription/reference/publicationInstance/manifestations";
+  private static final JsonPointer MANIFESTATION_ISBN_POINTER = JsonPointer.compile("/isbnList/0");
+  private static final JsonPointer MANIFESTATION_PAGES_POINTER =
+      JsonPointer.compile("/pages/pages");
+  private static final JsonPointer MANIFESTATION_PUBLISHER_NAME_POINTER =
+      JsonPointer.compile("/publisher/name");
 
   private static final String UNCONFIRMED_JOURNAL = "UnconfirmedJournal";
   private static final String ANTHOLOGY = "Anthology";
@@ -59,7 +46,7 @@ final class SchemaOrgPublicationContextBuilder {
 
   private SchemaOrgPublicationContextBuilder() {} // NO-OP
 
-  static SchemaOrgContainer buildIsPartOf(JsonNode doc, FieldCategory category) {
+  static SchemaOrgContainer buildIsPartOf(ResourceHit doc, FieldCategory category) {
     return switch (category) {
       case ARTICLE -> buildArticleIsPartOf(doc);
       case PRESENTATION -> buildPresentationIsPartOf(doc);
@@ -70,80 +57,80 @@ final class SchemaOrgPublicationContextBuilder {
     };
   }
 
-  static String buildIsbn(JsonNode doc, FieldCategory category) {
+  static String buildIsbn(ResourceHit doc, FieldCategory category) {
     return switch (category) {
       case BOOK ->
-          text(doc, CONTEXT_ISBN_POINTER)
-              .or(() -> extractFromManifestations(doc, "/isbnList/0"))
+          doc.text(CONTEXT_ISBN_POINTER)
+              .or(() -> extractFromManifestations(doc, MANIFESTATION_ISBN_POINTER))
               .orElse(null);
-      case REPORT, THESIS -> text(doc, CONTEXT_ISBN_POINTER).orElse(null);
+      case REPORT, THESIS -> doc.text(CONTEXT_ISBN_POINTER).orElse(null);
       default -> null;
     };
   }
 
-  static String buildNumberOfPages(JsonNode doc, FieldCategory category) {
+  static String buildNumberOfPages(ResourceHit doc, FieldCategory category) {
     return switch (category) {
       case BOOK ->
-          text(doc, PAGES_MONOGRAPH_POINTER)
-              .or(() -> extractFromManifestations(doc, "/pages/pages"))
+          doc.text(PAGES_MONOGRAPH_POINTER)
+              .or(() -> extractFromManifestations(doc, MANIFESTATION_PAGES_POINTER))
               .orElse(null);
-      case REPORT, THESIS -> text(doc, PAGES_MONOGRAPH_POINTER).orElse(null);
+      case REPORT, THESIS -> doc.text(PAGES_MONOGRAPH_POINTER).orElse(null);
       default -> null;
     };
   }
 
-  static SchemaOrgOrganization buildPublisher(JsonNode doc, FieldCategory category) {
+  static SchemaOrgOrganization buildPublisher(ResourceHit doc, FieldCategory category) {
     return switch (category) {
       case BOOK ->
-          text(doc, CONTEXT_PUBLISHER_NAME_POINTER)
-              .or(() -> extractFromManifestations(doc, "/publisher/name"))
+          doc.text(CONTEXT_PUBLISHER_NAME_POINTER)
+              .or(() -> extractFromManifestations(doc, MANIFESTATION_PUBLISHER_NAME_POINTER))
               .map(name -> new SchemaOrgOrganization(TYPE_ORGANIZATION, null, name))
               .orElse(null);
       case REPORT, THESIS ->
-          text(doc, CONTEXT_PUBLISHER_NAME_POINTER)
+          doc.text(CONTEXT_PUBLISHER_NAME_POINTER)
               .map(name -> new SchemaOrgOrganization(TYPE_ORGANIZATION, null, name))
               .orElse(null);
       default -> null;
     };
   }
 
-  static String buildPageStart(JsonNode doc, FieldCategory category) {
+  static String buildPageStart(ResourceHit doc, FieldCategory category) {
     return switch (category) {
-      case ARTICLE, PRESENTATION, CHAPTER -> text(doc, PAGES_BEGIN_POINTER).orElse(null);
+      case ARTICLE, PRESENTATION, CHAPTER -> doc.text(PAGES_BEGIN_POINTER).orElse(null);
       default -> null;
     };
   }
 
-  static String buildPageEnd(JsonNode doc, FieldCategory category) {
+  static String buildPageEnd(ResourceHit doc, FieldCategory category) {
     return switch (category) {
-      case ARTICLE, PRESENTATION, CHAPTER -> text(doc, PAGES_END_POINTER).orElse(null);
+      case ARTICLE, PRESENTATION, CHAPTER -> doc.text(PAGES_END_POINTER).orElse(null);
       default -> null;
     };
   }
 
-  private static SchemaOrgContainer buildArticleIsPartOf(JsonNode doc) {
-    var contextType = text(doc, CONTEXT_TYPE_POINTER).orElse("");
+  private static SchemaOrgContainer buildArticleIsPartOf(ResourceHit doc) {
+    var contextType = doc.text(CONTEXT_TYPE_POINTER).orElse("");
     var journalName =
         UNCONFIRMED_JOURNAL.equals(contextType)
-            ? text(doc, CONTEXT_TITLE_POINTER)
-            : text(doc, CONTEXT_NAME_POINTER);
+            ? doc.text(CONTEXT_TITLE_POINTER)
+            : doc.text(CONTEXT_NAME_POINTER);
 
     return journalName
         .map(
             name -> {
               var issn =
-                  text(doc, CONTEXT_ONLINE_ISSN_POINTER)
-                      .or(() -> text(doc, CONTEXT_PRINT_ISSN_POINTER))
+                  doc.text(CONTEXT_ONLINE_ISSN_POINTER)
+                      .or(() -> doc.text(CONTEXT_PRINT_ISSN_POINTER))
                       .orElse(null);
               SchemaOrgContainer current = new SchemaOrgPeriodical(TYPE_PERIODICAL, name, issn);
 
-              var volume = text(doc, VOLUME_POINTER);
+              var volume = doc.text(VOLUME_POINTER);
               if (volume.isPresent()) {
                 current =
                     new SchemaOrgPublicationVolume(TYPE_PUBLICATION_VOLUME, volume.get(), current);
               }
 
-              var issue = text(doc, ISSUE_POINTER);
+              var issue = doc.text(ISSUE_POINTER);
               if (issue.isPresent()) {
                 current =
                     new SchemaOrgPublicationIssue(TYPE_PUBLICATION_ISSUE, issue.get(), current);
@@ -154,35 +141,35 @@ final class SchemaOrgPublicationContextBuilder {
         .orElse(null);
   }
 
-  private static SchemaOrgContainer buildPresentationIsPartOf(JsonNode doc) {
-    return text(doc, CONTEXT_NAME_POINTER)
+  private static SchemaOrgContainer buildPresentationIsPartOf(ResourceHit doc) {
+    return doc.text(CONTEXT_NAME_POINTER)
         .map(name -> (SchemaOrgContainer) new SchemaOrgBook(TYPE_BOOK, name, null, null))
         .orElse(null);
   }
 
-  private static SchemaOrgContainer buildBookIsPartOf(JsonNode doc) {
-    return text(doc, CONTEXT_SERIES_NAME_POINTER)
+  private static SchemaOrgContainer buildBookIsPartOf(ResourceHit doc) {
+    return doc.text(CONTEXT_SERIES_NAME_POINTER)
         .map(name -> (SchemaOrgContainer) new SchemaOrgBookSeries(TYPE_BOOK_SERIES, name))
         .orElse(null);
   }
 
-  private static SchemaOrgContainer buildChapterIsPartOf(JsonNode doc) {
-    var contextType = text(doc, CONTEXT_TYPE_POINTER).orElse("");
+  private static SchemaOrgContainer buildChapterIsPartOf(ResourceHit doc) {
+    var contextType = doc.text(CONTEXT_TYPE_POINTER).orElse("");
     var isAnthology = ANTHOLOGY.equals(contextType);
     var bookTitle =
-        isAnthology ? text(doc, ANTHOLOGY_MAIN_TITLE_POINTER) : text(doc, CONTEXT_NAME_POINTER);
+        isAnthology ? doc.text(ANTHOLOGY_MAIN_TITLE_POINTER) : doc.text(CONTEXT_NAME_POINTER);
 
     return bookTitle
         .map(
             title -> {
               var isbn =
                   isAnthology
-                      ? text(doc, ANTHOLOGY_ISBN_POINTER).orElse(null)
-                      : text(doc, CONTEXT_ISBN_POINTER).orElse(null);
+                      ? doc.text(ANTHOLOGY_ISBN_POINTER).orElse(null)
+                      : doc.text(CONTEXT_ISBN_POINTER).orElse(null);
               var publisher =
                   (isAnthology
-                          ? text(doc, ANTHOLOGY_PUBLISHER_NAME_POINTER)
-                          : text(doc, CONTEXT_PUBLISHER_NAME_POINTER))
+                          ? doc.text(ANTHOLOGY_PUBLISHER_NAME_POINTER)
+                          : doc.text(CONTEXT_PUBLISHER_NAME_POINTER))
                       .map(
                           publisherName ->
                               new SchemaOrgOrganization(TYPE_ORGANIZATION, null, publisherName))
@@ -192,13 +179,14 @@ final class SchemaOrgPublicationContextBuilder {
         .orElse(null);
   }
 
-  private static SchemaOrgContainer buildReportIsPartOf(JsonNode doc) {
-    return text(doc, CONTEXT_SERIES_NAME_POINTER)
+  private static SchemaOrgContainer buildReportIsPartOf(ResourceHit doc) {
+    return doc.text(CONTEXT_SERIES_NAME_POINTER)
         .map(name -> (SchemaOrgContainer) new SchemaOrgPeriodical(TYPE_PERIODICAL, name, null))
         .orElse(null);
   }
 
-  private static Optional<String> extractFromManifestations(JsonNode doc, String fieldPointer) {
+  private static Optional<String> extractFromManifestations(
+      ResourceHit doc, JsonPointer fieldPointer) {
     var manifestations = doc.at(MANIFESTATIONS_POINTER);
     if (manifestations.isMissingNode() || !manifestations.isArray()) {
       return Optional.empty();
@@ -1,9 +1,9 @@
 package no.unit.nva.search.common.bibtex;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import java.util.Optional;
+import no.unit.nva.search.common.ResourceHit;
 
 @FunctionalInterface
 public interface BibtexFieldExtractor {
-  Optional<BibtexField> extract(JsonNode doc);
+  Optional<BibtexField> extract(ResourceHit doc);
 }
@@ -1,7 +1,29 @@
 package no.unit.nva.search.common.bibtex;
 
 import static java.util.function.Predicate.not;
+import static no.unit.nva.search.common.ResourceHit.ANTHOLOGY_ISBN_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ANTHOLOGY_MAIN_TITLE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ANTHOLOGY_PUBLISHER_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_ISBN_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_ONLINE_ISSN_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_PRINT_ISSN_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_PUBLISHER_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_TITLE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_TYPE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.DOI_POINTER;
+import static no.unit.nva.search.common.ResourceHit.IDENTITY_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.INSTANCE_TYPE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.MANIFESTATIONS_POINTER;
+import static no.unit.nva.search.common.ResourceHit.MONTH_POINTER;
+import static no.unit.nva.search.common.ResourceHit.NVA_DOI_POINTER;
+import static no.unit.nva.search.common.ResourceHit.PAGES_BEGIN_POINTER;
+import static no.unit.nva.search.common.ResourceHit.PAGES_END_POINTER;
+import static no.unit.nva.search.common.ResourceHit.PAGES_MONOGRAPH_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ROLE_TYPE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.TAGS_POINTER;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.time.Month;
 import java.time.format.TextStyle;
@@ -9,53 +31,17 @@ import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import no.unit.nva.search.common.ResourceHit;
+import no.unit.nva.search.common.ResourceHit.Field;
+import no.unit.nva.search.common.ResourceHit.Subtree;
 
 public final class BibtexFieldExtractors {
 
-  static final String ABSTRACT_POINTER = "/entityDescription/abstract";
-  static final String MAIN_TITLE_POINTER = "/entityDescription/mainTitle";
-  static final String YEAR_POINTER = "/entityDescription/publicationDate/year";
-  static final String MONTH_POINTER = "/entityDescription/publicationDate/month";
-  static final String TAGS_POINTER = "/entityDescription/tags";
-  static final String CONTRIBUTORS_POINTER = "/entityDescription/contributors";
-  static final String IDENTITY_NAME_POINTER = "/identity/name";
-  static final String ROLE_TYPE_POINTER = "/role/type";
-  static final String DOI_POINTER = "/entityDescription/reference/doi";
-  static final String NVA_DOI_POINTER = "/doi";
-  static final String CONTEXT_TYPE_POINTER = "/entityDescription/reference/publicationContext/type";
-  static final String CONTEXT_NAME_POINTER = "/entityDescription/reference/publicationContext/name";
-  static final String CONTEXT_TITLE_POINTER =
-      "/entityDescription/reference/publicationContext/title";
-  static final String CONTEXT_ONLINE_ISSN_POINTER =
-      "/entityDescription/reference/publicationContext/onlineIssn";
-  static final String CONTEXT_PRINT_ISSN_POINTER =
-      "/entityDescription/reference/publicationContext/printIssn";
-  static final String CONTEXT_PUBLISHER_NAME_POINTER =
-      "/entityDescription/reference/publicationContext/publisher/name";
-  static final String CONTEXT_SERIES_NAME_POINTER =
-      "/entityDescription/reference/publicationContext/series/name";
-  static final String ANTHOLOGY_MAIN_TITLE_POINTER =
-      "/entityDescription/reference/publicationContext/entityDescription/mainTitle";
-  static final String ANTHOLOGY_PUBLISHER_NAME_POINTER =
-      "/entityDescription/reference/publicationContext/entityDescription/reference"
-          + "/publicationContext/publisher/name";
-  static final String CONTEXT_ISBN_POINTER =
-      "/entityDescription/reference/publicationContext/isbnList/0";
-  static final String ANTHOLOGY_ISBN_POINTER =
-      "/entityDescription/reference/publicationContext/entityDescription/reference"
-          + "/publicationContext/isbnList/0";
-  static final String INSTANCE_TYPE_POINTER =
-      "/entityDescription/reference/publicationInstance/type";
-  static final String VOLUME_POINTER = "/entityDescription/reference/publicationInstance/volume";
-  static final String ISSUE_POINTER = "/entityDescription/reference/publicationInstance/issue";
-  static final String PAGES_BEGIN_POINTER =
-      "/entityDescription/reference/publicationInstance/pages/begin";
-  static final String PAGES_END_POINTER =
-      "/entityDescription/reference/publicationInstance/pages/end";
-  static final String PAGES_MONOGRAPH_POINTER =
-      "/entityDescription/reference/publicationInstance/pages/pages";
-  static final String MANIFESTATIONS_POINTER =
-      "/entityDescription/reference/publicationInstance/manifestations";
+  private static final JsonPointer MANIFESTATION_ISBN_POINTER = JsonPointer.compile("/isbnList/0");
+  private static final JsonPointer MANIFESTATION_PAGES_POINTER =
+      JsonPointer.compile("/pages/pages");
+  private static final JsonPointer MANIFESTATION_PUBLISHER_NAME_POINTER =
+      JsonPointer.compile("/publisher/name");
 
   private static final String AND = " and ";
   private static final String INTERVAL = "--";
@@ -75,7 +61,7 @@ public final class BibtexFieldExtractors {
 
   private BibtexFieldExtractors() {}
 
-  public static BibtexFieldExtractor text(String field, String pointer) {
+  public static BibtexFieldExtractor text(String field, Field pointer) {
     return doc -> extractText(doc, pointer).map(value -> new BibtexField(field, value));
   }
 
@@ -89,7 +75,7 @@ public final class BibtexFieldExtractors {
 
   private static BibtexFieldExtractor mapContributorsToField(String role, String field) {
     return doc -> {
-      var contributors = doc.at(CONTRIBUTORS_POINTER);
+      var contributors = doc.subtree(Subtree.CONTRIBUTORS);
       if (contributors.isMissingNode() || !contributors.isArray()) {
         return Optional.empty();
       }
@@ -186,26 +172,27 @@ public final class BibtexFieldExtractors {
                         .map(end -> begin + INTERVAL + end)
                         .orElse(begin))
             .or(() -> extractText(doc, PAGES_MONOGRAPH_POINTER))
-            .or(() -> extractFromMonographManifestation(doc, "/pages/pages"))
+            .or(() -> extractFromMonographManifestation(doc, MANIFESTATION_PAGES_POINTER))
             .map(BibtexFieldExtractors::normalizePages)
             .map(pages -> new BibtexField("pages", pages));
   }
 
-  public static BibtexFieldExtractor isbn(String pointer) {
+  public static BibtexFieldExtractor isbn(Field pointer) {
     return doc -> extractText(doc, pointer).map(isbn -> new BibtexField("isbn", isbn));
   }
 
   public static BibtexFieldExtractor isbnOrManifestationIsbn() {
     return doc ->
         extractText(doc, CONTEXT_ISBN_POINTER)
-            .or(() -> extractFromMonographManifestation(doc, "/isbnList/0"))
+            .or(() -> extractFromMonographManifestation(doc, MANIFESTATION_ISBN_POINTER))
             .map(isbn -> new BibtexField("isbn", isbn));
   }
 
   public static BibtexFieldExtractor publisherOrManifestationPublisher() {
     return doc ->
         extractText(doc, CONTEXT_PUBLISHER_NAME_POINTER)
-            .or(() -> extractFromMonographManifestation(doc, "/publisher/name"))
+            .or(
+                () -> extractFromMonographManifestation(doc, MANIFESTATION_PUBLISHER_NAME_POINTER))
             .map(name -> new BibtexField("publisher", name));
   }
 
@@ -230,22 +217,21 @@ public final class BibtexFieldExtractors {
             .map(name -> new BibtexField("publisher", name));
   }
 
-  static Optional<String> extractText(JsonNode node, String pointer) {
-    var value = node.at(pointer);
-    if (value.isMissingNode() || value.isNull()) {
-      return Optional.empty();
-    }
-    var text = value.asText();
-    return text.isBlank() ? Optional.empty() : Optional.of(text);
+  static Optional<String> extractText(ResourceHit doc, Field pointer) {
+    return doc.text(pointer);
+  }
+
+  private static Optional<String> extractText(JsonNode node, JsonPointer pointer) {
+    return ResourceHit.text(node, pointer);
   }
 
-  private static boolean isAnthologyContext(JsonNode doc) {
+  private static boolean isAnthologyContext(ResourceHit doc) {
     return CONTEXT_TYPE_ANTHOLOGY.equals(
         extractText(doc, CONTEXT_TYPE_POINTER).orElse(EMPTY_STRING));
   }
 
   private static Optional<String> extractFromMonographManifestation(
-      JsonNode doc, String fieldPointer) {
+      ResourceHit doc, JsonPointer fieldPointer) {
     var manifestations = doc.at(MANIFESTATIONS_POINTER);
     if (manifestations.isMissingNode() || !manifestations.isArray()) {
       return Optional.empty();
@@ -0,0 +1,48 @@
+package no.unit.nva.search.common.bibtex;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import no.unit.nva.search.common.PageWriter;
+import no.unit.nva.search.common.ResourceHit;
+
+/**
+ * Writes search hits as BibTeX, one page at a time, to an underlying {@link Writer}.
+ *
+ * <p>Entries are separated by a blank line, also across pages, so consecutive pages end up as one
+ * BibTeX document. Only the entry currently being written is held in memory.
+ */
+public final class ResourceBibTexStreamWriter implements PageWriter {
+
+  private static final String ENTRY_SEPARATOR = "\n\n";
+
+  private final Writer writer;
+  private boolean firstEntry = true;
+
+  public ResourceBibTexStreamWriter(Writer writer) {
+    this.writer = writer;
+  }
+
+  /**
+   * Converts a page of hits to BibTeX entries and flushes them to the underlying writer.
+   *
+   * @param hits the source documents of one search/scroll page
+   */
+  @Override
+  public void write(List<JsonNode> hits) {
+    try {
+      for (var hit : hits) {
+        if (!firstEntry) {
+          writer.write(ENTRY_SEPARATOR);
+        }
+        writer.write(ResourceBibTexTransformer.toEntry(ResourceHit.of(hit)));
+        firstEntry = false;
+      }
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -14,6 +14,18 @@ import static no.unit.nva.constants.Words.REFERENCE;
 import static no.unit.nva.constants.Words.ROLE;
 import static no.unit.nva.constants.Words.TAGS;
 import static no.unit.nva.constants.Words.TYPE;
+import static no.unit.nva.search.common.ResourceHit.ABSTRACT_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_ISBN_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_PUBLISHER_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_SERIES_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.HANDLE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ID_POINTER;
+import static no.unit.nva.search.common.ResourceHit.INSTANCE_TYPE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ISSUE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.MAIN_TITLE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.VOLUME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.YEAR_POINTER;
 import static no.unit.nva.search.common.bibtex.BibtexConstants.ARTICLE;
 import static no.unit.nva.search.common.bibtex.BibtexConstants.BOOK;
 import static no.unit.nva.search.common.bibtex.BibtexConstants.INBOOK;
@@ -21,16 +33,6 @@ import static no.unit.nva.search.common.bibtex.BibtexConstants.INPROCEEDINGS;
 import static no.unit.nva.search.common.bibtex.BibtexConstants.MASTERSTHESIS;
 import static no.unit.nva.search.common.bibtex.BibtexConstants.PHDTHESIS;
 import static no.unit.nva.search.common.bibtex.BibtexConstants.TECHREPORT;
-import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.ABSTRACT_POINTER;
-import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.CONTEXT_ISBN_POINTER;
-import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.CONTEXT_NAME_POINTER;
-import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.CONTEXT_PUBLISHER_NAME_POINTER;
-import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.CONTEXT_SERIES_NAME_POINTER;
-import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.INSTANCE_TYPE_POINTER;
-import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.ISSUE_POINTER;
-import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.MAIN_TITLE_POINTER;
-import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.VOLUME_POINTER;
-import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.YEAR_POINTER;
 import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.anthologyIsbn;
 import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.anthologyPublisher;
 import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.anthologyTitle;
@@ -52,20 +54,17 @@ import static no.unit.nva.search.common.bibtex.BibtexFieldExtractors.text;
 import static no.unit.nva.search.common.constant.Functions.jsonPath;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import java.io.StringWriter;
 import java.net.URI;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import no.unit.nva.search.common.ResourceHit;
 
 public final class ResourceBibTexTransformer {
 
-  private static final String HANDLE_POINTER = "/handle";
-  private static final String ID_POINTER = "/id";
-  private static final String ENTRY_SEPARATOR = "\n\n";
-
   private static final List<BibtexFieldExtractor> UNIVERSAL_EXTRACTORS =
       List.of(
           text("abstract", ABSTRACT_POINTER),
@@ -118,9 +117,9 @@ public final class ResourceBibTexTransformer {
   private ResourceBibTexTransformer() {}
 
   public static String transform(Collection<JsonNode> hits) {
-    return hits.stream()
-        .map(ResourceBibTexTransformer::toEntry)
-        .collect(Collectors.joining(ENTRY_SEPARATOR));
+    var stringWriter = new StringWriter();
+    new ResourceBibTexStreamWriter(stringWriter).write(List.copyOf(hits));
+    return stringWriter.toString();
   }
 
   public static List<String> getBibTexFields() {
@@ -137,7 +136,7 @@ public final class ResourceBibTexTransformer {
         jsonPath(ENTITY_DESCRIPTION, REFERENCE));
   }
 
-  private static String toEntry(JsonNode doc) {
+  static String toEntry(ResourceHit doc) {
     var id = extractText(doc, ID_POINTER).orElse(EMPTY_STRING);
     var url = extractText(doc, HANDLE_POINTER).orElse(id);
     var key = deriveKey(url);
@@ -0,0 +1,191 @@
+package no.unit.nva.search.common.cache;
+
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.util.Objects.nonNull;
+import static no.unit.nva.auth.AuthorizedBackendClient.AUTHORIZATION_HEADER;
+import static no.unit.nva.auth.uriretriever.UriRetriever.ACCEPT;
+import static no.unit.nva.commons.json.JsonUtils.singleLineObjectMapper;
+import static no.unit.nva.constants.Defaults.ENVIRONMENT;
+import static no.unit.nva.search.common.constant.Functions.readSearchInfrastructureApiUri;
+import static no.unit.nva.search.common.jwt.Tools.getCachedJwtProvider;
+import static nva.commons.core.attempt.Try.attempt;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import no.unit.nva.search.common.HttpTransport;
+import no.unit.nva.search.common.jwt.CachedJwtProvider;
+import no.unit.nva.search.common.jwt.CachedValueProvider;
+import nva.commons.apigateway.MediaType;
+import nva.commons.core.Environment;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.paths.UriWrapper;
+import nva.commons.secrets.SecretsReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the generation of an index, which changes every time a document in the index is added,
+ * updated or removed.
+ *
+ * <p>The indexing handlers run in other Lambdas than the search handlers, so the generation is
+ * kept as a document in {@value #GENERATIONS_INDEX}, with the name of the index as its id. It is
+ * read at most once per check interval, and read again in the background once half the interval
+ * has passed.
+ *
+ * <p>The check interval is read from {@code SEARCH_RESPONSE_CACHE_CHECK_SECONDS}, default 2.
+ *
+ * <p>An index that has never been bumped is at generation {@value #INITIAL}. If the generation
+ * cannot be read, a new random generation is returned, so nothing cached is served until it can.
+ *
+ * <p>The indexing handlers skip bumps within {@link #BUMP_INTERVAL} of their last one. Until that
+ * interval, and the index refresh after it, has passed since the last bump, the generation is
+ * read as settling, and a new random generation is returned for it as well.
+ */
+public class IndexGeneration extends CachedValueProvider<IndexGeneration.Generation> {
+
+  public static final String GENERATIONS_INDEX = "index-generations";
+  public static final String GENERATION_FIELD = "generation";
+  public static final String UPDATED_AT_FIELD = "updatedAt";
+  public static final String INITIAL = "0";
+  public static final Duration BUMP_INTERVAL = Duration.ofSeconds(5);
+  private static final Duration SETTLE_MARGIN = Duration.ofSeconds(2);
+  private static final Logger logger = LoggerFactory.getLogger(IndexGeneration.class);
+  private static final String METRIC_PREFIX = "IndexGeneration";
+  private static final String DOCUMENT = "_doc";
+  private static final String SOURCE = "_source";
+  private static final String CHECK_INTERVAL_SECONDS = "SEARCH_RESPONSE_CACHE_CHECK_SECONDS";
+  private static final long DEFAULT_CHECK_INTERVAL_SECONDS = 2;
+  private static final Map<String, IndexGeneration> SHARED = new ConcurrentHashMap<>();
+
+  private final HttpClient httpClient;
+  private final CachedJwtProvider jwtProvider;
+  private final URI documentUri;
+  private final Duration checkInterval;
+  private final Clock clock;
+
+  public IndexGeneration(
+      String indexName,
+      URI infrastructureApiUri,
+      HttpClient httpClient,
+      CachedJwtProvider jwtProvider,
+      Duration checkInterval,
+      Clock clock) {
+    super(METRIC_PREFIX);
+    this.httpClient = httpClient;
+    this.jwtProvider = jwtProvider;
+    this.documentUri =
+        UriWrapper.fromUri(infrastructureApiUri)
+            .addChild(GENERATIONS_INDEX, DOCUMENT, indexName)
+            .getUri();
+    this.checkInterval = checkInterval;
+    this.clock = clock;
+  }
+
+  /** The generation of {@code indexName}, shared by every cache of that index in this JVM. */
+  @JacocoGenerated
+  public static IndexGeneration forIndex(String indexName) {
+    return SHARED.computeIfAbsent(indexName, IndexGeneration::create);
+  }
+
+  @JacocoGenerated
+  private static IndexGeneration create(String indexName) {
+    return new IndexGeneration(
+        indexName,
+        URI.create(readSearchInfrastructureApiUri()),
+        HttpTransport.sharedHttpClient(),
+        getCachedJwtProvider(new SecretsReader()),
+        checkIntervalFromEnvironment(ENVIRONMENT),
+        Clock.systemUTC());
+  }
+
+  private static Duration checkIntervalFromEnvironment(Environment environment) {
+    return environment
+        .readEnvOpt(CHECK_INTERVAL_SECONDS)
+        .map(Long::parseLong)
+        .map(Duration::ofSeconds)
+        .orElse(Duration.ofSeconds(DEFAULT_CHECK_INTERVAL_SECONDS));
+  }
+
+  /** The current generation of the index. */
+  public String current() {
+    return getValue().value();
+  }
+
+  @Override
+  protected boolean isExpired(Generation generation) {
+    return !clock.instant().isBefore(generation.readAt().plus(checkInterval));
+  }
+
+  @Override
+  protected boolean isDueForRefresh(Generation generation) {
+    return !clock.instant().isBefore(generation.readAt().plus(checkInterval.dividedBy(2)));
+  }
+
+  @Override
+  protected Generation getNewValue() {
+    var value =
+        attempt(this::createRequest)
+            .map(request -> httpClient.send(request, BodyHandlers.ofByteArray()))
+            .map(this::toGeneration)
+            .orElse(
+                failure -> {
+                  logger.warn(
+                      "Failed to read generation at {}", documentUri, failure.getException());
+                  return unknown();
+                });
+    return new Generation(value, clock.instant());
+  }
+
+  private HttpRequest createRequest() {
+    return HttpRequest.newBuilder(documentUri)
+        .headers(
+            ACCEPT, MediaType.JSON_UTF_8.toString(),
+            AUTHORIZATION_HEADER, jwtProvider.getValue().getToken())
+        .GET()
+        .build();
+  }
+
+  private String toGeneration(HttpResponse<byte[]> response) throws IOException {
+    return switch (response.statusCode()) {
+      case HTTP_OK -> {
+        var source = singleLineObjectMapper.readTree(response.body()).path(SOURCE);
+        yield isSettling(source.path(UPDATED_AT_FIELD).asText(null))
+            ? unknown()
+            : source.path(GENERATION_FIELD).asText(unknown());
+      }
+      case HTTP_NOT_FOUND -> INITIAL;
+      default -> {
+        logger.warn("Reading generation at {} gave {}", documentUri, response.statusCode());
+        yield unknown();
+      }
+    };
+  }
+
+  private boolean isSettling(String updatedAt) {
+    return nonNull(updatedAt)
+        && clock
+            .instant()
+            .isBefore(Instant.parse(updatedAt).plus(BUMP_INTERVAL).plus(SETTLE_MARGIN));
+  }
+
+  private static String unknown() {
+    return UUID.randomUUID().toString();
+  }
+
+  /**
+   * @param value the generation, only ever compared for equality
+   * @param readAt when it was read
+   */
+  public record Generation(String value, Instant readAt) {}
+}
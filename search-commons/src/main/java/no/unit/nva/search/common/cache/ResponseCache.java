@@ -0,0 +1,218 @@
+package no.unit.nva.search.common.cache;
+
+import static java.util.Objects.nonNull;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import no.unit.nva.search.common.EmbeddedMetrics;
+import no.unit.nva.search.common.EmbeddedMetrics.Metric;
+import nva.commons.apigateway.MediaType;
+import nva.commons.core.Environment;
+
+/**
+ * A size-bounded cache of search responses, evicting the least recently used entry when full.
+ *
+ * <p>Used for whole formatted responses, see {@link Key}, for the aggregations of a query, which
+ * are the same for every page, and for the promoted publications of a contributor.
+ *
+ * <p>An entry is served until its time to live has passed, or until the generation of the index it
+ * was read from has changed, whichever comes first. The generation is read when a response is
+ * loaded, before the search is sent, so a response that raced with an update is never served past
+ * that update.
+ *
+ * <p>Every lookup publishes {@code {name}CacheHits} and {@code {name}CacheMisses}, one of them 1
+ * and the other 0, so their sums are the counts and their averages the hit and miss rates.
+ *
+ * <p>Settings are read from the environment, e.g. for the cache named {@code Response}:
+ *
+ * <ul>
+ *   <li>{@code SEARCH_RESPONSE_CACHE_SIZE}: max entries kept, 0 (default) disables the cache.
+ *   <li>{@code SEARCH_RESPONSE_CACHE_TTL_SECONDS}: default 30.
+ * </ul>
+ *
+ * @param <K> the type of the key a response is cached under
+ * @param <V> the type of the cached response
+ */
+public final class ResponseCache<K, V> {
+
+  public static final String RESPONSE = "Response";
+  public static final String AGGREGATION = "Aggregation";
+  private static final String CACHE = "Cache";
+  private static final String HITS = "Hits";
+  private static final String MISSES = "Misses";
+  private static final String SETTING_FORMAT = "SEARCH_%s_CACHE_%s";
+  private static final Pattern WORD_BOUNDARY = Pattern.compile("([a-z0-9])([A-Z])");
+  private static final String SIZE = "SIZE";
+  private static final String TTL_SECONDS = "TTL_SECONDS";
+  private static final long DEFAULT_TTL_SECONDS = 30;
+  private static final float LOAD_FACTOR = 0.75f;
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final String hitsMetric;
+  private final String missesMetric;
+  private final int maximumSize;
+  private final Duration timeToLive;
+  private final Supplier<String> generation;
+  private final Clock clock;
+  private final Map<K, Entry<V>> entries;
+
+  /**
+   * @param name name of the cache, e.g. {@value #RESPONSE}, used in its metric names
+   * @param maximumSize max entries kept, 0 disables the cache
+   * @param generation reads the current generation of the cached index
+   */
+  public ResponseCache(
+      String name, int maximumSize, Duration timeToLive, Supplier<String> generation, Clock clock) {
+    this.hitsMetric = name + CACHE + HITS;
+    this.missesMetric = name + CACHE + MISSES;
+    this.maximumSize = maximumSize;
+    this.timeToLive = timeToLive;
+    this.generation = generation;
+    this.clock = clock;
+    this.entries =
+        new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            return size() > maximumSize;
+          }
+        };
+  }
+
+  /** A cache that never keeps anything, and always calls the loader. */
+  public static <K, V> ResponseCache<K, V> disabled() {
+    return new ResponseCache<>(RESPONSE, 0, Duration.ZERO, () -> null, Clock.systemUTC());
+  }
+
+  /**
+   * @param name name of the cache, e.g. {@value #RESPONSE}, used in its metric names and, in upper
+   *     snake case, in its settings: {@code UserSettings} reads {@code
+   *     SEARCH_USER_SETTINGS_CACHE_SIZE}
+   * @param generation builds the reader of the generation, only called if the cache is enabled
+   */
+  public static <K, V> ResponseCache<K, V> fromEnvironment(
+      String name, Environment environment, Supplier<Supplier<String>> generation) {
+    var maximumSize = environment.readEnvOpt(setting(name, SIZE)).map(Integer::parseInt).orElse(0);
+    if (maximumSize == 0) {
+      return disabled();
+    }
+    var timeToLive =
+        environment
+            .readEnvOpt(setting(name, TTL_SECONDS))
+            .map(Long::parseLong)
+            .map(Duration::ofSeconds)
+            .orElse(Duration.ofSeconds(DEFAULT_TTL_SECONDS));
+    return new ResponseCache<>(name, maximumSize, timeToLive, generation.get(), Clock.systemUTC());
+  }
+
+  private static String setting(String name, String setting) {
+    var snakeCase = WORD_BOUNDARY.matcher(name).replaceAll("$1_$2").toUpperCase(Locale.ROOT);
+    return String.format(SETTING_FORMAT, snakeCase, setting);
+  }
+
+  public boolean isEnabled() {
+    return maximumSize > 0;
+  }
+
+  /**
+   * Returns the cached response for {@code key}, or loads, caches and returns it.
+   *
+   * @param loader runs the search, and is not called while holding the cache's lock
+   */
+  public <E extends Exception> V computeIfAbsent(K key, Loader<V, E> loader) throws E {
+    if (!isEnabled()) {
+      return loader.load();
+    }
+    var currentGeneration = generation.get();
+    var entry = lookup(key);
+    if (nonNull(entry) && entry.isFresh(clock.instant(), currentGeneration)) {
+      publishMetrics(true);
+      return entry.value();
+    }
+    publishMetrics(false);
+    var value = loader.load();
+    store(key, new Entry<>(value, currentGeneration, clock.instant().plus(timeToLive)));
+    return value;
+  }
+
+  /**
+   * Returns the cached response for {@code key}, or loads it and caches it once loaded. A load
+   * that fails is not cached.
+   *
+   * @param loader sends the request, and is not called while holding the cache's lock
+   */
+  public CompletableFuture<V> computeIfAbsentAsync(K key, Supplier<CompletableFuture<V>> loader) {
+    if (!isEnabled()) {
+      return loader.get();
+    }
+    var currentGeneration = generation.get();
+    var entry = lookup(key);
+    if (nonNull(entry) && entry.isFresh(clock.instant(), currentGeneration)) {
+      publishMetrics(true);
+      return CompletableFuture.completedFuture(entry.value());
+    }
+    publishMetrics(false);
+    return loader
+        .get()
+        .thenApply(
+            value -> {
+              store(key, new Entry<>(value, currentGeneration, clock.instant().plus(timeToLive)));
+              return value;
+            });
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private synchronized Entry<V> lookup(K key) {
+    return entries.get(key);
+  }
+
+  private synchronized void store(K key, Entry<V> entry) {
+    entries.put(key, entry);
+  }
+
+  private void publishMetrics(boolean hit) {
+    EmbeddedMetrics.publish(
+        new Metric(hitsMetric, hit ? 1 : 0, EmbeddedMetrics.COUNT),
+        new Metric(missesMetric, hit ? 0 : 1, EmbeddedMetrics.COUNT));
+  }
+
+  /**
+   * What a formatted response is cached under.
+   *
+   * @param parameters the normalised query parameters, see {@code QueryKeys.asMap()}
+   * @param mediaType the media type the response is formatted as
+   * @param version the API version the response is formatted for
+   * @param gatewayUri the URI the links in the response are built from
+   */
+  public record Key(
+      Map<String, String> parameters, MediaType mediaType, String version, URI gatewayUri) {
+
+    public Key {
+      parameters = Map.copyOf(parameters);
+    }
+  }
+
+  /** Loads a response that was not found in the cache. */
+  @FunctionalInterface
+  public interface Loader<V, E extends Exception> {
+
+    V load() throws E;
+  }
+
+  private record Entry<V>(V value, String generation, Instant expiresAt) {
+
+    private boolean isFresh(Instant now, String currentGeneration) {
+      return now.isBefore(expiresAt) && generation.equals(currentGeneration);
+    }
+  }
+}
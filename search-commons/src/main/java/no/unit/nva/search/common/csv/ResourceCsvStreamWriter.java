@@ -0,0 +1,190 @@
+package no.unit.nva.search.common.csv;
+
+import static no.unit.nva.search.common.ResourceHit.DAY_POINTER;
+import static no.unit.nva.search.common.ResourceHit.IDENTITY_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ID_POINTER;
+import static no.unit.nva.search.common.ResourceHit.INSTANCE_TYPE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.MAIN_TITLE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.MONTH_POINTER;
+import static no.unit.nva.search.common.ResourceHit.YEAR_POINTER;
+import static nva.commons.core.attempt.Try.attempt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import no.unit.nva.search.common.PageWriter;
+import no.unit.nva.search.common.ResourceHit;
+import no.unit.nva.search.common.ResourceHit.Subtree;
+
+/**
+ * Writes search hits as CSV, one page at a time, to an underlying {@link Writer}.
+ *
+ * <p>The BOM and header are written once, so consecutive pages end up as one CSV document. Only
+ * the page currently being written is held in memory.
+ *
+ * <p>Fields are read from each hit and encoded straight into a character buffer that is reused
+ * from row to row, with every field quoted and quotes doubled, as opencsv wrote {@link ExportCsv}
+ * beans with {@link HeaderColumnNameAndOrderMappingStrategy}.
+ */
+public final class ResourceCsvStreamWriter implements PageWriter {
+
+  private static final char UTF8_BOM = '\ufeff';
+  private static final char QUOTE_CHAR = '"';
+  private static final char SEPARATOR = ';';
+  private static final String LINE_END = "\r\n";
+  private static final char DATE_SEPARATOR = '-';
+  private static final char CONTRIBUTOR_DELIMITER = ',';
+  private static final List<String> HEADER =
+      List.of("url", "title", "publicationDate", "type", "contributors");
+  private static final String EMPTY_STRING = "";
+
+  /** What {@link String#join} wrote for a contributor without a name. */
+  private static final String MISSING_NAME = "null";
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Writer writer;
+  private char[] buffer = new char[BUFFER_SIZE];
+  private int length;
+  private boolean headerWritten;
+
+  public ResourceCsvStreamWriter(Writer writer) {
+    this.writer = writer;
+    attempt(() -> writer.append(UTF8_BOM)).orElseThrow();
+  }
+
+  /**
+   * Converts a page of hits to CSV rows and flushes them to the underlying writer.
+   *
+   * @param hits the source documents of one search/scroll page
+   */
+  @Override
+  public void write(List<JsonNode> hits) {
+    try {
+      if (!headerWritten && !hits.isEmpty()) {
+        appendHeader();
+        headerWritten = true;
+      }
+      for (var hit : hits) {
+        appendRow(ResourceHit.of(hit));
+        if (length >= BUFFER_SIZE) {
+          drain();
+        }
+      }
+      drain();
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void appendHeader() {
+    for (var i = 0; i < HEADER.size(); i++) {
+      if (i > 0) {
+        append(SEPARATOR);
+      }
+      appendField(HEADER.get(i));
+    }
+    appendLineEnd();
+  }
+
+  private void appendRow(ResourceHit hit) {
+    appendField(text(hit.at(ID_POINTER)));
+    append(SEPARATOR);
+    appendField(text(hit.at(MAIN_TITLE_POINTER)));
+    append(SEPARATOR);
+    appendPublicationDate(hit);
+    append(SEPARATOR);
+    appendField(text(hit.at(INSTANCE_TYPE_POINTER)));
+    append(SEPARATOR);
+    appendContributors(hit);
+    appendLineEnd();
+  }
+
+  /** Year, month and day, each only if those before it are there as well. */
+  private void appendPublicationDate(ResourceHit hit) {
+    append(QUOTE_CHAR);
+    var year = text(hit.at(YEAR_POINTER));
+    if (!year.isBlank()) {
+      appendEscaped(year);
+      var month = text(hit.at(MONTH_POINTER));
+      if (!month.isBlank()) {
+        append(DATE_SEPARATOR);
+        appendEscaped(month);
+        var day = text(hit.at(DAY_POINTER));
+        if (!day.isBlank()) {
+          append(DATE_SEPARATOR);
+          appendEscaped(day);
+        }
+      }
+    }
+    append(QUOTE_CHAR);
+  }
+
+  private void appendContributors(ResourceHit hit) {
+    append(QUOTE_CHAR);
+    var first = true;
+    for (var contributor : hit.subtree(Subtree.CONTRIBUTORS)) {
+      if (!first) {
+        append(CONTRIBUTOR_DELIMITER);
+      }
+      var name = contributor.at(IDENTITY_NAME_POINTER);
+      appendEscaped(name.isMissingNode() ? MISSING_NAME : name.asText());
+      first = false;
+    }
+    append(QUOTE_CHAR);
+  }
+
+  private static String text(JsonNode value) {
+    return value.isMissingNode() ? EMPTY_STRING : value.asText();
+  }
+
+  private void appendField(String value) {
+    append(QUOTE_CHAR);
+    appendEscaped(value);
+    append(QUOTE_CHAR);
+  }
+
+  private void appendEscaped(String value) {
+    var valueLength = value.length();
+    if (value.indexOf(QUOTE_CHAR) < 0) {
+      ensureCapacity(valueLength);
+      value.getChars(0, valueLength, buffer, length);
+      length += valueLength;
+      return;
+    }
+    ensureCapacity(2 * valueLength);
+    for (var i = 0; i < valueLength; i++) {
+      var c = value.charAt(i);
+      if (c == QUOTE_CHAR) {
+        buffer[length++] = QUOTE_CHAR;
+      }
+      buffer[length++] = c;
+    }
+  }
+
+  private void appendLineEnd() {
+    ensureCapacity(LINE_END.length());
+    LINE_END.getChars(0, LINE_END.length(), buffer, length);
+    length += LINE_END.length();
+  }
+
+  private void append(char c) {
+    ensureCapacity(1);
+    buffer[length++] = c;
+  }
+
+  private void ensureCapacity(int additional) {
+    if (length + additional > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(2 * buffer.length, length + additional));
+    }
+  }
+
+  private void drain() throws IOException {
+    writer.write(buffer, 0, length);
+    length = 0;
+  }
+}
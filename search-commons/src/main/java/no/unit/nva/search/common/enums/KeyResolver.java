@@ -0,0 +1,102 @@
+package no.unit.nva.search.common.enums;
+
+import static java.util.Objects.nonNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the name of a query parameter or sort key to its enum constant.
+ *
+ * <p>A name resolves to the one key whose pattern it matches, or to {@code INVALID} if it matches
+ * none or more than one. The usual spellings of every key, {@code name()}, {@code asCamelCase()}
+ * and {@code asLowerCase()}, are resolved once up front and looked up in a map; other names are
+ * matched against the compiled key patterns.
+ *
+ * @param <K> the enum of keys
+ */
+public final class KeyResolver<K extends Enum<K>> {
+
+  private static final String INVALID = "INVALID";
+  private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+  private final List<Candidate<K>> candidates;
+  private final Map<String, K> spellings;
+  private final K invalid;
+
+  private KeyResolver(
+      Stream<K> keys,
+      Function<K, String> keyPattern,
+      Function<K, Stream<String>> spellingsOf,
+      K invalid) {
+    this.candidates =
+        keys.map(key -> new Candidate<>(key, compiled(keyPattern.apply(key)))).toList();
+    this.invalid = invalid;
+    var resolved = new HashMap<String, K>();
+    candidates.stream()
+        .map(Candidate::key)
+        .flatMap(spellingsOf)
+        .forEach(
+            spelling -> {
+              var key = match(spelling);
+              if (key != invalid) {
+                resolved.put(spelling, key);
+              }
+            });
+    this.spellings = Map.copyOf(resolved);
+  }
+
+  /** Resolves names of the parameters of {@code type}, other than {@code INVALID}. */
+  public static <K extends Enum<K> & ParameterKey<K>> KeyResolver<K> ofParameters(Class<K> type) {
+    return new KeyResolver<>(
+        Arrays.stream(type.getEnumConstants()).filter(ParameterKey::isValid),
+        ParameterKey::fieldPattern,
+        key -> Stream.of(key.name(), key.asCamelCase(), key.asLowerCase()),
+        Enum.valueOf(type, INVALID));
+  }
+
+  /** Resolves names of the sort keys of {@code type}. */
+  public static <K extends Enum<K> & SortKey> KeyResolver<K> ofSortKeys(Class<K> type) {
+    return new KeyResolver<>(
+        Arrays.stream(type.getEnumConstants()),
+        SortKey::keyPattern,
+        key -> Stream.of(key.name(), key.asCamelCase(), key.asLowerCase()),
+        Enum.valueOf(type, INVALID));
+  }
+
+  /**
+   * The compiled {@code regex}, compiled the first time it is asked for.
+   *
+   * @param regex one of the key or value patterns of the enums, which are a fixed set
+   */
+  public static Pattern compiled(String regex) {
+    return PATTERNS.computeIfAbsent(regex, Pattern::compile);
+  }
+
+  /** The key {@code name} resolves to, or {@code INVALID}. */
+  public K resolve(String name) {
+    var key = spellings.get(name);
+    return nonNull(key) ? key : match(name);
+  }
+
+  private K match(String name) {
+    K found = null;
+    for (var candidate : candidates) {
+      if (candidate.pattern().matcher(name).matches()) {
+        if (nonNull(found)) {
+          return invalid;
+        }
+        found = candidate.key();
+      }
+    }
+    return nonNull(found) ? found : invalid;
+  }
+
+  private record Candidate<K>(K key, Pattern pattern) {}
+}
@@ -30,7 +30,7 @@ import no.unit.nva.constants.Words;
  */
 public interface ParameterKey<K extends Enum<K> & ParameterKey<K>> {
   static Predicate<ParameterKey<?>> equalTo(String name) {
-    return key -> name.matches(key.fieldPattern());
+    return key -> KeyResolver.compiled(key.fieldPattern()).matcher(name).matches();
   }
 
   static int compareAscending(Enum<?> key1, Enum<?> key2) {
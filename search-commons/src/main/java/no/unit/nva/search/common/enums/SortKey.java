@@ -18,7 +18,7 @@ public interface SortKey {
   String INVALID_SORT_KEY_NAME = "INVALID";
 
   static Predicate<SortKey> equalTo(String name) {
-    return key -> name.matches(key.keyPattern());
+    return key -> KeyResolver.compiled(key.keyPattern()).matcher(name).matches();
   }
 
   static int compareAscending(Enum<?> key1, Enum<?> key2) {
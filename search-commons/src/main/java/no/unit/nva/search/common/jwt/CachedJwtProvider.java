@@ -1,23 +1,48 @@
 package no.unit.nva.search.common.jwt;
 
+import static java.util.Objects.nonNull;
+import static no.unit.nva.constants.Defaults.ENVIRONMENT;
+
 import com.auth0.jwt.interfaces.DecodedJWT;
 import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 
 /**
  * Class for providing a cached JWT.
  *
+ * <p>A token is refreshed in the background once {@code JWT_REFRESH_FRACTION} (default 0.75) of
+ * its lifetime has passed, so that searches keep using the current token while the next one is
+ * fetched from Cognito.
+ *
  * @author Sondre Vestad
  */
 public class CachedJwtProvider extends CachedValueProvider<DecodedJWT> {
 
+  public static final String JWT_REFRESH_FRACTION = "JWT_REFRESH_FRACTION";
+  private static final double DEFAULT_REFRESH_FRACTION = 0.75;
+  private static final String METRIC_PREFIX = "Jwt";
+
   private final CognitoAuthenticator cognitoAuthenticator;
   private final Clock clock;
+  private final double refreshFraction;
+  private volatile Instant fetchedAt;
 
   public CachedJwtProvider(CognitoAuthenticator cognitoAuthenticator, Clock clock) {
-    super();
+    this(cognitoAuthenticator, clock, configuredRefreshFraction());
+  }
+
+  /**
+   * @param refreshFraction the part of a token's lifetime after which it is refreshed in the
+   *     background, between 0 and 1
+   */
+  public CachedJwtProvider(
+      CognitoAuthenticator cognitoAuthenticator, Clock clock, double refreshFraction) {
+    super(METRIC_PREFIX);
     this.cognitoAuthenticator = cognitoAuthenticator;
     this.clock = clock;
+    this.refreshFraction = refreshFraction;
   }
 
   public static CachedJwtProvider prepareWithAuthenticator(
@@ -26,17 +51,35 @@ public class CachedJwtProvider extends CachedValueProvider<DecodedJWT> {
   }
 
   @Override
-  protected boolean isExpired() {
+  protected boolean isExpired(DecodedJWT value) {
     var in5sec = clock.instant().plusMillis(5000);
 
-    var expiresAtDate = cachedValue.getExpiresAt();
+    var expiresAtDate = value.getExpiresAt();
     var dateIn5Secs = Date.from(in5sec);
 
     return expiresAtDate.before(dateIn5Secs);
   }
 
+  @Override
+  protected boolean isDueForRefresh(DecodedJWT value) {
+    var issuedAt = nonNull(value.getIssuedAt()) ? value.getIssuedAt().toInstant() : fetchedAt;
+    var lifetime = Duration.between(issuedAt, value.getExpiresAt().toInstant());
+    var refreshAt = issuedAt.plusMillis((long) (lifetime.toMillis() * refreshFraction));
+    return !clock.instant().isBefore(refreshAt);
+  }
+
   @Override
   protected DecodedJWT getNewValue() {
-    return cognitoAuthenticator.fetchBearerToken();
+    var fetchStart = clock.instant();
+    var token = cognitoAuthenticator.fetchBearerToken();
+    fetchedAt = fetchStart;
+    return token;
+  }
+
+  private static double configuredRefreshFraction() {
+    return ENVIRONMENT
+        .readEnvOpt(JWT_REFRESH_FRACTION)
+        .map(Double::parseDouble)
+        .orElse(DEFAULT_REFRESH_FRACTION);
   }
 }
@@ -1,23 +1,124 @@
 package no.unit.nva.search.common.jwt;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import no.unit.nva.search.common.EmbeddedMetrics;
+import no.unit.nva.search.common.EmbeddedMetrics.Metric;
+import no.unit.nva.search.common.ExecutorStrategy;
+
 /**
  * Abstract class for providing a cached value.
  *
+ * <p>At most one refresh is in flight at a time. Callers that find no usable value wait for that
+ * refresh instead of starting their own. Once a value is due for refresh, but not yet expired, it
+ * is still handed out while a new one is fetched in the background.
+ *
+ * <p>Each refresh publishes how long it took, and how many calls since the previous refresh were
+ * answered from the cache.
+ *
  * @author Sondre Vestad
  * @param <T> the type of the cached value
  */
 public abstract class CachedValueProvider<T> {
 
-  protected T cachedValue;
+  private static final double TO_PERCENT = 100d;
+  private static final double NANOS_PER_MILLI = 1_000_000d;
+
+  protected volatile T cachedValue;
+  private final AtomicReference<CompletableFuture<T>> refreshInFlight = new AtomicReference<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final String metricPrefix;
+  private final Executor backgroundExecutor;
+
+  /**
+   * @param metricPrefix prefix of the metric names, e.g. {@code Jwt}
+   */
+  protected CachedValueProvider(String metricPrefix) {
+    this(metricPrefix, ExecutorStrategy.VIRTUAL_THREADS.executor());
+  }
+
+  protected CachedValueProvider(String metricPrefix, Executor backgroundExecutor) {
+    this.metricPrefix = metricPrefix;
+    this.backgroundExecutor = backgroundExecutor;
+  }
 
   public T getValue() {
-    if (cachedValue == null || isExpired()) {
-      cachedValue = getNewValue();
+    var value = cachedValue;
+    if (isNull(value) || isExpired(value)) {
+      misses.increment();
+      return await(refresh(Runnable::run));
     }
-    return cachedValue;
+    hits.increment();
+    if (isDueForRefresh(value)) {
+      refresh(backgroundExecutor);
+    }
+    return value;
   }
 
-  protected abstract boolean isExpired();
+  /** Whether {@code value} may no longer be handed out. */
+  protected abstract boolean isExpired(T value);
+
+  /** Whether a new value should be fetched in the background. Never by default. */
+  protected boolean isDueForRefresh(T value) {
+    return false;
+  }
 
   protected abstract T getNewValue();
+
+  private CompletableFuture<T> refresh(Executor executor) {
+    var refresh = new CompletableFuture<T>();
+    var inFlight = refreshInFlight.compareAndExchange(null, refresh);
+    if (nonNull(inFlight)) {
+      return inFlight;
+    }
+    executor.execute(() -> fetchInto(refresh));
+    return refresh;
+  }
+
+  private T await(CompletableFuture<T> refresh) {
+    try {
+      return refresh.join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw exception;
+    }
+  }
+
+  private void fetchInto(CompletableFuture<T> refresh) {
+    var start = System.nanoTime();
+    try {
+      var value = getNewValue();
+      cachedValue = value;
+      refresh.complete(value);
+      publishMetrics(System.nanoTime() - start);
+    } catch (RuntimeException exception) {
+      refresh.completeExceptionally(exception);
+    } finally {
+      refreshInFlight.set(null);
+    }
+  }
+
+  private void publishMetrics(long refreshNanos) {
+    var hitCount = hits.sumThenReset();
+    var missCount = misses.sumThenReset();
+    var calls = hitCount + missCount;
+    var refreshMillis = refreshNanos / NANOS_PER_MILLI;
+    EmbeddedMetrics.publish(
+        new Metric(metricPrefix + "RefreshTime", refreshMillis, EmbeddedMetrics.MILLISECONDS),
+        new Metric(metricPrefix + "CacheHits", hitCount, EmbeddedMetrics.COUNT),
+        new Metric(metricPrefix + "CacheMisses", missCount, EmbeddedMetrics.COUNT),
+        new Metric(
+            metricPrefix + "CacheHitRate",
+            calls == 0 ? 0 : TO_PERCENT * hitCount / calls,
+            EmbeddedMetrics.PERCENT));
+  }
 }
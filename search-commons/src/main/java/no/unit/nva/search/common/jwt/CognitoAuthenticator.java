@@ -17,6 +17,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Objects;
 import no.unit.nva.auth.CognitoCredentials;
+import no.unit.nva.search.common.HttpTransport;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.paths.UriWrapper;
 
@@ -45,7 +46,7 @@ public class CognitoAuthenticator {
   @JacocoGenerated
   public static CognitoAuthenticator prepareWithCognitoCredentials(
       CognitoCredentials cognitoCredentials) {
-    return prepareWithCognitoCredentials(HttpClient.newHttpClient(), cognitoCredentials);
+    return prepareWithCognitoCredentials(HttpTransport.sharedHttpClient(), cognitoCredentials);
   }
 
   public static CognitoAuthenticator prepareWithCognitoCredentials(
@@ -1,8 +1,7 @@
 package no.unit.nva.search.common.records;
 
-import static nva.commons.core.attempt.Try.attempt;
-
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
@@ -19,16 +18,15 @@ public final class FacetsBuilder {
   @JacocoGenerated
   public FacetsBuilder() {}
 
-  public static Map<String, List<Facet>> build(String aggregations, URI id) {
+  public static Map<String, List<Facet>> build(JsonNode aggregations, URI id) {
     return toMapOfFacets(aggregations).entrySet().stream()
         .map((entry) -> addIdToFacets(entry, id))
         .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
   }
 
-  private static Map<String, List<Facet>> toMapOfFacets(String aggregations) {
+  private static Map<String, List<Facet>> toMapOfFacets(JsonNode aggregations) {
     final var typeReference = new TypeReference<Map<String, List<Facet>>>() {};
-    return attempt(() -> JsonUtils.dtoObjectMapper.readValue(aggregations, typeReference))
-        .orElseThrow();
+    return JsonUtils.dtoObjectMapper.convertValue(aggregations, typeReference);
   }
 
   private static Map.Entry<String, List<Facet>> addIdToFacets(
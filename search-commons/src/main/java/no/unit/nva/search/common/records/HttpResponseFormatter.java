@@ -1,15 +1,23 @@
 package no.unit.nva.search.common.records;
 
 import static java.util.Objects.nonNull;
+import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
 import static no.unit.nva.constants.Defaults.BIBTEX_UTF_8;
 import static no.unit.nva.constants.Words.COMMA;
 import static no.unit.nva.search.common.constant.Functions.hasContent;
 import static nva.commons.apigateway.MediaType.CSV_UTF_8;
+import static nva.commons.core.attempt.Try.attempt;
 import static nva.commons.core.paths.UriWrapper.fromUri;
 import static org.apache.hc.core5.http.HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -20,7 +28,9 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.constants.Words;
 import no.unit.nva.search.common.AggregationFormat;
+import no.unit.nva.search.common.EmbeddedMetrics;
 import no.unit.nva.search.common.QueryKeys;
+import no.unit.nva.search.common.RequestTiming.Phase;
 import no.unit.nva.search.common.bibliography.SchemaOrgBibliographyTransformer;
 import no.unit.nva.search.common.bibtex.ResourceBibTexTransformer;
 import no.unit.nva.search.common.csv.ResourceCsvTransformer;
@@ -36,6 +46,7 @@ import nva.commons.apigateway.MediaTypes;
  *     define the parameters that can be used in the query.
  */
 public final class HttpResponseFormatter<K extends Enum<K> & ParameterKey<K>> {
+  private static final String HITS = "hits";
   private static final String HEADER_LINK = "Link";
   private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
   private static final String EXPOSED_PAGINATION_HEADERS =
@@ -97,19 +108,74 @@ public final class HttpResponseFormatter<K extends Enum<K> & ParameterKey<K>> {
   }
 
   public PagedSearch toPagedResponse() {
-    final var aggregationFormatted =
-        AggregationFormat.apply(response.aggregations(), facetPaths).toString();
+    final var formattingStart = System.nanoTime();
+    final var aggregations = AggregationFormat.apply(response.aggregations(), facetPaths);
+    final var mutationStart = System.nanoTime();
     final var hits = toMutatedHits();
+    publishFormattingMetrics(mutationStart - formattingStart, System.nanoTime() - mutationStart);
+    return pagedResponse(hits, aggregations);
+  }
 
+  /**
+   * Writes the same JSON as {@code toPagedResponse().toJsonString()} to {@code outputStream}. Each
+   * hit is mutated and written before the next one is taken, so neither the page nor the mutated
+   * hits are held in memory as a whole. The stream is flushed, but not closed.
+   */
+  public void writePagedResponse(OutputStream outputStream) throws IOException {
+    final var formattingStart = System.nanoTime();
+    final var aggregations = AggregationFormat.apply(response.aggregations(), facetPaths);
+    final var formattingNanos = System.nanoTime() - formattingStart;
+    final ObjectNode page = dtoObjectMapper.valueToTree(pagedResponse(List.of(), aggregations));
+    final var fields = page.fields();
+    var mutationNanos = 0L;
+    try (var generator = dtoObjectMapper.writer().createGenerator(outputStream)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.writeStartObject();
+      while (fields.hasNext()) {
+        final var field = fields.next();
+        generator.writeFieldName(field.getKey());
+        if (HITS.equals(field.getKey())) {
+          mutationNanos = writeMutatedHits(generator);
+        } else {
+          generator.writeTree(field.getValue());
+        }
+      }
+      generator.writeEndObject();
+    }
+    publishFormattingMetrics(formattingNanos, mutationNanos);
+  }
+
+  private long writeMutatedHits(JsonGenerator generator) throws IOException {
+    final var mutators = getMutators().toList();
+    var mutationNanos = 0L;
+    generator.writeStartArray();
+    for (var hit : response.getSearchHits()) {
+      for (var mutator : mutators) {
+        final var mutationStart = System.nanoTime();
+        final var mutated = mutator.transform(hit);
+        mutationNanos += System.nanoTime() - mutationStart;
+        generator.writeTree(mutated);
+      }
+    }
+    generator.writeEndArray();
+    return mutationNanos;
+  }
+
+  private PagedSearch pagedResponse(List<JsonNode> hits, JsonNode aggregations) {
     return new PagedSearchBuilder()
         .withTotalHits(response.getTotalSize())
         .withHits(hits)
         .withIds(source, getRequestParameter(), offset, size)
         .withNextResultsBySortKey(nextResultsBySortKey(getRequestParameter(), source))
-        .withAggregations(aggregationFormatted)
+        .withAggregations(aggregations)
         .build();
   }
 
+  private static void publishFormattingMetrics(long formattingNanos, long mutationNanos) {
+    EmbeddedMetrics.publish(
+        Phase.AGGREGATION_FORMATTING.metric(formattingNanos), Phase.MUTATION.metric(mutationNanos));
+  }
+
   private Stream<JsonNodeMutator> getMutators() {
     if (this.mutators == null) {
       return Stream.of(defaultMutator());
@@ -253,6 +319,13 @@ public final class HttpResponseFormatter<K extends Enum<K> & ParameterKey<K>> {
         || MediaTypes.SCHEMA_ORG.matches(this.mediaType)) {
       return toSchemaOrgText();
     }
-    return toPagedResponse().toJsonString();
+    var outputStream = new ByteArrayOutputStream();
+    attempt(
+            () -> {
+              writePagedResponse(outputStream);
+              return outputStream;
+            })
+        .orElseThrow();
+    return outputStream.toString(StandardCharsets.UTF_8);
   }
 }
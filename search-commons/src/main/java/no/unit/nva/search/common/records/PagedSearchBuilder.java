@@ -59,7 +59,7 @@ public class PagedSearchBuilder {
     return this;
   }
 
-  public PagedSearchBuilder withAggregations(String aggregations) {
+  public PagedSearchBuilder withAggregations(JsonNode aggregations) {
     this.aggregations = FacetsBuilder.build(aggregations, this.id);
     return this;
   }
@@ -9,5 +9,16 @@ import java.net.URI;
  * @author Sondre Vestad
  * @param body the body of the query
  * @param uri the URI of the query
+ * @param aggregationsOnly whether the query only asks for aggregations, which are the same for
+ *     every page of a search
  */
-public record QueryContentWrapper(String body, URI uri) {}
+public record QueryContentWrapper(String body, URI uri, boolean aggregationsOnly) {
+
+  public QueryContentWrapper(String body, URI uri) {
+    this(body, uri, false);
+  }
+
+  public static QueryContentWrapper aggregationsOnly(String body, URI uri) {
+    return new QueryContentWrapper(body, uri, true);
+  }
+}
@@ -1,5 +1,6 @@
 package no.unit.nva.search.common.records;
 
+import java.util.Map;
 import no.unit.nva.commons.json.JsonSerializable;
 
 /**
@@ -13,6 +14,7 @@ import no.unit.nva.commons.json.JsonSerializable;
  * @param prePostDuration the duration of the pre-post.
  * @param totalDuration the total duration.
  * @param query the query.
+ * @param phases the duration of each phase of the request, in milliseconds.
  */
 public record ResponseLogInfo(
     int totalHits,
@@ -21,7 +23,8 @@ public record ResponseLogInfo(
     long networkDuration,
     long prePostDuration,
     long totalDuration,
-    String query)
+    String query,
+    Map<String, Long> phases)
     implements JsonSerializable {
 
   public static Builder builder() {
@@ -36,6 +39,7 @@ public record ResponseLogInfo(
     private long fetchTime;
     private long searchTime;
     private String searchQuery;
+    private Map<String, Long> phases = Map.of();
 
     private Builder() {}
 
@@ -69,6 +73,11 @@ public record ResponseLogInfo(
       return this;
     }
 
+    public Builder withPhases(Map<String, Long> phases) {
+      this.phases = phases;
+      return this;
+    }
+
     public Builder withSwsResponse(SwsResponse response) {
       return this.withOpensearchResponseTime(response.took())
           .withTotalHits(response.getTotalSize())
@@ -83,7 +92,8 @@ public record ResponseLogInfo(
               fetchTime - searchTime,
               totalTime - fetchTime,
               totalTime,
-              searchQuery)
+              searchQuery,
+              phases)
           .toJsonString();
     }
   }
@@ -36,8 +36,16 @@ public record SwsResponse(
   @JacocoGenerated
   @Transient
   public List<String> getSort() {
+    return getSortValues().stream()
+        .map(value -> nonNull(value) ? value.toString() : null)
+        .toList();
+  }
+
+  /** The sort values of the last hit, as the JSON numbers, strings or nulls they were returned as. */
+  @Transient
+  public List<?> getSortValues() {
     return nonNull(hits) && nonNull(hits.hits) && !hits.hits.isEmpty()
-        ? Optional.ofNullable(hits.hits.getLast().sort()).orElse(List.of())
+        ? Optional.<List<?>>ofNullable(hits.hits.getLast().sort()).orElse(List.of())
         : List.of();
   }
 
@@ -54,7 +62,7 @@ public record SwsResponse(
         double _score,
         JsonNode _source,
         JsonNode inner_hits,
-        List<String> sort) {}
+        List<?> sort) {}
   }
 
   public static final class SwsResponseBuilder {
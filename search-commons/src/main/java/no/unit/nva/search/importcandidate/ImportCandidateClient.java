@@ -3,11 +3,13 @@ package no.unit.nva.search.importcandidate;
 import static no.unit.nva.commons.json.JsonUtils.singleLineObjectMapper;
 import static no.unit.nva.search.common.jwt.Tools.getCachedJwtProvider;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
 import java.util.function.BinaryOperator;
+import no.unit.nva.search.common.HttpTransport;
 import no.unit.nva.search.common.OpenSearchClient;
+import no.unit.nva.search.common.RequestTiming;
 import no.unit.nva.search.common.jwt.CachedJwtProvider;
 import no.unit.nva.search.common.records.SwsResponse;
 import nva.commons.core.JacocoGenerated;
@@ -29,12 +31,11 @@ public class ImportCandidateClient
   @JacocoGenerated
   public static ImportCandidateClient defaultClient() {
     var cachedJwtProvider = getCachedJwtProvider(new SecretsReader());
-    return new ImportCandidateClient(HttpClient.newHttpClient(), cachedJwtProvider);
+    return new ImportCandidateClient(HttpTransport.sharedHttpClient(), cachedJwtProvider);
   }
 
   @Override
-  protected SwsResponse jsonToResponse(HttpResponse<String> response)
-      throws JsonProcessingException {
+  protected SwsResponse jsonToResponse(HttpResponse<byte[]> response) throws IOException {
     return singleLineObjectMapper.readValue(response.body(), SwsResponse.class);
   }
 
@@ -44,9 +45,10 @@ public class ImportCandidateClient
   }
 
   @Override
-  protected FunctionWithException<SwsResponse, SwsResponse, RuntimeException> logAndReturnResult() {
+  protected FunctionWithException<SwsResponse, SwsResponse, RuntimeException> logAndReturnResult(
+      RequestTiming timing) {
     return result -> {
-      logger.info(buildLogInfo(result));
+      logger.info(buildLogInfo(result, timing));
       return result;
     };
   }
@@ -51,6 +51,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.constants.Words;
 import no.unit.nva.search.common.enums.FieldOperator;
+import no.unit.nva.search.common.enums.KeyResolver;
 import no.unit.nva.search.common.enums.ParameterKey;
 import no.unit.nva.search.common.enums.ParameterKind;
 import no.unit.nva.search.common.enums.ValueEncoding;
@@ -122,6 +123,8 @@ public enum ImportCandidateParameter implements ParameterKey<ImportCandidatePara
           .filter(ImportCandidateParameter::isSearchField)
           .sorted(ParameterKey::compareAscending)
           .collect(Collectors.toCollection(LinkedHashSet::new));
+  private static final KeyResolver<ImportCandidateParameter> RESOLVER =
+      KeyResolver.ofParameters(ImportCandidateParameter.class);
 
   private final ValueEncoding encoding;
   private final String keyPattern;
@@ -163,16 +166,7 @@ public enum ImportCandidateParameter implements ParameterKey<ImportCandidatePara
   }
 
   public static ImportCandidateParameter keyFromString(String paramName) {
-    var result =
-        Arrays.stream(values())
-            .filter(ImportCandidateParameter::ignoreInvalidKey)
-            .filter(ParameterKey.equalTo(paramName))
-            .collect(Collectors.toSet());
-    return result.size() == 1 ? result.stream().findFirst().get() : INVALID;
-  }
-
-  private static boolean ignoreInvalidKey(ImportCandidateParameter f) {
-    return f.ordinal() > IGNORE_PARAMETER_INDEX;
+    return RESOLVER.resolve(paramName);
   }
 
   private static boolean isSearchField(ImportCandidateParameter f) {
@@ -35,6 +35,7 @@ import java.util.Map.Entry;
 import java.util.stream.Stream;
 import no.unit.nva.search.common.AsType;
 import no.unit.nva.search.common.ParameterValidator;
+import no.unit.nva.search.common.QueryTemplate;
 import no.unit.nva.search.common.SearchQuery;
 import no.unit.nva.search.common.constant.Functions;
 import no.unit.nva.search.common.enums.SortKey;
@@ -51,6 +52,9 @@ import org.opensearch.search.aggregations.AggregationBuilder;
  */
 public final class ImportCandidateSearchQuery extends SearchQuery<ImportCandidateParameter> {
 
+  private static final String AGGREGATIONS_JSON =
+      QueryTemplate.toJson(IMPORT_CANDIDATES_AGGREGATIONS);
+
   ImportCandidateSearchQuery() {
     super();
   }
@@ -129,6 +133,11 @@ public final class ImportCandidateSearchQuery extends SearchQuery<ImportCandidat
     return IMPORT_CANDIDATES_AGGREGATIONS;
   }
 
+  @Override
+  protected String aggregationsJson() {
+    return AGGREGATIONS_JSON;
+  }
+
   @JacocoGenerated // default value shouldn't happen, (developer have forgotten to handle a key)
   @Override
   protected Stream<Entry<ImportCandidateParameter, QueryBuilder>> builderCustomQueryStream(
@@ -7,9 +7,9 @@ import static nva.commons.core.StringUtils.EMPTY_STRING;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Locale;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.constants.Words;
+import no.unit.nva.search.common.enums.KeyResolver;
 import no.unit.nva.search.common.enums.SortKey;
 import org.apache.commons.text.CaseUtils;
 
@@ -28,6 +28,9 @@ public enum ImportCandidateSort implements SortKey {
   TITLE(Constants.MAIN_TITLE_KEYWORD),
   TYPE(Constants.TYPE_KEYWORD);
 
+  private static final KeyResolver<ImportCandidateSort> RESOLVER =
+      KeyResolver.ofSortKeys(ImportCandidateSort.class);
+
   private final String keyValidationRegEx;
   private final String path;
 
@@ -37,9 +40,7 @@ public enum ImportCandidateSort implements SortKey {
   }
 
   public static ImportCandidateSort fromSortKey(String keyName) {
-    var result =
-        Arrays.stream(values()).filter(SortKey.equalTo(keyName)).collect(Collectors.toSet());
-    return result.size() == 1 ? result.stream().findFirst().get() : INVALID;
+    return RESOLVER.resolve(keyName);
   }
 
   public static Collection<String> validSortKeys() {
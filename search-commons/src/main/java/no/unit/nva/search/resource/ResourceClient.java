@@ -1,17 +1,21 @@
 package no.unit.nva.search.resource;
 
 import static no.unit.nva.commons.json.JsonUtils.singleLineObjectMapper;
+import static no.unit.nva.constants.Defaults.ENVIRONMENT;
 import static no.unit.nva.search.common.jwt.Tools.getCachedJwtProvider;
 import static no.unit.nva.search.common.records.SwsResponse.SwsResponseBuilder.swsResponseBuilder;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
-import java.time.Duration;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.function.BinaryOperator;
+import no.unit.nva.constants.Words;
+import no.unit.nva.search.common.HttpTransport;
 import no.unit.nva.search.common.OpenSearchClient;
+import no.unit.nva.search.common.RequestTiming;
+import no.unit.nva.search.common.cache.IndexGeneration;
+import no.unit.nva.search.common.cache.ResponseCache;
 import no.unit.nva.search.common.jwt.CachedJwtProvider;
 import no.unit.nva.search.common.records.SwsResponse;
 import nva.commons.core.JacocoGenerated;
@@ -25,9 +29,6 @@ import nva.commons.secrets.SecretsReader;
  */
 public class ResourceClient extends OpenSearchClient<SwsResponse, ResourceSearchQuery> {
 
-  @SuppressWarnings("PMD.DoNotUseThreads")
-  private static final ExecutorService executorService = Executors.newFixedThreadPool(3);
-
   private final UserSettingsClient userSettingsClient;
 
   public ResourceClient(HttpClient client, CachedJwtProvider cachedJwtProvider) {
@@ -40,16 +41,30 @@ public class ResourceClient extends OpenSearchClient<SwsResponse, ResourceSearch
     this.userSettingsClient = userSettingsClient;
   }
 
+  public ResourceClient(
+      HttpClient client,
+      CachedJwtProvider jwtProvider,
+      UserSettingsClient userSettingsClient,
+      Executor responseExecutor) {
+    super(client, jwtProvider, responseExecutor);
+    this.userSettingsClient = userSettingsClient;
+  }
+
   @JacocoGenerated
   public static ResourceClient defaultClient() {
     var cachedJwtProvider = getCachedJwtProvider(new SecretsReader());
-    var httpClient =
-        HttpClient.newBuilder()
-            .executor(executorService)
-            .version(HttpClient.Version.HTTP_2)
-            .connectTimeout(Duration.ofSeconds(10))
-            .build();
-    return new ResourceClient(httpClient, cachedJwtProvider);
+    var httpClient = HttpTransport.sharedHttpClient();
+    var client =
+        new ResourceClient(
+            httpClient,
+            cachedJwtProvider,
+            UserSettingsClient.fromEnvironment(httpClient, ENVIRONMENT));
+    client.withAggregationCache(
+        ResponseCache.fromEnvironment(
+            ResponseCache.AGGREGATION,
+            ENVIRONMENT,
+            () -> IndexGeneration.forIndex(Words.RESOURCES)::current));
+    return client;
   }
 
   @Override
@@ -58,8 +73,7 @@ public class ResourceClient extends OpenSearchClient<SwsResponse, ResourceSearch
   }
 
   @Override
-  protected SwsResponse jsonToResponse(HttpResponse<String> response)
-      throws JsonProcessingException {
+  protected SwsResponse jsonToResponse(HttpResponse<byte[]> response) throws IOException {
     return singleLineObjectMapper.readValue(response.body(), SwsResponse.class);
   }
 
@@ -69,9 +83,10 @@ public class ResourceClient extends OpenSearchClient<SwsResponse, ResourceSearch
   }
 
   @Override
-  protected FunctionWithException<SwsResponse, SwsResponse, RuntimeException> logAndReturnResult() {
+  protected FunctionWithException<SwsResponse, SwsResponse, RuntimeException> logAndReturnResult(
+      RequestTiming timing) {
     return result -> {
-      logger.info(buildLogInfo(result));
+      logger.info(buildLogInfo(result, timing));
       return result;
     };
   }
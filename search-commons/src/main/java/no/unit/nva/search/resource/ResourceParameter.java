@@ -103,6 +103,7 @@ import java.util.StringJoiner;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.search.common.enums.FieldOperator;
+import no.unit.nva.search.common.enums.KeyResolver;
 import no.unit.nva.search.common.enums.ParameterKey;
 import no.unit.nva.search.common.enums.ParameterKind;
 import no.unit.nva.search.common.enums.ValueEncoding;
@@ -290,6 +291,8 @@ public enum ResourceParameter implements ParameterKey<ResourceParameter> {
           .filter(ResourceParameter::isSearchField)
           .sorted(ParameterKey::compareAscending)
           .collect(Collectors.toCollection(LinkedHashSet::new));
+  private static final KeyResolver<ResourceParameter> RESOLVER =
+      KeyResolver.ofParameters(ResourceParameter.class);
   private final ValueEncoding encoding;
   private final String keyPattern;
   private final String validValuePattern;
@@ -360,16 +363,7 @@ public enum ResourceParameter implements ParameterKey<ResourceParameter> {
   }
 
   public static ResourceParameter keyFromString(String paramName) {
-    var result =
-        Arrays.stream(values())
-            .filter(ResourceParameter::ignoreInvalidKey)
-            .filter(ParameterKey.equalTo(paramName))
-            .collect(Collectors.toSet());
-    return result.size() == 1 ? result.stream().findFirst().get() : INVALID;
-  }
-
-  private static boolean ignoreInvalidKey(ResourceParameter enumParameter) {
-    return enumParameter.ordinal() > IGNORE_PARAMETER_INDEX;
+    return RESOLVER.resolve(paramName);
   }
 
   private static boolean isSearchField(ResourceParameter enumParameter) {
@@ -1,6 +1,7 @@
 package no.unit.nva.search.resource;
 
 import static java.lang.String.format;
+import static java.util.Objects.nonNull;
 import static no.unit.nva.constants.Words.COMMA;
 import static no.unit.nva.constants.Words.CRISTIN_AS_TYPE;
 import static no.unit.nva.constants.Words.HTTPS;
@@ -36,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -44,6 +46,7 @@ import no.unit.nva.search.common.AsType;
 import no.unit.nva.search.common.OpenSearchClient;
 import no.unit.nva.search.common.ParameterValidator;
 import no.unit.nva.search.common.Query;
+import no.unit.nva.search.common.QueryTemplate;
 import no.unit.nva.search.common.SearchQuery;
 import no.unit.nva.search.common.enums.SortKey;
 import no.unit.nva.search.common.records.HttpResponseFormatter;
@@ -61,10 +64,12 @@ import org.opensearch.search.aggregations.AggregationBuilder;
  * @author Sondre Vestad
  */
 public final class ResourceSearchQuery extends SearchQuery<ResourceParameter> {
+  private static final String AGGREGATIONS_JSON = QueryTemplate.toJson(RESOURCES_AGGREGATIONS);
   private final ResourceStreamBuilders streamBuilders;
   private final ResourceAccessFilter filterBuilder;
   private final Map<String, String> additionalQueryParameters = new HashMap<>();
   private UserSettingsClient userSettingsClient;
+  private CompletableFuture<List<String>> promotedPublications;
 
   private ResourceSearchQuery() {
     super();
@@ -161,6 +166,11 @@ public final class ResourceSearchQuery extends SearchQuery<ResourceParameter> {
     return RESOURCES_AGGREGATIONS;
   }
 
+  @Override
+  protected String aggregationsJson() {
+    return AGGREGATIONS_JSON;
+  }
+
   @JacocoGenerated // default value shouldn't happen, (developer have forgotten to handle a key)
   @Override
   protected Stream<Entry<ResourceParameter, QueryBuilder>> builderCustomQueryStream(
@@ -215,8 +225,8 @@ public final class ResourceSearchQuery extends SearchQuery<ResourceParameter> {
   @Override
   protected BoolQueryBuilder builderMainQuery() {
     var queryBuilder = super.builderMainQuery();
-    if (isLookingForOneContributor()) {
-      addPromotedPublications(this.userSettingsClient, queryBuilder);
+    if (nonNull(promotedPublications)) {
+      addPromotedPublications(userSettingsClient.await(promotedPublications), queryBuilder);
     }
     return queryBuilder;
   }
@@ -225,15 +235,13 @@ public final class ResourceSearchQuery extends SearchQuery<ResourceParameter> {
     return parameters().get(CONTRIBUTOR).asSplitStream(COMMA).count() == 1;
   }
 
-  private void addPromotedPublications(UserSettingsClient client, BoolQueryBuilder builder) {
-
+  private static void addPromotedPublications(List<String> identifiers, BoolQueryBuilder builder) {
     var i = new AtomicInteger();
-    var promotedPublications = client.fetchPromotedPublications(parameters().get(CONTRIBUTOR).as());
-    promotedPublications.forEach(
+    identifiers.forEach(
         identifier ->
             builder.should(
                 matchQuery(IDENTIFIER_KEYWORD, identifier)
-                    .boost(calculateBoostValue(i, promotedPublications.size()))));
+                    .boost(calculateBoostValue(i, identifiers.size()))));
   }
 
   @Override
@@ -257,8 +265,21 @@ public final class ResourceSearchQuery extends SearchQuery<ResourceParameter> {
     return this;
   }
 
+  public ResourceSearchQuery withSlice(int sliceId, int maxSlices) {
+    setSlice(sliceId, maxSlices);
+    return this;
+  }
+
+  /**
+   * Starts fetching the promoted publications of the contributor, when looking for exactly one.
+   * The main query waits for them, up to the deadline of {@code userSettingsClient}.
+   */
   public ResourceSearchQuery withUserSettings(UserSettingsClient userSettingsClient) {
     this.userSettingsClient = userSettingsClient;
+    this.promotedPublications =
+        isLookingForOneContributor()
+            ? userSettingsClient.fetchPromotedPublicationsAsync(parameters().get(CONTRIBUTOR).as())
+            : null;
     return this;
   }
 
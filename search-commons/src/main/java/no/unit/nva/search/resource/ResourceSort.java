@@ -16,6 +16,7 @@ import java.util.Locale;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.constants.Words;
+import no.unit.nva.search.common.enums.KeyResolver;
 import no.unit.nva.search.common.enums.SortKey;
 import org.apache.commons.text.CaseUtils;
 
@@ -38,6 +39,9 @@ public enum ResourceSort implements SortKey {
   UNIT_ID(Constants.CONTRIBUTORS_AFFILIATION_ID_KEYWORD),
   USER("(?i)(user)|(owner)", Constants.RESOURCE_OWNER_OWNER_KEYWORD);
 
+  private static final KeyResolver<ResourceSort> RESOLVER =
+      KeyResolver.ofSortKeys(ResourceSort.class);
+
   private final String keyValidationRegEx;
   private final String path;
 
@@ -52,9 +56,7 @@ public enum ResourceSort implements SortKey {
   }
 
   public static ResourceSort fromSortKey(String keyName) {
-    var result =
-        Arrays.stream(values()).filter(SortKey.equalTo(keyName)).collect(Collectors.toSet());
-    return result.size() == 1 ? result.stream().findFirst().get() : INVALID;
+    return RESOLVER.resolve(keyName);
   }
 
   public static Collection<String> validSortKeys() {
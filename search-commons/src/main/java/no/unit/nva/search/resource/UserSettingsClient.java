@@ -1,6 +1,7 @@
 package no.unit.nva.search.resource;
 
 import static java.net.HttpURLConnection.HTTP_OK;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static no.unit.nva.auth.uriretriever.UriRetriever.ACCEPT;
 import static no.unit.nva.commons.json.JsonUtils.singleLineObjectMapper;
 import static no.unit.nva.constants.Words.CONTENT_TYPE;
@@ -16,27 +17,126 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import no.unit.nva.search.common.EmbeddedMetrics;
+import no.unit.nva.search.common.EmbeddedMetrics.Metric;
+import no.unit.nva.search.common.cache.IndexGeneration;
+import no.unit.nva.search.common.cache.ResponseCache;
 import no.unit.nva.search.common.records.UserSettings;
 import nva.commons.apigateway.MediaType;
+import nva.commons.core.Environment;
+import nva.commons.core.JacocoGenerated;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Fetches the promoted publications of a contributor from their person preferences.
+ *
+ * <p>The fetch is started when the search is sent, and awaited when the main query is built, see
+ * {@link #await(CompletableFuture)}. As the main query needs the promoted publications, there is
+ * little to overlap the fetch with; what the fetch gains is the deadline: if the promoted
+ * publications are not there by then, the search goes on without boosting them.
+ *
+ * <p>Promoted publications are cached per contributor in the {@value #USER_SETTINGS} cache, see
+ * {@link ResponseCache} for its settings. The deadline is read from {@code
+ * SEARCH_USER_SETTINGS_TIMEOUT_MILLIS}, default 500.
+ */
 public class UserSettingsClient {
 
+  public static final String USER_SETTINGS = "UserSettings";
   private static final Logger logger = LoggerFactory.getLogger(UserSettingsClient.class);
+  private static final String TIMEOUT_MILLIS = "SEARCH_USER_SETTINGS_TIMEOUT_MILLIS";
+  private static final long DEFAULT_TIMEOUT_MILLIS = 500;
+  private static final String WAIT_METRIC = "PromotedPublicationsWait";
+  private static final String TIMEOUTS_METRIC = "PromotedPublicationsTimeouts";
+  private static final double NANOS_PER_MILLI = 1_000_000d;
   private final HttpClient client;
+  private final ResponseCache<String, List<String>> cache;
+  private final Duration timeout;
 
   public UserSettingsClient(HttpClient client) {
+    this(client, ResponseCache.disabled(), Duration.ofMillis(DEFAULT_TIMEOUT_MILLIS));
+  }
+
+  /**
+   * @param cache promoted publications per contributor id
+   * @param timeout how long {@link #await(CompletableFuture)} waits for the promoted publications
+   */
+  public UserSettingsClient(
+      HttpClient client, ResponseCache<String, List<String>> cache, Duration timeout) {
     this.client = client;
+    this.cache = cache;
+    this.timeout = timeout;
+  }
+
+  /** Person preferences have no generation, so cached entries live for their time to live. */
+  @JacocoGenerated
+  public static UserSettingsClient fromEnvironment(HttpClient client, Environment environment) {
+    var timeout =
+        environment.readEnvOpt(TIMEOUT_MILLIS).map(Long::parseLong).orElse(DEFAULT_TIMEOUT_MILLIS);
+    return new UserSettingsClient(
+        client,
+        ResponseCache.fromEnvironment(
+            USER_SETTINGS, environment, () -> () -> IndexGeneration.INITIAL),
+        Duration.ofMillis(timeout));
   }
 
   public List<String> fetchPromotedPublications(String contributorId) {
+    return await(fetchPromotedPublicationsAsync(contributorId));
+  }
+
+  /**
+   * Starts fetching the promoted publications of {@code contributorId}, unless they are cached.
+   *
+   * @return the promoted publications, or an empty list if they could not be fetched. Never fails.
+   */
+  public CompletableFuture<List<String>> fetchPromotedPublicationsAsync(String contributorId) {
+    return cache
+        .computeIfAbsentAsync(contributorId, () -> sendRequest(contributorId))
+        .exceptionally(
+            failure -> {
+              logger.warn("Failed to fetch user settings for {}", contributorId, failure);
+              return List.of();
+            });
+  }
+
+  /**
+   * Waits for {@code promotedPublications} until the deadline.
+   *
+   * @return the promoted publications, or an empty list if they were not there by the deadline
+   */
+  public List<String> await(CompletableFuture<List<String>> promotedPublications) {
+    var start = System.nanoTime();
+    var timedOut = false;
+    try {
+      return promotedPublications.get(timeout.toMillis(), MILLISECONDS);
+    } catch (TimeoutException e) {
+      timedOut = true;
+      logger.warn("No user settings within {}, not applying user settings in query", timeout);
+      return List.of();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return List.of();
+    } catch (ExecutionException e) {
+      return List.of();
+    } finally {
+      var waitedMillis = (System.nanoTime() - start) / NANOS_PER_MILLI;
+      EmbeddedMetrics.publish(
+          new Metric(WAIT_METRIC, waitedMillis, EmbeddedMetrics.MILLISECONDS),
+          new Metric(TIMEOUTS_METRIC, timedOut ? 1 : 0, EmbeddedMetrics.COUNT));
+    }
+  }
+
+  private CompletableFuture<List<String>> sendRequest(String contributorId) {
     return attempt(() -> createRequest(contributorId))
-        .map(request -> client.send(request, BodyHandlers.ofString()))
-        .map(response -> handleResponse(response, contributorId))
-        .map(UserSettings::promotedPublications)
-        .orElse(failure -> List.<String>of());
+        .map(request -> client.sendAsync(request, BodyHandlers.ofString()))
+        .orElse(failure -> CompletableFuture.failedFuture(failure.getException()))
+        .thenApply(response -> handleResponse(response, contributorId))
+        .thenApply(UserSettings::promotedPublications);
   }
 
   private UserSettings handleResponse(HttpResponse<String> response, String contributorId) {
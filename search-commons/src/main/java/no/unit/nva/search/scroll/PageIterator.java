@@ -0,0 +1,16 @@
+package no.unit.nva.search.scroll;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Pages of search hits, read through a cursor that holds resources on the cluster until it is
+ * closed.
+ */
+public interface PageIterator extends Iterator<List<JsonNode>>, AutoCloseable {
+
+  /** Releases the cursor. Calling it more than once has no effect. */
+  @Override
+  void close();
+}
@@ -0,0 +1,204 @@
+package no.unit.nva.search.scroll;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.net.URI;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import no.unit.nva.search.common.SearchQuery;
+import no.unit.nva.search.common.records.SwsResponse;
+
+/**
+ * Iterates over all hits of a query through a point-in-time (PIT) and {@code search_after},
+ * instead of a scroll context.
+ *
+ * <p>The point-in-time is opened when the iterator is built and closed exactly once: when the last
+ * page has been handed out, when a fetch fails or when the iterator is closed. As with {@link
+ * PrefetchingScrollIterator}, the next page is requested as soon as the previous one has arrived.
+ *
+ * <p>Given more than one query, each query is read as one slice of the same point-in-time, by a
+ * {@link SlicedPageIterator}. The queries must then be restricted to their slice by the caller.
+ * Slices are returned one after the other, each in its own sort order.
+ */
+public final class PointInTimeIterator implements PageIterator {
+
+  private final ScrollClient scrollClient;
+  private final String indexName;
+  private final String keepAlive;
+  private final URI infrastructureApiUri;
+  private final String pointInTimeId;
+  private final PageIterator pages;
+  private boolean closed;
+
+  private PointInTimeIterator(Builder builder) {
+    this.scrollClient = builder.scrollClient;
+    this.indexName = builder.indexName;
+    this.keepAlive = builder.keepAlive;
+    var queries = builder.queries;
+    this.infrastructureApiUri = queries.getFirst().getInfrastructureApiUri();
+    this.pointInTimeId = scrollClient.openPointInTime(infrastructureApiUri, indexName, keepAlive);
+    try {
+      this.pages =
+          queries.size() == 1
+              ? new SearchAfterPages(queries.getFirst())
+              : SlicedPageIterator.builder()
+                  .withSliceCount(queries.size())
+                  .withSlices(sliceId -> new SearchAfterPages(queries.get(sliceId)))
+                  .withBufferedPages(builder.bufferedPages)
+                  .withOrdered(true)
+                  .build();
+    } catch (RuntimeException exception) {
+      scrollClient.closePointInTime(infrastructureApiUri, pointInTimeId);
+      throw exception;
+    }
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    try {
+      if (pages.hasNext()) {
+        return true;
+      }
+    } catch (RuntimeException exception) {
+      close();
+      throw exception;
+    }
+    close();
+    return false;
+  }
+
+  @Override
+  public List<JsonNode> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return pages.next();
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    pages.close();
+    scrollClient.closePointInTime(infrastructureApiUri, pointInTimeId);
+  }
+
+  /** The pages of one query (or slice) within the point-in-time. */
+  private final class SearchAfterPages implements PageIterator {
+
+    private final SearchQuery<?> query;
+    private CompletableFuture<SwsResponse> pending;
+    private SwsResponse nextResponse;
+
+    private SearchAfterPages(SearchQuery<?> query) {
+      this.query = query;
+      query.setPointInTime(pointInTimeId, keepAlive);
+      this.pending = scrollClient.doSearchAfterAsync(query, indexName);
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (isNull(nextResponse)) {
+        if (isNull(pending)) {
+          return false;
+        }
+        nextResponse = awaitPending();
+        if (nextResponse.getSearchHits().isEmpty()) {
+          close();
+          return false;
+        }
+        pending = fetchPageAfter(nextResponse);
+      }
+      return true;
+    }
+
+    @Override
+    public List<JsonNode> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      var hits = nextResponse.getSearchHits();
+      nextResponse = null;
+      return hits;
+    }
+
+    @Override
+    public void close() {
+      if (nonNull(pending)) {
+        pending.cancel(true);
+        pending = null;
+      }
+      nextResponse = null;
+    }
+
+    private SwsResponse awaitPending() {
+      try {
+        return pending.join();
+      } catch (RuntimeException exception) {
+        pending = null;
+        throw exception;
+      }
+    }
+
+    private CompletableFuture<SwsResponse> fetchPageAfter(SwsResponse previous) {
+      var sortValues = previous.getSortValues();
+      if (sortValues.isEmpty()) {
+        return null;
+      }
+      query.setSearchAfter(sortValues);
+      return scrollClient.doSearchAfterAsync(query, indexName);
+    }
+  }
+
+  public static class Builder {
+    private ScrollClient scrollClient;
+    private String indexName;
+    private String keepAlive;
+    private List<? extends SearchQuery<?>> queries;
+    private int bufferedPages = SlicedPageIterator.DEFAULT_BUFFERED_PAGES;
+
+    public PointInTimeIterator build() {
+      return new PointInTimeIterator(this);
+    }
+
+    public Builder withScrollClient(ScrollClient scrollClient) {
+      this.scrollClient = scrollClient;
+      return this;
+    }
+
+    public Builder withIndexName(String indexName) {
+      this.indexName = indexName;
+      return this;
+    }
+
+    public Builder withKeepAlive(String keepAlive) {
+      this.keepAlive = keepAlive;
+      return this;
+    }
+
+    /**
+     * @param queries one query, or one query per slice
+     */
+    public Builder withQueries(List<? extends SearchQuery<?>> queries) {
+      this.queries = queries;
+      return this;
+    }
+
+    public Builder withBufferedPages(int bufferedPages) {
+      this.bufferedPages = bufferedPages;
+      return this;
+    }
+  }
+}
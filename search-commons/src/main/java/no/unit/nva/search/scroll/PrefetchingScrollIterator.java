@@ -0,0 +1,188 @@
+package no.unit.nva.search.scroll;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import no.unit.nva.search.common.records.SwsResponse;
+
+/**
+ * Iterates over the pages of a scroll, fetching ahead of the consumer.
+ *
+ * <p>A scroll request needs the scroll id of the previous response, so pages are still fetched one
+ * after the other. What changes is that the request for page N+1 is sent as soon as page N has
+ * arrived, not when the consumer asks for it, so network round-trips overlap with the consumer's
+ * transformation of the previous page. At most {@code prefetchPages} pages are fetched ahead,
+ * which bounds memory.
+ *
+ * <p>The scroll context is cleared when the last page has been handed out, when a fetch fails and
+ * when the iterator is closed, whichever happens first.
+ */
+public final class PrefetchingScrollIterator implements PageIterator {
+
+  public static final int DEFAULT_PREFETCH_PAGES = 2;
+
+  private final ScrollClient scrollClient;
+  private final String indexName;
+  private final String ttl;
+  private final URI openSearchUri;
+  private final int prefetchPages;
+  private final Deque<CompletableFuture<SwsResponse>> prefetched = new ArrayDeque<>();
+  private final AtomicReference<String> latestScrollId = new AtomicReference<>();
+  private CompletableFuture<SwsResponse> tail;
+  private SwsResponse nextResponse;
+  private boolean closed;
+
+  private PrefetchingScrollIterator(Builder builder) {
+    this.scrollClient = builder.scrollClient;
+    this.indexName = builder.indexName;
+    this.ttl = builder.ttl;
+    this.openSearchUri = builder.openSearchUri;
+    this.prefetchPages = Math.max(1, builder.prefetchPages);
+    this.latestScrollId.set(builder.initialResponse._scroll_id());
+    this.tail = CompletableFuture.completedFuture(builder.initialResponse);
+    this.prefetched.add(tail);
+    prefetch();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    if (isNull(nextResponse)) {
+      nextResponse = awaitNextResponse();
+    }
+    if (isNull(nextResponse) || nextResponse.getSearchHits().isEmpty()) {
+      close();
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public List<JsonNode> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    var hits = nextResponse.getSearchHits();
+    nextResponse = null;
+    return hits;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    prefetched.forEach(future -> future.cancel(true));
+    prefetched.clear();
+    var scrollId = latestScrollId.get();
+    if (nonNull(scrollId)) {
+      scrollClient.clearScroll(scrollQuery(scrollId), indexName);
+    }
+  }
+
+  private SwsResponse awaitNextResponse() {
+    var head = prefetched.poll();
+    prefetch();
+    try {
+      return head.join();
+    } catch (RuntimeException exception) {
+      close();
+      throw exception;
+    }
+  }
+
+  private void prefetch() {
+    while (prefetched.size() < prefetchPages) {
+      tail = tail.thenCompose(this::fetchPageAfter);
+      prefetched.add(tail);
+    }
+  }
+
+  private CompletableFuture<SwsResponse> fetchPageAfter(SwsResponse previous) {
+    if (isLastPage(previous)) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return scrollClient
+        .doSearchAsync(scrollQuery(previous._scroll_id()), indexName)
+        .thenApply(this::rememberScrollId);
+  }
+
+  private SwsResponse rememberScrollId(SwsResponse response) {
+    if (nonNull(response._scroll_id())) {
+      latestScrollId.set(response._scroll_id());
+    }
+    return response;
+  }
+
+  private static boolean isLastPage(SwsResponse response) {
+    return isNull(response)
+        || isNull(response._scroll_id())
+        || response.getSearchHits().isEmpty();
+  }
+
+  private ScrollQuery scrollQuery(String scrollId) {
+    return ScrollQuery.builder()
+        .withScrollId(scrollId)
+        .withTtl(ttl)
+        .withDockerHostUri(openSearchUri)
+        .build();
+  }
+
+  public static class Builder {
+    private ScrollClient scrollClient;
+    private String indexName;
+    private String ttl;
+    private URI openSearchUri;
+    private SwsResponse initialResponse;
+    private int prefetchPages = DEFAULT_PREFETCH_PAGES;
+
+    public PrefetchingScrollIterator build() {
+      return new PrefetchingScrollIterator(this);
+    }
+
+    public Builder withScrollClient(ScrollClient scrollClient) {
+      this.scrollClient = scrollClient;
+      return this;
+    }
+
+    public Builder withIndexName(String indexName) {
+      this.indexName = indexName;
+      return this;
+    }
+
+    public Builder withDockerHostUri(URI uri) {
+      this.openSearchUri = uri;
+      return this;
+    }
+
+    public Builder withInitialResponse(SwsResponse initialResponse) {
+      this.initialResponse = initialResponse;
+      return this;
+    }
+
+    public Builder withScrollTime(String scrollTtl) {
+      this.ttl = scrollTtl;
+      return this;
+    }
+
+    public Builder withPrefetchPages(int prefetchPages) {
+      this.prefetchPages = prefetchPages;
+      return this;
+    }
+  }
+}
@@ -1,14 +1,29 @@
 package no.unit.nva.search.scroll;
 
+import static java.net.HttpURLConnection.HTTP_OK;
 import static no.unit.nva.commons.json.JsonUtils.singleLineObjectMapper;
 import static no.unit.nva.search.common.jwt.Tools.getCachedJwtProvider;
+import static nva.commons.core.attempt.Try.attempt;
+import static nva.commons.core.paths.UriWrapper.fromUri;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BinaryOperator;
+import no.unit.nva.constants.Words;
+import no.unit.nva.search.common.EmbeddedMetrics;
+import no.unit.nva.search.common.HttpTransport;
 import no.unit.nva.search.common.OpenSearchClient;
+import no.unit.nva.search.common.OpenSearchClientException;
 import no.unit.nva.search.common.Query;
+import no.unit.nva.search.common.RequestTiming;
+import no.unit.nva.search.common.SearchQuery;
 import no.unit.nva.search.common.jwt.CachedJwtProvider;
 import no.unit.nva.search.common.records.SwsResponse;
 import nva.commons.core.JacocoGenerated;
@@ -22,6 +37,14 @@ import nva.commons.secrets.SecretsReader;
  */
 public class ScrollClient extends OpenSearchClient<SwsResponse, Query<ScrollParameter>> {
 
+  private static final String DELETE = "DELETE";
+  private static final String POINT_IN_TIME = "point_in_time";
+  private static final String KEEP_ALIVE = "keep_alive";
+  private static final String PIT_ID = "pit_id";
+  private static final String OPEN_POINT_IN_TIME_METRIC = "OpenPointInTimeContexts";
+  private static final String FAILED_POINT_IN_TIME_CLOSE_METRIC = "FailedPointInTimeCloses";
+  private static final AtomicInteger OPEN_POINT_IN_TIME_CONTEXTS = new AtomicInteger();
+
   public ScrollClient(HttpClient client, CachedJwtProvider cachedJwtProvider) {
     super(client, cachedJwtProvider);
   }
@@ -29,25 +52,142 @@ public class ScrollClient extends OpenSearchClient<SwsResponse, Query<ScrollPara
   @JacocoGenerated
   public static ScrollClient defaultClient() {
     var cachedJwtProvider = getCachedJwtProvider(new SecretsReader());
-    return new ScrollClient(HttpClient.newHttpClient(), cachedJwtProvider);
+    return new ScrollClient(HttpTransport.sharedHttpClient(), cachedJwtProvider);
   }
 
   @Override
   public SwsResponse doSearch(Query<ScrollParameter> query, String indexName) {
-    queryBuilderStart = query.getStartTime();
+    return doSearchAsync(query, indexName).join();
+  }
+
+  /**
+   * Sends the scroll request without waiting for the response, so the caller can keep working on
+   * the previous page while this one is fetched.
+   */
+  public CompletableFuture<SwsResponse> doSearchAsync(
+      Query<ScrollParameter> query, String indexName) {
     return query
         .assemble(indexName)
-        .map(this::createRequest)
-        .map(this::fetch)
-        .map(this::handleResponse)
+        .map(content -> sendRequest(content, RequestTiming.forQuery(query)))
         .findFirst()
-        .orElseThrow()
+        .orElseThrow();
+  }
+
+  /**
+   * Releases the scroll context on the cluster. Failures are only logged, as the context expires by
+   * itself once its keep-alive runs out.
+   */
+  public void clearScroll(ScrollQuery query, String indexName) {
+    var content = query.assembleClearScroll(indexName);
+    var request =
+        requestBuilder(content.uri())
+            .method(DELETE, HttpRequest.BodyPublishers.ofString(content.body()))
+            .build();
+    httpClient
+        .sendAsync(request, bodyHandler)
+        .thenAccept(
+            response -> {
+              if (response.statusCode() != HTTP_OK) {
+                logger.warn("Failed to clear scroll context, status {}", response.statusCode());
+              }
+            })
+        .exceptionally(
+            failure -> {
+              logger.warn("Failed to clear scroll context, error {}", failure.getMessage());
+              return null;
+            })
         .join();
   }
 
+  /**
+   * Sends a {@code search_after} request against a point-in-time, without waiting for the
+   * response.
+   */
+  public CompletableFuture<SwsResponse> doSearchAfterAsync(SearchQuery<?> query, String indexName) {
+    return query
+        .assemble(indexName)
+        .map(content -> sendRequest(content, RequestTiming.forQuery(query)))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  /**
+   * Creates a point-in-time (PIT) on the index. Every PIT opened here must be released with {@link
+   * #closePointInTime(URI, String)}.
+   *
+   * @return the id of the point-in-time
+   */
+  public String openPointInTime(URI infrastructureApiUri, String indexName, String keepAlive) {
+    var uri =
+        fromUri(infrastructureApiUri)
+            .addChild(indexName, Words.SEARCH, POINT_IN_TIME)
+            .addQueryParameter(KEEP_ALIVE, keepAlive)
+            .getUri();
+    var request = requestBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build();
+    var pointInTimeId =
+        httpClient.sendAsync(request, bodyHandler).thenApply(this::toPointInTimeId).join();
+    publishOpenPointInTimeContexts(OPEN_POINT_IN_TIME_CONTEXTS.incrementAndGet());
+    return pointInTimeId;
+  }
+
+  /**
+   * Releases a point-in-time on the cluster. Failures are only logged and counted, as the
+   * point-in-time expires by itself once its keep-alive runs out. The open count only drops once
+   * the cluster confirms the release.
+   */
+  public void closePointInTime(URI infrastructureApiUri, String pointInTimeId) {
+    var uri = fromUri(infrastructureApiUri).addChild(Words.SEARCH, POINT_IN_TIME).getUri();
+    var pointInTimeIds = Map.of(PIT_ID, List.of(pointInTimeId));
+    var body =
+        attempt(() -> singleLineObjectMapper.writeValueAsString(pointInTimeIds)).orElseThrow();
+    var request =
+        requestBuilder(uri).method(DELETE, HttpRequest.BodyPublishers.ofString(body)).build();
+    var closed =
+        httpClient
+            .sendAsync(request, bodyHandler)
+            .thenApply(
+                response -> {
+                  if (response.statusCode() != HTTP_OK) {
+                    logger.warn("Failed to close point-in-time, status {}", response.statusCode());
+                    return false;
+                  }
+                  return true;
+                })
+            .exceptionally(
+                failure -> {
+                  logger.warn("Failed to close point-in-time, error {}", failure.getMessage());
+                  return false;
+                })
+            .join();
+    if (closed) {
+      publishOpenPointInTimeContexts(OPEN_POINT_IN_TIME_CONTEXTS.decrementAndGet());
+    } else {
+      EmbeddedMetrics.publish(FAILED_POINT_IN_TIME_CLOSE_METRIC, 1, EmbeddedMetrics.COUNT);
+    }
+  }
+
+  /**
+   * Number of point-in-time contexts opened and not yet closed, by all clients in this JVM. The
+   * count is shared, as the contexts are a cluster resource and the metric is published per Lambda.
+   */
+  public static int openPointInTimeContexts() {
+    return OPEN_POINT_IN_TIME_CONTEXTS.get();
+  }
+
+  private String toPointInTimeId(HttpResponse<byte[]> response) {
+    if (response.statusCode() != HTTP_OK) {
+      throw new OpenSearchClientException(response.statusCode(), bodyAsString(response));
+    }
+    return attempt(() -> singleLineObjectMapper.readTree(response.body()).get(PIT_ID).asText())
+        .orElseThrow();
+  }
+
+  private static void publishOpenPointInTimeContexts(int openContexts) {
+    EmbeddedMetrics.publish(OPEN_POINT_IN_TIME_METRIC, openContexts, EmbeddedMetrics.COUNT);
+  }
+
   @Override
-  protected SwsResponse jsonToResponse(HttpResponse<String> response)
-      throws JsonProcessingException {
+  protected SwsResponse jsonToResponse(HttpResponse<byte[]> response) throws IOException {
     return singleLineObjectMapper.readValue(response.body(), SwsResponse.class);
   }
 
@@ -59,9 +199,10 @@ public class ScrollClient extends OpenSearchClient<SwsResponse, Query<ScrollPara
   }
 
   @Override
-  protected FunctionWithException<SwsResponse, SwsResponse, RuntimeException> logAndReturnResult() {
+  protected FunctionWithException<SwsResponse, SwsResponse, RuntimeException> logAndReturnResult(
+      RequestTiming timing) {
     return result -> {
-      logger.info(buildLogInfo(result));
+      logger.info(buildLogInfo(result, timing));
       return result;
     };
   }
@@ -13,9 +13,11 @@ import no.unit.nva.search.common.Query;
 import no.unit.nva.search.common.records.HttpResponseFormatter;
 import no.unit.nva.search.common.records.QueryContentWrapper;
 import no.unit.nva.search.common.records.SwsResponse;
+import org.opensearch.action.search.ClearScrollRequest;
 import org.opensearch.action.search.SearchScrollRequest;
 import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.ToXContentObject;
 
 public final class ScrollQuery extends Query<ScrollParameter> {
   private static final String SEARCH_SCROLL = "_search/scroll";
@@ -57,7 +59,20 @@ public final class ScrollQuery extends Query<ScrollParameter> {
     var scrollRequest = new SearchScrollRequest(scrollId).scroll(ttl);
     return Stream.of(
         new QueryContentWrapper(
-            scrollRequestToString(scrollRequest), this.openSearchUri(indexName)));
+            requestToString(scrollRequest), this.openSearchUri(indexName)));
+  }
+
+  /**
+   * Assembles the request that releases this scroll context on the cluster.
+   *
+   * @param indexName the index being scrolled
+   * @return body and uri of a {@code DELETE _search/scroll} request
+   */
+  public QueryContentWrapper assembleClearScroll(String indexName) {
+    var clearScrollRequest = new ClearScrollRequest();
+    clearScrollRequest.addScrollId(scrollId);
+    return new QueryContentWrapper(
+        requestToString(clearScrollRequest), this.openSearchUri(indexName));
   }
 
   @Override
@@ -72,7 +87,7 @@ public final class ScrollQuery extends Query<ScrollParameter> {
     return scrollClient.doSearch(this, indexName);
   }
 
-  private String scrollRequestToString(SearchScrollRequest request) {
+  private String requestToString(ToXContentObject request) {
     return attempt(
             () ->
                 toXContent(request, XContentType.JSON, ToXContent.EMPTY_PARAMS, true)
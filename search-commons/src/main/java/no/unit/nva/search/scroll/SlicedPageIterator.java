@@ -0,0 +1,282 @@
+package no.unit.nva.search.scroll;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import no.unit.nva.search.common.ExecutorStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the slices of a sliced scroll (or sliced point-in-time search) concurrently and merges
+ * their pages into one stream.
+ *
+ * <p>Each slice is read by its own {@link PageIterator}, created by the slice factory on a virtual
+ * thread, so the initial search of every slice also runs in parallel. At most {@code parallelism}
+ * slices are read at the same time, and every slice buffers at most {@code bufferedPages} pages
+ * ahead of the consumer. Slices are started in slice order, each once a running slice has finished,
+ * so in ordered mode the slice the consumer waits for is always among those running.
+ *
+ * <p>When {@code ordered}, all pages of slice 0 are returned before the pages of slice 1, and so
+ * on. Otherwise pages are returned in the order they arrive, which keeps every worker busy. Slices
+ * are never merged by sort order, so a sorted query is only in order within each slice.
+ *
+ * <p>A failure in any slice closes all slices and is rethrown to the consumer.
+ *
+ * <p>Workers are never interrupted. Closing tells them to stop, waits for them, and then closes the
+ * slices they left open from the closing thread, so clearing their scroll contexts is not cut short
+ * by an interrupt.
+ */
+public final class SlicedPageIterator implements PageIterator {
+
+  public static final int DEFAULT_BUFFERED_PAGES = 2;
+  private static final Logger logger = LoggerFactory.getLogger(SlicedPageIterator.class);
+  private static final long CLOSE_TIMEOUT_SECONDS = 10;
+  private static final long POLL_MILLIS = 100;
+  private static final Item END_OF_SLICE = new Item(null, null);
+
+  private final List<BlockingQueue<Item>> queues;
+  private final boolean ordered;
+  private final Semaphore permits;
+  private final Map<Integer, PageIterator> openSlices = new ConcurrentHashMap<>();
+  private final List<CompletableFuture<Void>> workers = new CopyOnWriteArrayList<>();
+  private final CompletableFuture<Void> launcher;
+
+  private int remainingSlices;
+  private int currentSlice;
+  private List<JsonNode> nextPage;
+  private volatile boolean closed;
+
+  private SlicedPageIterator(Builder builder) {
+    var sliceCount = builder.sliceCount;
+    var bufferedPages = Math.max(1, builder.bufferedPages);
+    this.ordered = builder.ordered;
+    this.remainingSlices = sliceCount;
+    this.queues =
+        ordered
+            ? IntStream.range(0, sliceCount)
+                .mapToObj(i -> (BlockingQueue<Item>) new ArrayBlockingQueue<Item>(bufferedPages))
+                .toList()
+            : List.of(new ArrayBlockingQueue<>(bufferedPages * sliceCount));
+    this.permits = new Semaphore(Math.max(1, Math.min(sliceCount, builder.parallelism)));
+    var executor = ExecutorStrategy.VIRTUAL_THREADS.executor();
+    this.launcher =
+        CompletableFuture.runAsync(
+            () -> launchSlices(sliceCount, builder.sliceFactory, executor), executor);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    while (isNull(nextPage)) {
+      if (remainingSlices == 0) {
+        close();
+        return false;
+      }
+      var item = take(queueOf(currentSlice));
+      if (item == END_OF_SLICE) {
+        remainingSlices--;
+        currentSlice = ordered ? currentSlice + 1 : currentSlice;
+      } else if (nonNull(item.failure())) {
+        close();
+        throw item.failure();
+      } else {
+        nextPage = item.page();
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public List<JsonNode> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    var page = nextPage;
+    nextPage = null;
+    return page;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    queues.forEach(BlockingQueue::clear);
+    awaitWorkers();
+    openSlices.keySet().forEach(this::closeSlice);
+  }
+
+  private void awaitWorkers() {
+    try {
+      launcher.get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new))
+          .get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      logger.warn("Slices did not stop within {} seconds", CLOSE_TIMEOUT_SECONDS);
+    } catch (ExecutionException e) {
+      logger.warn("Slice worker failed, error {}", e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Closes a slice once, on whichever thread gets to it first. */
+  private void closeSlice(int sliceId) {
+    var pages = openSlices.remove(sliceId);
+    if (nonNull(pages)) {
+      pages.close();
+    }
+  }
+
+  private BlockingQueue<Item> queueOf(int sliceId) {
+    return ordered ? queues.get(sliceId) : queues.getFirst();
+  }
+
+  /**
+   * Starts the slices one by one, in slice order, each as soon as a permit is free. Starting them
+   * from one thread keeps a later slice from taking the permit an earlier one waits for.
+   */
+  private void launchSlices(
+      int sliceCount, IntFunction<PageIterator> sliceFactory, Executor executor) {
+    try {
+      for (var sliceId = 0; sliceId < sliceCount && acquirePermit(); sliceId++) {
+        var slice = sliceId;
+        workers.add(
+            CompletableFuture.runAsync(
+                () -> readSlice(slice, sliceFactory, queueOf(slice)), executor));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Reads one slice into its queue, holding a permit taken by the launcher. A slice read to the
+   * end, or failing, is closed here; a slice stopped by {@link #close()} is left for the closing
+   * thread.
+   */
+  private void readSlice(
+      int sliceId, IntFunction<PageIterator> sliceFactory, BlockingQueue<Item> queue) {
+    try {
+      try {
+        if (closed) {
+          return;
+        }
+        openSlices.put(sliceId, sliceFactory.apply(sliceId));
+        var pages = openSlices.get(sliceId);
+        while (!closed && pages.hasNext()) {
+          if (!offer(queue, new Item(pages.next(), null))) {
+            return;
+          }
+        }
+        if (!closed) {
+          closeSlice(sliceId);
+          offer(queue, END_OF_SLICE);
+        }
+      } catch (RuntimeException e) {
+        logger.warn("Slice {} failed, error {}", sliceId, e.getMessage());
+        closeSlice(sliceId);
+        offer(queue, new Item(null, e));
+      } finally {
+        permits.release();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean acquirePermit() throws InterruptedException {
+    while (!closed) {
+      if (permits.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Puts an item on the queue, unless the iterator is closed while waiting for room. */
+  private boolean offer(BlockingQueue<Item> queue, Item item) throws InterruptedException {
+    while (!closed) {
+      if (queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Item take(BlockingQueue<Item> queue) {
+    try {
+      return queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      close();
+      throw new IllegalStateException("Interrupted while waiting for the next slice page", e);
+    }
+  }
+
+  private record Item(List<JsonNode> page, RuntimeException failure) {}
+
+  public static class Builder {
+    private int sliceCount = 1;
+    private int parallelism = Integer.MAX_VALUE;
+    private int bufferedPages = DEFAULT_BUFFERED_PAGES;
+    private boolean ordered;
+    private IntFunction<PageIterator> sliceFactory;
+
+    public SlicedPageIterator build() {
+      return new SlicedPageIterator(this);
+    }
+
+    public Builder withSliceCount(int sliceCount) {
+      this.sliceCount = sliceCount;
+      return this;
+    }
+
+    /**
+     * @param sliceFactory opens the pages of the given slice id, zero based
+     */
+    public Builder withSlices(IntFunction<PageIterator> sliceFactory) {
+      this.sliceFactory = sliceFactory;
+      return this;
+    }
+
+    public Builder withParallelism(int parallelism) {
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    public Builder withBufferedPages(int bufferedPages) {
+      this.bufferedPages = bufferedPages;
+      return this;
+    }
+
+    public Builder withOrdered(boolean ordered) {
+      this.ordered = ordered;
+      return this;
+    }
+  }
+}
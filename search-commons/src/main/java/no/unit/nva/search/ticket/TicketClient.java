@@ -4,11 +4,13 @@ import static no.unit.nva.commons.json.JsonUtils.singleLineObjectMapper;
 import static no.unit.nva.search.common.jwt.Tools.getCachedJwtProvider;
 import static no.unit.nva.search.common.records.SwsResponse.SwsResponseBuilder.swsResponseBuilder;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
 import java.util.function.BinaryOperator;
+import no.unit.nva.search.common.HttpTransport;
 import no.unit.nva.search.common.OpenSearchClient;
+import no.unit.nva.search.common.RequestTiming;
 import no.unit.nva.search.common.jwt.CachedJwtProvider;
 import no.unit.nva.search.common.records.SwsResponse;
 import nva.commons.core.JacocoGenerated;
@@ -29,12 +31,11 @@ public class TicketClient extends OpenSearchClient<SwsResponse, TicketSearchQuer
   @JacocoGenerated
   public static TicketClient defaultClient() {
     var cachedJwtProvider = getCachedJwtProvider(new SecretsReader());
-    return new TicketClient(HttpClient.newHttpClient(), cachedJwtProvider);
+    return new TicketClient(HttpTransport.sharedHttpClient(), cachedJwtProvider);
   }
 
   @Override
-  protected SwsResponse jsonToResponse(HttpResponse<String> response)
-      throws JsonProcessingException {
+  protected SwsResponse jsonToResponse(HttpResponse<byte[]> response) throws IOException {
     return singleLineObjectMapper.readValue(response.body(), SwsResponse.class);
   }
 
@@ -44,9 +45,10 @@ public class TicketClient extends OpenSearchClient<SwsResponse, TicketSearchQuer
   }
 
   @Override
-  protected FunctionWithException<SwsResponse, SwsResponse, RuntimeException> logAndReturnResult() {
+  protected FunctionWithException<SwsResponse, SwsResponse, RuntimeException> logAndReturnResult(
+      RequestTiming timing) {
     return result -> {
-      logger.info(buildLogInfo(result));
+      logger.info(buildLogInfo(result, timing));
       return result;
     };
   }
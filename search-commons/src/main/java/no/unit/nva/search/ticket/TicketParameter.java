@@ -60,6 +60,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.constants.Words;
 import no.unit.nva.search.common.enums.FieldOperator;
+import no.unit.nva.search.common.enums.KeyResolver;
 import no.unit.nva.search.common.enums.ParameterKey;
 import no.unit.nva.search.common.enums.ParameterKind;
 import no.unit.nva.search.common.enums.ValueEncoding;
@@ -136,6 +137,8 @@ public enum TicketParameter implements ParameterKey<TicketParameter> {
           .filter(TicketParameter::isSearchField)
           .sorted(ParameterKey::compareAscending)
           .collect(Collectors.toCollection(LinkedHashSet::new));
+  private static final KeyResolver<TicketParameter> RESOLVER =
+      KeyResolver.ofParameters(TicketParameter.class);
   private final ValueEncoding encoding;
   private final String keyPattern;
   private final String validValuePattern;
@@ -180,16 +183,7 @@ public enum TicketParameter implements ParameterKey<TicketParameter> {
   }
 
   public static TicketParameter keyFromString(String paramName) {
-    var result =
-        Arrays.stream(values())
-            .filter(TicketParameter::ignoreInvalidKey)
-            .filter(ParameterKey.equalTo(paramName))
-            .collect(Collectors.toSet());
-    return result.size() == 1 ? result.stream().findFirst().get() : INVALID;
-  }
-
-  private static boolean ignoreInvalidKey(TicketParameter enumParameter) {
-    return enumParameter.ordinal() > IGNORE_PARAMETER_INDEX;
+    return RESOLVER.resolve(paramName);
   }
 
   private static boolean isSearchField(TicketParameter enumParameter) {
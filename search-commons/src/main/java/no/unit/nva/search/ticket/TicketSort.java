@@ -9,9 +9,9 @@ import static nva.commons.core.StringUtils.EMPTY_STRING;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Locale;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.constants.Words;
+import no.unit.nva.search.common.enums.KeyResolver;
 import no.unit.nva.search.common.enums.SortKey;
 import org.apache.commons.text.CaseUtils;
 
@@ -28,6 +28,8 @@ public enum TicketSort implements SortKey {
   STATUS(STATUS_KEYWORD),
   TYPE(TYPE_KEYWORD);
 
+  private static final KeyResolver<TicketSort> RESOLVER = KeyResolver.ofSortKeys(TicketSort.class);
+
   private final String keyValidationRegEx;
   private final String path;
 
@@ -37,9 +39,7 @@ public enum TicketSort implements SortKey {
   }
 
   public static TicketSort fromSortKey(String keyName) {
-    var result =
-        Arrays.stream(values()).filter(SortKey.equalTo(keyName)).collect(Collectors.toSet());
-    return result.size() == 1 ? result.stream().findFirst().get() : INVALID;
+    return RESOLVER.resolve(keyName);
   }
 
   public static Collection<String> validSortKeys() {
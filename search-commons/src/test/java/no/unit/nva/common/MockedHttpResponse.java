@@ -10,6 +10,7 @@ import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Map;
@@ -19,12 +20,14 @@ import javax.net.ssl.SSLSession;
 
 public class MockedHttpResponse {
 
+  /** A response as returned by {@code sendAsync} of the search clients, with a UTF-8 body. */
   public static CompletableFuture<HttpResponse<Object>> mockedFutureHttpResponse(Path path) {
-    return CompletableFuture.completedFuture(mockedHttpResponse(path));
+    return mockedFutureHttpResponse(stringFromResources(path));
   }
 
+  /** A response as returned by {@code sendAsync} of the search clients, with a UTF-8 body. */
   public static CompletableFuture<HttpResponse<Object>> mockedFutureHttpResponse(String body) {
-    return CompletableFuture.completedFuture(mockedHttpResponse(body));
+    return CompletableFuture.completedFuture(mockedHttpResponse(toBytes(body)));
   }
 
   public static CompletableFuture<HttpResponse<Object>> mockedFutureFailed() {
@@ -40,6 +43,18 @@ public class MockedHttpResponse {
   }
 
   public static HttpResponse<Object> mockedHttpResponse(String body, int statusCode) {
+    return mockedResponse(body, statusCode);
+  }
+
+  public static HttpResponse<Object> mockedHttpResponse(byte[] body) {
+    return mockedResponse(body, nonNull(body) ? 200 : 400);
+  }
+
+  private static byte[] toBytes(String body) {
+    return nonNull(body) ? body.getBytes(StandardCharsets.UTF_8) : null;
+  }
+
+  private static HttpResponse<Object> mockedResponse(Object body, int statusCode) {
     return new HttpResponse<>() {
       @Override
       public int statusCode() {
@@ -63,7 +78,7 @@ public class MockedHttpResponse {
       }
 
       @Override
-      public String body() {
+      public Object body() {
         return body;
       }
 
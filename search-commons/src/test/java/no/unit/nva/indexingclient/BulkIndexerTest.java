@@ -0,0 +1,272 @@
+package no.unit.nva.indexingclient;
+
+import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static nva.commons.core.attempt.Try.attempt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.indexingclient.models.EventConsumptionAttributes;
+import no.unit.nva.indexingclient.models.IndexDocument;
+import no.unit.nva.indexingclient.models.IndicesClientWrapper;
+import no.unit.nva.indexingclient.models.RestHighLevelClientWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.DocWriteRequest.OpType;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkItemResponse.Failure;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.WriteRequest.RefreshPolicy;
+import org.opensearch.client.IndicesClient;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.core.rest.RestStatus;
+
+class BulkIndexerTest {
+
+  private static final String INDEX = "resources";
+  private static final long ARBITRARY_TOOK = 5;
+  private static final BulkSettings SETTINGS =
+      new BulkSettings(10, 1024 * 1024, 2, 3, Duration.ofMillis(1), Duration.ofMillis(4), true);
+  private RestHighLevelClientWrapper client;
+  private List<BulkRequest> sentRequests;
+
+  @BeforeEach
+  void init() {
+    client = mock(RestHighLevelClientWrapper.class);
+    sentRequests = Collections.synchronizedList(new ArrayList<>());
+  }
+
+  @Test
+  void shouldSendOnlyRejectedDocumentsAgain() throws IOException {
+    var rejectedOnce = new AtomicInteger();
+    when(client.bulk(any(BulkRequest.class), any(RequestOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              BulkRequest request = invocation.getArgument(0);
+              sentRequests.add(request);
+              return rejectedOnce.getAndIncrement() == 0
+                  ? response(request, RestStatus.TOO_MANY_REQUESTS, 1, 3)
+                  : response(request, RestStatus.OK);
+            });
+
+    var responses = indexer(SETTINGS).index(documents(5, 10));
+
+    assertThat(sentRequests, hasSize(2));
+    var firstIds = ids(sentRequests.get(0));
+    assertThat(ids(sentRequests.get(1)), contains(firstIds.get(1), firstIds.get(3)));
+    assertThat(responses, hasSize(1));
+    assertThat(responses.getFirst().getItems().length, is(5));
+    assertThat(responses.getFirst().hasFailures(), is(false));
+    assertThat(itemIds(responses.getFirst()), contains(0, 1, 2, 3, 4));
+  }
+
+  @Test
+  void shouldNotSendDocumentsFailingForOtherReasonsAgain() throws IOException {
+    when(client.bulk(any(BulkRequest.class), any(RequestOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              BulkRequest request = invocation.getArgument(0);
+              sentRequests.add(request);
+              return response(request, RestStatus.BAD_REQUEST, 0);
+            });
+
+    var responses = indexer(SETTINGS).index(documents(3, 10));
+
+    assertThat(sentRequests, hasSize(1));
+    assertThat(responses.getFirst().hasFailures(), is(true));
+  }
+
+  @Test
+  void shouldSendWholeBulkRequestAgainWhenClusterIsOverloaded() throws IOException {
+    when(client.bulk(any(BulkRequest.class), any(RequestOptions.class)))
+        .thenThrow(new OpenSearchStatusException("overloaded", RestStatus.TOO_MANY_REQUESTS))
+        .thenAnswer(invocation -> response(invocation.getArgument(0), RestStatus.OK));
+
+    var responses = indexer(SETTINGS).index(documents(3, 10));
+
+    verify(client, times(2)).bulk(any(BulkRequest.class), any(RequestOptions.class));
+    assertThat(responses.getFirst().hasFailures(), is(false));
+  }
+
+  @Test
+  void shouldReturnDocumentsAsRejectedWhenClusterIsOverloadedBeyondMaxRetries() throws IOException {
+    when(client.bulk(any(BulkRequest.class), any(RequestOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              BulkRequest request = invocation.getArgument(0);
+              sentRequests.add(request);
+              return response(request, RestStatus.TOO_MANY_REQUESTS, 1);
+            })
+        .thenThrow(new OpenSearchStatusException("overloaded", RestStatus.TOO_MANY_REQUESTS));
+
+    var responses = indexer(SETTINGS).index(documents(3, 10));
+
+    verify(client, times(SETTINGS.maxRetries() + 1))
+        .bulk(any(BulkRequest.class), any(RequestOptions.class));
+    var items = responses.getFirst().getItems();
+    assertThat(items.length, is(3));
+    assertThat(items[0].isFailed(), is(false));
+    assertThat(items[1].status(), is(RestStatus.TOO_MANY_REQUESTS));
+    assertThat(items[1].getId(), is(equalTo(ids(sentRequests.getFirst()).get(1))));
+    assertThat(items[2].isFailed(), is(false));
+    assertThat(itemIds(responses.getFirst()), contains(0, 1, 2));
+  }
+
+  @Test
+  void shouldSendFirstBulkRequestBeforeAllDocumentsAreRead() throws Exception {
+    var firstSent = new CountDownLatch(1);
+    when(client.bulk(any(BulkRequest.class), any(RequestOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              firstSent.countDown();
+              return response(invocation.getArgument(0), RestStatus.OK);
+            });
+    var sentBeforeRead = new AtomicBoolean();
+    var secondBatchStart = SETTINGS.maxActions() + 1;
+    var documents =
+        IntStream.range(0, 25)
+            .mapToObj(
+                i -> {
+                  if (i == secondBatchStart) {
+                    sentBeforeRead.set(
+                        attempt(() -> firstSent.await(5, TimeUnit.SECONDS)).orElseThrow());
+                  }
+                  return document(10);
+                });
+
+    indexer(SETTINGS).index(documents);
+
+    assertThat(sentBeforeRead.get(), is(true));
+  }
+
+  @Test
+  void shouldCloseBulkRequestWhenNextDocumentExceedsMaxBytes() throws IOException {
+    var settings = new BulkSettings(100, 1_000, 2, 3, Duration.ZERO, Duration.ZERO, true);
+    when(client.bulk(any(BulkRequest.class), any(RequestOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              BulkRequest request = invocation.getArgument(0);
+              sentRequests.add(request);
+              return response(request, RestStatus.OK);
+            });
+
+    indexer(settings).index(documents(20, 300));
+
+    assertThat(sentRequests, hasSize(7));
+    assertThat(
+        sentRequests.stream().map(BulkRequest::estimatedSizeInBytes).toList(),
+        everyItem(lessThanOrEqualTo(2_000L)));
+    assertThat(sentRequests.stream().mapToInt(BulkRequest::numberOfActions).sum(), is(20));
+  }
+
+  @Test
+  void shouldRefreshOnceAfterLastBulkRequestWhenNotRefreshingPerBatch() throws IOException {
+    var indicesClient = mock(IndicesClient.class);
+    when(client.indices()).thenReturn(new IndicesClientWrapper(indicesClient));
+    when(client.bulk(any(BulkRequest.class), any(RequestOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              BulkRequest request = invocation.getArgument(0);
+              sentRequests.add(request);
+              return response(request, RestStatus.OK);
+            });
+
+    indexer(SETTINGS.withRefreshPerBatch(false)).index(documents(25, 10));
+
+    assertThat(sentRequests, hasSize(3));
+    assertThat(
+        sentRequests.stream().map(BulkRequest::getRefreshPolicy).toList(),
+        everyItem(is(RefreshPolicy.NONE)));
+    verify(indicesClient, times(1)).refresh(any(RefreshRequest.class), any(RequestOptions.class));
+  }
+
+  @Test
+  void shouldWaitForRefreshPerBulkRequestByDefault() throws IOException {
+    var indicesClient = mock(IndicesClient.class);
+    when(client.indices()).thenReturn(new IndicesClientWrapper(indicesClient));
+    when(client.bulk(any(BulkRequest.class), any(RequestOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              BulkRequest request = invocation.getArgument(0);
+              sentRequests.add(request);
+              return response(request, RestStatus.OK);
+            });
+
+    indexer(SETTINGS).index(documents(25, 10));
+
+    assertThat(
+        sentRequests.stream().map(BulkRequest::getRefreshPolicy).toList(),
+        everyItem(is(RefreshPolicy.WAIT_UNTIL)));
+    verify(indicesClient, never()).refresh(any(RefreshRequest.class), any(RequestOptions.class));
+  }
+
+  private BulkIndexer indexer(BulkSettings settings) {
+    return new BulkIndexer(client, () -> RequestOptions.DEFAULT, settings);
+  }
+
+  private static Stream<IndexDocument> documents(int count, int valueLength) {
+    return IntStream.range(0, count).mapToObj(ignored -> document(valueLength));
+  }
+
+  private static IndexDocument document(int valueLength) {
+    var attributes = new EventConsumptionAttributes(INDEX, SortableIdentifier.next());
+    var resource = dtoObjectMapper.createObjectNode().put("value", "x".repeat(valueLength));
+    return new IndexDocument(attributes, resource);
+  }
+
+  private static List<String> ids(BulkRequest request) {
+    return request.requests().stream().map(IndexRequest.class::cast).map(IndexRequest::id).toList();
+  }
+
+  private static List<Integer> itemIds(BulkResponse response) {
+    return Arrays.stream(response.getItems()).map(BulkItemResponse::getItemId).toList();
+  }
+
+  private static BulkResponse response(
+      BulkRequest request, RestStatus failureStatus, int... failedPositions) {
+    var failed = IntStream.of(failedPositions).boxed().toList();
+    var ids = ids(request);
+    var items =
+        IntStream.range(0, ids.size())
+            .mapToObj(
+                i ->
+                    failed.contains(i)
+                        ? new BulkItemResponse(i, OpType.INDEX, failure(ids.get(i), failureStatus))
+                        : new BulkItemResponse(i, OpType.INDEX, (DocWriteResponse) null))
+            .toArray(BulkItemResponse[]::new);
+    return new BulkResponse(items, ARBITRARY_TOOK);
+  }
+
+  private static Failure failure(String id, RestStatus status) {
+    return new Failure(INDEX, id, new Exception(randomString()), status);
+  }
+}
@@ -3,13 +3,21 @@ package no.unit.nva.indexingclient;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.auth0.jwt.interfaces.DecodedJWT;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
 import no.unit.nva.search.common.jwt.CachedJwtProvider;
 import no.unit.nva.search.common.jwt.CognitoAuthenticator;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +26,9 @@ import org.junit.jupiter.api.Test;
 class CachedJwtTest {
 
   public static final Instant TOKEN_EXPIRE_AT = Instant.parse("2006-12-03T10:15:30.00Z");
+  private static final long SLOW_FETCH_MILLIS = 100L;
+  private static final int CONCURRENT_CALLERS = 8;
+  private static final double REFRESH_FRACTION = 0.75;
   private final DecodedJWT jwt1 = mock(DecodedJWT.class);
   private final DecodedJWT jwt2 = mock(DecodedJWT.class);
   CachedJwtProvider cachedJwtProvider;
@@ -68,4 +79,71 @@ class CachedJwtTest {
 
     assertNotEquals(token1, token2);
   }
+
+  @Test
+  void shouldFetchTokenOnceWhenConcurrentCallersFindNoToken() throws Exception {
+    when(mockedClock.instant()).thenReturn(TOKEN_EXPIRE_AT.minus(Duration.ofMinutes(10)));
+    var cognitoAuthenticator = mock(CognitoAuthenticator.class);
+    when(cognitoAuthenticator.fetchBearerToken())
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(SLOW_FETCH_MILLIS);
+              return jwt1;
+            });
+    var provider = new CachedJwtProvider(cognitoAuthenticator, mockedClock);
+
+    var start = new CountDownLatch(1);
+    var tokens = new ArrayList<Future<DecodedJWT>>();
+    try (var callers = Executors.newFixedThreadPool(CONCURRENT_CALLERS)) {
+      for (var i = 0; i < CONCURRENT_CALLERS; i++) {
+        tokens.add(
+            callers.submit(
+                () -> {
+                  start.await();
+                  return provider.getValue();
+                }));
+      }
+      start.countDown();
+      for (var token : tokens) {
+        assertEquals(jwt1, token.get());
+      }
+    }
+
+    verify(cognitoAuthenticator, times(1)).fetchBearerToken();
+  }
+
+  @Test
+  void shouldHandOutCurrentTokenWhileRefreshingInBackground() {
+    var now = TOKEN_EXPIRE_AT.minus(Duration.ofMinutes(10));
+    when(mockedClock.instant()).thenReturn(now);
+    when(jwt1.getIssuedAt()).thenReturn(Date.from(now.minus(Duration.ofMinutes(50))));
+    when(jwt2.getIssuedAt()).thenReturn(Date.from(now));
+    when(jwt2.getExpiresAt()).thenReturn(Date.from(now.plus(Duration.ofHours(1))));
+    var cognitoAuthenticator = mock(CognitoAuthenticator.class);
+    when(cognitoAuthenticator.fetchBearerToken())
+        .thenReturn(jwt1)
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(SLOW_FETCH_MILLIS);
+              return jwt2;
+            });
+    var provider = new CachedJwtProvider(cognitoAuthenticator, mockedClock, REFRESH_FRACTION);
+
+    var initialToken = provider.getValue();
+    var tokenDuringRefresh = provider.getValue();
+
+    assertEquals(jwt1, initialToken);
+    assertEquals(jwt1, tokenDuringRefresh);
+    verify(cognitoAuthenticator, timeout(SLOW_FETCH_MILLIS * 10).times(2)).fetchBearerToken();
+    await(() -> provider.getValue() == jwt2);
+    assertEquals(jwt2, provider.getValue());
+    verify(cognitoAuthenticator, times(2)).fetchBearerToken();
+  }
+
+  private static void await(BooleanSupplier condition) {
+    var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+  }
 }
@@ -1,5 +1,6 @@
 package no.unit.nva.indexingclient;
 
+import static java.util.Objects.nonNull;
 import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
 import static no.unit.nva.constants.Defaults.objectMapperWithEmpty;
 import static no.unit.nva.constants.Words.IMPORT_CANDIDATES_INDEX;
@@ -10,6 +11,8 @@ import static no.unit.nva.testutils.RandomDataGenerator.randomJson;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
 import static nva.commons.core.attempt.Try.attempt;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsNot.not;
@@ -22,6 +25,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,6 +34,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -44,18 +50,27 @@ import nva.commons.secrets.SecretsReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.admin.indices.alias.Alias;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.opensearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.client.GetAliasesResponse;
 import org.opensearch.client.IndicesClient;
 import org.opensearch.client.RequestOptions;
+import org.opensearch.client.core.CountRequest;
+import org.opensearch.client.core.CountResponse;
 import org.opensearch.client.indices.CreateIndexRequest;
+import org.opensearch.cluster.metadata.AliasMetadata;
 import org.opensearch.core.rest.RestStatus;
 
 class IndexingClientTest {
@@ -63,6 +78,8 @@ class IndexingClientTest {
   public static final int
       SET_OF_RESOURCES_THAT_DO_NOT_FIT_EXACTLY_IN_THE_BULK_SIZE_OF_A_BULK_REQUEST = 1256;
   public static final IndexResponse UNUSED_INDEX_RESPONSE = null;
+  private static final String OLD_RESOURCES_INDEX = RESOURCES + "-20260101000000";
+  private static final String NEW_RESOURCES_INDEX = RESOURCES + "-20261018000000";
   private RestHighLevelClientWrapper esClient;
   private IndexingClient indexingClient;
   private AtomicReference<IndexRequest> submittedIndexRequest;
@@ -107,6 +124,15 @@ class IndexingClientTest {
         .bulk(any(BulkRequest.class), any(RequestOptions.class));
   }
 
+  @Test
+  void shouldWriteOneGenerationForBumpsInQuickSuccession() throws IOException {
+    indexingClient.bumpGeneration(RESOURCES);
+    indexingClient.bumpGeneration(RESOURCES);
+    indexingClient.bumpGeneration(IMPORT_CANDIDATES_INDEX);
+
+    verify(esClient, times(2)).index(any(IndexRequest.class), any(RequestOptions.class));
+  }
+
   @Test
   void shouldSendIndexRequestWithIndexNameSpecifiedByIndexDocument() throws IOException {
     var indexDocument = sampleIndexDocument();
@@ -182,9 +208,7 @@ class IndexingClientTest {
 
   @Test
   void shouldCallEsClientDeleteIndexRequest() throws IOException {
-    var indicesClient = mock(IndicesClient.class);
-    var indicesClientWrapper = new IndicesClientWrapper(indicesClient);
-    when(esClient.indices()).thenReturn(indicesClientWrapper);
+    var indicesClient = mockAliases(null, null);
     indexingClient.deleteIndex(randomString());
     var expectedNumberOfCreateInvocationsToEs = 1;
     verify(indicesClient, times(expectedNumberOfCreateInvocationsToEs))
@@ -193,9 +217,7 @@ class IndexingClientTest {
 
   @Test
   void shouldNotThrowWhenDeletingIndexThatDoesNotExist() throws IOException {
-    var indicesClient = mock(IndicesClient.class);
-    var indicesClientWrapper = new IndicesClientWrapper(indicesClient);
-    when(esClient.indices()).thenReturn(indicesClientWrapper);
+    var indicesClient = mockAliases(null, null);
     when(indicesClient.delete(any(DeleteIndexRequest.class), any(RequestOptions.class)))
         .thenThrow(
             new OpenSearchStatusException("no such index [some-index]", RestStatus.NOT_FOUND));
@@ -203,6 +225,17 @@ class IndexingClientTest {
     assertDoesNotThrow(() -> indexingClient.deleteIndex(randomString()));
   }
 
+  @Test
+  void shouldDeleteIndexBehindAliasWhenDeletingAlias() throws IOException {
+    var indicesClient = mockAliases(OLD_RESOURCES_INDEX, null);
+
+    indexingClient.deleteIndex(RESOURCES);
+
+    var request = ArgumentCaptor.forClass(DeleteIndexRequest.class);
+    verify(indicesClient).delete(request.capture(), any(RequestOptions.class));
+    assertThat(List.of(request.getValue().indices()), contains(OLD_RESOURCES_INDEX));
+  }
+
   @Test
   void shouldCallEsClientRefreshIndexRequest() throws IOException {
     var indicesClient = mock(IndicesClient.class);
@@ -214,6 +247,97 @@ class IndexingClientTest {
         .refresh(any(RefreshRequest.class), any(RequestOptions.class));
   }
 
+  @Test
+  void shouldMoveAliasToRebuiltIndexWhenItHoldsAsManyDocuments() throws IOException {
+    var indicesClient = mockAliases(OLD_RESOURCES_INDEX, NEW_RESOURCES_INDEX);
+    mockCounts(Map.of(RESOURCES, 10L, NEW_RESOURCES_INDEX, 10L));
+
+    var swapped = indexingClient.completeReindex(RESOURCES, Map.of(), false);
+
+    assertThat(swapped, is(true));
+    var request = ArgumentCaptor.forClass(IndicesAliasesRequest.class);
+    verify(indicesClient).updateAliases(request.capture(), any(RequestOptions.class));
+    var actions =
+        request.getValue().getAliasActions().stream()
+            .map(action -> action.actionType() + " " + String.join(",", action.indices()))
+            .toList();
+    assertThat(
+        actions,
+        contains(
+            "REMOVE " + OLD_RESOURCES_INDEX,
+            "ADD " + NEW_RESOURCES_INDEX,
+            "REMOVE " + NEW_RESOURCES_INDEX));
+    verify(indicesClient).putSettings(any(UpdateSettingsRequest.class), any(RequestOptions.class));
+    assertThat(submittedIndexRequest.get().index(), is(equalTo("index-generations")));
+    assertThat(submittedIndexRequest.get().id(), is(equalTo(RESOURCES)));
+  }
+
+  @Test
+  void shouldNotMoveAliasWhenRebuiltIndexHoldsFewerDocuments() throws IOException {
+    var indicesClient = mockAliases(OLD_RESOURCES_INDEX, NEW_RESOURCES_INDEX);
+    mockCounts(Map.of(RESOURCES, 10L, NEW_RESOURCES_INDEX, 9L));
+
+    var swapped = indexingClient.completeReindex(RESOURCES, Map.of(), false);
+
+    assertThat(swapped, is(false));
+    verify(indicesClient, never())
+        .updateAliases(any(IndicesAliasesRequest.class), any(RequestOptions.class));
+  }
+
+  @Test
+  void shouldThrowWhenCompletingRebuildThatWasNotStarted() throws IOException {
+    mockAliases(OLD_RESOURCES_INDEX, null);
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> indexingClient.completeReindex(RESOURCES, Map.of(), false));
+  }
+
+  @Test
+  void shouldCreateRebuiltIndexWithoutReplicasAndRefreshesBehindNextAlias() throws IOException {
+    var indicesClient = mock(IndicesClient.class);
+    when(esClient.indices()).thenReturn(new IndicesClientWrapper(indicesClient));
+
+    indexingClient.startReindex(RESOURCES, Map.of(), Map.of("number_of_replicas", 1));
+
+    var request = ArgumentCaptor.forClass(CreateIndexRequest.class);
+    verify(indicesClient).create(request.capture(), any(RequestOptions.class));
+    assertThat(request.getValue().index(), startsWith(RESOURCES + "-"));
+    assertThat(request.getValue().settings().get("number_of_replicas"), is(equalTo("0")));
+    assertThat(request.getValue().settings().get("refresh_interval"), is(equalTo("-1")));
+    assertThat(
+        request.getValue().aliases().stream().map(Alias::name).toList(),
+        contains(RESOURCES + "-next"));
+  }
+
+  private IndicesClient mockAliases(String current, String next) throws IOException {
+    var indicesClient = mock(IndicesClient.class);
+    when(esClient.indices()).thenReturn(new IndicesClientWrapper(indicesClient));
+    when(indicesClient.getAlias(any(GetAliasesRequest.class), any(RequestOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              GetAliasesRequest request = invocation.getArgument(0);
+              var index = request.aliases()[0].endsWith("-next") ? next : current;
+              var response = mock(GetAliasesResponse.class);
+              when(response.getAliases())
+                  .thenReturn(
+                      nonNull(index) ? Map.of(index, Set.<AliasMetadata>of()) : Map.of());
+              return response;
+            });
+    return indicesClient;
+  }
+
+  private void mockCounts(Map<String, Long> counts) throws IOException {
+    when(esClient.count(any(CountRequest.class), any(RequestOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              CountRequest request = invocation.getArgument(0);
+              var response = mock(CountResponse.class);
+              when(response.getCount()).thenReturn(counts.get(request.indices()[0]));
+              return response;
+            });
+  }
+
   private IndicesClientWrapper createMockIndicesClientWrapper() {
     IndicesClient indicesClient = mock(IndicesClient.class);
     return new IndicesClientWrapper(indicesClient);
@@ -0,0 +1,23 @@
+package no.unit.nva.search.common;
+
+import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+
+class EmbeddedMetricsTest {
+
+  @Test
+  void shouldWriteMetricValueAndDefinitionInEmbeddedMetricFormat() throws JsonProcessingException {
+    var logLine = EmbeddedMetrics.toLogLine("OpenContexts", 3, EmbeddedMetrics.COUNT);
+
+    var json = dtoObjectMapper.readTree(logLine);
+    var directive = json.at("/_aws/CloudWatchMetrics/0");
+
+    assertEquals(3, json.get("OpenContexts").asInt());
+    assertEquals(EmbeddedMetrics.NAMESPACE, directive.get("Namespace").asText());
+    assertEquals("OpenContexts", directive.at("/Metrics/0/Name").asText());
+    assertEquals(EmbeddedMetrics.COUNT, directive.at("/Metrics/0/Unit").asText());
+  }
+}
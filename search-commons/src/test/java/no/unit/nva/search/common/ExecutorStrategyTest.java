@@ -0,0 +1,132 @@
+package no.unit.nva.search.common;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static no.unit.nva.common.MockedHttpResponse.mockedHttpResponse;
+import static no.unit.nva.constants.Words.ALL;
+import static no.unit.nva.constants.Words.RESOURCES;
+import static no.unit.nva.indexing.testutils.MockedJwtProvider.setupMockedCachedJwtProvider;
+import static no.unit.nva.search.resource.ResourceParameter.AGGREGATION;
+import static no.unit.nva.search.resource.ResourceParameter.FROM;
+import static no.unit.nva.search.resource.ResourceParameter.SIZE;
+import static nva.commons.core.ioutils.IoUtils.stringFromResources;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import no.unit.nva.search.resource.ResourceClient;
+import no.unit.nva.search.resource.ResourceSearchQuery;
+import no.unit.nva.search.resource.UserSettingsClient;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class ExecutorStrategyTest {
+
+  private static final String SAMPLE_SEARCH_RESPONSE = "resource_mocked_sws_search_response.json";
+  private static final long SIMULATED_NETWORK_MILLIS = 5L;
+  private static final int CONCURRENT_CALLERS = 16;
+  private static final int REQUESTS = 100;
+  private static final int SAMPLE_TOTAL_SIZE = 2;
+
+  @Test
+  void shouldUseBoundedPoolWhenNotConfigured() {
+    var environment = mock(Environment.class);
+    when(environment.readEnvOpt(any())).thenReturn(Optional.empty());
+
+    assertThat(ExecutorStrategy.fromEnvironment(environment), is(ExecutorStrategy.BOUNDED_POOL));
+  }
+
+  @Test
+  void shouldResolveStrategyFromConfigName() {
+    assertThat(ExecutorStrategy.fromConfigName("Virtual"), is(ExecutorStrategy.VIRTUAL_THREADS));
+    assertThrows(IllegalArgumentException.class, () -> ExecutorStrategy.fromConfigName("none"));
+  }
+
+  /**
+   * Runs the two-request (hits + aggregation) search path from concurrent callers, per strategy,
+   * while a parallel stream keeps the common pool busy as a bulk insert in the same Lambda would.
+   * Every search must complete with the parsed response.
+   */
+  @ParameterizedTest
+  @EnumSource(ExecutorStrategy.class)
+  void shouldCompleteConcurrentTwoRequestSearchesWhileCommonPoolIsBusy(ExecutorStrategy strategy)
+      throws Exception {
+    var resourceClient = resourceClient(strategy);
+
+    var commonPoolLoad = new AtomicBoolean(true);
+    var background = CompletableFuture.runAsync(() -> keepCommonPoolBusy(commonPoolLoad));
+    var totalSizes = runConcurrently(resourceClient, REQUESTS);
+    commonPoolLoad.set(false);
+    background.join();
+
+    assertThat(totalSizes.size(), is(equalTo(REQUESTS)));
+    assertThat(totalSizes, everyItem(is(equalTo(SAMPLE_TOTAL_SIZE))));
+  }
+
+  private static ResourceClient resourceClient(ExecutorStrategy strategy) {
+    var body = stringFromResources(Path.of(SAMPLE_SEARCH_RESPONSE)).getBytes(UTF_8);
+    var httpClient = mock(HttpClient.class);
+    when(httpClient.sendAsync(any(), any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.supplyAsync(
+                    () -> mockedHttpResponse(body),
+                    CompletableFuture.delayedExecutor(SIMULATED_NETWORK_MILLIS, MILLISECONDS)));
+    return new ResourceClient(
+        httpClient,
+        setupMockedCachedJwtProvider(),
+        new UserSettingsClient(httpClient),
+        strategy.executor());
+  }
+
+  private static List<Integer> runConcurrently(ResourceClient resourceClient, int requests)
+      throws Exception {
+    var totalSizes = Collections.synchronizedList(new ArrayList<Integer>());
+    try (var callers = Executors.newFixedThreadPool(CONCURRENT_CALLERS)) {
+      var futures = new ArrayList<CompletableFuture<Void>>();
+      for (var i = 0; i < requests; i++) {
+        var query = searchWithAggregations();
+        futures.add(
+            CompletableFuture.runAsync(
+                () -> totalSizes.add(resourceClient.doSearch(query, RESOURCES).getTotalSize()),
+                callers));
+      }
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+    return totalSizes;
+  }
+
+  private static ResourceSearchQuery searchWithAggregations() throws BadRequestException {
+    return ResourceSearchQuery.builder()
+        .withDockerHostUri(URI.create("https://localhost:9200"))
+        .withParameter(FROM, "0")
+        .withParameter(SIZE, "10")
+        .withParameter(AGGREGATION, ALL)
+        .build();
+  }
+
+  private static void keepCommonPoolBusy(AtomicBoolean running) {
+    while (running.get()) {
+      IntStream.range(0, 1_000).parallel().mapToDouble(Math::sqrt).sum();
+    }
+  }
+}
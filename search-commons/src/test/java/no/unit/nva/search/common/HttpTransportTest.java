@@ -0,0 +1,90 @@
+package no.unit.nva.search.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import no.unit.nva.search.common.EmbeddedMetrics.Metric;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.Test;
+
+class HttpTransportTest {
+
+  @Test
+  void shouldBuildClientFromEnvironment() {
+    var environment = mock(Environment.class);
+    when(environment.readEnvOpt(anyString())).thenReturn(Optional.empty());
+    when(environment.readEnvOpt("SEARCH_HTTP_VERSION")).thenReturn(Optional.of("HTTP_1_1"));
+    when(environment.readEnvOpt("SEARCH_HTTP_EXECUTOR")).thenReturn(Optional.of("virtual"));
+    when(environment.readEnvOpt("SEARCH_HTTP_CONNECT_TIMEOUT_SECONDS"))
+        .thenReturn(Optional.of("2"));
+
+    var httpClient = HttpTransport.builderFromEnvironment(environment).build();
+
+    assertThat(httpClient.version(), is(equalTo(HttpClient.Version.HTTP_1_1)));
+    assertThat(httpClient.connectTimeout(), is(equalTo(Optional.of(Duration.ofSeconds(2)))));
+    assertThat(httpClient.executor().isPresent(), is(true));
+  }
+
+  @Test
+  void shouldCountRequestAsInFlightUntilResponseCompletes() {
+    var response = new CompletableFuture<String>();
+    var before = HttpTransport.inFlightRequests();
+
+    var tracked = HttpTransport.track(() -> response);
+    assertThat(HttpTransport.inFlightRequests(), is(equalTo(before + 1)));
+
+    response.complete("done");
+    assertThat(tracked.join(), is(equalTo("done")));
+    assertThat(HttpTransport.inFlightRequests(), is(equalTo(before)));
+  }
+
+  @Test
+  void shouldNotCountRequestAsInFlightWhenSendingThrows() {
+    var before = HttpTransport.inFlightRequests();
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            HttpTransport.track(
+                () -> {
+                  throw new IllegalStateException("closed");
+                }));
+
+    assertThat(HttpTransport.inFlightRequests(), is(equalTo(before)));
+  }
+
+  @Test
+  void shouldReportMostRequestsInFlightSinceMetricsWereLastDrained() {
+    HttpTransport.drainMetrics();
+    var first = new CompletableFuture<String>();
+    var second = new CompletableFuture<String>();
+    var before = HttpTransport.inFlightRequests();
+
+    HttpTransport.track(() -> first);
+    HttpTransport.track(() -> second);
+    first.complete("done");
+    second.complete("done");
+
+    assertThat(inFlightMetric(HttpTransport.drainMetrics()), is(equalTo(before + 2)));
+    assertThat(inFlightMetric(HttpTransport.drainMetrics()), is(equalTo(before)));
+  }
+
+  private static int inFlightMetric(List<Metric> metrics) {
+    return metrics.stream()
+        .filter(metric -> HttpTransport.IN_FLIGHT_REQUESTS_METRIC.equals(metric.name()))
+        .findFirst()
+        .orElseThrow()
+        .value()
+        .intValue();
+  }
+}
@@ -0,0 +1,76 @@
+package no.unit.nva.search.common;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.common.EntrySetTools.queryToMapEntries;
+import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
+import static no.unit.nva.constants.Words.POST_FILTER;
+import static no.unit.nva.constants.Words.RESOURCES;
+import static no.unit.nva.search.resource.ResourceParameter.AGGREGATION;
+import static no.unit.nva.search.resource.ResourceParameter.FROM;
+import static no.unit.nva.search.resource.ResourceParameter.SIZE;
+import static no.unit.nva.search.resource.ResourceParameter.SORT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.net.URI;
+import java.util.List;
+import no.unit.nva.search.resource.ResourceParameter;
+import no.unit.nva.search.resource.ResourceSearchQuery;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.opensearch.search.aggregations.AggregationBuilders;
+
+class QueryTemplateTest {
+
+  private static final String SEARCH =
+      "https://example.com/?query=hello+world&aggregation=all&from=20"
+          + "&sort=relevance,modifiedDate:desc";
+
+  @Test
+  void shouldAssembleSameRequestsAsSearchSourceBuilder()
+      throws BadRequestException, JsonProcessingException {
+    var expected = assembleWithSearchSourceBuilder(search());
+    var actual = search().assemble(RESOURCES).toList();
+
+    assertThat(json(actual.get(0).body()), is(equalTo(json(expected.get(0)))));
+    assertThat(json(actual.get(1).body()), is(equalTo(json(expected.get(1)))));
+  }
+
+  @Test
+  void shouldAddFieldToEmptyObject() {
+    assertThat(QueryTemplate.withField("{}", "size", "0"), is(equalTo("{\"size\":0}")));
+  }
+
+  /** How {@code assemble} built both requests before the templates. */
+  private static List<String> assembleWithSearchSourceBuilder(
+      SearchQuery<ResourceParameter> query) {
+    var builder = query.builderDefaultSearchSource();
+    var aggregations = builder.shallowCopy().size(0).from(0);
+    var filter = AggregationBuilders.filter(POST_FILTER, query.filters().get());
+    query.builderAggregations().forEach(filter::subAggregation);
+    aggregations.aggregation(filter);
+
+    if (nonNull(query.include()) || nonNull(query.exclude())) {
+      builder.fetchSource(query.include(), query.exclude());
+    } else {
+      builder.fetchSource(true);
+    }
+    builder.trackScores(true);
+    query.builderStreamFieldSort().forEach(builder::sort);
+    return List.of(aggregations.toString(), builder.toString());
+  }
+
+  private static ResourceSearchQuery search() throws BadRequestException {
+    return ResourceSearchQuery.builder()
+        .fromTestQueryParameters(queryToMapEntries(URI.create(SEARCH)))
+        .withRequiredParameters(FROM, SIZE, AGGREGATION, SORT)
+        .build();
+  }
+
+  private static JsonNode json(String body) throws JsonProcessingException {
+    return dtoObjectMapper.readTree(body);
+  }
+}
@@ -0,0 +1,114 @@
+package no.unit.nva.search.common;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static no.unit.nva.common.MockedHttpResponse.mockedHttpResponse;
+import static no.unit.nva.constants.Words.NONE;
+import static no.unit.nva.constants.Words.RESOURCES;
+import static no.unit.nva.indexing.testutils.MockedJwtProvider.setupMockedCachedJwtProvider;
+import static no.unit.nva.search.resource.ResourceParameter.AGGREGATION;
+import static no.unit.nva.search.resource.ResourceParameter.FROM;
+import static no.unit.nva.search.resource.ResourceParameter.SIZE;
+import static nva.commons.core.ioutils.IoUtils.stringFromResources;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import no.unit.nva.search.common.RequestTiming.Phase;
+import no.unit.nva.search.common.records.SwsResponse;
+import no.unit.nva.search.resource.ResourceClient;
+import no.unit.nva.search.resource.ResourceSearchQuery;
+import no.unit.nva.search.resource.UserSettingsClient;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+class RequestTimingTest {
+
+  private static final String SAMPLE_SEARCH_RESPONSE = "resource_mocked_sws_search_response.json";
+  private static final long SLOW_RESPONSE_MILLIS = 300L;
+
+  @Test
+  void shouldReportEveryPhaseOfRequest() {
+    var timing = new RequestTiming(Instant.now(), NONE);
+    timing.requestSent();
+    timing.bodyReceived();
+    timing.stageStarted();
+    timing.deserialised(NONE);
+    timing.serverTook(0);
+
+    assertThat(
+        timing.phases().keySet(),
+        contains(
+            Phase.QUEUE.metricName(),
+            Phase.CONNECT.metricName(),
+            Phase.SERVER.metricName(),
+            Phase.TRANSFER.metricName(),
+            Phase.DESERIALISATION.metricName()));
+  }
+
+  @Test
+  void shouldKeepTimingsOfConcurrentSearchesOnSameClientApart() throws Exception {
+    var body = stringFromResources(Path.of(SAMPLE_SEARCH_RESPONSE)).getBytes(UTF_8);
+    var calls = new AtomicInteger();
+    var httpClient = mock(HttpClient.class);
+    when(httpClient.sendAsync(any(), any()))
+        .thenAnswer(
+            invocation ->
+                calls.getAndIncrement() == 0
+                    ? CompletableFuture.supplyAsync(
+                        () -> mockedHttpResponse(body),
+                        CompletableFuture.delayedExecutor(SLOW_RESPONSE_MILLIS, MILLISECONDS))
+                    : CompletableFuture.completedFuture(mockedHttpResponse(body)));
+    var fetchTimes = Collections.synchronizedList(new ArrayList<Long>());
+    var resourceClient =
+        new ResourceClient(
+            httpClient, setupMockedCachedJwtProvider(), new UserSettingsClient(httpClient)) {
+          @Override
+          protected String buildLogInfo(SwsResponse result, RequestTiming timing) {
+            fetchTimes.add(timing.fetchMillis());
+            return super.buildLogInfo(result, timing);
+          }
+        };
+
+    try (var callers = Executors.newFixedThreadPool(2)) {
+      var slow = CompletableFuture.runAsync(() -> search(resourceClient), callers);
+      var fast = CompletableFuture.runAsync(() -> search(resourceClient), callers);
+      CompletableFuture.allOf(slow, fast).join();
+    }
+
+    Collections.sort(fetchTimes);
+    assertThat(fetchTimes.getFirst(), is(lessThan(SLOW_RESPONSE_MILLIS)));
+    assertThat(fetchTimes.getLast(), is(greaterThanOrEqualTo(SLOW_RESPONSE_MILLIS - 1)));
+  }
+
+  private static void search(ResourceClient resourceClient) {
+    try {
+      resourceClient.doSearch(query(), RESOURCES);
+    } catch (BadRequestException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  private static ResourceSearchQuery query() throws BadRequestException {
+    return ResourceSearchQuery.builder()
+        .withDockerHostUri(URI.create("https://localhost:9200"))
+        .withParameter(FROM, "0")
+        .withParameter(SIZE, "10")
+        .withParameter(AGGREGATION, NONE)
+        .build();
+  }
+}
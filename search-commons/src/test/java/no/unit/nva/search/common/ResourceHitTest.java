@@ -0,0 +1,65 @@
+package no.unit.nva.search.common;
+
+import static no.unit.nva.search.common.ResourceHit.CONTEXT_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ID_POINTER;
+import static nva.commons.core.attempt.Try.attempt;
+import static nva.commons.core.ioutils.IoUtils.stringFromResources;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+import no.unit.nva.commons.json.JsonUtils;
+import no.unit.nva.search.common.ResourceHit.Field;
+import no.unit.nva.search.common.ResourceHit.Subtree;
+import org.junit.jupiter.api.Test;
+
+class ResourceHitTest {
+
+  private static final List<JsonNode> HITS = hits();
+  private static final List<Field> FIELDS = fields();
+
+  @Test
+  void shouldReadSameValuesAsPointersFromRoot() {
+    for (var node : HITS) {
+      var hit = ResourceHit.of(node);
+      for (var field : FIELDS) {
+        assertThat(field.toString(), hit.at(field), is(equalTo(node.at(field.toString()))));
+      }
+      for (var subtree : Subtree.values()) {
+        var expected = node.at(subtree.pointer());
+        assertThat(subtree.pointer(), hit.subtree(subtree), is(equalTo(expected)));
+      }
+    }
+  }
+
+  @Test
+  void shouldReadFieldsBelowMissingSubtreesAsMissing() {
+    var hit = ResourceHit.of(JsonUtils.dtoObjectMapper.createObjectNode().put("id", " "));
+
+    assertThat(hit.subtree(Subtree.PUBLICATION_CONTEXT).isMissingNode(), is(true));
+    assertThat(hit.at(CONTEXT_NAME_POINTER).isMissingNode(), is(true));
+    assertThat(hit.text(CONTEXT_NAME_POINTER), is(equalTo(Optional.empty())));
+    assertThat(hit.text(ID_POINTER), is(equalTo(Optional.empty())));
+  }
+
+  private static List<JsonNode> hits() {
+    var json = stringFromResources(Path.of("resource_datasource.json"));
+    var root = attempt(() -> JsonUtils.dtoObjectMapper.readTree(json)).orElseThrow();
+    return StreamSupport.stream(root.spliterator(), false).toList();
+  }
+
+  private static List<Field> fields() {
+    return Arrays.stream(ResourceHit.class.getFields())
+        .filter(field -> Modifier.isStatic(field.getModifiers()))
+        .filter(field -> Field.class.equals(field.getType()))
+        .map(field -> (Field) attempt(() -> field.get(null)).orElseThrow())
+        .toList();
+  }
+}
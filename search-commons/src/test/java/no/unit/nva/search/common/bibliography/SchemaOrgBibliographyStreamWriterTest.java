@@ -0,0 +1,68 @@
+package no.unit.nva.search.common.bibliography;
+
+import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.StringWriter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SchemaOrgBibliographyStreamWriterTest {
+
+  private static final ObjectMapper MAPPER = dtoObjectMapper;
+
+  @Test
+  void shouldWritePagesAsOneItemList() throws Exception {
+    var hits = List.of(doc("AcademicArticle"), doc("BookMonograph"), doc("DegreePhd"));
+    var stringWriter = new StringWriter();
+    var writer = new SchemaOrgBibliographyStreamWriter(stringWriter);
+
+    writer.write(hits.subList(0, 1));
+    writer.write(List.of());
+    writer.write(hits.subList(1, hits.size()));
+    writer.finish();
+
+    var expected = MAPPER.readTree(SchemaOrgBibliographyTransformer.transform(hits, hits.size()));
+    assertThat(MAPPER.readTree(stringWriter.toString())).isEqualTo(expected);
+  }
+
+  @Test
+  void shouldCountItemsWrittenWhenTotalSizeIsNotGiven() throws Exception {
+    var stringWriter = new StringWriter();
+    var writer = new SchemaOrgBibliographyStreamWriter(stringWriter);
+
+    writer.write(List.of(doc("AcademicArticle"), doc("AcademicArticle")));
+    writer.finish();
+
+    var tree = MAPPER.readTree(stringWriter.toString());
+    assertThat(tree.path("numberOfItems").asInt()).isEqualTo(2);
+    assertThat(tree.path("itemListElement").size()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldWriteEmptyItemListForNoHits() throws Exception {
+    var stringWriter = new StringWriter();
+    var writer = new SchemaOrgBibliographyStreamWriter(stringWriter);
+
+    writer.finish();
+
+    var tree = MAPPER.readTree(stringWriter.toString());
+    assertThat(tree.path("@type").asText()).isEqualTo("ItemList");
+    assertThat(tree.path("numberOfItems").asInt()).isZero();
+    assertThat(tree.path("itemListElement").isArray()).isTrue();
+    assertThat(tree.path("itemListElement").isEmpty()).isTrue();
+  }
+
+  private static JsonNode doc(String instanceType) {
+    var doc = MAPPER.createObjectNode();
+    doc.put("id", "https://api.nva.unit.no/publication/" + instanceType);
+    var entity = doc.putObject("entityDescription");
+    entity.put("mainTitle", instanceType);
+    var ref = entity.putObject("reference");
+    ref.putObject("publicationInstance").put("type", instanceType);
+    ref.putObject("publicationContext").put("type", "Unknown");
+    return doc;
+  }
+}
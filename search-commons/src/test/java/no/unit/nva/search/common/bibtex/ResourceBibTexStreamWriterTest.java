@@ -0,0 +1,43 @@
+package no.unit.nva.search.common.bibtex;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ResourceBibTexStreamWriterTest {
+
+  private static final Path PATH = Path.of("bibtex_academic_article.json");
+
+  @Test
+  void shouldWritePagesAsOneDocument() throws IOException {
+    var data = BibtexTransformerBase.loadAndTransform(PATH);
+    var hits = data.hits();
+    var stringWriter = new StringWriter();
+    var writer = new ResourceBibTexStreamWriter(stringWriter);
+
+    writer.write(hits.subList(0, 1));
+    writer.write(List.of());
+    writer.write(hits.subList(1, hits.size()));
+    writer.finish();
+
+    assertThat(stringWriter.toString(), is(equalTo(data.bibtex())));
+  }
+
+  @Test
+  void shouldWriteNothingForNoHits() {
+    var stringWriter = new StringWriter();
+    var writer = new ResourceBibTexStreamWriter(stringWriter);
+
+    writer.write(List.of());
+    writer.finish();
+
+    assertThat(stringWriter.toString(), is(emptyString()));
+  }
+}
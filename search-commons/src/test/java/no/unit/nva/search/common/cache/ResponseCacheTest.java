@@ -0,0 +1,190 @@
+package no.unit.nva.search.common.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static no.unit.nva.common.MockedHttpResponse.mockedHttpResponse;
+import static no.unit.nva.constants.Words.ALL;
+import static no.unit.nva.constants.Words.RESOURCES;
+import static no.unit.nva.indexing.testutils.MockedJwtProvider.setupMockedCachedJwtProvider;
+import static no.unit.nva.search.resource.ResourceParameter.AGGREGATION;
+import static no.unit.nva.search.resource.ResourceParameter.FROM;
+import static no.unit.nva.search.resource.ResourceParameter.SIZE;
+import static nva.commons.apigateway.MediaType.JSON_UTF_8;
+import static nva.commons.core.ioutils.IoUtils.stringFromResources;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import no.unit.nva.search.resource.ResourceClient;
+import no.unit.nva.search.resource.ResourceSearchQuery;
+import no.unit.nva.search.resource.UserSettingsClient;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResponseCacheTest {
+
+  private static final String SAMPLE_SEARCH_RESPONSE = "resource_mocked_sws_search_response.json";
+  private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+  private static final Duration TIME_TO_LIVE = Duration.ofSeconds(30);
+  private static final int MAXIMUM_SIZE = 2;
+  private static final URI GATEWAY = URI.create("https://api.example.org/search/resources");
+  private static final ResponseCache.Key FIRST = key("first");
+  private static final ResponseCache.Key SECOND = key("second");
+  private static final ResponseCache.Key THIRD = key("third");
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private final AtomicReference<String> generation = new AtomicReference<>("0");
+  private Clock clock;
+  private ResponseCache<ResponseCache.Key, String> cache;
+
+  @BeforeEach
+  void setUp() {
+    clock = mock(Clock.class);
+    when(clock.instant()).thenReturn(NOW);
+    cache =
+        new ResponseCache<>(
+            ResponseCache.RESPONSE, MAXIMUM_SIZE, TIME_TO_LIVE, generation::get, clock);
+  }
+
+  @Test
+  void shouldLoadOnceForRepeatedKey() {
+    var first = cache.computeIfAbsent(FIRST, this::load);
+    var second = cache.computeIfAbsent(key("first"), this::load);
+
+    assertThat(second, is(equalTo(first)));
+    assertThat(loads.get(), is(equalTo(1)));
+  }
+
+  @Test
+  void shouldKeepEntriesApartByVersion() {
+    cache.computeIfAbsent(FIRST, this::load);
+    var otherVersion = new ResponseCache.Key(Map.of("query", "first"), JSON_UTF_8, "v2", GATEWAY);
+    cache.computeIfAbsent(otherVersion, this::load);
+
+    assertThat(loads.get(), is(equalTo(2)));
+  }
+
+  @Test
+  void shouldLoadAgainWhenTimeToLiveHasPassed() {
+    cache.computeIfAbsent(FIRST, this::load);
+    when(clock.instant()).thenReturn(NOW.plus(TIME_TO_LIVE));
+    cache.computeIfAbsent(FIRST, this::load);
+
+    assertThat(loads.get(), is(equalTo(2)));
+  }
+
+  @Test
+  void shouldLoadAgainWhenGenerationHasChanged() {
+    cache.computeIfAbsent(FIRST, this::load);
+    generation.set("1");
+    cache.computeIfAbsent(FIRST, this::load);
+    cache.computeIfAbsent(FIRST, this::load);
+
+    assertThat(loads.get(), is(equalTo(2)));
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+    cache.computeIfAbsent(FIRST, this::load);
+    cache.computeIfAbsent(SECOND, this::load);
+    cache.computeIfAbsent(FIRST, this::load);
+    cache.computeIfAbsent(THIRD, this::load);
+
+    assertThat(cache.size(), is(equalTo(MAXIMUM_SIZE)));
+    cache.computeIfAbsent(FIRST, this::load);
+    assertThat(loads.get(), is(equalTo(3)));
+    cache.computeIfAbsent(SECOND, this::load);
+    assertThat(loads.get(), is(equalTo(4)));
+  }
+
+  @Test
+  void shouldAlwaysLoadWhenDisabled() {
+    var disabled = ResponseCache.<ResponseCache.Key, String>disabled();
+    disabled.computeIfAbsent(FIRST, this::load);
+    disabled.computeIfAbsent(FIRST, this::load);
+
+    assertThat(loads.get(), is(equalTo(2)));
+    assertThat(disabled.size(), is(equalTo(0)));
+  }
+
+  @Test
+  void shouldNotCacheFailedAsyncLoad() {
+    cache.computeIfAbsentAsync(FIRST, () -> CompletableFuture.failedFuture(new IOException()));
+    var response = cache.computeIfAbsentAsync(FIRST, this::loadAsync).join();
+
+    assertThat(response, is(equalTo("response 1")));
+    assertThat(cache.computeIfAbsentAsync(FIRST, this::loadAsync).join(), is(equalTo(response)));
+  }
+
+  @Test
+  void shouldSendAggregationRequestOnceWhilePaging() throws BadRequestException {
+    var body = stringFromResources(Path.of(SAMPLE_SEARCH_RESPONSE)).getBytes(UTF_8);
+    var httpClient = mock(HttpClient.class);
+    when(httpClient.sendAsync(any(), any()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(mockedHttpResponse(body)));
+    var resourceClient =
+        new ResourceClient(
+            httpClient, setupMockedCachedJwtProvider(), new UserSettingsClient(httpClient));
+    resourceClient.withAggregationCache(
+        new ResponseCache<>(
+            ResponseCache.AGGREGATION, MAXIMUM_SIZE, TIME_TO_LIVE, generation::get, clock));
+
+    resourceClient.doSearch(page("0"), RESOURCES);
+    resourceClient.doSearch(page("10"), RESOURCES);
+    resourceClient.doSearch(page("20"), RESOURCES);
+
+    verify(httpClient, times(4)).sendAsync(any(), any());
+  }
+
+  private static ResourceSearchQuery page(String from) throws BadRequestException {
+    return ResourceSearchQuery.builder()
+        .withDockerHostUri(URI.create("https://localhost:9200"))
+        .withParameter(FROM, from)
+        .withParameter(SIZE, "10")
+        .withParameter(AGGREGATION, ALL)
+        .build();
+  }
+
+  private CompletableFuture<String> loadAsync() {
+    return CompletableFuture.completedFuture(load());
+  }
+
+  @Test
+  void shouldReadSettingsOfCamelCaseNameInSnakeCase() {
+    var environment = mock(Environment.class);
+    when(environment.readEnvOpt(any())).thenReturn(Optional.empty());
+    when(environment.readEnvOpt("SEARCH_USER_SETTINGS_CACHE_SIZE")).thenReturn(Optional.of("10"));
+
+    var userSettingsCache =
+        ResponseCache.fromEnvironment(
+            UserSettingsClient.USER_SETTINGS, environment, () -> generation::get);
+
+    assertThat(userSettingsCache.isEnabled(), is(true));
+  }
+
+  private String load() {
+    return "response " + loads.incrementAndGet();
+  }
+
+  private static ResponseCache.Key key(String query) {
+    return new ResponseCache.Key(Map.of("query", query), JSON_UTF_8, "v1", GATEWAY);
+  }
+}
@@ -0,0 +1,159 @@
+package no.unit.nva.search.common.csv;
+
+import static no.unit.nva.search.common.ResourceHit.DAY_POINTER;
+import static no.unit.nva.search.common.ResourceHit.IDENTITY_NAME_POINTER;
+import static no.unit.nva.search.common.ResourceHit.ID_POINTER;
+import static no.unit.nva.search.common.ResourceHit.INSTANCE_TYPE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.MAIN_TITLE_POINTER;
+import static no.unit.nva.search.common.ResourceHit.MONTH_POINTER;
+import static no.unit.nva.search.common.ResourceHit.YEAR_POINTER;
+import static no.unit.nva.search.common.csv.HeaderColumnNameAndOrderMappingStrategy.headerColumnNameAndOrderMappingStrategyWithType;
+import static nva.commons.core.attempt.Try.attempt;
+import static nva.commons.core.ioutils.IoUtils.stringFromResources;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opencsv.bean.StatefulBeanToCsv;
+import com.opencsv.bean.StatefulBeanToCsvBuilder;
+import com.opencsv.exceptions.CsvDataTypeMismatchException;
+import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.StreamSupport;
+import no.unit.nva.commons.json.JsonUtils;
+import no.unit.nva.search.common.PageWriter;
+import no.unit.nva.search.common.ResourceHit;
+import no.unit.nva.search.common.ResourceHit.Subtree;
+import org.junit.jupiter.api.Test;
+
+class ResourceCsvStreamWriterTest {
+
+  private static final ObjectMapper MAPPER = JsonUtils.dtoObjectMapper;
+
+  @Test
+  void shouldWriteSameBytesAsOpenCsvBeanWriter() {
+    var pages = List.of(edgeCases(), List.<JsonNode>of(), datasourceHits());
+
+    assertThat(write(pages, ResourceCsvStreamWriter::new), is(equalTo(write(pages, OpenCsv::new))));
+  }
+
+  @Test
+  void shouldWriteOnlyBomWhenThereAreNoHits() {
+    var pages = List.of(List.<JsonNode>of());
+
+    assertThat(write(pages, ResourceCsvStreamWriter::new), is(equalTo("\ufeff")));
+    assertThat(write(pages, OpenCsv::new), is(equalTo("\ufeff")));
+  }
+
+  private static String write(List<List<JsonNode>> pages, Function<Writer, PageWriter> factory) {
+    var stringWriter = new StringWriter();
+    var writer = factory.apply(stringWriter);
+    pages.forEach(writer::write);
+    writer.finish();
+    return stringWriter.toString();
+  }
+
+  private static List<JsonNode> datasourceHits() {
+    var json = stringFromResources(Path.of("resource_datasource.json"));
+    var root = attempt(() -> MAPPER.readTree(json)).orElseThrow();
+    return StreamSupport.stream(root.spliterator(), false).toList();
+  }
+
+  private static List<JsonNode> edgeCases() {
+    var quoted = hit("https://example.org/1", "He said \"hi\"; then\r\nleft", "AcademicArticle");
+    date(quoted).put("year", "2020").put("month", "05").put("day", "17");
+    contributor(quoted, "O\"Brien, Pat");
+    contributor(quoted, null);
+    contributor(quoted, "Ærlig – Øst");
+
+    var numericYear = hit("https://example.org/2", "Numeric year", "BookMonograph");
+    date(numericYear).put("year", 2021).putNull("month").put("day", "01");
+    entity(numericYear).putArray("contributors");
+
+    var blankYear = hit("https://example.org/3", " ", "DegreePhd");
+    date(blankYear).put("year", " ").put("month", "05");
+
+    var yearAndDay = hit("https://example.org/4", "Year and day", "ReportResearch");
+    date(yearAndDay).put("year", "1999").put("day", "31");
+
+    var noEntityDescription = MAPPER.createObjectNode().put("id", "https://example.org/5");
+
+    return List.of(quoted, numericYear, blankYear, yearAndDay, noEntityDescription);
+  }
+
+  private static ObjectNode hit(String id, String title, String type) {
+    var hit = MAPPER.createObjectNode().put("id", id);
+    var entity = hit.putObject("entityDescription").put("mainTitle", title);
+    entity.putObject("reference").putObject("publicationInstance").put("type", type);
+    return hit;
+  }
+
+  private static ObjectNode entity(ObjectNode hit) {
+    return (ObjectNode) hit.path("entityDescription");
+  }
+
+  private static ObjectNode date(ObjectNode hit) {
+    return entity(hit).putObject("publicationDate");
+  }
+
+  private static void contributor(ObjectNode hit, String name) {
+    var identity = entity(hit).withArray("contributors").addObject().putObject("identity");
+    if (name != null) {
+      identity.put("name", name);
+    }
+  }
+
+  /** The writer the row encoder replaces: {@link ExportCsv} beans written by opencsv. */
+  private static final class OpenCsv implements PageWriter {
+
+    private final StatefulBeanToCsv<ExportCsv> csvWriter;
+
+    @SuppressWarnings("unchecked")
+    private OpenCsv(Writer writer) {
+      attempt(() -> writer.append('\ufeff')).orElseThrow();
+      this.csvWriter =
+          new StatefulBeanToCsvBuilder<ExportCsv>(writer)
+              .withApplyQuotesToAll(true)
+              .withQuotechar('"')
+              .withSeparator(';')
+              .withLineEnd("\r\n")
+              .withMappingStrategy(headerColumnNameAndOrderMappingStrategyWithType(ExportCsv.class))
+              .build();
+    }
+
+    @Override
+    public void write(List<JsonNode> hits) {
+      try {
+        csvWriter.write(hits.stream().map(ResourceHit::of).map(OpenCsv::bean).toList());
+      } catch (CsvDataTypeMismatchException | CsvRequiredFieldEmptyException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    private static ExportCsv bean(ResourceHit hit) {
+      var contributors =
+          StreamSupport.stream(hit.subtree(Subtree.CONTRIBUTORS).spliterator(), false)
+              .map(contributor -> text(contributor.at(IDENTITY_NAME_POINTER), null))
+              .toList();
+      return new ExportCsv(
+          text(hit.at(ID_POINTER), ""),
+          text(hit.at(MAIN_TITLE_POINTER), ""),
+          text(hit.at(YEAR_POINTER), ""),
+          text(hit.at(MONTH_POINTER), ""),
+          text(hit.at(DAY_POINTER), ""),
+          text(hit.at(INSTANCE_TYPE_POINTER), ""),
+          contributors);
+    }
+
+    private static String text(JsonNode value, String defaultValue) {
+      return value.isMissingNode() ? defaultValue : value.asText();
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package no.unit.nva.search.common.enums;
+
+import static no.unit.nva.common.EntrySetTools.queryToMapEntries;
+import static no.unit.nva.search.resource.ResourceParameter.AGGREGATION;
+import static no.unit.nva.search.resource.ResourceParameter.FROM;
+import static no.unit.nva.search.resource.ResourceParameter.SIZE;
+import static no.unit.nva.search.resource.ResourceParameter.SORT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import no.unit.nva.search.importcandidate.ImportCandidateParameter;
+import no.unit.nva.search.importcandidate.ImportCandidateSort;
+import no.unit.nva.search.resource.ResourceParameter;
+import no.unit.nva.search.resource.ResourceSearchQuery;
+import no.unit.nva.search.resource.ResourceSort;
+import no.unit.nva.search.ticket.TicketParameter;
+import no.unit.nva.search.ticket.TicketSort;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import org.apache.commons.text.CaseUtils;
+import org.junit.jupiter.api.Test;
+
+class KeyResolverTest {
+
+  private static final String[] OTHER_NAMES = {
+    "", "unknown", "type", "instanceType", "category_should", "typeNot", "user", "owner",
+    "Sort_Order", "order", "results", "offset", "q", "searchAfter", "FIELDS", "cOnTrIbUtOr"
+  };
+  private static final String[] REQUESTS = {
+    "https://example.com/?query=hello+world&from=20&size=10&aggregation=all",
+    "https://example.com/?category=AcademicArticle&sort=created_date:desc,title&page=2",
+    "https://example.com/?contributor=https://api.dev.nva.aws.unit.no/cristin/person/1136254"
+        + "&publicationYearBefore=2024&publicationYearSince=2020&fields=title,abstract",
+    "https://example.com/?unit=https://api.dev.nva.aws.unit.no/cristin/organization/20754.0.0.0"
+        + "&status=PUBLISHED&orcid=0000-0002-1825-0097&sort=modifiedDate&order=asc",
+  };
+
+  @Test
+  void shouldResolveParameterNamesAsPatternScan() {
+    assertResolvesAsPatternScan(
+        ResourceParameter.values(),
+        ResourceParameter::keyFromString,
+        KeyResolverTest::scanParameters);
+    assertResolvesAsPatternScan(
+        TicketParameter.values(), TicketParameter::keyFromString, KeyResolverTest::scanParameters);
+    assertResolvesAsPatternScan(
+        ImportCandidateParameter.values(),
+        ImportCandidateParameter::keyFromString,
+        KeyResolverTest::scanParameters);
+  }
+
+  @Test
+  void shouldResolveSortNamesAsPatternScan() {
+    assertResolvesAsPatternScan(
+        ResourceSort.values(), ResourceSort::fromSortKey, KeyResolverTest::scanSortKeys);
+    assertResolvesAsPatternScan(
+        TicketSort.values(), TicketSort::fromSortKey, KeyResolverTest::scanSortKeys);
+    assertResolvesAsPatternScan(
+        ImportCandidateSort.values(),
+        ImportCandidateSort::fromSortKey,
+        KeyResolverTest::scanSortKeys);
+  }
+
+  @Test
+  void shouldValidateRealisticRequestsAndResolveTheirNamesAsPatternScan()
+      throws BadRequestException {
+    validateAll();
+
+    Arrays.stream(REQUESTS)
+        .map(URI::create)
+        .flatMap(uri -> queryToMapEntries(uri).stream())
+        .map(Map.Entry::getKey)
+        .forEach(
+            name ->
+                assertThat(
+                    name,
+                    ResourceParameter.keyFromString(name),
+                    is(equalTo(scanParameters(ResourceParameter.values(), name)))));
+  }
+
+  private static void validateAll() throws BadRequestException {
+    for (var request : REQUESTS) {
+      ResourceSearchQuery.builder()
+          .fromTestQueryParameters(queryToMapEntries(URI.create(request)))
+          .withRequiredParameters(FROM, SIZE, AGGREGATION, SORT)
+          .validate();
+    }
+  }
+
+  private static <K extends Enum<K>> void assertResolvesAsPatternScan(
+      K[] keys, Function<String, K> resolver, ScanFunction<K> scan) {
+    var spellings = Arrays.stream(keys).flatMap(KeyResolverTest::spellings);
+    var names = Stream.concat(spellings, Arrays.stream(OTHER_NAMES)).collect(Collectors.toSet());
+    for (var name : names) {
+      assertThat(name, resolver.apply(name), is(equalTo(scan.apply(keys, name))));
+    }
+  }
+
+  private static Stream<String> spellings(Enum<?> key) {
+    var name = key.name();
+    return Stream.of(
+        name,
+        name.toLowerCase(Locale.ROOT),
+        name.replace("_", ""),
+        name.toLowerCase(Locale.ROOT).replace("_", ""),
+        CaseUtils.toCamelCase(name, false, '_'));
+  }
+
+  /** How {@code keyFromString} resolved a name before {@link KeyResolver}. */
+  private static <K extends Enum<K>> K scanParameters(K[] keys, String name) {
+    var result =
+        Arrays.stream(keys)
+            .filter(key -> key.ordinal() > 0)
+            .filter(key -> name.matches(((ParameterKey<?>) key).fieldPattern()))
+            .collect(Collectors.toSet());
+    return result.size() == 1 ? result.iterator().next() : keys[0];
+  }
+
+  /** How {@code fromSortKey} resolved a name before {@link KeyResolver}. */
+  private static <K extends Enum<K>> K scanSortKeys(K[] keys, String name) {
+    var result =
+        Arrays.stream(keys)
+            .filter(key -> name.matches(((SortKey) key).keyPattern()))
+            .collect(Collectors.toSet());
+    return result.size() == 1 ? result.iterator().next() : keys[0];
+  }
+
+  @FunctionalInterface
+  private interface ScanFunction<K> {
+
+    K apply(K[] keys, String name);
+  }
+}
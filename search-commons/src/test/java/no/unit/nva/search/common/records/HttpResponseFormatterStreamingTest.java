@@ -0,0 +1,52 @@
+package no.unit.nva.search.common.records;
+
+import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
+import static no.unit.nva.commons.json.JsonUtils.singleLineObjectMapper;
+import static nva.commons.apigateway.MediaType.JSON_UTF_8;
+import static nva.commons.core.ioutils.IoUtils.stringFromResources;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class HttpResponseFormatterStreamingTest {
+
+  private static final String SAMPLE_SEARCH_RESPONSE = "resource_mocked_sws_search_response.json";
+  private static final URI SOURCE = URI.create("https://api.example.com/search/resources");
+
+  @Test
+  void shouldWriteSameJsonAsPagedResponse() throws IOException {
+    var expected = dtoObjectMapper.readTree(formatter().toPagedResponse().toJsonString());
+
+    var outputStream = new ByteArrayOutputStream();
+    formatter().writePagedResponse(outputStream);
+
+    assertThat(dtoObjectMapper.readTree(outputStream.toByteArray()), is(equalTo(expected)));
+  }
+
+  @Test
+  void shouldPassEveryHitThroughMutatorsWhileWriting() throws IOException {
+    var outputStream = new ByteArrayOutputStream();
+    formatter()
+        .withMutators(hit -> ((ObjectNode) hit.deepCopy()).put("mutated", true))
+        .writePagedResponse(outputStream);
+
+    var hits = dtoObjectMapper.readTree(outputStream.toByteArray()).get("hits");
+    assertThat(hits.isEmpty(), is(false));
+    hits.forEach(hit -> assertThat(hit.get("mutated").asBoolean(), is(true)));
+  }
+
+  private static HttpResponseFormatter<?> formatter() throws IOException {
+    var response =
+        singleLineObjectMapper.readValue(
+            stringFromResources(Path.of(SAMPLE_SEARCH_RESPONSE)), SwsResponse.class);
+    return new HttpResponseFormatter<>(response, JSON_UTF_8, SOURCE, 0, 10, Map.of(), null);
+  }
+}
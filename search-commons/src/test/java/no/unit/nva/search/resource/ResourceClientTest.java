@@ -97,6 +97,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -424,7 +425,8 @@ class ResourceClientTest {
     var mochedHttpClient = mock(HttpClient.class);
     var userSettingsClient = new UserSettingsClient(mochedHttpClient);
     var mockedResponse = mockedHttpResponse(USER_SETTINGS_EMPTY_JSON, 200);
-    when(mochedHttpClient.send(any(), any())).thenReturn(mockedResponse);
+    when(mochedHttpClient.sendAsync(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(mockedResponse));
     var searchClient =
         new ResourceClient(
             HttpClient.newHttpClient(), setupMockedCachedJwtProvider(), userSettingsClient);
@@ -452,7 +454,8 @@ class ResourceClientTest {
     var mochedHttpClient = mock(HttpClient.class);
     var userSettingsClient = new UserSettingsClient(mochedHttpClient);
     var mockedResponse = mockedHttpResponse(USER_SETTINGS_EMPTY_JSON, 404);
-    when(mochedHttpClient.send(any(), any())).thenReturn(mockedResponse);
+    when(mochedHttpClient.sendAsync(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(mockedResponse));
     var searchClient =
         new ResourceClient(
             HttpClient.newHttpClient(), setupMockedCachedJwtProvider(), userSettingsClient);
@@ -479,7 +482,8 @@ class ResourceClientTest {
       throws IOException, InterruptedException, BadRequestException {
     var mochedHttpClient = mock(HttpClient.class);
     var userSettingsClient = new UserSettingsClient(mochedHttpClient);
-    when(mochedHttpClient.send(any(), any())).thenThrow(new IOException(NOT_FOUND));
+    when(mochedHttpClient.sendAsync(any(), any()))
+        .thenReturn(CompletableFuture.failedFuture(new IOException(NOT_FOUND)));
     var searchClient =
         new ResourceClient(
             HttpClient.newHttpClient(), setupMockedCachedJwtProvider(), userSettingsClient);
@@ -506,8 +510,9 @@ class ResourceClientTest {
       throws IOException, InterruptedException, BadRequestException {
     var mochedHttpClient = mock(HttpClient.class);
     var userSettingsClient = new UserSettingsClient(mochedHttpClient);
-    when(mochedHttpClient.send(any(), any()))
-        .thenReturn(mockedHttpResponse(USER_SETTINGS_EMPTY_JSON, 200));
+    var mockedResponse = mockedHttpResponse(USER_SETTINGS_EMPTY_JSON, 200);
+    when(mochedHttpClient.sendAsync(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(mockedResponse));
     var searchClient =
         new ResourceClient(
             HttpClient.newHttpClient(), setupMockedCachedJwtProvider(), userSettingsClient);
@@ -40,6 +40,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -47,6 +48,7 @@ import java.util.stream.Stream;
 import no.unit.nva.constants.Words;
 import no.unit.nva.search.common.csv.ResourceCsvTransformer;
 import no.unit.nva.search.common.records.PagedSearch;
+import no.unit.nva.search.common.records.QueryContentWrapper;
 import nva.commons.apigateway.MediaTypes;
 import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.core.paths.UriWrapper;
@@ -279,6 +281,23 @@ class ResourceSearchQueryTest {
     assertTrue(body.contains("entityDescription.contributors.identity.name"));
   }
 
+  @Test
+  void shouldPageThroughPointInTimeAfterShardDocWithTypedSortValues() throws BadRequestException {
+    var query =
+        ResourceSearchQuery.builder()
+            .fromTestQueryParameters(queryToMapEntries(URI.create("https://example.com/?size=3")))
+            .withRequiredParameters(FROM, SIZE, SORT)
+            .build();
+    query.setPointInTime("pitId", "1m");
+    query.setSearchAfter(List.of("Smith,John", 1_700_000_000_000L, 42));
+
+    var body =
+        query.assemble(Words.RESOURCES).findFirst().orElseThrow().body().replaceAll("\\s", "");
+
+    assertTrue(body.contains("{\"_shard_doc\":{\"order\":\"asc\"}}]"));
+    assertTrue(body.contains("\"search_after\":[\"Smith,John\",1700000000000,42]"));
+  }
+
   @Test
   void shouldSlimSourceToCsvFieldsWhenMediaTypeIsCsv() throws BadRequestException {
     var query =
@@ -293,6 +312,29 @@ class ResourceSearchQueryTest {
     ResourceCsvTransformer.getJsonFields().forEach(field -> assertTrue(body.contains(field)));
   }
 
+  @Test
+  void shouldAssembleSameAggregationRequestForEveryPage() throws BadRequestException {
+    var firstPage =
+        aggregationRequest(
+            "https://example.com/?query=hello&aggregation=all&from=0&sort=modifiedDate:desc");
+    var thirdPage =
+        aggregationRequest(
+            "https://example.com/?query=hello&aggregation=all&from=20&sort=modifiedDate:asc");
+
+    assertTrue(firstPage.aggregationsOnly());
+    assertEquals(firstPage, thirdPage);
+  }
+
+  private static QueryContentWrapper aggregationRequest(String uri) throws BadRequestException {
+    return ResourceSearchQuery.builder()
+        .fromTestQueryParameters(queryToMapEntries(URI.create(uri)))
+        .withRequiredParameters(FROM, SIZE, AGGREGATION, SORT)
+        .build()
+        .assemble(Words.RESOURCES)
+        .findFirst()
+        .orElseThrow();
+  }
+
   @Test
   void shouldNotSlimSourceForDefaultMediaType() throws BadRequestException {
     var query =
@@ -3,20 +3,28 @@ package no.unit.nva.search.resource;
 import static java.net.HttpURLConnection.HTTP_BAD_GATEWAY;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import no.unit.nva.search.common.cache.ResponseCache;
 import nva.commons.logutils.LogRecorder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +32,17 @@ import org.mockito.ArgumentCaptor;
 
 class UserSettingsClientTest {
 
+  private static final String PROMOTED_PUBLICATIONS =
+      """
+      {
+        "promotedPublications": [
+          "https://api.dev.nva.aws.unit.no/publication/123",
+          "https://api.dev.nva.aws.unit.no/publication/456"
+        ]
+      }
+      """;
+  private static final int MAXIMUM_SIZE = 10;
+
   private static UserSettingsClient userSettingsClient;
   private static HttpClient httpClient;
 
@@ -34,33 +53,23 @@ class UserSettingsClientTest {
   }
 
   @Test
-  void shouldReturnPromotedPublicationsOnSuccess() throws IOException, InterruptedException {
+  void shouldReturnPromotedPublicationsOnSuccess() {
     var contributorId = randomString();
-    var value =
-        createResponse(
-            """
-            {
-              "promotedPublications": [
-                "https://api.dev.nva.aws.unit.no/publication/123",
-                "https://api.dev.nva.aws.unit.no/publication/456"
-              ]
-            }
-            """,
-            HTTP_OK);
-    when(httpClient.send(any(HttpRequest.class), eq(BodyHandlers.ofString()))).thenReturn(value);
+    var value = createResponse(PROMOTED_PUBLICATIONS, HTTP_OK);
+    when(httpClient.sendAsync(any(HttpRequest.class), eq(BodyHandlers.ofString())))
+        .thenReturn(CompletableFuture.completedFuture(value));
     var promotedPublications = userSettingsClient.fetchPromotedPublications(contributorId);
 
     assertFalse(promotedPublications.isEmpty());
   }
 
   @Test
-  void shouldReturnEmptyListOnFailureAndLogResponseThatFailed()
-      throws IOException, InterruptedException {
+  void shouldReturnEmptyListOnFailureAndLogResponseThatFailed() {
     var contributorId = randomString();
     var response = createResponse("{}", HTTP_BAD_GATEWAY);
     lenient()
-        .when(httpClient.send(any(HttpRequest.class), eq(BodyHandlers.ofString())))
-        .thenReturn(response);
+        .when(httpClient.sendAsync(any(HttpRequest.class), eq(BodyHandlers.ofString())))
+        .thenReturn(CompletableFuture.completedFuture(response));
 
     var logRecorder = LogRecorder.forRoot(UserSettingsClientTest.class);
     var promotedPublications = userSettingsClient.fetchPromotedPublications(contributorId);
@@ -72,19 +81,53 @@ class UserSettingsClientTest {
   }
 
   @Test
-  void shouldNotSendAuthorizationHeaderWhenRequestingPromotedPublications()
-      throws IOException, InterruptedException {
+  void shouldNotSendAuthorizationHeaderWhenRequestingPromotedPublications() {
     var contributorId = randomString();
     var response = createResponse("{}", HTTP_BAD_GATEWAY);
-    when(httpClient.send(any(HttpRequest.class), eq(BodyHandlers.ofString()))).thenReturn(response);
+    when(httpClient.sendAsync(any(HttpRequest.class), eq(BodyHandlers.ofString())))
+        .thenReturn(CompletableFuture.completedFuture(response));
 
     userSettingsClient.fetchPromotedPublications(contributorId);
 
     var requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
-    verify(httpClient).send(requestCaptor.capture(), eq(BodyHandlers.ofString()));
+    verify(httpClient).sendAsync(requestCaptor.capture(), eq(BodyHandlers.ofString()));
     assertFalse(requestCaptor.getValue().headers().map().containsKey("Authorization"));
   }
 
+  @Test
+  void shouldFetchPromotedPublicationsOnceWhileCached() {
+    var response = createResponse(PROMOTED_PUBLICATIONS, HTTP_OK);
+    when(httpClient.sendAsync(any(HttpRequest.class), eq(BodyHandlers.ofString())))
+        .thenReturn(CompletableFuture.completedFuture(response));
+    var cache =
+        new ResponseCache<String, List<String>>(
+            UserSettingsClient.USER_SETTINGS,
+            MAXIMUM_SIZE,
+            Duration.ofMinutes(1),
+            () -> "0",
+            Clock.systemUTC());
+    var cachingClient = new UserSettingsClient(httpClient, cache, Duration.ofSeconds(1));
+    var contributorId = randomString();
+
+    var first = cachingClient.fetchPromotedPublications(contributorId);
+    var second = cachingClient.fetchPromotedPublications(contributorId);
+
+    assertThat(second, is(equalTo(first)));
+    verify(httpClient, times(1)).sendAsync(any(HttpRequest.class), eq(BodyHandlers.ofString()));
+  }
+
+  @Test
+  void shouldGoOnWithoutPromotedPublicationsAfterDeadline() {
+    when(httpClient.sendAsync(any(HttpRequest.class), eq(BodyHandlers.ofString())))
+        .thenReturn(new CompletableFuture<>());
+    var impatientClient =
+        new UserSettingsClient(httpClient, ResponseCache.disabled(), Duration.ofMillis(10));
+
+    var promotedPublications = impatientClient.fetchPromotedPublications(randomString());
+
+    assertTrue(promotedPublications.isEmpty());
+  }
+
   private HttpResponse<String> createResponse(String body, int statusCode) {
     @SuppressWarnings("unchecked")
     var response = (HttpResponse<String>) mock(HttpResponse.class);
@@ -0,0 +1,166 @@
+package no.unit.nva.search.scroll;
+
+import static no.unit.nva.common.Containers.container;
+import static no.unit.nva.constants.Words.COMMA;
+import static no.unit.nva.constants.Words.NONE;
+import static no.unit.nva.constants.Words.RESOURCES;
+import static no.unit.nva.constants.Words.ZERO;
+import static no.unit.nva.indexing.testutils.MockedJwtProvider.setupMockedCachedJwtProvider;
+import static no.unit.nva.search.common.enums.PublicationStatus.PUBLISHED;
+import static no.unit.nva.search.common.enums.PublicationStatus.PUBLISHED_METADATA;
+import static no.unit.nva.search.resource.ResourceParameter.AGGREGATION;
+import static no.unit.nva.search.resource.ResourceParameter.FROM;
+import static no.unit.nva.search.resource.ResourceParameter.NODES_INCLUDED;
+import static no.unit.nva.search.resource.ResourceParameter.SIZE;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import no.unit.nva.search.common.csv.ResourceCsvTransformer;
+import no.unit.nva.search.common.records.SwsResponse;
+import no.unit.nva.search.common.records.SwsResponse.HitsInfo;
+import no.unit.nva.search.common.records.SwsResponse.HitsInfo.Hit;
+import no.unit.nva.search.common.records.SwsResponse.HitsInfo.TotalInfo;
+import no.unit.nva.search.resource.ResourceClient;
+import no.unit.nva.search.resource.ResourceSearchQuery;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+class PointInTimeIteratorTest {
+
+  private static final String ONE_MINUTE = "1m";
+  private static final String PAGE_SIZE = "2";
+  private static final int SLICES = 2;
+
+  @Test
+  void shouldReturnAllPagesInOrderAndClosePointInTimeWhenExhausted() {
+    var scrollClient = mock(ScrollClient.class);
+    var pointInTimeId = randomString();
+    when(scrollClient.openPointInTime(any(), any(), any())).thenReturn(pointInTimeId);
+    when(scrollClient.doSearchAfterAsync(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(page("a")))
+        .thenReturn(CompletableFuture.completedFuture(page("b")))
+        .thenReturn(CompletableFuture.completedFuture(page()));
+
+    var titles = new ArrayList<String>();
+    try (var pages = iterator(scrollClient, mock(ResourceSearchQuery.class))) {
+      pages.forEachRemaining(hits -> hits.forEach(hit -> titles.add(hit.get("title").asText())));
+    }
+
+    assertThat(titles, is(equalTo(List.of("a", "b"))));
+    verify(scrollClient, times(3)).doSearchAfterAsync(any(), eq(RESOURCES));
+    verify(scrollClient, times(1)).closePointInTime(any(), eq(pointInTimeId));
+  }
+
+  @Test
+  void shouldClosePointInTimeAndRethrowWhenFetchFails() {
+    var scrollClient = mock(ScrollClient.class);
+    var pointInTimeId = randomString();
+    when(scrollClient.openPointInTime(any(), any(), any())).thenReturn(pointInTimeId);
+    when(scrollClient.doSearchAfterAsync(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(page("a")))
+        .thenReturn(CompletableFuture.failedFuture(new RuntimeException(randomString())));
+
+    var pages = iterator(scrollClient, mock(ResourceSearchQuery.class));
+    pages.next();
+
+    assertThrows(CompletionException.class, pages::hasNext);
+    verify(scrollClient, times(1)).closePointInTime(any(), eq(pointInTimeId));
+  }
+
+  @Test
+  void shouldExportSameHitsAsScrollAndCloseAllPointInTimeContexts() throws BadRequestException {
+    var cachedJwtProvider = setupMockedCachedJwtProvider();
+    var resourceClient = new ResourceClient(HttpClient.newHttpClient(), cachedJwtProvider);
+    var scrollClient = new ScrollClient(HttpClient.newHttpClient(), cachedJwtProvider);
+    var openSearchUri = URI.create(container.getHttpHostAddress());
+
+    var initialResponse =
+        query(openSearchUri)
+            .withScrollTime(ONE_MINUTE)
+            .doSearch(resourceClient, RESOURCES)
+            .swsResponse();
+    var scrolledHits = new AtomicInteger();
+    SerialScroll.forEachPage(
+        scrollClient,
+        RESOURCES,
+        openSearchUri,
+        initialResponse,
+        ONE_MINUTE,
+        hits -> scrolledHits.addAndGet(hits.size()));
+
+    var distinctHits = new HashSet<String>();
+    var slicedHits = new AtomicInteger();
+    try (var pages =
+        PointInTimeIterator.builder()
+            .withScrollClient(scrollClient)
+            .withIndexName(RESOURCES)
+            .withKeepAlive(ONE_MINUTE)
+            .withQueries(
+                List.of(
+                    query(openSearchUri).withSlice(0, SLICES),
+                    query(openSearchUri).withSlice(1, SLICES)))
+            .build()) {
+      pages.forEachRemaining(
+          hits -> {
+            slicedHits.addAndGet(hits.size());
+            hits.forEach(hit -> distinctHits.add(hit.toString()));
+          });
+    }
+
+    assertThat(slicedHits.get(), is(greaterThan(0)));
+    assertThat(slicedHits.get(), is(equalTo(scrolledHits.get())));
+    assertThat(distinctHits.size(), is(equalTo(slicedHits.get())));
+    assertThat(ScrollClient.openPointInTimeContexts(), is(equalTo(0)));
+  }
+
+  private static ResourceSearchQuery query(URI openSearchUri) throws BadRequestException {
+    return ResourceSearchQuery.builder()
+        .withDockerHostUri(openSearchUri)
+        .withParameter(FROM, ZERO)
+        .withParameter(SIZE, PAGE_SIZE)
+        .withParameter(AGGREGATION, NONE)
+        .withParameter(NODES_INCLUDED, String.join(COMMA, ResourceCsvTransformer.getJsonFields()))
+        .build()
+        .withFilter()
+        .requiredStatus(PUBLISHED, PUBLISHED_METADATA)
+        .apply();
+  }
+
+  private static PointInTimeIterator iterator(ScrollClient scrollClient, ResourceSearchQuery query) {
+    return PointInTimeIterator.builder()
+        .withScrollClient(scrollClient)
+        .withIndexName(RESOURCES)
+        .withKeepAlive(ONE_MINUTE)
+        .withQueries(List.of(query))
+        .build();
+  }
+
+  private static SwsResponse page(String... titles) {
+    var hits =
+        List.of(titles).stream()
+            .map(title -> JsonNodeFactory.instance.objectNode().put("title", title))
+            .map(source -> new Hit(null, null, null, 0, source, null, List.of(randomString())))
+            .toList();
+    return new SwsResponse(
+        0, false, null, new HitsInfo(new TotalInfo(hits.size(), null), 0, hits), null, null);
+  }
+}
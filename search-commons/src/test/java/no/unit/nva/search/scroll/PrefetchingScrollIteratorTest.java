@@ -0,0 +1,161 @@
+package no.unit.nva.search.scroll;
+
+import static no.unit.nva.common.Containers.container;
+import static no.unit.nva.constants.Words.COMMA;
+import static no.unit.nva.constants.Words.NONE;
+import static no.unit.nva.constants.Words.RESOURCES;
+import static no.unit.nva.constants.Words.ZERO;
+import static no.unit.nva.indexing.testutils.MockedJwtProvider.setupMockedCachedJwtProvider;
+import static no.unit.nva.search.common.enums.PublicationStatus.PUBLISHED;
+import static no.unit.nva.search.common.enums.PublicationStatus.PUBLISHED_METADATA;
+import static no.unit.nva.search.resource.ResourceParameter.AGGREGATION;
+import static no.unit.nva.search.resource.ResourceParameter.FROM;
+import static no.unit.nva.search.resource.ResourceParameter.NODES_INCLUDED;
+import static no.unit.nva.search.resource.ResourceParameter.SIZE;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import no.unit.nva.search.common.csv.ResourceCsvTransformer;
+import no.unit.nva.search.common.records.SwsResponse;
+import no.unit.nva.search.common.records.SwsResponse.HitsInfo;
+import no.unit.nva.search.common.records.SwsResponse.HitsInfo.Hit;
+import no.unit.nva.search.common.records.SwsResponse.HitsInfo.TotalInfo;
+import no.unit.nva.search.resource.ResourceClient;
+import no.unit.nva.search.resource.ResourceSearchQuery;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+class PrefetchingScrollIteratorTest {
+
+  private static final String ONE_MINUTE = "1m";
+  private static final String PAGE_SIZE = "2";
+
+  @Test
+  void shouldReturnAllPagesInOrderAndClearScrollWhenExhausted() {
+    var scrollClient = mock(ScrollClient.class);
+    var scrollId = randomString();
+    when(scrollClient.doSearchAsync(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(page(scrollId, "b")))
+        .thenReturn(CompletableFuture.completedFuture(page(scrollId, "c")))
+        .thenReturn(CompletableFuture.completedFuture(page(scrollId)));
+
+    var titles = new ArrayList<String>();
+    try (var pages = iterator(scrollClient, page(scrollId, "a"))) {
+      pages.forEachRemaining(hits -> hits.forEach(hit -> titles.add(hit.get("title").asText())));
+    }
+
+    assertThat(titles, is(equalTo(List.of("a", "b", "c"))));
+    verify(scrollClient, times(3)).doSearchAsync(any(), eq(RESOURCES));
+    verify(scrollClient, times(1)).clearScroll(any(), eq(RESOURCES));
+  }
+
+  @Test
+  void shouldClearScrollAndRethrowWhenFetchFails() {
+    var scrollClient = mock(ScrollClient.class);
+    when(scrollClient.doSearchAsync(any(), any()))
+        .thenReturn(CompletableFuture.failedFuture(new RuntimeException(randomString())));
+
+    var pages = iterator(scrollClient, page(randomString(), "a"));
+    pages.next();
+
+    assertThrows(CompletionException.class, pages::hasNext);
+    verify(scrollClient, times(1)).clearScroll(any(), eq(RESOURCES));
+  }
+
+  /**
+   * Runs a scroll export with and without prefetch against the OpenSearch test container,
+   * converting each page to CSV, and checks that both see the same hits.
+   */
+  @Test
+  void shouldExportSameHitsWithAndWithoutPrefetchAgainstOpenSearch() throws BadRequestException {
+    var cachedJwtProvider = setupMockedCachedJwtProvider();
+    var resourceClient = new ResourceClient(HttpClient.newHttpClient(), cachedJwtProvider);
+    var scrollClient = new ScrollClient(HttpClient.newHttpClient(), cachedJwtProvider);
+    var openSearchUri = URI.create(container.getHttpHostAddress());
+
+    var serialHits = new AtomicInteger();
+    SerialScroll.forEachPage(
+        scrollClient,
+        RESOURCES,
+        openSearchUri,
+        initialResponse(resourceClient, openSearchUri),
+        ONE_MINUTE,
+        hits -> serialHits.addAndGet(transform(hits)));
+
+    var prefetchedHits = new AtomicInteger();
+    try (var pages =
+        PrefetchingScrollIterator.builder()
+            .withScrollClient(scrollClient)
+            .withIndexName(RESOURCES)
+            .withDockerHostUri(openSearchUri)
+            .withInitialResponse(initialResponse(resourceClient, openSearchUri))
+            .withScrollTime(ONE_MINUTE)
+            .build()) {
+      pages.forEachRemaining(hits -> prefetchedHits.addAndGet(transform(hits)));
+    }
+
+    assertThat(prefetchedHits.get(), is(greaterThan(0)));
+    assertThat(prefetchedHits.get(), is(equalTo(serialHits.get())));
+  }
+
+  private static SwsResponse initialResponse(ResourceClient resourceClient, URI openSearchUri)
+      throws BadRequestException {
+    return ResourceSearchQuery.builder()
+        .withDockerHostUri(openSearchUri)
+        .withParameter(FROM, ZERO)
+        .withParameter(SIZE, PAGE_SIZE)
+        .withParameter(AGGREGATION, NONE)
+        .withParameter(NODES_INCLUDED, String.join(COMMA, ResourceCsvTransformer.getJsonFields()))
+        .build()
+        .withFilter()
+        .requiredStatus(PUBLISHED, PUBLISHED_METADATA)
+        .apply()
+        .withScrollTime(ONE_MINUTE)
+        .doSearch(resourceClient, RESOURCES)
+        .swsResponse();
+  }
+
+  private static int transform(List<JsonNode> hits) {
+    ResourceCsvTransformer.transform(hits);
+    return hits.size();
+  }
+
+  private static PrefetchingScrollIterator iterator(
+      ScrollClient scrollClient, SwsResponse initialResponse) {
+    return PrefetchingScrollIterator.builder()
+        .withScrollClient(scrollClient)
+        .withIndexName(RESOURCES)
+        .withInitialResponse(initialResponse)
+        .withScrollTime(ONE_MINUTE)
+        .build();
+  }
+
+  private static SwsResponse page(String scrollId, String... titles) {
+    var hits =
+        List.of(titles).stream()
+            .map(title -> JsonNodeFactory.instance.objectNode().put("title", title))
+            .map(source -> new Hit(null, null, null, 0, source, null, null))
+            .toList();
+    return new SwsResponse(
+        0, false, null, new HitsInfo(new TotalInfo(hits.size(), null), 0, hits), null, scrollId);
+  }
+}
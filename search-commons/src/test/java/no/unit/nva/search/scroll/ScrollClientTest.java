@@ -1,13 +1,16 @@
 package no.unit.nva.search.scroll;
 
+import static no.unit.nva.common.MockedHttpResponse.mockedFutureFailed;
 import static no.unit.nva.common.MockedHttpResponse.mockedFutureHttpResponse;
 import static no.unit.nva.indexing.testutils.MockedJwtProvider.setupMockedCachedJwtProvider;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.net.URI;
 import java.net.http.HttpClient;
 import java.nio.file.Path;
 import no.unit.nva.constants.Words;
@@ -50,4 +53,42 @@ class ScrollClientTest {
     assertNotNull(ScrollParameter.INVALID.valueEncoding());
     assertNotNull(ScrollParameter.INVALID.valuePattern());
   }
+
+  @Test
+  void shouldParseUtf8ResponseBodyWithoutDecodingItFirst() {
+    var title = "Ærlig talt, på Ås";
+    var body =
+        """
+        {"took":1,"timed_out":false,"hits":{"total":{"value":1},"max_score":1.0,
+        "hits":[{"_id":"1","_score":1.0,"_source":{"title":"%s"}}]}}
+        """
+            .formatted(title);
+    var httpClient = mock(HttpClient.class);
+    when(httpClient.sendAsync(any(), any())).thenReturn(mockedFutureHttpResponse(body));
+    var client = new ScrollClient(httpClient, setupMockedCachedJwtProvider());
+
+    var result = client.doSearch(new RecursiveScrollQuery(randomString(), "1m"), Words.RESOURCES);
+
+    assertEquals(title, result.getSearchHits().getFirst().get("title").asText());
+  }
+
+  @Test
+  void shouldCountPointInTimeAsOpenUntilCloseSucceeds() {
+    var httpClient = mock(HttpClient.class);
+    when(httpClient.sendAsync(any(), any()))
+        .thenReturn(mockedFutureHttpResponse("{\"pit_id\":\"%s\"}".formatted(randomString())))
+        .thenReturn(mockedFutureFailed())
+        .thenReturn(mockedFutureHttpResponse("{}"));
+    var client = new ScrollClient(httpClient, setupMockedCachedJwtProvider());
+    var infrastructureUri = URI.create("https://localhost:9200");
+    var openBefore = ScrollClient.openPointInTimeContexts();
+
+    var pointInTimeId = client.openPointInTime(infrastructureUri, Words.RESOURCES, "1m");
+    client.closePointInTime(infrastructureUri, pointInTimeId);
+    var openAfterFailedClose = ScrollClient.openPointInTimeContexts();
+    client.closePointInTime(infrastructureUri, pointInTimeId);
+
+    assertEquals(openBefore + 1, openAfterFailedClose);
+    assertEquals(openBefore, ScrollClient.openPointInTimeContexts());
+  }
 }
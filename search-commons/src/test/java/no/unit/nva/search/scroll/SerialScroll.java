@@ -0,0 +1,36 @@
+package no.unit.nva.search.scroll;
+
+import static java.util.Objects.nonNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.net.URI;
+import java.util.List;
+import java.util.function.Consumer;
+import no.unit.nva.search.common.records.SwsResponse;
+
+/** Reads a scroll one page after the other, as a reference for the iterators that read ahead. */
+final class SerialScroll {
+
+  private SerialScroll() {}
+
+  static void forEachPage(
+      ScrollClient scrollClient,
+      String indexName,
+      URI openSearchUri,
+      SwsResponse initialResponse,
+      String scrollTime,
+      Consumer<List<JsonNode>> pageConsumer) {
+    var currentResponse = initialResponse;
+    pageConsumer.accept(currentResponse.getSearchHits());
+    while (nonNull(currentResponse._scroll_id()) && !currentResponse.getSearchHits().isEmpty()) {
+      var query =
+          RecursiveScrollQuery.builder()
+              .withDockerHostUri(openSearchUri)
+              .withInitialResponse(currentResponse)
+              .withScrollTime(scrollTime)
+              .build();
+      currentResponse = scrollClient.doSearch(query, indexName);
+      pageConsumer.accept(currentResponse.getSearchHits());
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package no.unit.nva.search.scroll;
+
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.Test;
+
+class SlicedPageIteratorTest {
+
+  private static final int SLICE_COUNT = 3;
+  private static final int PAGES_PER_SLICE = 4;
+
+  private final Set<Integer> openedSlices = ConcurrentHashMap.newKeySet();
+  private final Set<Integer> closedSlices = ConcurrentHashMap.newKeySet();
+  private final Set<Integer> interruptedWhenClosed = ConcurrentHashMap.newKeySet();
+  private final List<Integer> startOrder = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  void shouldReturnPagesSliceBySliceWhenOrdered() {
+    var titles = new ArrayList<String>();
+    try (var pages = sliced(true, this::slice)) {
+      pages.forEachRemaining(page -> titles.add(page.getFirst().get("title").asText()));
+    }
+
+    assertThat(titles, is(equalTo(allTitles())));
+    assertThat(closedSlices, containsInAnyOrder(0, 1, 2));
+  }
+
+  @Test
+  void shouldStartSlicesInSliceOrderWhenFewerPermitsThanSlices() {
+    var titles = new ArrayList<String>();
+    try (var pages = sliced(true, 1, this::slice)) {
+      pages.forEachRemaining(page -> titles.add(page.getFirst().get("title").asText()));
+    }
+
+    assertThat(titles, is(equalTo(allTitles())));
+    assertThat(startOrder, contains(0, 1, 2));
+  }
+
+  @Test
+  void shouldReturnAllPagesWhenUnordered() {
+    var titles = new ArrayList<String>();
+    try (var pages = sliced(false, this::slice)) {
+      pages.forEachRemaining(page -> titles.add(page.getFirst().get("title").asText()));
+    }
+
+    assertThat(titles, containsInAnyOrder(allTitles().toArray()));
+    assertThat(closedSlices, containsInAnyOrder(0, 1, 2));
+  }
+
+  @Test
+  void shouldCloseAllSlicesAndRethrowWhenOneSliceFails() {
+    var failure = new IllegalStateException(randomString());
+    var pages =
+        sliced(
+            true,
+            sliceId -> {
+              if (sliceId == 1) {
+                throw failure;
+              }
+              return slice(sliceId);
+            });
+
+    var thrown = assertThrows(IllegalStateException.class, () -> pages.forEachRemaining(p -> {}));
+
+    assertThat(thrown, is(equalTo(failure)));
+    assertThat(pages.hasNext(), is(false));
+    assertThat(closedSlices, hasItem(0));
+    assertThat(closedSlices, is(equalTo(openedSlices)));
+  }
+
+  @Test
+  void shouldCloseOpenSlicesWithoutInterruptWhenClosedEarly() {
+    var pages = sliced(false, this::slice);
+    pages.next();
+
+    pages.close();
+
+    assertThat(pages.hasNext(), is(false));
+    assertThat(closedSlices, is(equalTo(openedSlices)));
+    assertThat(interruptedWhenClosed, is(empty()));
+  }
+
+  private static SlicedPageIterator sliced(boolean ordered, IntFunction<PageIterator> slices) {
+    return sliced(ordered, 2, slices);
+  }
+
+  private static SlicedPageIterator sliced(
+      boolean ordered, int parallelism, IntFunction<PageIterator> slices) {
+    return SlicedPageIterator.builder()
+        .withSliceCount(SLICE_COUNT)
+        .withSlices(slices)
+        .withParallelism(parallelism)
+        .withBufferedPages(1)
+        .withOrdered(ordered)
+        .build();
+  }
+
+  private static List<String> allTitles() {
+    var titles = new ArrayList<String>();
+    for (var sliceId = 0; sliceId < SLICE_COUNT; sliceId++) {
+      titles.addAll(titlesOf(sliceId));
+    }
+    return titles;
+  }
+
+  private static List<String> titlesOf(int sliceId) {
+    var titles = new ArrayList<String>();
+    for (var page = 0; page < PAGES_PER_SLICE; page++) {
+      titles.add(sliceId + "-" + page);
+    }
+    return titles;
+  }
+
+  private PageIterator slice(int sliceId) {
+    openedSlices.add(sliceId);
+    startOrder.add(sliceId);
+    Iterator<String> titles = titlesOf(sliceId).iterator();
+    return new PageIterator() {
+      @Override
+      public boolean hasNext() {
+        return titles.hasNext();
+      }
+
+      @Override
+      public List<JsonNode> next() {
+        return List.of(JsonNodeFactory.instance.objectNode().put("title", titles.next()));
+      }
+
+      @Override
+      public void close() {
+        if (Thread.currentThread().isInterrupted()) {
+          interruptedWhenClosed.add(sliceId);
+        }
+        closedSlices.add(sliceId);
+      }
+    };
+  }
+}
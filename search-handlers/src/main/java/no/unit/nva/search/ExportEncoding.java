@@ -0,0 +1,100 @@
+package no.unit.nva.search;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static nva.commons.core.attempt.Try.attempt;
+
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A content coding an export can be stored in: the {@code Content-Encoding} of the stored object,
+ * and how the export stream is encoded on its way there.
+ *
+ * <p>The export is compressed while it streams, so only compressed bytes are buffered and uploaded.
+ */
+enum ExportEncoding {
+  IDENTITY(null) {
+    @Override
+    OutputStream encode(OutputStream stream) {
+      return stream;
+    }
+  },
+  GZIP("gzip") {
+    @Override
+    OutputStream encode(OutputStream stream) {
+      return attempt(() -> new GZIPOutputStream(stream, BUFFER_SIZE)).orElseThrow();
+    }
+  };
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String CODING_SEPARATOR = ",";
+  private static final String PARAMETER_SEPARATOR = ";";
+  private static final String QUALITY_PREFIX = "q=";
+  private static final double NOT_ACCEPTABLE = 0.0;
+  private static final double DEFAULT_QUALITY = 1.0;
+
+  private final String contentEncoding;
+
+  ExportEncoding(String contentEncoding) {
+    this.contentEncoding = contentEncoding;
+  }
+
+  /**
+   * Gzip when an {@code Accept-Encoding} header accepts it, directly or through {@code *}, at least
+   * as much as an uncompressed export. Uncompressed otherwise, including when there is no header.
+   */
+  static ExportEncoding fromAcceptEncodingHeader(String acceptEncoding) {
+    if (isNull(acceptEncoding)) {
+      return IDENTITY;
+    }
+    Double gzip = null;
+    Double identity = null;
+    Double any = null;
+    for (var coding : acceptEncoding.split(CODING_SEPARATOR)) {
+      var parameters = coding.split(PARAMETER_SEPARATOR);
+      var name = parameters[0].strip().toLowerCase(Locale.ROOT);
+      var quality = quality(parameters);
+      switch (name) {
+        case "gzip", "x-gzip" -> gzip = quality;
+        case "identity" -> identity = quality;
+        case "*" -> any = quality;
+        default -> {
+          // Not a coding exports are stored in
+        }
+      }
+    }
+    var gzipQuality = firstNonNull(gzip, any, NOT_ACCEPTABLE);
+    var identityQuality = firstNonNull(identity, any, DEFAULT_QUALITY);
+    return gzipQuality > NOT_ACCEPTABLE && gzipQuality >= identityQuality ? GZIP : IDENTITY;
+  }
+
+  private static double quality(String... parameters) {
+    for (var i = 1; i < parameters.length; i++) {
+      var parameter = parameters[i].strip().toLowerCase(Locale.ROOT);
+      if (parameter.startsWith(QUALITY_PREFIX)) {
+        var value = parameter.substring(QUALITY_PREFIX.length());
+        return attempt(() -> Double.parseDouble(value)).orElse(failure -> NOT_ACCEPTABLE);
+      }
+    }
+    return DEFAULT_QUALITY;
+  }
+
+  private static double firstNonNull(Double first, Double second, double fallback) {
+    if (nonNull(first)) {
+      return first;
+    }
+    return nonNull(second) ? second : fallback;
+  }
+
+  /** The {@code Content-Encoding} of the stored export, {@code null} when it is not encoded. */
+  String contentEncoding() {
+    return contentEncoding;
+  }
+
+  /**
+   * Wraps the stream the export is written to. Closing the returned stream finishes the encoding.
+   */
+  abstract OutputStream encode(OutputStream stream);
+}
@@ -0,0 +1,92 @@
+package no.unit.nva.search;
+
+import static java.util.Objects.isNull;
+import static no.unit.nva.constants.Defaults.BIBTEX_UTF_8;
+import static no.unit.nva.constants.Defaults.NDJSON_UTF_8;
+import static no.unit.nva.constants.Words.APPLICATION_X_NDJSON;
+import static no.unit.nva.constants.Words.ASTERISK;
+import static no.unit.nva.constants.Words.TEXT_CSV;
+import static no.unit.nva.constants.Words.TEXT_X_BIBTEX;
+import static nva.commons.apigateway.MediaType.CSV_UTF_8;
+import static nva.commons.apigateway.MediaTypes.APPLICATION_JSON_LD;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import no.unit.nva.search.common.NdjsonStreamWriter;
+import no.unit.nva.search.common.PageWriter;
+import no.unit.nva.search.common.bibliography.SchemaOrgBibliographyStreamWriter;
+import no.unit.nva.search.common.bibliography.SchemaOrgBibliographyTransformer;
+import no.unit.nva.search.common.bibtex.ResourceBibTexStreamWriter;
+import no.unit.nva.search.common.bibtex.ResourceBibTexTransformer;
+import no.unit.nva.search.common.csv.ResourceCsvStreamWriter;
+import no.unit.nva.search.common.csv.ResourceCsvTransformer;
+import nva.commons.apigateway.MediaType;
+import nva.commons.apigateway.mediatype.MediaTypeParser;
+
+/**
+ * A format resources can be exported in: the fields read from the index for it, and the writer
+ * that streams pages of hits in it.
+ */
+enum ExportFormat {
+  CSV(CSV_UTF_8, ResourceCsvTransformer.getJsonFields(), ResourceCsvStreamWriter::new),
+  BIBTEX(
+      BIBTEX_UTF_8, ResourceBibTexTransformer.getBibTexFields(), ResourceBibTexStreamWriter::new),
+  SCHEMA_ORG(
+      APPLICATION_JSON_LD,
+      SchemaOrgBibliographyTransformer.getSchemaOrgFields(),
+      SchemaOrgBibliographyStreamWriter::new),
+  /** The source documents as they are, one per line. */
+  NDJSON(NDJSON_UTF_8, List.of(ASTERISK), NdjsonStreamWriter::new);
+
+  private static final String LD_JSON_ESSENCE = "application/ld+json";
+  private static final String SCHEMA_ORG_ESSENCE = "application/vnd.schemaorg.ld+json";
+
+  private final MediaType mediaType;
+  private final List<String> includedFields;
+  private final Function<Writer, PageWriter> pageWriter;
+
+  ExportFormat(
+      MediaType mediaType, List<String> includedFields, Function<Writer, PageWriter> pageWriter) {
+    this.mediaType = mediaType;
+    this.includedFields = includedFields;
+    this.pageWriter = pageWriter;
+  }
+
+  /**
+   * The format most preferred by an {@code Accept} header. CSV when there is no header, or when it
+   * names no export format, as with a wildcard.
+   */
+  static ExportFormat fromAcceptHeader(String accept) {
+    if (isNull(accept)) {
+      return CSV;
+    }
+    return MediaTypeParser.defaultParser().parseList(accept).preferenceOrder().stream()
+        .flatMap(requested -> fromEssence(requested.essence()).stream())
+        .findFirst()
+        .orElse(CSV);
+  }
+
+  private static Optional<ExportFormat> fromEssence(String essence) {
+    return switch (essence) {
+      case TEXT_CSV -> Optional.of(CSV);
+      case TEXT_X_BIBTEX -> Optional.of(BIBTEX);
+      case LD_JSON_ESSENCE, SCHEMA_ORG_ESSENCE -> Optional.of(SCHEMA_ORG);
+      case APPLICATION_X_NDJSON -> Optional.of(NDJSON);
+      default -> Optional.empty();
+    };
+  }
+
+  String contentType() {
+    return mediaType.toString();
+  }
+
+  List<String> includedFields() {
+    return includedFields;
+  }
+
+  PageWriter pageWriter(Writer writer) {
+    return pageWriter.apply(writer);
+  }
+}
@@ -1,6 +1,9 @@
 package no.unit.nva.search;
 
 import static java.net.HttpURLConnection.HTTP_ENTITY_TOO_LARGE;
+import static java.util.Objects.nonNull;
+import static no.unit.nva.constants.Defaults.BIBTEX_UTF_8;
+import static no.unit.nva.constants.Defaults.NDJSON_UTF_8;
 import static no.unit.nva.constants.Words.NONE;
 import static no.unit.nva.constants.Words.ZERO;
 import static no.unit.nva.search.ExportResourceHandler.AttemptResponse.AttemptStatus.OTHER_FAILURE;
@@ -9,31 +12,50 @@ import static no.unit.nva.search.common.enums.PublicationStatus.PUBLISHED;
 import static no.unit.nva.search.common.enums.PublicationStatus.PUBLISHED_METADATA;
 import static no.unit.nva.search.resource.ResourceParameter.AGGREGATION;
 import static no.unit.nva.search.resource.ResourceParameter.FROM;
-import static no.unit.nva.search.resource.ResourceParameter.NODES_INCLUDED;
 import static no.unit.nva.search.resource.ResourceParameter.SIZE;
 import static no.unit.nva.search.resource.ResourceParameter.SORT;
 
 import com.amazonaws.services.lambda.runtime.Context;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 import no.unit.nva.constants.Words;
 import no.unit.nva.search.common.OpenSearchClientException;
-import no.unit.nva.search.common.csv.ResourceCsvTransformer;
+import no.unit.nva.search.common.records.SwsResponse;
 import no.unit.nva.search.resource.ResourceClient;
 import no.unit.nva.search.resource.ResourceSearchQuery;
-import no.unit.nva.search.scroll.RecursiveScrollQuery;
+import no.unit.nva.search.scroll.PageIterator;
+import no.unit.nva.search.scroll.PointInTimeIterator;
+import no.unit.nva.search.scroll.PrefetchingScrollIterator;
 import no.unit.nva.search.scroll.ScrollClient;
+import no.unit.nva.search.scroll.SlicedPageIterator;
+import nva.commons.apigateway.MediaType;
+import nva.commons.apigateway.MediaTypes;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.apigateway.s3.ApiS3GatewayHandler;
 import nva.commons.core.Environment;
 import nva.commons.core.JacocoGenerated;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
 /**
- * Handler for exporting resources to CSV.
+ * Handler for exporting resources, in the format asked for by the {@code Accept} header, see {@link
+ * ExportFormat}, and compressed when the {@code Accept-Encoding} header allows it, see {@link
+ * ExportEncoding}.
  *
  * @author Sondre Vestad
  * @author Stig Norland
@@ -43,12 +65,36 @@ public class ExportResourceHandler extends ApiS3GatewayHandler<Void> {
 
   public static final int INITIAL_HITS_PER_PAGE = 500;
   public static final String SCROLL_TTL = "1m";
-  public static final String INCLUDED_NODES =
-      String.join(COMMA, ResourceCsvTransformer.getJsonFields());
+  public static final int SCROLL_PREFETCH_PAGES = 2;
   private static final int SPLIT_LIMIT = 100;
   private static final int TWO = 2;
+  private static final String LARGE_API_RESPONSES_BUCKET = "LARGE_API_RESPONSES_BUCKET";
+  private static final Duration PRESIGNED_URL_DURATION = Duration.ofHours(1);
+  private static final String EXPORT_SCROLL_SLICES = "EXPORT_SCROLL_SLICES";
+  private static final String SLICE_PER_SHARD = "shards";
+  private static final String ONE = "1";
+  private static final String EXPORT_PAGINATION = "EXPORT_PAGINATION";
+  private static final String POINT_IN_TIME = "point_in_time";
+
+  /**
+   * The media types of every {@link ExportFormat}, and JSON, which clients commonly ask for by
+   * default. It gets the default format, CSV.
+   */
+  private static final List<MediaType> EXPORT_MEDIA_TYPES =
+      List.of(
+          MediaType.CSV_UTF_8,
+          BIBTEX_UTF_8,
+          MediaTypes.APPLICATION_JSON_LD,
+          MediaTypes.SCHEMA_ORG,
+          NDJSON_UTF_8,
+          MediaType.JSON_UTF_8);
+
   private final ResourceClient opensearchClient;
   private final ScrollClient scrollClient;
+  private final S3Client s3Client;
+  private final S3Presigner s3Presigner;
+  private final Environment environment;
+  private ExportFormat negotiatedFormat = ExportFormat.CSV;
 
   @JacocoGenerated
   public ExportResourceHandler() {
@@ -69,16 +115,64 @@ public class ExportResourceHandler extends ApiS3GatewayHandler<Void> {
     super(Void.class, s3Client, s3Presigner, environment);
     this.opensearchClient = resourceClient;
     this.scrollClient = scrollClient;
+    this.s3Client = s3Client;
+    this.s3Presigner = s3Presigner;
+    this.environment = environment;
   }
 
   @Override
   public String processS3Input(Void input, RequestInfo requestInfo, Context context)
       throws BadRequestException {
+    negotiatedFormat = exportFormat(requestInfo);
+    return exportWithDecreasingPageSize(requestInfo, negotiatedFormat, InMemoryExportSink::new);
+  }
+
+  /**
+   * Streams the export straight to S3, one scroll page at a time, instead of handing the whole
+   * export to {@link ApiS3GatewayHandler} as a single String.
+   */
+  @Override
+  protected Void processInput(Void input, RequestInfo requestInfo, Context context)
+      throws BadRequestException {
+    var bucketName = environment.readEnv(LARGE_API_RESPONSES_BUCKET);
+    var key = UUID.randomUUID().toString();
+    var format = exportFormat(requestInfo);
+    negotiatedFormat = format;
+    var encoding = exportEncoding(requestInfo);
+    exportWithDecreasingPageSize(
+        requestInfo,
+        format,
+        () -> new S3MultipartExportSink(s3Client, bucketName, key, format.contentType(), encoding));
+    addAdditionalHeaders(() -> Map.of(HttpHeaders.LOCATION, presignedUrl(bucketName, key)));
+    return null;
+  }
+
+  /** The format negotiated from the {@code Accept} header, see {@link ExportFormat}. */
+  private static ExportFormat exportFormat(RequestInfo requestInfo) {
+    var format = ExportFormat.fromAcceptHeader(requestInfo.getHeaders().get(HttpHeaders.ACCEPT));
+    LOGGER.info("Exporting as {}", format.contentType());
+    return format;
+  }
+
+  /**
+   * The content coding negotiated from the {@code Accept-Encoding} header, see {@link
+   * ExportEncoding}. Exports handed back as text are never encoded.
+   */
+  private static ExportEncoding exportEncoding(RequestInfo requestInfo) {
+    var encoding =
+        ExportEncoding.fromAcceptEncodingHeader(
+            requestInfo.getHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+    LOGGER.info("Storing export with {} encoding", encoding);
+    return encoding;
+  }
 
+  private String exportWithDecreasingPageSize(
+      RequestInfo requestInfo, ExportFormat format, Supplier<ExportSink> sinkSupplier)
+      throws BadRequestException {
     var currentPageSize = INITIAL_HITS_PER_PAGE;
     AttemptResponse response;
     do {
-      response = attemptsWithPageSize(currentPageSize, requestInfo);
+      response = attemptsWithPageSize(currentPageSize, requestInfo, format, sinkSupplier.get());
       if (response.status == SIZE_LIMIT_EXCEEDED) {
         var nextPageSize = currentPageSize / TWO;
         LOGGER.info(
@@ -94,32 +188,17 @@ public class ExportResourceHandler extends ApiS3GatewayHandler<Void> {
     return response.result;
   }
 
-  AttemptResponse attemptsWithPageSize(int pageSize, RequestInfo requestInfo)
+  AttemptResponse attemptsWithPageSize(
+      int pageSize, RequestInfo requestInfo, ExportFormat format, ExportSink sink)
       throws BadRequestException {
     try {
-      var initialResponse =
-          ResourceSearchQuery.builder()
-              .fromRequestInfo(requestInfo)
-              .withParameter(FROM, ZERO)
-              .withParameter(SIZE, Integer.toString(pageSize))
-              .withParameter(AGGREGATION, NONE)
-              .withParameter(NODES_INCLUDED, INCLUDED_NODES)
-              .withRequiredParameters(SORT)
-              .build()
-              .withFilter()
-              .requiredStatus(PUBLISHED, PUBLISHED_METADATA)
-              .apply()
-              .withScrollTime(SCROLL_TTL)
-              .doSearch(opensearchClient, Words.RESOURCES)
-              .swsResponse();
-
-      return AttemptResponse.success(
-          RecursiveScrollQuery.builder()
-              .withInitialResponse(initialResponse)
-              .withScrollTime(SCROLL_TTL)
-              .build()
-              .doSearch(scrollClient, Words.RESOURCES)
-              .toCsvText());
+      var sliceCount = sliceCount(requestInfo, format);
+      var queries = new ArrayList<ResourceSearchQuery>();
+      for (var sliceId = 0; sliceId < sliceCount; sliceId++) {
+        var query = exportQuery(requestInfo, format, pageSize);
+        queries.add(sliceCount > 1 ? query.withSlice(sliceId, sliceCount) : query);
+      }
+      return AttemptResponse.success(writeAllPages(exportPages(queries), format, sink));
     } catch (CompletionException completionException) {
       if (isSizeLimitExceededError(completionException, pageSize)) {
         return AttemptResponse.sizeLimitExceeded();
@@ -128,10 +207,141 @@ public class ExportResourceHandler extends ApiS3GatewayHandler<Void> {
     }
   }
 
-  @JacocoGenerated
+  private ResourceSearchQuery exportQuery(
+      RequestInfo requestInfo, ExportFormat format, int pageSize) throws BadRequestException {
+    return ResourceSearchQuery.builder()
+        .fromRequestInfo(requestInfo)
+        .withParameter(FROM, ZERO)
+        .withParameter(SIZE, Integer.toString(pageSize))
+        .withParameter(AGGREGATION, NONE)
+        .withAlwaysIncludedFields(format.includedFields())
+        .withRequiredParameters(SORT)
+        .build()
+        .withFilter()
+        .requiredStatus(PUBLISHED, PUBLISHED_METADATA)
+        .apply();
+  }
+
+  private SwsResponse initialScroll(ResourceSearchQuery query) {
+    return query
+        .withScrollTime(SCROLL_TTL)
+        .doSearch(opensearchClient, Words.RESOURCES)
+        .swsResponse();
+  }
+
+  /**
+   * Number of slices to read the export with, from {@code EXPORT_SCROLL_SLICES}. Either a number or
+   * {@code shards} for one slice per shard; never more than the index has shards, as slicing
+   * beyond that makes every slice scan the whole shard. Unset means a single scroll.
+   *
+   * <p>Slicing trades the sort order for speed: each slice is sorted, and slices are written one
+   * after the other, but the export as a whole is not in the requested order. Only a single scroll
+   * keeps it.
+   */
+  private int sliceCount(RequestInfo requestInfo, ExportFormat format) throws BadRequestException {
+    var configured = environment.readEnvOpt(EXPORT_SCROLL_SLICES).orElse(ONE);
+    if (ONE.equals(configured)) {
+      return 1;
+    }
+    var shardCount = shardCount(requestInfo, format);
+    var sliceCount =
+        SLICE_PER_SHARD.equalsIgnoreCase(configured)
+            ? shardCount
+            : Math.min(Integer.parseInt(configured), shardCount);
+    LOGGER.info("Exporting with {} slices over {} shards", sliceCount, shardCount);
+    return Math.max(1, sliceCount);
+  }
+
+  private int shardCount(RequestInfo requestInfo, ExportFormat format) throws BadRequestException {
+    var shards =
+        exportQuery(requestInfo, format, 0)
+            .doSearch(opensearchClient, Words.RESOURCES)
+            .swsResponse()
+            ._shards();
+    return nonNull(shards) && nonNull(shards.total()) ? shards.total().intValue() : 1;
+  }
+
+  private String writeAllPages(PageIterator pages, ExportFormat format, ExportSink sink) {
+    try (pages) {
+      try (var writer = new OutputStreamWriter(sink.open(), StandardCharsets.UTF_8)) {
+        var pageWriter = format.pageWriter(writer);
+        pages.forEachRemaining(pageWriter::write);
+        pageWriter.finish();
+      }
+      return sink.complete();
+    } catch (IOException exception) {
+      sink.abort();
+      throw new UncheckedIOException(exception);
+    } catch (RuntimeException exception) {
+      sink.abort();
+      throw exception;
+    }
+  }
+
+  /**
+   * Pages of the export, read through a point-in-time when {@code EXPORT_PAGINATION} is {@code
+   * point_in_time}, and through scroll contexts otherwise.
+   */
+  private PageIterator exportPages(List<ResourceSearchQuery> queries) {
+    if (isPointInTimeExport()) {
+      return PointInTimeIterator.builder()
+          .withScrollClient(scrollClient)
+          .withIndexName(Words.RESOURCES)
+          .withKeepAlive(SCROLL_TTL)
+          .withQueries(queries)
+          .withBufferedPages(SCROLL_PREFETCH_PAGES)
+          .build();
+    }
+    return queries.size() == 1
+        ? scrollPages(initialScroll(queries.getFirst()))
+        : slicedPages(queries);
+  }
+
+  private boolean isPointInTimeExport() {
+    return environment
+        .readEnvOpt(EXPORT_PAGINATION)
+        .map(POINT_IN_TIME::equalsIgnoreCase)
+        .orElse(false);
+  }
+
+  private PageIterator scrollPages(SwsResponse initialResponse) {
+    return PrefetchingScrollIterator.builder()
+        .withScrollClient(scrollClient)
+        .withIndexName(Words.RESOURCES)
+        .withInitialResponse(initialResponse)
+        .withScrollTime(SCROLL_TTL)
+        .withPrefetchPages(SCROLL_PREFETCH_PAGES)
+        .build();
+  }
+
+  private PageIterator slicedPages(List<ResourceSearchQuery> sliceQueries) {
+    return SlicedPageIterator.builder()
+        .withSliceCount(sliceQueries.size())
+        .withSlices(sliceId -> scrollPages(initialScroll(sliceQueries.get(sliceId))))
+        .withBufferedPages(SCROLL_PREFETCH_PAGES)
+        .withOrdered(true)
+        .build();
+  }
+
+  private String presignedUrl(String bucketName, String key) {
+    var getObjectRequest = GetObjectRequest.builder().bucket(bucketName).key(key).build();
+    var presignRequest =
+        GetObjectPresignRequest.builder()
+            .signatureDuration(PRESIGNED_URL_DURATION)
+            .getObjectRequest(getObjectRequest)
+            .build();
+    return s3Presigner.presignGetObject(presignRequest).url().toString();
+  }
+
+  @Override
+  protected List<MediaType> listSupportedMediaTypes() {
+    return EXPORT_MEDIA_TYPES;
+  }
+
+  /** The content type of the format negotiated for the request being handled. */
   @Override
   protected String getContentType() {
-    return "text/csv";
+    return negotiatedFormat.contentType();
   }
 
   @JacocoGenerated
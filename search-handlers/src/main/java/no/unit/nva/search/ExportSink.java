@@ -0,0 +1,24 @@
+package no.unit.nva.search;
+
+import java.io.OutputStream;
+
+/**
+ * Destination of a streamed export.
+ *
+ * <p>A sink is opened once per export attempt. The attempt either completes it, after everything
+ * has been written and the stream is closed, or aborts it, so a failed attempt never leaves a
+ * partial export behind.
+ */
+interface ExportSink {
+
+  OutputStream open();
+
+  /**
+   * Finishes the export.
+   *
+   * @return a reference to the finished export, handed back to the caller
+   */
+  String complete();
+
+  void abort();
+}
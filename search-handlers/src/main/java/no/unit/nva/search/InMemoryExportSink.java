@@ -0,0 +1,26 @@
+package no.unit.nva.search;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/** Keeps the export in memory and hands it back as text when completed. */
+final class InMemoryExportSink implements ExportSink {
+
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+  @Override
+  public OutputStream open() {
+    return buffer;
+  }
+
+  @Override
+  public String complete() {
+    return buffer.toString(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void abort() {
+    buffer.reset();
+  }
+}
@@ -0,0 +1,144 @@
+package no.unit.nva.search;
+
+import static java.util.Objects.nonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * Streams an export to S3 as a multipart upload.
+ *
+ * <p>Bytes are buffered until a part is full, then uploaded, so memory stays bounded by one part
+ * no matter how large the export grows. S3 requires every part but the last to be at least 5 MiB.
+ *
+ * <p>The object is stored with the {@code Content-Encoding} of its {@link ExportEncoding}, so the
+ * presigned download is served with it and clients decode it transparently.
+ */
+final class S3MultipartExportSink implements ExportSink {
+
+  static final int PART_SIZE = 5 * 1024 * 1024;
+  private static final Logger LOGGER = LoggerFactory.getLogger(S3MultipartExportSink.class);
+
+  private final S3Client s3Client;
+  private final String bucketName;
+  private final String key;
+  private final String contentType;
+  private final ExportEncoding encoding;
+  private final List<CompletedPart> completedParts = new ArrayList<>();
+  private final ByteArrayOutputStream partBuffer = new ByteArrayOutputStream();
+  private String uploadId;
+  private long uploadedBytes;
+
+  S3MultipartExportSink(
+      S3Client s3Client,
+      String bucketName,
+      String key,
+      String contentType,
+      ExportEncoding encoding) {
+    this.s3Client = s3Client;
+    this.bucketName = bucketName;
+    this.key = key;
+    this.contentType = contentType;
+    this.encoding = encoding;
+  }
+
+  /** Opens the upload and returns the stream to write the export to, encoded as configured. */
+  @Override
+  public OutputStream open() {
+    var request =
+        CreateMultipartUploadRequest.builder()
+            .bucket(bucketName)
+            .key(key)
+            .contentType(contentType)
+            .contentEncoding(encoding.contentEncoding())
+            .build();
+    uploadId = s3Client.createMultipartUpload(request).uploadId();
+    return encoding.encode(new PartOutputStream());
+  }
+
+  @Override
+  public String complete() {
+    uploadPart();
+    var request =
+        CompleteMultipartUploadRequest.builder()
+            .bucket(bucketName)
+            .key(key)
+            .uploadId(uploadId)
+            .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+            .build();
+    s3Client.completeMultipartUpload(request);
+    LOGGER.info(
+        "Export {} uploaded in {} parts, {} bytes as {}",
+        key,
+        completedParts.size(),
+        uploadedBytes,
+        encoding);
+    return key;
+  }
+
+  @Override
+  public void abort() {
+    if (nonNull(uploadId)) {
+      var request =
+          AbortMultipartUploadRequest.builder()
+              .bucket(bucketName)
+              .key(key)
+              .uploadId(uploadId)
+              .build();
+      s3Client.abortMultipartUpload(request);
+      uploadId = null;
+    }
+    partBuffer.reset();
+    completedParts.clear();
+    uploadedBytes = 0;
+  }
+
+  private void uploadPartIfFull() {
+    if (partBuffer.size() >= PART_SIZE) {
+      uploadPart();
+    }
+  }
+
+  private void uploadPart() {
+    var partNumber = completedParts.size() + 1;
+    var request =
+        UploadPartRequest.builder()
+            .bucket(bucketName)
+            .key(key)
+            .uploadId(uploadId)
+            .partNumber(partNumber)
+            .build();
+    var response = s3Client.uploadPart(request, RequestBody.fromBytes(partBuffer.toByteArray()));
+    completedParts.add(
+        CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+    uploadedBytes += partBuffer.size();
+    partBuffer.reset();
+  }
+
+  private final class PartOutputStream extends OutputStream {
+
+    @Override
+    public void write(int b) {
+      partBuffer.write(b);
+      uploadPartIfFull();
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      partBuffer.write(bytes, offset, length);
+      uploadPartIfFull();
+    }
+  }
+}
@@ -19,6 +19,9 @@ import java.util.Map;
 import java.util.concurrent.CompletionException;
 import no.unit.nva.constants.Words;
 import no.unit.nva.search.common.ContentTypeUtils;
+import no.unit.nva.search.common.cache.IndexGeneration;
+import no.unit.nva.search.common.cache.ResponseCache;
+import no.unit.nva.search.common.cache.ResponseCache.Key;
 import no.unit.nva.search.common.records.JsonNodeMutator;
 import no.unit.nva.search.resource.LegacyMutator;
 import no.unit.nva.search.resource.ResourceClient;
@@ -43,15 +46,36 @@ public class SearchResourceHandler extends ApiGatewayHandler<Void, String> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SearchResourceHandler.class);
   private final ResourceClient opensearchClient;
+  private final ResponseCache<Key, CachedResponse> responseCache;
 
   @JacocoGenerated
   public SearchResourceHandler() {
-    this(defaultClient(), new Environment());
+    this(defaultClient(), new Environment(), defaultResponseCache());
   }
 
   public SearchResourceHandler(ResourceClient resourceClient, Environment environment) {
+    this(resourceClient, environment, ResponseCache.disabled());
+  }
+
+  /**
+   * @param responseCache keeps the responses to anonymous requests, which all search the same
+   *     published resources
+   */
+  public SearchResourceHandler(
+      ResourceClient resourceClient,
+      Environment environment,
+      ResponseCache<Key, CachedResponse> responseCache) {
     super(Void.class, environment);
     this.opensearchClient = resourceClient;
+    this.responseCache = responseCache;
+  }
+
+  @JacocoGenerated
+  private static ResponseCache<Key, CachedResponse> defaultResponseCache() {
+    return ResponseCache.fromEnvironment(
+        ResponseCache.RESPONSE,
+        new Environment(),
+        () -> IndexGeneration.forIndex(Words.RESOURCES)::current);
   }
 
   @Override
@@ -75,7 +99,7 @@ public class SearchResourceHandler extends ApiGatewayHandler<Void, String> {
     var version = ContentTypeUtils.extractVersionFromRequestInfo(requestInfo);
 
     try {
-      var formatter =
+      var query =
           ResourceSearchQuery.builder()
               .fromRequestInfo(requestInfo)
               .withRequiredParameters(FROM, SIZE, AGGREGATION, SORT)
@@ -84,18 +108,37 @@ public class SearchResourceHandler extends ApiGatewayHandler<Void, String> {
               .build()
               .withFilter()
               .requiredStatus(PUBLISHED, PUBLISHED_METADATA)
-              .apply()
-              .doSearch(opensearchClient, Words.RESOURCES)
-              .withMutators(getMutator(version));
-
-      addAdditionalHeaders(() -> responseHeaders(formatter.paginationHeaders()));
-
-      return formatter.toString();
+              .apply();
+
+      var response =
+          isAnonymous(requestInfo)
+              ? responseCache.computeIfAbsent(
+                  new Key(
+                      query.parameters().asMap(),
+                      query.getMediaType(),
+                      version,
+                      query.getNvaSearchApiUri()),
+                  () -> search(query, version))
+              : search(query, version);
+
+      addAdditionalHeaders(() -> responseHeaders(response.paginationHeaders()));
+
+      return response.body();
     } catch (CompletionException exception) {
       throw asBadRequestIfTooManyClauses(exception);
     }
   }
 
+  private CachedResponse search(ResourceSearchQuery query, String version) {
+    var formatter =
+        query.doSearch(opensearchClient, Words.RESOURCES).withMutators(getMutator(version));
+    return new CachedResponse(formatter.toString(), formatter.paginationHeaders());
+  }
+
+  private static boolean isAnonymous(RequestInfo requestInfo) {
+    return !requestInfo.getHeaders().containsKey(Words.AUTHORIZATION);
+  }
+
   private Map<String, String> responseHeaders(Map<String, String> paginationHeaders) {
     var headers = new LinkedHashMap<String, String>();
     headers.put(HttpHeaders.VARY, HttpHeaders.ACCEPT);
@@ -115,6 +158,14 @@ public class SearchResourceHandler extends ApiGatewayHandler<Void, String> {
         : new LegacyMutator();
   }
 
+  /**
+   * A formatted response, as kept in the response cache.
+   *
+   * @param body the response body
+   * @param paginationHeaders the pagination headers of the response
+   */
+  public record CachedResponse(String body, Map<String, String> paginationHeaders) {}
+
   @Override
   protected Integer getSuccessStatusCode(Void input, String output) {
     return HttpURLConnection.HTTP_OK;
@@ -1,5 +1,6 @@
 package no.unit.nva.search;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static no.unit.nva.constants.Defaults.objectMapperWithEmpty;
 import static no.unit.nva.constants.Words.COMMA;
 import static no.unit.nva.search.resource.ResourceParameter.SEARCH_ALL;
@@ -7,11 +8,16 @@ import static no.unit.nva.testutils.RandomDataGenerator.randomString;
 import static no.unit.nva.testutils.RandomDataGenerator.randomUri;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,11 +29,14 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
 import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
 import no.unit.nva.indexing.testutils.FakeSearchResponse;
 import no.unit.nva.search.common.csv.ExportCsv;
 import no.unit.nva.search.common.jwt.CachedJwtProvider;
@@ -42,14 +51,28 @@ import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.core.Environment;
 import nva.commons.logutils.LogRecorder;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
 class ExportResourceHandlerTest {
   private static final String ENTITY_TO_LARGE_ERROR_FORMAT =
       "Request entity too large encountered with page size %d, trying again with %d";
   private static final String SAMPLE_PATH = "search";
   private static final String SAMPLE_DOMAIN_NAME = "localhost";
+  private static final String GZIP = "gzip";
   private ResourceClient mockedResourceClient;
   private ScrollClient mockedScrollClient;
   private ExportResourceHandler handler;
@@ -102,6 +125,214 @@ class ExportResourceHandlerTest {
     assertThat(StringUtils.countMatches(s3data, expectedTitle3), is(1));
   }
 
+  @Test
+  void shouldStreamCsvToS3AsMultipartUpload()
+      throws IOException, BadRequestException, ApiIoException {
+    var expectedTitle1 = randomString();
+    var expectedTitle2 = randomString();
+    var expectedTitle3 = randomString();
+    prepareRestHighLevelClientOkResponse(
+        csvWithFullDate(expectedTitle1),
+        csvWithFullDate(expectedTitle2),
+        csvWithFullDate(expectedTitle3));
+    var s3Client = mockedS3Client();
+    handler =
+        new ExportResourceHandler(
+            mockedResourceClient,
+            mockedScrollClient,
+            s3Client,
+            mockedS3Presigner(),
+            new Environment());
+
+    handler.processInput(
+        null, RequestInfo.fromRequest(getRequestInputStreamAccepting()), new FakeContext());
+
+    var uploadedPart = ArgumentCaptor.forClass(RequestBody.class);
+    verify(s3Client).uploadPart(any(UploadPartRequest.class), uploadedPart.capture());
+    verify(s3Client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    var s3data = toText(uploadedPart.getValue());
+    assertThat(StringUtils.countMatches(s3data, expectedTitle1), is(1));
+    assertThat(StringUtils.countMatches(s3data, expectedTitle2), is(1));
+    assertThat(StringUtils.countMatches(s3data, expectedTitle3), is(1));
+  }
+
+  @Test
+  void shouldExportBibTexWhenAcceptHeaderAsksForIt()
+      throws IOException, BadRequestException, ApiIoException {
+    var titles = List.of(randomString(), randomString(), randomString());
+    prepareRestHighLevelClientOkResponse(titles);
+
+    var s3data = processS3InputAccepting("text/x-bibtex");
+
+    assertThat(s3data, startsWith("@"));
+    assertThat(s3data.split("\n\n@").length, is(titles.size()));
+    titles.forEach(title -> assertThat(StringUtils.countMatches(s3data, title), is(1)));
+    assertThat(handler.getContentType(), is(equalTo(ExportFormat.BIBTEX.contentType())));
+  }
+
+  @Test
+  void shouldExportSchemaOrgItemListWhenAcceptHeaderAsksForJsonLd()
+      throws IOException, BadRequestException, ApiIoException {
+    var titles = List.of(randomString(), randomString(), randomString());
+    prepareRestHighLevelClientOkResponse(titles);
+
+    var itemList = objectMapperWithEmpty.readTree(processS3InputAccepting("application/ld+json"));
+
+    assertThat(itemList.path("@type").asText(), is(equalTo("ItemList")));
+    assertThat(itemList.path("numberOfItems").asInt(), is(titles.size()));
+    assertThat(itemList.path("itemListElement").size(), is(titles.size()));
+  }
+
+  @Test
+  void shouldExportOneSourceDocumentPerLineWhenAcceptHeaderAsksForNdjson()
+      throws IOException, BadRequestException, ApiIoException {
+    var titles = List.of(randomString(), randomString(), randomString());
+    prepareRestHighLevelClientOkResponse(titles);
+
+    var lines = processS3InputAccepting("application/x-ndjson").lines().toList();
+
+    assertThat(lines, hasSize(titles.size()));
+    for (var i = 0; i < lines.size(); i++) {
+      var source = objectMapperWithEmpty.readTree(lines.get(i));
+      assertThat(
+          source.path("entityDescription").path("mainTitle").asText(), is(equalTo(titles.get(i))));
+    }
+  }
+
+  @Test
+  void shouldExportCsvWhenAcceptHeaderNamesNoExportFormat()
+      throws IOException, BadRequestException, ApiIoException {
+    prepareRestHighLevelClientOkResponse(List.of(randomString(), randomString(), randomString()));
+
+    var s3data = processS3InputAccepting("application/json, */*");
+
+    assertThat(s3data, startsWith("\ufeff"));
+  }
+
+  @Test
+  void shouldStoreExportWithContentTypeOfNegotiatedFormat()
+      throws IOException, BadRequestException, ApiIoException {
+    prepareRestHighLevelClientOkResponse(List.of(randomString(), randomString(), randomString()));
+    var s3Client = mockedS3Client();
+    handler =
+        new ExportResourceHandler(
+            mockedResourceClient,
+            mockedScrollClient,
+            s3Client,
+            mockedS3Presigner(),
+            new Environment());
+
+    handler.processInput(
+        null,
+        RequestInfo.fromRequest(getRequestInputStreamAccepting("text/x-bibtex")),
+        new FakeContext());
+
+    var createRequest = ArgumentCaptor.forClass(CreateMultipartUploadRequest.class);
+    verify(s3Client).createMultipartUpload(createRequest.capture());
+    assertThat(createRequest.getValue().contentType(), startsWith("text/x-bibtex"));
+  }
+
+  @Test
+  void shouldStoreGzipEncodedExportWhenAcceptEncodingAllowsIt()
+      throws IOException, BadRequestException, ApiIoException {
+    var titles = List.of(randomString(), randomString(), randomString());
+    prepareRestHighLevelClientOkResponse(titles);
+    var s3Client = mockedS3Client();
+    handler =
+        new ExportResourceHandler(
+            mockedResourceClient,
+            mockedScrollClient,
+            s3Client,
+            mockedS3Presigner(),
+            new Environment());
+
+    handler.processInput(
+        null,
+        RequestInfo.fromRequest(
+            getRequestInputStreamWithHeaders(Map.of(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))),
+        new FakeContext());
+
+    var createRequest = ArgumentCaptor.forClass(CreateMultipartUploadRequest.class);
+    var uploadedPart = ArgumentCaptor.forClass(RequestBody.class);
+    verify(s3Client).createMultipartUpload(createRequest.capture());
+    verify(s3Client).uploadPart(any(UploadPartRequest.class), uploadedPart.capture());
+    assertThat(createRequest.getValue().contentEncoding(), is(equalTo(GZIP)));
+    assertThat(createRequest.getValue().contentType(), startsWith("text/csv"));
+    var s3data = gunzipToText(uploadedPart.getValue());
+    assertThat(s3data, startsWith("\ufeff"));
+    titles.forEach(title -> assertThat(StringUtils.countMatches(s3data, title), is(1)));
+  }
+
+  @Test
+  void shouldStoreUncompressedExportWhenAcceptEncodingRefusesGzip()
+      throws IOException, BadRequestException, ApiIoException {
+    var titles = List.of(randomString(), randomString(), randomString());
+    prepareRestHighLevelClientOkResponse(titles);
+    var s3Client = mockedS3Client();
+    handler =
+        new ExportResourceHandler(
+            mockedResourceClient,
+            mockedScrollClient,
+            s3Client,
+            mockedS3Presigner(),
+            new Environment());
+
+    handler.processInput(
+        null,
+        RequestInfo.fromRequest(
+            getRequestInputStreamWithHeaders(
+                Map.of(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0, *;q=0.5"))),
+        new FakeContext());
+
+    var createRequest = ArgumentCaptor.forClass(CreateMultipartUploadRequest.class);
+    var uploadedPart = ArgumentCaptor.forClass(RequestBody.class);
+    verify(s3Client).createMultipartUpload(createRequest.capture());
+    verify(s3Client).uploadPart(any(UploadPartRequest.class), uploadedPart.capture());
+    assertThat(createRequest.getValue().contentEncoding(), is(nullValue()));
+    var s3data = toText(uploadedPart.getValue());
+    titles.forEach(title -> assertThat(StringUtils.countMatches(s3data, title), is(1)));
+  }
+
+  @Test
+  void shouldNegotiateGzipOnlyWhenAcceptedAtLeastAsMuchAsIdentity() {
+    assertThat(ExportEncoding.fromAcceptEncodingHeader(null), is(ExportEncoding.IDENTITY));
+    assertThat(ExportEncoding.fromAcceptEncodingHeader(""), is(ExportEncoding.IDENTITY));
+    assertThat(ExportEncoding.fromAcceptEncodingHeader("GZip"), is(ExportEncoding.GZIP));
+    assertThat(ExportEncoding.fromAcceptEncodingHeader("x-gzip"), is(ExportEncoding.GZIP));
+    assertThat(ExportEncoding.fromAcceptEncodingHeader("*"), is(ExportEncoding.GZIP));
+    assertThat(
+        ExportEncoding.fromAcceptEncodingHeader("identity, gzip;q=0.5"),
+        is(ExportEncoding.IDENTITY));
+    assertThat(
+        ExportEncoding.fromAcceptEncodingHeader("identity;q=0.5, gzip;q=0.8"),
+        is(ExportEncoding.GZIP));
+    assertThat(
+        ExportEncoding.fromAcceptEncodingHeader("gzip;q=invalid"), is(ExportEncoding.IDENTITY));
+  }
+
+  @Test
+  void shouldAbortMultipartUploadWhenScrollFails() throws IOException, ApiIoException {
+    when(mockedResourceClient.doSearch(any(), any()))
+        .thenReturn(csvToSwsResponse(csvWithFullDate(randomString()), "scrollId1"));
+    when(mockedScrollClient.doSearchAsync(any(), any()))
+        .thenReturn(CompletableFuture.failedFuture(new RuntimeException(randomString())));
+    var s3Client = mockedS3Client();
+    handler =
+        new ExportResourceHandler(
+            mockedResourceClient,
+            mockedScrollClient,
+            s3Client,
+            mockedS3Presigner(),
+            new Environment());
+    var requestInfo = RequestInfo.fromRequest(getRequestInputStreamAccepting());
+
+    assertThrows(
+        RuntimeException.class, () -> handler.processInput(null, requestInfo, new FakeContext()));
+
+    verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+    verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+  }
+
   @Test
   void shouldReducePageSizeByHalfUntilLessThanHundredThenFailIfRequestEntityTooLarge() {
     try (var httpClient = mock(HttpClient.class)) {
@@ -140,6 +371,36 @@ class ExportResourceHandlerTest {
     }
   }
 
+  private static S3Client mockedS3Client() {
+    var s3Client = mock(S3Client.class);
+    when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+        .thenReturn(CreateMultipartUploadResponse.builder().uploadId(randomString()).build());
+    when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+        .thenReturn(UploadPartResponse.builder().eTag(randomString()).build());
+    return s3Client;
+  }
+
+  private static S3Presigner mockedS3Presigner() throws MalformedURLException {
+    var s3Presigner = mock(S3Presigner.class);
+    var presignedRequest = mock(PresignedGetObjectRequest.class);
+    when(presignedRequest.url()).thenReturn(randomUri().toURL());
+    when(s3Presigner.presignGetObject(any(GetObjectPresignRequest.class)))
+        .thenReturn(presignedRequest);
+    return s3Presigner;
+  }
+
+  private static String toText(RequestBody requestBody) throws IOException {
+    try (var inputStream = requestBody.contentStreamProvider().newStream()) {
+      return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static String gunzipToText(RequestBody requestBody) throws IOException {
+    try (var inputStream = new GZIPInputStream(requestBody.contentStreamProvider().newStream())) {
+      return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
   private static CachedJwtProvider getCachedJwtProviderMock() {
     var cachedJwtProvider = mock(CachedJwtProvider.class);
     when(cachedJwtProvider.getValue())
@@ -238,6 +499,13 @@ class ExportResourceHandlerTest {
     return cachedJwtProvider;
   }
 
+  private void prepareRestHighLevelClientOkResponse(List<String> titles) throws IOException {
+    prepareRestHighLevelClientOkResponse(
+        csvWithFullDate(titles.get(0)),
+        csvWithFullDate(titles.get(1)),
+        csvWithFullDate(titles.get(2)));
+  }
+
   private void prepareRestHighLevelClientOkResponse(
       ExportCsv initialSearchResult, ExportCsv scroll1SearchResult, ExportCsv scroll2SearchResult)
       throws IOException {
@@ -245,9 +513,9 @@ class ExportResourceHandlerTest {
     when(mockedResourceClient.doSearch(any(), any()))
         .thenReturn(csvToSwsResponse(initialSearchResult, "scrollId1"));
 
-    when(mockedScrollClient.doSearch(any(), any()))
-        .thenReturn(csvToSwsResponse(scroll1SearchResult, "scrollId2"))
-        .thenReturn(csvToSwsResponse(scroll2SearchResult, null));
+    when(mockedScrollClient.doSearchAsync(any(), any()))
+        .thenReturn(completedFuture(csvToSwsResponse(scroll1SearchResult, "scrollId2")))
+        .thenReturn(completedFuture(csvToSwsResponse(scroll2SearchResult, null)));
   }
 
   private InputStream getRequestInputStreamAccepting() throws JsonProcessingException {
@@ -257,6 +525,25 @@ class ExportResourceHandlerTest {
         .build();
   }
 
+  private InputStream getRequestInputStreamAccepting(String accept) throws JsonProcessingException {
+    return getRequestInputStreamWithHeaders(Map.of(HttpHeaders.ACCEPT, accept));
+  }
+
+  private InputStream getRequestInputStreamWithHeaders(Map<String, String> headers)
+      throws JsonProcessingException {
+    return new HandlerRequestBuilder<Void>(objectMapperWithEmpty)
+        .withHeaders(headers)
+        .withQueryParameters(Map.of(SEARCH_ALL.asCamelCase(), "*"))
+        .withRequestContext(getRequestContext())
+        .build();
+  }
+
+  private String processS3InputAccepting(String accept)
+      throws BadRequestException, JsonProcessingException, ApiIoException {
+    return handler.processS3Input(
+        null, RequestInfo.fromRequest(getRequestInputStreamAccepting(accept)), new FakeContext());
+  }
+
   private ObjectNode getRequestContext() {
     return objectMapperWithEmpty.convertValue(
         Map.of("path", SAMPLE_PATH, "domainName", SAMPLE_DOMAIN_NAME), ObjectNode.class);
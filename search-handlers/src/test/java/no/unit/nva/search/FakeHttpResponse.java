@@ -39,7 +39,7 @@ public class FakeHttpResponse implements HttpResponse<Object> {
 
   @Override
   public Object body() {
-    return "";
+    return new byte[0];
   }
 
   @Override
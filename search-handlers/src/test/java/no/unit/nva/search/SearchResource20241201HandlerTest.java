@@ -19,6 +19,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.amazonaws.services.lambda.runtime.Context;
@@ -31,10 +33,17 @@ import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import no.unit.nva.search.SearchResourceHandler.CachedResponse;
 import no.unit.nva.search.common.OpenSearchClientException;
+import no.unit.nva.search.common.cache.ResponseCache;
+import no.unit.nva.search.common.cache.ResponseCache.Key;
 import no.unit.nva.search.common.records.SwsResponse;
 import no.unit.nva.search.resource.ResourceClient;
 import no.unit.nva.search.resource.response.ResourceSearchResponse;
@@ -142,6 +151,63 @@ class SearchResource20241201HandlerTest {
     assertThat(headers, not(hasKey("Link")));
   }
 
+  @Test
+  void shouldServeRepeatedAnonymousSearchFromResponseCache() throws IOException {
+    prepareRestHighLevelClientOkResponse();
+    handler =
+        new SearchResourceHandler(mockedSearchClient, new Environment(), responseCache(() -> "1"));
+
+    handler.handleRequest(getInputStream(), outputStream, contextMock);
+    var firstBody = FakeGatewayResponse.of(outputStream).body();
+    outputStream = new ByteArrayOutputStream();
+    handler.handleRequest(getInputStream(), outputStream, contextMock);
+
+    assertThat(FakeGatewayResponse.of(outputStream).body(), is(equalTo(firstBody)));
+    verify(mockedSearchClient, times(1)).doSearch(any(), eq(RESOURCES));
+  }
+
+  @Test
+  void shouldSearchAgainWhenIndexGenerationHasChanged() throws IOException {
+    prepareRestHighLevelClientOkResponse();
+    var generation = new AtomicInteger();
+    handler =
+        new SearchResourceHandler(
+            mockedSearchClient,
+            new Environment(),
+            responseCache(() -> String.valueOf(generation.get())));
+
+    handler.handleRequest(getInputStream(), outputStream, contextMock);
+    generation.incrementAndGet();
+    handler.handleRequest(getInputStream(), new ByteArrayOutputStream(), contextMock);
+
+    verify(mockedSearchClient, times(2)).doSearch(any(), eq(RESOURCES));
+  }
+
+  @Test
+  void shouldNotServeCachedResponseToRequestThroughOtherDomain() throws IOException {
+    prepareRestHighLevelClientOkResponse();
+    handler =
+        new SearchResourceHandler(mockedSearchClient, new Environment(), responseCache(() -> "1"));
+
+    handler.handleRequest(getInputStream(), outputStream, contextMock);
+    var otherDomain =
+        new HandlerRequestBuilder<Void>(objectMapperWithEmpty)
+            .withQueryParameters(Map.of(SEARCH_ALL.name(), SAMPLE_SEARCH_TERM))
+            .withRequestContext(
+                objectMapperWithEmpty.convertValue(
+                    Map.of("path", SAMPLE_PATH, "domainName", "api.example.org"),
+                    ObjectNode.class))
+            .build();
+    handler.handleRequest(otherDomain, new ByteArrayOutputStream(), contextMock);
+
+    verify(mockedSearchClient, times(2)).doSearch(any(), eq(RESOURCES));
+  }
+
+  private static ResponseCache<Key, CachedResponse> responseCache(Supplier<String> generation) {
+    return new ResponseCache<>(
+        ResponseCache.RESPONSE, 10, Duration.ofMinutes(1), generation, Clock.systemUTC());
+  }
+
   @Test
   void shouldReturnBadRequestWhenSearchHasTooManyClauses() throws IOException {
     when(mockedSearchClient.doSearch(any(), eq(RESOURCES)))
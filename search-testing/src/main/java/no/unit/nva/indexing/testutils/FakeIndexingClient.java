@@ -1,15 +1,18 @@
 package no.unit.nva.indexing.testutils;
 
+import static no.unit.nva.commons.json.JsonUtils.dtoObjectMapper;
 import static nva.commons.core.attempt.Try.attempt;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -20,6 +23,7 @@ import org.opensearch.action.DocWriteRequest.OpType;
 import org.opensearch.action.DocWriteResponse;
 import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
 
 /**
  * Faking the Indexing Client instead of the OpenSearch client because faking the OpenSearch client
@@ -28,11 +32,16 @@ import org.opensearch.action.bulk.BulkResponse;
 public class FakeIndexingClient extends IndexingClient {
 
   private static final long IGNORED_PROCESSING_TIME = 0;
+  private static final String NEXT_SUFFIX = "-next";
   private final Map<String, Map<String, JsonNode>> indexContents;
+  private final Map<String, Integer> generations;
+  private final Map<String, String> reindexTargets;
 
   public FakeIndexingClient() {
     super(null, null);
     indexContents = new ConcurrentHashMap<>();
+    generations = new ConcurrentHashMap<>();
+    reindexTargets = new ConcurrentHashMap<>();
   }
 
   @Override
@@ -54,6 +63,42 @@ public class FakeIndexingClient extends IndexingClient {
     }
   }
 
+  /** Starts a rebuild of {@code alias}, into an index named like the alias it is built behind. */
+  @Override
+  public Void startReindex(String alias, Map<String, ?> mappings, Map<String, ?> settings) {
+    reindexTargets.put(alias, alias + NEXT_SUFFIX);
+    return null;
+  }
+
+  @Override
+  public Optional<String> reindexTarget(String alias) {
+    return Optional.ofNullable(reindexTargets.get(alias));
+  }
+
+  @Override
+  public Void addDocumentToReindexTarget(IndexDocument indexDocument) throws IOException {
+    var target = reindexTarget(indexDocument.getIndexName());
+    if (target.isPresent()) {
+      indexContents
+          .computeIfAbsent(target.get(), ignored -> new ConcurrentHashMap<>())
+          .put(indexDocument.getDocumentIdentifier(), indexDocument.resource());
+    }
+    return null;
+  }
+
+  @Override
+  public void removeDocumentFromReindexTarget(String identifier, String index) throws IOException {
+    var target = reindexTarget(index);
+    if (target.isPresent()) {
+      removeDocumentFromIndex(identifier, target.get());
+    }
+  }
+
+  @Override
+  public void bumpGeneration(String indexName) {
+    generations.merge(indexName, 1, Integer::sum);
+  }
+
   @Override
   public Stream<BulkResponse> batchInsert(Stream<IndexDocument> indexDocuments) {
     var collectedDocuments = indexDocuments.collect(Collectors.toList());
@@ -64,10 +109,30 @@ public class FakeIndexingClient extends IndexingClient {
     return constructSampleBulkResponse(collectedDocuments).stream();
   }
 
+  /** Indexes already serialised documents, to the index each request names. */
+  @Override
+  public Stream<BulkResponse> batchInsertRequests(Stream<IndexRequest> requests) {
+    DocWriteResponse response = null;
+    var items = new ArrayList<BulkItemResponse>();
+    requests.forEach(
+        request -> {
+          indexContents
+              .computeIfAbsent(request.index(), ignored -> new ConcurrentHashMap<>())
+              .put(request.id(), dtoObjectMapper.valueToTree(request.sourceAsMap()));
+          items.add(new BulkItemResponse(items.size(), OpType.INDEX, response));
+        });
+    var responsesArray = items.toArray(BulkItemResponse[]::new);
+    return Stream.of(new BulkResponse(responsesArray, IGNORED_PROCESSING_TIME));
+  }
+
   public Set<JsonNode> getIndex(String indexName) {
     return new HashSet<>(this.indexContents.getOrDefault(indexName, new HashMap<>()).values());
   }
 
+  public int getGeneration(String indexName) {
+    return generations.getOrDefault(indexName, 0);
+  }
+
   public Set<JsonNode> listAllDocuments(String indexName) {
     return new HashSet<>(
         this.indexContents.getOrDefault(indexName, Collections.emptyMap()).values());